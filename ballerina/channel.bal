@@ -0,0 +1,248 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/io;
+import ballerina/jballerina.java;
+
+# Writes values to a byte channel as consecutive length-prefixed Avro messages. The messages are collected in a
+# batch which is written to the channel once it reaches the batch size or when the writer is flushed.
+public class ChannelWriter {
+
+    private final io:WritableByteChannel channel;
+    private final int batchSize;
+
+    # Initializes a writer which encodes values using the given schema.
+    #
+    # ```ballerina
+    # io:WritableByteChannel channel = check io:openWritableFile("./orders.avro");
+    # avro:ChannelWriter writer = check new (schema, channel);
+    # ```
+    #
+    # + schema - The Avro schema used to encode the values
+    # + channel - The byte channel to which the messages are written
+    # + batchSize - The number of buffered bytes which triggers a write to the channel, between 1 and 1073741823
+    # + return - An `avro:Error` if the batch size is out of range, or else `()`
+    public isolated function init(Schema schema, io:WritableByteChannel channel, int batchSize = 65536)
+            returns Error? {
+        self.channel = channel;
+        self.batchSize = batchSize;
+        check initChannelWriter(self, schema, batchSize);
+    }
+
+    # Encodes the given value and appends it to the current batch.
+    #
+    # + data - The data to be serialized
+    # + return - An `avro:Error` if the value cannot be encoded or written, or else `()`
+    public isolated function write(anydata data) returns Error? {
+        int bufferedSize = check encodeFrame(self, data);
+        if bufferedSize >= self.batchSize {
+            check self.flush();
+        }
+    }
+
+    # Writes the buffered messages to the channel.
+    #
+    # + return - An `avro:Error` if the messages cannot be written, or else `()`
+    public isolated function flush() returns Error? {
+        check writeFully(self.channel, drainBatch(self));
+    }
+
+    # Flushes the buffered messages and closes the channel.
+    #
+    # + return - An `avro:Error` if the messages cannot be written or the channel cannot be closed, or else `()`
+    public isolated function close() returns Error? {
+        check self.flush();
+        io:Error? result = self.channel.close();
+        if result is io:Error {
+            return error Error("Failed to close the byte channel", result);
+        }
+    }
+}
+
+class ChannelDatumIterator {
+
+    private final io:ReadableByteChannel channel;
+    private final typedesc<anydata> targetType;
+    private final int readAheadSize;
+
+    isolated function init(io:ReadableByteChannel channel, typedesc<anydata> targetType, int readAheadSize) {
+        self.channel = channel;
+        self.targetType = targetType;
+        self.readAheadSize = readAheadSize;
+    }
+
+    public isolated function next() returns record {|anydata value;|}|Error? {
+        while true {
+            boolean hasFrame = check hasBufferedFrame(self);
+            if hasFrame {
+                break;
+            }
+            byte[]|io:Error chunk = self.channel.read(self.readAheadSize);
+            if chunk is io:EofError {
+                return verifyEndOfInput(self);
+            }
+            if chunk is io:Error {
+                return error Error("Failed to read from the byte channel", chunk);
+            }
+            feed(self, chunk);
+        }
+        anydata value = check decodeFrame(self, self.targetType);
+        return {value};
+    }
+
+    public isolated function close() returns Error? {
+        io:Error? result = self.channel.close();
+        if result is io:Error {
+            return error Error("Failed to close the byte channel", result);
+        }
+    }
+}
+
+class ArrayElementIterator {
+
+    private final io:ReadableByteChannel? channel;
+    private final typedesc<anydata> targetType;
+    private final int readAheadSize;
+
+    isolated function init(io:ReadableByteChannel? channel, typedesc<anydata> targetType, int readAheadSize) {
+        self.channel = channel;
+        self.targetType = targetType;
+        self.readAheadSize = readAheadSize;
+    }
+
+    public isolated function next() returns record {|anydata value;|}|Error? {
+        while true {
+            boolean hasElement = check hasBufferedElement(self);
+            if hasElement {
+                break;
+            }
+            io:ReadableByteChannel? channel = self.channel;
+            if channel is () || isEndOfArray(self) {
+                return verifyEndOfArray(self);
+            }
+            byte[]|io:Error chunk = channel.read(self.readAheadSize);
+            if chunk is io:EofError {
+                return verifyEndOfArray(self);
+            }
+            if chunk is io:Error {
+                return error Error("Failed to read from the byte channel", chunk);
+            }
+            feedArrayReader(self, chunk);
+        }
+        anydata value = check decodeElement(self, self.targetType);
+        return {value};
+    }
+
+    public isolated function close() returns Error? {
+        io:ReadableByteChannel? channel = self.channel;
+        if channel is () {
+            return;
+        }
+        io:Error? result = channel.close();
+        if result is io:Error {
+            return error Error("Failed to close the byte channel", result);
+        }
+    }
+}
+
+class StreamEncoder {
+
+    isolated function init(Schema schema, string 'field, int blockSize) returns Error? {
+        check initStreamEncoder(self, schema, 'field, blockSize);
+    }
+
+    isolated function 'start(map<anydata> data) returns byte[]|Error = @java:Method {
+        'class: "io.ballerina.lib.avro.AvroChannel",
+        name: "startStream"
+    } external;
+
+    isolated function add(anydata item) returns byte[]|Error? = @java:Method {
+        'class: "io.ballerina.lib.avro.AvroChannel",
+        name: "encodeStreamItem"
+    } external;
+
+    isolated function finish() returns byte[]|Error = @java:Method {
+        'class: "io.ballerina.lib.avro.AvroChannel",
+        name: "finishStream"
+    } external;
+}
+
+isolated function writeFully(io:WritableByteChannel channel, byte[] bytes) returns Error? {
+    int offset = 0;
+    while offset < bytes.length() {
+        int|io:Error written = channel.write(bytes, offset);
+        if written is io:Error {
+            return error Error("Failed to write to the byte channel", written);
+        }
+        offset += written;
+    }
+}
+
+isolated function initStreamEncoder(StreamEncoder encoder, Schema schema, string 'field, int blockSize)
+    returns Error? = @java:Method {
+    'class: "io.ballerina.lib.avro.AvroChannel"
+} external;
+
+isolated function initChannelWriter(ChannelWriter writer, Schema schema, int batchSize)
+    returns Error? = @java:Method {
+    'class: "io.ballerina.lib.avro.AvroChannel"
+} external;
+
+isolated function encodeFrame(ChannelWriter writer, anydata data) returns int|Error = @java:Method {
+    'class: "io.ballerina.lib.avro.AvroChannel"
+} external;
+
+isolated function drainBatch(ChannelWriter writer) returns byte[] = @java:Method {
+    'class: "io.ballerina.lib.avro.AvroChannel"
+} external;
+
+isolated function hasBufferedFrame(ChannelDatumIterator iterator) returns boolean|Error = @java:Method {
+    'class: "io.ballerina.lib.avro.AvroChannel"
+} external;
+
+isolated function feed(ChannelDatumIterator iterator, byte[] chunk) = @java:Method {
+    'class: "io.ballerina.lib.avro.AvroChannel"
+} external;
+
+isolated function verifyEndOfInput(ChannelDatumIterator iterator) returns Error? = @java:Method {
+    'class: "io.ballerina.lib.avro.AvroChannel"
+} external;
+
+isolated function decodeFrame(ChannelDatumIterator iterator, typedesc<anydata> targetType)
+    returns anydata|Error = @java:Method {
+    'class: "io.ballerina.lib.avro.AvroChannel"
+} external;
+
+isolated function hasBufferedElement(ArrayElementIterator iterator) returns boolean|Error = @java:Method {
+    'class: "io.ballerina.lib.avro.AvroChannel"
+} external;
+
+isolated function isEndOfArray(ArrayElementIterator iterator) returns boolean = @java:Method {
+    'class: "io.ballerina.lib.avro.AvroChannel"
+} external;
+
+isolated function feedArrayReader(ArrayElementIterator iterator, byte[] chunk) = @java:Method {
+    'class: "io.ballerina.lib.avro.AvroChannel"
+} external;
+
+isolated function verifyEndOfArray(ArrayElementIterator iterator) returns Error? = @java:Method {
+    'class: "io.ballerina.lib.avro.AvroChannel"
+} external;
+
+isolated function decodeElement(ArrayElementIterator iterator, typedesc<anydata> targetType)
+    returns anydata|Error = @java:Method {
+    'class: "io.ballerina.lib.avro.AvroChannel"
+} external;
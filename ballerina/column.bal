@@ -0,0 +1,36 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+# Represents the values of a primitive field of many records. The values of `int` and `long` fields are returned
+# as `int[]`, `float` and `double` fields as `float[]`, `boolean` fields as `boolean[]`, and `string` and enum
+# fields as `string[]`.
+#
+# + values - The field values in the order of the records
+# + nulls - The flags which are `true` for the records in which the field value is `()`, if the field or one of
+# the records containing it is nullable. The corresponding entries in `values` hold the zero value of the column.
+public type Column record {|
+    int[]|float[]|boolean[]|string[] values;
+    boolean[]? nulls;
+|};
+
+# Represents a set of columns decoded from the same records.
+#
+# + rowCount - The number of records
+# + columns - The columns by their field paths
+public type ColumnBatch record {|
+    int rowCount;
+    map<Column> columns;
+|};
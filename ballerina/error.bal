@@ -16,3 +16,13 @@
 
 # Represents any error related to Ballerina Avro module
 public type Error distinct error;
+
+# Represents an error which occurs when the target buffer does not have enough space for the encoded data
+public type BufferTooSmallError distinct (Error & error<BufferTooSmallErrorDetail>);
+
+# Represents the details of an `avro:BufferTooSmallError`
+#
+# + requiredSize - The number of bytes required to write the encoded data from the given offset
+public type BufferTooSmallErrorDetail record {|
+    int requiredSize;
+|};
@@ -0,0 +1,384 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# Reads the records of an Avro object container file. The schema is taken from the header of the file.
+public isolated class FileReader {
+
+    # Opens the given container file and reads its header.
+    #
+    # ```ballerina
+    # avro:FileReader reader = check new ("./orders.avro");
+    # ```
+    #
+    # + path - The path of the container file
+    # + return - An `avro:Error` if the file cannot be read or is not an Avro container file, or else `()`
+    public isolated function init(string path) returns Error? {
+        check initFileReader(self, path);
+    }
+
+    # Returns the schema with which the records of the file were written.
+    #
+    # + return - The Avro schema string
+    public isolated function getSchema() returns string = @java:Method {
+        'class: "io.ballerina.lib.avro.AvroFile",
+        name: "getFileSchema"
+    } external;
+
+    # Returns a stream of the records of the file. When predicates are given, the records of each block are tested
+    # in their encoded form, and only the records which satisfy every predicate are deserialized. If the file was
+    # written with `statisticsFields`, the blocks whose statistics show that no record can satisfy the predicates
+    # are skipped without being read.
+    #
+    # ```ballerina
+    # stream<Order, avro:Error?> orders = check reader.read({'field: "customerId", value: "C-1042"});
+    # ```
+    #
+    # + filter - A predicate or an array of predicates which the returned records must satisfy
+    # + targetType - Default parameter use to infer the user specified type
+    # + return - A stream of the deserialized records, which completes with an `avro:Error` if a block is
+    # invalid, or else an `avro:Error` if the file cannot be opened or a predicate is not valid for the schema
+    public isolated function read(Predicate|Predicate[]? filter = (), typedesc<anydata> targetType = <>)
+        returns stream<targetType, Error?>|Error = @java:Method {
+        'class: "io.ballerina.lib.avro.AvroFile"
+    } external;
+
+    # Reads the record with the given zero-based number. If the file has a block index, the reader seeks directly to
+    # the block which holds the record. Otherwise, the blocks before the record are read and skipped.
+    #
+    # ```ballerina
+    # Order 'order = check reader.readAt(1500000);
+    # ```
+    #
+    # + recordNumber - The zero-based number of the record
+    # + targetType - Default parameter use to infer the user specified type
+    # + return - The deserialized record, or else an `avro:Error` if the file has no record with the given number or
+    # the record is invalid
+    public isolated function readAt(int recordNumber, typedesc<anydata> targetType = <>)
+        returns targetType|Error = @java:Method {
+        'class: "io.ballerina.lib.avro.AvroFile"
+    } external;
+
+    # Returns a stream of the records from the given zero-based record number up to, but not including, the other
+    # given record number. If the file has a block index, the reader seeks directly to the block which holds the
+    # first record. The stream ends early if the file has fewer records.
+    #
+    # ```ballerina
+    # stream<Order, avro:Error?> orders = check reader.readRange(1500000, 1600000);
+    # ```
+    #
+    # + 'from - The number of the first record
+    # + to - The number after the last record
+    # + targetType - Default parameter use to infer the user specified type
+    # + return - A stream of the deserialized records, which completes with an `avro:Error` if a block is
+    # invalid, or else an `avro:Error` if the range is not valid or the file cannot be opened
+    public isolated function readRange(int 'from, int to, typedesc<anydata> targetType = <>)
+        returns stream<targetType, Error?>|Error = @java:Method {
+        'class: "io.ballerina.lib.avro.AvroFile"
+    } external;
+
+    # Decodes the given primitive fields of the records of the file into one column per field, without creating a
+    # Ballerina value per record. When predicates are given, only the records which satisfy every predicate are
+    # decoded.
+    #
+    # ```ballerina
+    # avro:ColumnBatch batch = check reader.readColumns(["amount"], {'field: "settled", value: true});
+    # ```
+    #
+    # + paths - The dot separated paths of the fields to be decoded
+    # + filter - A predicate or an array of predicates which the decoded records must satisfy
+    # + return - The decoded columns, or else an `avro:Error` if a path does not lead to a primitive field, a
+    # predicate is not valid for the schema, or the file cannot be read
+    public isolated function readColumns(string[] paths, Predicate|Predicate[]? filter = ())
+        returns ColumnBatch|Error = @java:Method {
+        'class: "io.ballerina.lib.avro.AvroColumns"
+    } external;
+}
+
+# Compression codecs of Avro container files.
+public enum Codec {
+    NULL = "null",
+    DEFLATE = "deflate"
+}
+
+# Represents the configurations of an `avro:FileWriter`.
+#
+# + codec - The codec with which the blocks of the file are compressed
+# + compressionLevel - The deflate compression level from 0 to 9, or -1 for the default level
+# + syncInterval - The approximate number of uncompressed bytes in a block
+# + compressionThreads - The number of threads which compress blocks concurrently. With a single thread, the
+# blocks are compressed and written by the strand which writes the records.
+# + maxPendingBlocks - The maximum number of blocks which are being compressed or waiting to be written, or 0 for
+# twice the number of compression threads. Writing a record waits when this limit is reached, after yielding the
+# strand.
+# + metadata - The user metadata which is stored in the header of the file. It is not used when records are appended
+# to an existing file.
+# + createIndex - Whether a block index, which records the position and the record numbers of every block, is written
+# to an index file next to the container file, named by appending `.idx` to its path. The index is always written
+# when `statisticsFields` are given.
+# + statisticsFields - The top-level primitive fields whose minimum, maximum, and null count are recorded for every
+# block in the block index
+# + keyField - A top-level int, long, string, or enum field whose values are added to a Bloom filter for every block
+# in the block index, so that reads with equality predicates on the field open only the blocks which may hold the
+# value. When the values ascend from block to block, the blocks are found by binary search.
+# + keyFalsePositiveRate - The probability with which the Bloom filter of a block reports a value it does not hold
+# + append - Whether records are appended to the file when it already exists. The schema of the file must be the
+# schema of the writer, and the codec and the sync marker of the file are reused. A block which was partially
+# written by a writer that did not close the file is discarded.
+# + commitSize - The number of encoded bytes written since the last commit at which a write commits the records,
+# or 0 to not commit on writes
+# + commitInterval - The interval in seconds at which the written records are committed, or 0 to not commit
+# periodically
+public type FileWriterConfiguration record {|
+    Codec codec = NULL;
+    int compressionLevel = -1;
+    int syncInterval = 64000;
+    int compressionThreads = 1;
+    int maxPendingBlocks = 0;
+    map<string> metadata = {};
+    boolean createIndex = false;
+    string[] statisticsFields = [];
+    string? keyField = ();
+    float keyFalsePositiveRate = 0.01;
+    boolean append = false;
+    int commitSize = 0;
+    decimal commitInterval = 0;
+|};
+
+# Writes records to an Avro object container file. The records are encoded into blocks, and when more than one
+# compression thread is configured, full blocks are compressed concurrently while the next block is being filled.
+# Committing writes the current block, flushes the file, and forces it to the storage device. Concurrent commits
+# share a single force of the file. A write which only adds a record to the current block completes without yielding.
+# Writing a full block, committing, flushing, and closing yield the strand before they wait for the file.
+public isolated class FileWriter {
+
+    # Creates the given container file and writes its header, or opens the file to append records to it.
+    #
+    # ```ballerina
+    # avro:FileWriter writer = check new ("./orders.avro", schema, codec = avro:DEFLATE, compressionThreads = 4);
+    # avro:FileWriter journal = check new ("./events.avro", schema, append = true, commitInterval = 0.2);
+    # ```
+    #
+    # + path - The path of the container file
+    # + schema - The Avro schema of the records
+    # + config - The configurations of the writer
+    # + return - An `avro:Error` if the file cannot be created or the configurations are not valid, or else `()`
+    public isolated function init(string path, Schema schema, *FileWriterConfiguration config) returns Error? {
+        check initFileWriter(self, path, schema, config);
+    }
+
+    # Encodes the given record and appends it to the current block.
+    #
+    # + data - The data to be serialized
+    # + return - An `avro:Error` if the record cannot be encoded or a block cannot be written, or else `()`
+    public isolated function write(anydata data) returns Error? = @java:Method {
+        'class: "io.ballerina.lib.avro.AvroFile",
+        name: "writeFileRecord"
+    } external;
+
+    # Writes the current block and waits until every block is written to the file.
+    #
+    # + return - An `avro:Error` if a block cannot be written, or else `()`
+    public isolated function flush() returns Error? = @java:Method {
+        'class: "io.ballerina.lib.avro.AvroFile",
+        name: "flushFileWriter"
+    } external;
+
+    # Writes the current block and waits until it is written to the file and the file is forced to the storage
+    # device.
+    #
+    # + return - An `avro:Error` if a block cannot be written or the file cannot be forced, or else `()`
+    public isolated function 'commit() returns Error? = @java:Method {
+        'class: "io.ballerina.lib.avro.AvroFile",
+        name: "commitFileWriter"
+    } external;
+
+    # Writes the remaining blocks and closes the file. When a commit size or interval is configured, the file is
+    # also forced to the storage device.
+    #
+    # + return - An `avro:Error` if a block cannot be written or the file cannot be closed, or else `()`
+    public isolated function close() returns Error? = @java:Method {
+        'class: "io.ballerina.lib.avro.AvroFile",
+        name: "closeFileWriter"
+    } external;
+}
+
+# Represents the configurations of an `avro:PartitionedFileWriter`. The configurations of `avro:FileWriter` apply to
+# every file, except that the compression threads are shared by all the files and also write the blocks to the files.
+#
+# + partitionField - The top-level int, long, string, enum, or boolean field whose value selects the partition of a
+# record
+# + partitions - The number of partitions into which the records are distributed by the hash of the partition field,
+# or 0 for a partition per value of the field
+# + maxFileSize - The approximate size in bytes at which the file of a partition is closed and a new file is started,
+# or 0 for no limit
+# + maxFileRecords - The number of records at which the file of a partition is closed and a new file is started, or 0
+# for no limit
+# + maxFileAge - The time in seconds after which the file of a partition is closed and a new file is started, or 0 for
+# no limit
+# + maxOpenFiles - The maximum number of files which are open at a time. When a partition opens a file beyond this
+# limit, the file of the partition which was written least recently is closed in the background, like a rolled file,
+# and that partition starts a new file with its next record
+public type PartitionedFileWriterConfiguration record {|
+    *FileWriterConfiguration;
+    string partitionField;
+    int partitions = 0;
+    int maxFileSize = 0;
+    int maxFileRecords = 0;
+    decimal maxFileAge = 0;
+    int maxOpenFiles = 128;
+|};
+
+# Writes records to Avro object container files in a directory, routing every record to a partition by the value of
+# a field. With a fixed number of partitions, the files of a partition are written to a directory named
+# `bucket-<number>`. Otherwise, they are written to a directory named `<field>=<value>`, where the value is URL
+# encoded and `__null__` stands for `()`. Every partition writes to one file at a time, named `part-<sequence>.avro`,
+# which is closed by a background thread when it reaches a size, record count, or age limit, or when the number of
+# open files exceeds `maxOpenFiles`. Records of different partitions can be written concurrently.
+public isolated class PartitionedFileWriter {
+
+    # Creates the given directory if it does not exist. The files of a partition are numbered after the files which
+    # the partition already has.
+    #
+    # ```ballerina
+    # avro:PartitionedFileWriter writer = check new ("./orders", schema, partitionField = "region",
+    #     codec = avro:DEFLATE, compressionThreads = 4, maxFileSize = 128 * 1024 * 1024, maxFileAge = 300);
+    # ```
+    #
+    # + directory - The directory of the partitions
+    # + schema - The Avro schema of the records
+    # + config - The configurations of the writer
+    # + return - An `avro:Error` if the directory cannot be created or the configurations are not valid, or else `()`
+    public isolated function init(string directory, Schema schema, *PartitionedFileWriterConfiguration config)
+        returns Error? {
+        check initPartitionedFileWriter(self, directory, schema, config);
+    }
+
+    # Encodes the given record and appends it to the current file of its partition.
+    #
+    # + data - The record to be serialized
+    # + return - An `avro:Error` if the record cannot be encoded, or a file cannot be written or closed, or else `()`
+    public isolated function write(anydata data) returns Error? = @java:Method {
+        'class: "io.ballerina.lib.avro.AvroFile",
+        name: "writePartitionedRecord"
+    } external;
+
+    # Writes the current block of every file and waits until the blocks are written to the files.
+    #
+    # + return - An `avro:Error` if a block cannot be written, or else `()`
+    public isolated function flush() returns Error? = @java:Method {
+        'class: "io.ballerina.lib.avro.AvroFile",
+        name: "flushPartitionedFileWriter"
+    } external;
+
+    # Closes the current file of every partition and waits until the files which were closed in the background are
+    # written.
+    #
+    # + return - An `avro:Error` if a file cannot be written or closed, or else `()`
+    public isolated function close() returns Error? = @java:Method {
+        'class: "io.ballerina.lib.avro.AvroFile",
+        name: "closePartitionedFileWriter"
+    } external;
+}
+
+# Creates the block index of an existing Avro object container file by reading its blocks, replacing the index the
+# file already has. The index is written to a file named by appending `.idx` to the path of the container file.
+#
+# ```ballerina
+# check avro:createIndex("./orders.avro", ["orderDate"], keyField = "orderId");
+# ```
+#
+# + path - The path of the container file
+# + statisticsFields - The top-level primitive fields whose minimum, maximum, and null count are recorded for every
+# block
+# + keyField - A top-level int, long, string, or enum field whose values are added to a Bloom filter for every block
+# + keyFalsePositiveRate - The probability with which the Bloom filter of a block reports a value it does not hold
+# + return - An `avro:Error` if the file cannot be read, a field is not valid, or the index cannot be written, or
+# else `()`
+public isolated function createIndex(string path, string[] statisticsFields = [], string? keyField = (),
+        float keyFalsePositiveRate = 0.01) returns Error? = @java:Method {
+    'class: "io.ballerina.lib.avro.AvroFile"
+} external;
+
+# Merges Avro object container files into a single container file. The blocks of an input file which has the
+# schema and the codec of the output file are copied as they are, without being decompressed or decoded. The records
+# of any other input file are resolved to the schema of the output file and written into new blocks of the configured
+# sync interval, so that many small files can be compacted into a file with fewer, larger blocks.
+#
+# ```ballerina
+# check avro:compact(["./orders-1.avro", "./orders-2.avro"], "./orders.avro", codec = avro:DEFLATE);
+# ```
+#
+# + inputs - The paths of the container files to be merged, in the order in which their records are written
+# + output - The path of the output container file, which must not be one of the input files
+# + schema - The Avro schema of the output file, or `()` to use the schema of the first input file
+# + config - The configurations of the writer of the output file
+# + return - An `avro:Error` if a file cannot be read or written, or the schema of an input file cannot be resolved
+# to the schema of the output file, or else `()`
+public isolated function compact(string[] inputs, string output, Schema? schema = (),
+        *FileWriterConfiguration config) returns Error? = @java:Method {
+    'class: "io.ballerina.lib.avro.AvroFile"
+} external;
+
+class FileRecordIterator {
+
+    private final typedesc<anydata> targetType;
+
+    isolated function init(typedesc<anydata> targetType) {
+        self.targetType = targetType;
+    }
+
+    public isolated function next() returns record {|anydata value;|}|Error? {
+        boolean hasNext = check hasNextFileRecord(self);
+        if !hasNext {
+            return;
+        }
+        anydata value = check readFileRecord(self, self.targetType);
+        return {value};
+    }
+
+    public isolated function close() returns Error? {
+        return closeFileRecordIterator(self);
+    }
+}
+
+isolated function initFileReader(FileReader reader, string path) returns Error? = @java:Method {
+    'class: "io.ballerina.lib.avro.AvroFile"
+} external;
+
+isolated function initFileWriter(FileWriter writer, string path, Schema schema, FileWriterConfiguration config)
+    returns Error? = @java:Method {
+    'class: "io.ballerina.lib.avro.AvroFile"
+} external;
+
+isolated function initPartitionedFileWriter(PartitionedFileWriter writer, string directory, Schema schema,
+        PartitionedFileWriterConfiguration config) returns Error? = @java:Method {
+    'class: "io.ballerina.lib.avro.AvroFile"
+} external;
+
+isolated function hasNextFileRecord(FileRecordIterator iterator) returns boolean|Error = @java:Method {
+    'class: "io.ballerina.lib.avro.AvroFile"
+} external;
+
+isolated function readFileRecord(FileRecordIterator iterator, typedesc<anydata> targetType)
+    returns anydata|Error = @java:Method {
+    'class: "io.ballerina.lib.avro.AvroFile"
+} external;
+
+isolated function closeFileRecordIterator(FileRecordIterator iterator) returns Error? = @java:Method {
+    'class: "io.ballerina.lib.avro.AvroFile"
+} external;
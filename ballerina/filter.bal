@@ -0,0 +1,42 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+# Operators of an `avro:Predicate`.
+public enum Operator {
+    EQUAL,
+    NOT_EQUAL,
+    LESS_THAN,
+    LESS_THAN_OR_EQUAL,
+    GREATER_THAN,
+    GREATER_THAN_OR_EQUAL,
+    IN,
+    IS_NULL,
+    IS_NOT_NULL
+}
+
+# Represents a condition on a top-level field of a record. Numbers are compared numerically, strings and
+# `byte[]` values lexicographically, and enum values by their symbols. A `()` field value satisfies the `IS_NULL`
+# operator, an `EQUAL` predicate with a `()` value, a `NOT_EQUAL` predicate with a value other than `()`, and an
+# `IN` predicate with `()` in the values. It does not satisfy any ordering comparison.
+#
+# + 'field - The name of the record field
+# + operator - The operator which is applied to the field value
+# + value - The value with which the field value is compared, or an array of values for the `IN` operator
+public type Predicate record {|
+    string 'field;
+    Operator operator = EQUAL;
+    anydata value = ();
+|};
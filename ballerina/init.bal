@@ -16,10 +16,20 @@
 
 import ballerina/jballerina.java;
 
-function init() {
+# The maximum number of levels to which records of a recursive schema may be nested inside arrays and maps, such as
+# the children of a tree. Deeper values are rejected with an `avro:Error` instead of overflowing the stack. Records
+# nested in record fields and union branches, such as the nodes of a linked list, are not limited.
+configurable int maxNestingDepth = 1000;
+
+function init() returns error? {
     setModule();
+    check setMaxNestingDepth(maxNestingDepth);
 }
 
 function setModule() = @java:Method {
     'class: "io.ballerina.lib.avro.ModuleUtils"
 } external;
+
+function setMaxNestingDepth(int depth) returns Error? = @java:Method {
+    'class: "io.ballerina.lib.avro.ModuleUtils"
+} external;
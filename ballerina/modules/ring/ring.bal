@@ -0,0 +1,112 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/avro;
+import ballerina/jballerina.java;
+
+# Represents the configurations of a `ring:Writer` and a `ring:Reader`.
+#
+# + capacity - The size in bytes of the ring, which must be a power of two between 1024 and 1073741824. The file of
+# the ring is created with this capacity, and an existing ring must have been created with the same capacity.
+public type Configuration record {|
+    int capacity = 1048576;
+|};
+
+# Writes Avro serialized values to a ring in a memory-mapped file, from which a `ring:Reader` in the same or
+# another process on the same host reads them. Any number of writers, also in different processes, may write to the
+# same ring. Every value is copied into the mapped memory once and written with a length prefix.
+public isolated class Writer {
+
+    # Opens the ring in the given file, creating the file if it does not exist.
+    #
+    # ```ballerina
+    # ring:Writer writer = check new ("/dev/shm/orders.ring", schema, capacity = 4194304);
+    # ```
+    #
+    # + path - The path of the file of the ring
+    # + schema - The Avro schema of the values
+    # + config - The configurations of the ring
+    # + return - An `avro:Error` if the file cannot be opened or is not a ring with the given capacity, or else `()`
+    public isolated function init(string path, avro:Schema schema, *Configuration config) returns avro:Error? {
+        check initRing(self, path, schema, config);
+    }
+
+    # Serializes the given data and writes it to the ring, waiting while the ring is full. The wait does not block
+    # other strands.
+    #
+    # + data - The data to be serialized
+    # + timeout - The time in seconds to wait for space in the ring, or 0 to fail at once when the ring is full
+    # + return - A `ring:TimeoutError` if the ring stays full until the timeout elapses, an `avro:Error` if the
+    # data cannot be serialized or does not fit in the ring, or else `()`
+    public isolated function write(anydata data, decimal timeout = 10) returns avro:Error? = @java:Method {
+        'class: "io.ballerina.lib.avro.AvroRing",
+        name: "writeRingRecord"
+    } external;
+
+    # Closes the file of the ring. The values which are written remain in the ring.
+    #
+    # + return - An `avro:Error` if the file cannot be closed, or else `()`
+    public isolated function close() returns avro:Error? = @java:Method {
+        'class: "io.ballerina.lib.avro.AvroRing",
+        name: "closeRing"
+    } external;
+}
+
+# Reads the Avro serialized values written by `ring:Writer`s to a ring in a memory-mapped file, in the order in
+# which the writers reserved space for them. The values are deserialized directly from the mapped memory. A ring has
+# a single reader at a time, across all processes.
+public isolated class Reader {
+
+    # Opens the ring in the given file, creating the file if it does not exist.
+    #
+    # ```ballerina
+    # ring:Reader reader = check new ("/dev/shm/orders.ring", schema, capacity = 4194304);
+    # ```
+    #
+    # + path - The path of the file of the ring
+    # + schema - The Avro schema of the values
+    # + config - The configurations of the ring
+    # + return - An `avro:Error` if the file cannot be opened or is not a ring with the given capacity, or else `()`
+    public isolated function init(string path, avro:Schema schema, *Configuration config) returns avro:Error? {
+        check initRing(self, path, schema, config);
+    }
+
+    # Takes the next value from the ring and deserializes it to the given type, waiting while the ring is empty. The
+    # wait does not block other strands. A value which cannot be deserialized is removed from the ring.
+    #
+    # + timeout - The time in seconds to wait for a value, or 0 to fail at once when the ring is empty
+    # + targetType - Default parameter use to infer the user specified type
+    # + return - The deserialized value, a `ring:TimeoutError` if no value was written until the timeout elapsed,
+    # or else an `avro:Error` if the value cannot be deserialized or another reader has the ring open
+    public isolated function read(decimal timeout = 10, typedesc<anydata> targetType = <>)
+        returns targetType|avro:Error = @java:Method {
+        'class: "io.ballerina.lib.avro.AvroRing",
+        name: "readRingRecord"
+    } external;
+
+    # Closes the file of the ring, which allows another reader to read from it.
+    #
+    # + return - An `avro:Error` if the file cannot be closed, or else `()`
+    public isolated function close() returns avro:Error? = @java:Method {
+        'class: "io.ballerina.lib.avro.AvroRing",
+        name: "closeRing"
+    } external;
+}
+
+isolated function initRing(Writer|Reader ring, string path, avro:Schema schema, Configuration config)
+    returns avro:Error? = @java:Method {
+    'class: "io.ballerina.lib.avro.AvroRing"
+} external;
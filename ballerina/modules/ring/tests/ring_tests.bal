@@ -0,0 +1,111 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/avro;
+import ballerina/test;
+
+type Student record {
+    string name;
+    string subject;
+};
+
+@test:Config {
+    groups: ["ring", "record"]
+}
+public isolated function testRingWriterAndReader() returns error? {
+    string schema = string `
+        {
+            "namespace": "example.avro",
+            "type": "record",
+            "name": "Student",
+            "fields": [
+                {"name": "name", "type": "string"},
+                {"name": "subject", "type": "string"}
+            ]
+        }`;
+
+    avro:Schema studentSchema = check new (schema);
+    string path = "build/students.ring";
+    Reader reader = check new (path, studentSchema, capacity = 1024);
+    Student|avro:Error leftover = reader.read(0);
+    while leftover is Student {
+        leftover = reader.read(0);
+    }
+    test:assertTrue(leftover is TimeoutError);
+
+    worker producer returns error? {
+        Writer writer = check new (path, studentSchema, capacity = 1024);
+        foreach int i in 0 ..< 200 {
+            check writer.write(<Student>{name: string `student-${i}`, subject: "geology"});
+        }
+        check writer.close();
+    }
+
+    foreach int i in 0 ..< 200 {
+        Student student = check reader.read();
+        test:assertEquals(student, {name: string `student-${i}`, subject: "geology"});
+    }
+    check wait producer;
+    Student|avro:Error remaining = reader.read(0.01);
+    test:assertTrue(remaining is TimeoutError);
+
+    Reader|avro:Error secondReader = new (path, studentSchema, capacity = 1024);
+    if secondReader is Reader {
+        Student|avro:Error result = secondReader.read(0);
+        test:assertTrue(result is avro:Error && result !is TimeoutError);
+        check secondReader.close();
+    } else {
+        test:assertFail("Expected the ring to be opened");
+    }
+    check reader.close();
+
+    Writer|avro:Error invalidCapacity = new (path, studentSchema, capacity = 2048);
+    test:assertTrue(invalidCapacity is avro:Error);
+}
+
+@test:Config {
+    groups: ["ring"]
+}
+public isolated function testRingWithNilValues() returns error? {
+    avro:Schema numberSchema = check new ("[\"null\", \"int\"]");
+    string path = "build/optional_numbers.ring";
+    Reader reader = check new (path, numberSchema, capacity = 1024);
+    int?|avro:Error leftover = reader.read(0);
+    while leftover !is avro:Error {
+        leftover = reader.read(0);
+    }
+    Writer writer = check new (path, numberSchema, capacity = 1024);
+    check writer.write(());
+    check writer.write(7);
+
+    int? first = check reader.read(0);
+    test:assertEquals(first, ());
+    int? second = check reader.read(0);
+    test:assertEquals(second, 7);
+    int?|avro:Error empty = reader.read(0);
+    test:assertTrue(empty is TimeoutError);
+
+    avro:Error? full = ();
+    foreach int i in 0 ..< 200 {
+        full = writer.write(i, 0);
+        if full is avro:Error {
+            break;
+        }
+    }
+    test:assertTrue(full is TimeoutError);
+    check writer.close();
+    check reader.close();
+}
@@ -14,6 +14,7 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import ballerina/io;
 import ballerina/jballerina.java;
 
 public class Schema {
@@ -48,6 +49,41 @@ public class Schema {
         'class: "io.ballerina.lib.avro.Avro"
     } external;
 
+    # Serializes the given data according to the Avro format and writes the encoded bytes into the given buffer
+    # starting from the given offset. Bytes after the offset may be overwritten even when the buffer is too small.
+    #
+    # ```ballerina
+    # byte[] buffer = [];
+    # buffer.setLength(1024);
+    # int written = check schema.toAvroInto(value, buffer, 4);
+    # ```
+    #
+    # + data - The data to be serialized
+    # + target - The buffer to which the encoded bytes are written
+    # + offset - The position in the buffer at which the encoded bytes start
+    # + return - The number of bytes written, an `avro:BufferTooSmallError` with the required size if the
+    # remaining space in the buffer is not sufficient, or else an `avro:Error`
+    public isolated function toAvroInto(anydata data, byte[] target, int offset = 0) returns int|Error = @java:Method {
+        'class: "io.ballerina.lib.avro.Avro"
+    } external;
+
+    # Serializes the given data according to the Avro format and writes the encoded bytes into a Java
+    # `java.nio.ByteBuffer`, such as a direct buffer allocated outside of the heap, without staging them in a `byte`
+    # array. The bytes are written from the position of the buffer, which is advanced past them on success. A
+    # `java.lang.foreign.MemorySegment` can be passed as the buffer returned by its `asByteBuffer` method.
+    #
+    # ```ballerina
+    # int written = check schema.toAvroBuffer(value, directBuffer);
+    # ```
+    #
+    # + data - The data to be serialized
+    # + target - The `java.nio.ByteBuffer` to which the encoded bytes are written
+    # + return - The number of bytes written, an `avro:BufferTooSmallError` with the required size if the
+    # remaining space in the buffer is not sufficient, or else an `avro:Error`
+    public isolated function toAvroBuffer(anydata data, handle target) returns int|Error = @java:Method {
+        'class: "io.ballerina.lib.avro.Avro"
+    } external;
+
     # Deserializes the given Avro encoded message to the given data type.
     #
     # ```ballerina
@@ -63,4 +99,265 @@ public class Schema {
         returns targetType|Error = @java:Method {
         'class: "io.ballerina.lib.avro.Avro"
     } external;
+
+    # Deserializes an Avro encoded message located between the position and the limit of a Java
+    # `java.nio.ByteBuffer`, such as a direct buffer allocated outside of the heap, without copying it into a `byte`
+    # array. The position of the buffer is not changed.
+    #
+    # ```ballerina
+    # int deserializedData = check schema.fromAvroBuffer(directBuffer);
+    # ```
+    #
+    # + data - The `java.nio.ByteBuffer` which contains the Avro serialized data
+    # + targetType - Default parameter use to infer the user specified type
+    # + return - A deserialized data with the given type or else an `avro:Error`
+    public isolated function fromAvroBuffer(handle data, typedesc<anydata> targetType = <>)
+        returns targetType|Error = @java:Method {
+        'class: "io.ballerina.lib.avro.Avro"
+    } external;
+
+    # Deserializes an Avro encoded message located in a slice of the given buffer without copying it.
+    #
+    # ```ballerina
+    # byte[] frame = // header followed by an Avro encoded message ;
+    # int deserializedData = check schema.fromAvroSlice(frame, 4, frame.length() - 4);
+    # ```
+    #
+    # + data - The buffer which contains the Avro serialized data
+    # + offset - The position in the buffer at which the encoded message starts
+    # + length - The number of bytes of the encoded message
+    # + targetType - Default parameter use to infer the user specified type
+    # + return - A deserialized data with the given type or else an `avro:Error`
+    public isolated function fromAvroSlice(byte[] data, int offset, int length, typedesc<anydata> targetType = <>)
+        returns targetType|Error = @java:Method {
+        'class: "io.ballerina.lib.avro.Avro"
+    } external;
+
+    # Replaces the value of a single field of an Avro encoded record without decoding the record. The bytes of the
+    # field are located by skipping the fields before it, the new value is encoded, and the bytes before and after
+    # the field are copied unchanged. A field path is a dot separated list of record field names, such as
+    # `"shipment.status"`, whose intermediate fields are records or unions of `()` and a record.
+    #
+    # ```ballerina
+    # byte[] updated = check schema.patch(encodedOrder, "status", "SHIPPED");
+    # ```
+    #
+    # + data - The Avro serialized record
+    # + fieldPath - The path of the field to be replaced
+    # + newValue - The new value of the field
+    # + return - The Avro serialized record with the new value, or else an `avro:Error` if the path is not defined
+    # in the schema, the record is invalid, or the value cannot be encoded with the schema of the field
+    public isolated function patch(byte[] data, string fieldPath, anydata newValue)
+        returns byte[]|Error = @java:Method {
+        'class: "io.ballerina.lib.avro.Avro"
+    } external;
+
+    # Extracts the key of an Avro serialized record without deserializing it. The key is the concatenation of the
+    # Avro serialized values of the given fields, in the order of the field paths. The fields before each key field
+    # are skipped, and the fields after the last key field are not read.
+    #
+    # ```ballerina
+    # byte[] key = check schema.extractKey(encodedOrder, ["customerId"]);
+    # ```
+    #
+    # + data - The Avro serialized record
+    # + fieldPaths - The dot separated paths of the key fields, such as `"customer.id"`
+    # + return - The key, or else an `avro:Error` if a path is not defined in the schema or the record is invalid
+    public isolated function extractKey(byte[] data, string[] fieldPaths) returns byte[]|Error = @java:Method {
+        'class: "io.ballerina.lib.avro.Avro"
+    } external;
+
+    # Computes a 64-bit hash of the key of an Avro serialized record without deserializing it or copying the key.
+    # The hash only depends on the bytes returned by `extractKey`, so it is stable across processes and releases and
+    # can be used to partition records.
+    #
+    # ```ballerina
+    # int partition = (check schema.hashKey(encodedOrder, ["customerId"]) & int:MAX_VALUE) % partitions;
+    # ```
+    #
+    # + data - The Avro serialized record
+    # + fieldPaths - The dot separated paths of the key fields, such as `"customer.id"`
+    # + return - The hash of the key, or else an `avro:Error` if a path is not defined in the schema or the record
+    # is invalid
+    public isolated function hashKey(byte[] data, string[] fieldPaths) returns int|Error = @java:Method {
+        'class: "io.ballerina.lib.avro.Avro"
+    } external;
+
+    # Compares two Avro serialized values in the sort order of the Avro specification, without deserializing them.
+    # Record fields are compared in their declared order, fields with the `descending` order are reversed, and
+    # fields with the `ignore` order are skipped. Maps cannot be compared, so map fields must be ignored.
+    #
+    # ```ballerina
+    # int result = check schema.compare(first, second);
+    # ```
+    #
+    # + a - The first Avro serialized value
+    # + b - The second Avro serialized value
+    # + return - `-1`, `0` or `1` if `a` sorts before, together with or after `b`, or else an `avro:Error` if a
+    # value is invalid or the schema cannot be compared
+    public isolated function compare(byte[] a, byte[] b) returns int|Error = @java:Method {
+        'class: "io.ballerina.lib.avro.Avro"
+    } external;
+
+    # Sorts Avro serialized values in place, in the order of `compare`, without deserializing them.
+    # The sort is stable, so that values which sort together keep their relative order.
+    #
+    # ```ballerina
+    # check schema.sortEncoded(encodedRecords);
+    # ```
+    #
+    # + records - The Avro serialized values to be sorted
+    # + return - An `avro:Error` if a value is invalid or the schema cannot be compared, in which case the values
+    # are left in their original order
+    public isolated function sortEncoded(byte[][] records) returns Error? = @java:Method {
+        'class: "io.ballerina.lib.avro.Avro"
+    } external;
+
+    # Returns a stream which decodes consecutive length-prefixed Avro messages, such as the ones written by an
+    # `avro:ChannelWriter`, from the given byte channel as they are read.
+    #
+    # ```ballerina
+    # io:ReadableByteChannel channel = check io:openReadableFile("./orders.avro");
+    # stream<Order, avro:Error?> orders = check schema.fromAvroChannel(channel);
+    # ```
+    #
+    # + channel - The byte channel from which the messages are read
+    # + readAheadSize - The number of bytes requested from the channel in a single read, between 1 and 1073741823
+    # + targetType - Default parameter use to infer the user specified type
+    # + return - A stream of the deserialized values, which completes with an `avro:Error` if a message is invalid,
+    # or else an `avro:Error` if the read-ahead size is out of range
+    public isolated function fromAvroChannel(io:ReadableByteChannel channel, int readAheadSize = 8192,
+            typedesc<anydata> targetType = <>) returns stream<targetType, Error?>|Error = @java:Method {
+        'class: "io.ballerina.lib.avro.AvroChannel"
+    } external;
+
+    # Returns a stream which decodes the elements of an Avro encoded array one by one as they are pulled, without
+    # decoding the whole array first. The schema is either an array schema, or a record schema with the given array
+    # field, in which case the fields before the array are skipped and the fields after it are not read. When the
+    # input is a byte channel, it is read as the elements are pulled.
+    #
+    # ```ballerina
+    # io:ReadableByteChannel channel = check io:openReadableFile("./import.avro");
+    # stream<Order, avro:Error?> orders = check schema.fromAvroStream(channel, "orders");
+    # ```
+    #
+    # + data - The Avro serialized data, or the byte channel from which it is read
+    # + 'field - The name of the array field of a record schema, or `()` if the schema is an array schema
+    # + readAheadSize - The number of bytes requested from the channel in a single read, between 1 and 1073741823
+    # + targetType - Default parameter use to infer the type of the elements
+    # + return - A stream of the deserialized elements, which completes with an `avro:Error` if an element is invalid
+    # or the input ends before the array, or else an `avro:Error` if the schema or the field is not an array, or the
+    # read-ahead size is out of range
+    public isolated function fromAvroStream(byte[]|io:ReadableByteChannel data, string? 'field = (),
+            int readAheadSize = 8192, typedesc<anydata> targetType = <>)
+        returns stream<targetType, Error?>|Error = @java:Method {
+        'class: "io.ballerina.lib.avro.AvroChannel"
+    } external;
+
+    # Serializes a record whose array or map field is supplied as a stream, and writes the encoded record to the given
+    # byte channel as the items arrive. The items are encoded in blocks of about the given size, and every block is
+    # written to the channel as soon as it is complete, so that the items are never held in memory together. The
+    # blocks carry their size in bytes, which lets readers skip them. An item of a map field is a tuple of its key and
+    # its value.
+    #
+    # ```ballerina
+    # stream<LineItem, error?> lineItems = // the items of a large order ;
+    # check schema.toAvroFromStream({orderId: "O-1042", customerId: "C-7"}, "lineItems", lineItems, channel);
+    # ```
+    #
+    # + data - The fields of the record other than the streamed field
+    # + 'field - The name of the array or map field whose items are supplied by the stream
+    # + items - The items of the streamed field
+    # + channel - The byte channel to which the encoded record is written
+    # + blockSize - The number of encoded bytes of items at which a block is written to the channel, which must be
+    # positive
+    # + return - An `avro:Error` if a value cannot be encoded, the stream completes with an error, or the channel
+    # cannot be written, or else `()`
+    public isolated function toAvroFromStream(map<anydata> data, string 'field, stream<anydata, error?> items,
+            io:WritableByteChannel channel, int blockSize = 65536) returns Error? {
+        StreamEncoder encoder = check new (self, 'field, blockSize);
+        check writeFully(channel, check encoder.'start(data));
+        while true {
+            record {|anydata value;|}|error? item = items.next();
+            if item is error {
+                return error Error("Failed to read an item from the stream", item);
+            }
+            if item is () {
+                break;
+            }
+            byte[]? block = check encoder.add(item.value);
+            if block is byte[] {
+                check writeFully(channel, block);
+            }
+        }
+        check writeFully(channel, check encoder.finish());
+    }
+
+    # Decodes the given primitive fields of many Avro encoded records into one column per field, without creating a
+    # Ballerina value per record. A field path is a dot separated list of record field names, such as
+    # `"address.zipCode"`. The fields which are not on any of the paths are skipped.
+    #
+    # ```ballerina
+    # byte[][] payments = // Avro encoded records ;
+    # avro:ColumnBatch batch = check schema.decodeColumns(payments, ["amount", "settled"]);
+    # float[] amounts = check batch.columns.get("amount").values.ensureType();
+    # ```
+    #
+    # + data - The Avro serialized records
+    # + paths - The paths of the fields to be decoded
+    # + return - The decoded columns, or else an `avro:Error` if a path does not lead to a primitive field or the
+    # data is invalid
+    public isolated function decodeColumns(byte[][] data, string[] paths) returns ColumnBatch|Error = @java:Method {
+        'class: "io.ballerina.lib.avro.AvroColumns"
+    } external;
+
+    # Checks whether the given Avro encoded record satisfies the given predicates without deserializing it. Only
+    # the fields referenced by the predicates are decoded, and the evaluation stops at the first predicate which is
+    # not satisfied.
+    #
+    # ```ballerina
+    # byte[] data = // Avro encoded record ;
+    # boolean matched = check schema.matches(data, [
+    #     {'field: "customerId", value: "C-1042"},
+    #     {'field: "amount", operator: avro:GREATER_THAN, value: 100}
+    # ]);
+    # ```
+    #
+    # + data - The Avro serialized record
+    # + predicates - A predicate or an array of predicates which must all be satisfied
+    # + return - `true` if the record satisfies the predicates, `false` if not, or else an `avro:Error` if a
+    # predicate is not valid for the schema or the data is invalid
+    public isolated function matches(byte[] data, Predicate|Predicate[] predicates)
+        returns boolean|Error = @java:Method {
+        'class: "io.ballerina.lib.avro.AvroFilter"
+    } external;
+
+    # Transcodes the given Avro encoded message into a UTF-8 encoded JSON document without creating a Ballerina
+    # value for the message. The JSON has the same shape as the `toJson()` value of the deserialized message.
+    #
+    # ```ballerina
+    # byte[] data = // Avro encoded message ;
+    # byte[] json = check schema.toJsonBytes(data);
+    # ```
+    #
+    # + data - The Avro serialized data
+    # + return - The UTF-8 encoded JSON document or else an `avro:Error`
+    public isolated function toJsonBytes(byte[] data) returns byte[]|Error = @java:Method {
+        'class: "io.ballerina.lib.avro.AvroJson"
+    } external;
+
+    # Encodes the given UTF-8 encoded JSON document according to the Avro format without creating a Ballerina
+    # value for the document. Record fields can be in any order, unknown fields are ignored, and missing fields are
+    # set to their default values or to `null` if the field is nullable.
+    #
+    # ```ballerina
+    # byte[] json = string `{"name": "Liam", "subject": "geology"}`.toBytes();
+    # byte[] serializedData = check schema.fromJsonBytes(json);
+    # ```
+    #
+    # + json - The UTF-8 encoded JSON document
+    # + return - A `byte` array of the serialized data or else an `avro:Error`
+    public isolated function fromJsonBytes(byte[] json) returns byte[]|Error = @java:Method {
+        'class: "io.ballerina.lib.avro.AvroJson"
+    } external;
 }
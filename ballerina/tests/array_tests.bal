@@ -369,3 +369,27 @@ public isolated function testRecordArraysInReadOnlyArrays() returns error? {
 
     return verifyOperation(ReadOnlyStudent2DArray, students, schema);
 }
+
+@test:Config {
+    groups: ["array", "string"]
+}
+public isolated function testArraysWithVaryingSizesUsingSameSchema() returns error? {
+    string schema = string `
+        {
+            "type": "array",
+            "name" : "stringArray",
+            "namespace": "data",
+            "items": "string"
+        }`;
+
+    Schema avro = check new (schema);
+    foreach int size in [1, 5000, 10, 20000, 3] {
+        string[] values = [];
+        foreach int i in 0 ..< size {
+            values.push(string `value-${i}`);
+        }
+        byte[] serializedValue = check avro.toAvro(values);
+        string[] deserializedValue = check avro.fromAvro(serializedValue);
+        test:assertEquals(deserializedValue, values);
+    }
+}
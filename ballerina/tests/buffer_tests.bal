@@ -0,0 +1,135 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+import ballerina/test;
+
+@test:Config {
+    groups: ["buffer"]
+}
+public isolated function testToAvroIntoBufferWithOffset() returns error? {
+    string schema = string `
+        {
+            "namespace": "example.avro",
+            "type": "record",
+            "name": "Student",
+            "fields": [
+                {"name": "name", "type": "string"},
+                {"name": "subject", "type": "string"}
+            ]
+        }`;
+
+    Student student = {
+        name: "Liam",
+        subject: "geology"
+    };
+    Schema avro = check new (schema);
+    byte[] buffer = [];
+    buffer.setLength(64);
+    buffer[0] = 7;
+    int written = check avro.toAvroInto(student, buffer, 1);
+    test:assertEquals(buffer[0], 7);
+    test:assertEquals(buffer.slice(1, 1 + written), check avro.toAvro(student));
+
+    Student deserializedValue = check avro.fromAvroSlice(buffer, 1, written);
+    test:assertEquals(deserializedValue, student);
+}
+
+@test:Config {
+    groups: ["buffer"]
+}
+public isolated function testToAvroIntoSmallBuffer() returns error? {
+    string schema = string `
+        {
+            "type": "array",
+            "name" : "stringArray",
+            "namespace": "data",
+            "items": "string"
+        }`;
+
+    string[] colors = ["red", "green", "blue"];
+    Schema avro = check new (schema);
+    byte[] buffer = [];
+    buffer.setLength(8);
+    int|Error result = avro.toAvroInto(colors, buffer, 2);
+    if result !is BufferTooSmallError {
+        test:assertFail("Expected an avro:BufferTooSmallError");
+    }
+    test:assertEquals(result.detail().requiredSize, (check avro.toAvro(colors)).length());
+}
+
+@test:Config {
+    groups: ["buffer"]
+}
+public isolated function testFromAvroSliceWithInvalidRange() returns error? {
+    string schema = string `{"type": "int", "name" : "intValue", "namespace": "data"}`;
+
+    Schema avro = check new (schema);
+    byte[] encoded = check avro.toAvro(5);
+    int|Error result = avro.fromAvroSlice(encoded, 1, encoded.length());
+    test:assertTrue(result is Error);
+}
+
+@test:Config {
+    groups: ["buffer"]
+}
+public isolated function testToAvroBufferWithDirectBuffer() returns error? {
+    string schema = string `
+        {
+            "namespace": "example.avro",
+            "type": "record",
+            "name": "Student",
+            "fields": [
+                {"name": "name", "type": "string"},
+                {"name": "subject", "type": "string"}
+            ]
+        }`;
+
+    Student student = {
+        name: "Liam",
+        subject: "geology"
+    };
+    Schema avro = check new (schema);
+    handle buffer = allocateDirect(64);
+    int written = check avro.toAvroBuffer(student, buffer);
+    test:assertEquals(written, (check avro.toAvro(student)).length());
+    test:assertEquals(getPosition(buffer), written);
+
+    _ = flip(buffer);
+    Student deserializedValue = check avro.fromAvroBuffer(buffer);
+    test:assertEquals(deserializedValue, student);
+    test:assertEquals(getPosition(buffer), 0);
+
+    int|Error result = avro.toAvroBuffer(student, allocateDirect(4));
+    if result !is BufferTooSmallError {
+        test:assertFail("Expected an avro:BufferTooSmallError");
+    }
+    test:assertEquals(result.detail().requiredSize, written);
+}
+
+isolated function allocateDirect(int capacity) returns handle = @java:Method {
+    'class: "java.nio.ByteBuffer"
+} external;
+
+isolated function flip(handle buffer) returns handle = @java:Method {
+    'class: "java.nio.ByteBuffer"
+} external;
+
+isolated function getPosition(handle buffer) returns int = @java:Method {
+    name: "position",
+    'class: "java.nio.ByteBuffer",
+    paramTypes: []
+} external;
@@ -0,0 +1,188 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/io;
+import ballerina/test;
+
+const CHANNEL_TEST_FILE = "build/channel_test_messages.avro";
+
+@test:Config {
+    groups: ["channel", "record"]
+}
+public function testChannelWriterAndReader() returns error? {
+    string schema = string `
+        {
+            "namespace": "example.avro",
+            "type": "record",
+            "name": "Student",
+            "fields": [
+                {"name": "name", "type": "string"},
+                {"name": "subject", "type": "string"}
+            ]
+        }`;
+
+    Schema avro = check new (schema);
+    Student[] students = [];
+    foreach int i in 0 ..< 500 {
+        students.push({name: string `student-${i}`, subject: i % 2 == 0 ? "physics" : "chemistry"});
+    }
+
+    io:WritableByteChannel writableChannel = check io:openWritableFile(CHANNEL_TEST_FILE);
+    ChannelWriter writer = check new (avro, writableChannel, 1024);
+    foreach Student student in students {
+        check writer.write(student);
+    }
+    check writer.close();
+
+    io:ReadableByteChannel readableChannel = check io:openReadableFile(CHANNEL_TEST_FILE);
+    stream<Student, Error?> studentStream = check avro.fromAvroChannel(readableChannel, 100);
+    Student[] deserializedStudents = check from Student student in studentStream select student;
+    test:assertEquals(deserializedStudents, students);
+}
+
+@test:Config {
+    groups: ["channel", "primitive"]
+}
+public function testChannelReaderWithTruncatedMessage() returns error? {
+    string schema = string `{"type": "string", "name" : "stringValue", "namespace": "data"}`;
+
+    Schema avro = check new (schema);
+    io:WritableByteChannel writableChannel = check io:openWritableFile(CHANNEL_TEST_FILE);
+    ChannelWriter writer = check new (avro, writableChannel);
+    check writer.write("first message");
+    check writer.write("second message");
+    check writer.close();
+
+    byte[] content = check io:fileReadBytes(CHANNEL_TEST_FILE);
+    check io:fileWriteBytes(CHANNEL_TEST_FILE, content.slice(0, content.length() - 3));
+
+    io:ReadableByteChannel readableChannel = check io:openReadableFile(CHANNEL_TEST_FILE);
+    stream<string, Error?> messages = check avro.fromAvroChannel(readableChannel);
+    record {|string value;|}|Error? first = messages.next();
+    test:assertEquals(first, {value: "first message"});
+    record {|string value;|}|Error? second = messages.next();
+    test:assertTrue(second is Error);
+}
+
+@test:Config {
+    groups: ["channel", "errors"]
+}
+public function testChannelBufferSizesOutOfRange() returns error? {
+    string schema = string `{"type": "string", "name" : "stringValue", "namespace": "data"}`;
+
+    Schema avro = check new (schema);
+    io:WritableByteChannel writableChannel = check io:openWritableFile(CHANNEL_TEST_FILE);
+    ChannelWriter|Error writer = new (avro, writableChannel, 0);
+    test:assertTrue(writer is Error);
+    check writableChannel.close();
+
+    io:ReadableByteChannel readableChannel = check io:openReadableFile(CHANNEL_TEST_FILE);
+    stream<string, Error?>|Error messages = avro.fromAvroChannel(readableChannel, -1);
+    test:assertTrue(messages is Error);
+    messages = avro.fromAvroChannel(readableChannel, 4294967296);
+    test:assertTrue(messages is Error);
+    check readableChannel.close();
+}
+
+@test:Config {
+    groups: ["channel", "array"]
+}
+public function testToAvroFromStream() returns error? {
+    string schema = string `
+        {
+            "namespace": "example.avro",
+            "type": "record",
+            "name": "Course",
+            "fields": [
+                {"name": "name", "type": "string"},
+                {"name": "marks", "type": {"type": "array", "items": "int"}},
+                {"name": "credits", "type": "int"}
+            ]
+        }`;
+
+    Schema avro = check new (schema);
+    int[] marks = [];
+    foreach int i in 0 ..< 1000 {
+        marks.push(i % 100);
+    }
+    string path = "build/streamed_course.avro";
+    io:WritableByteChannel writableChannel = check io:openWritableFile(path);
+    check avro.toAvroFromStream({name: "physics", credits: 3}, "marks", marks.toStream(), writableChannel, 64);
+    check writableChannel.close();
+
+    byte[] encoded = check io:fileReadBytes(path);
+    record {string name; int[] marks; int credits;} course = check avro.fromAvro(encoded);
+    test:assertEquals(course, {name: "physics", marks, credits: 3});
+
+    io:WritableByteChannel invalidChannel = check io:openWritableFile(path);
+    Error? invalidField = avro.toAvroFromStream({name: "physics", credits: 3}, "credits", marks.toStream(),
+        invalidChannel);
+    test:assertTrue(invalidField is Error);
+    Error? invalidBlockSize = avro.toAvroFromStream({name: "physics", credits: 3}, "marks", marks.toStream(),
+        invalidChannel, 0);
+    test:assertTrue(invalidBlockSize is Error);
+    check invalidChannel.close();
+}
+
+@test:Config {
+    groups: ["channel", "array"]
+}
+public function testFromAvroStream() returns error? {
+    string schema = string `
+        {
+            "namespace": "example.avro",
+            "type": "record",
+            "name": "Course",
+            "fields": [
+                {"name": "name", "type": "string"},
+                {"name": "students", "type": {"type": "array", "items": {
+                    "type": "record",
+                    "name": "Student",
+                    "fields": [
+                        {"name": "name", "type": "string"},
+                        {"name": "subject", "type": "string"}
+                    ]
+                }}}
+            ]
+        }`;
+
+    Schema avro = check new (schema);
+    Student[] students = [];
+    foreach int i in 0 ..< 500 {
+        students.push({name: string `student-${i}`, subject: "physics"});
+    }
+    byte[] encoded = check avro.toAvro({name: "physics", students});
+
+    stream<Student, Error?> studentStream = check avro.fromAvroStream(encoded, "students");
+    Student[] decodedStudents = check from Student student in studentStream select student;
+    test:assertEquals(decodedStudents, students);
+
+    string path = "build/streamed_students.avro";
+    check io:fileWriteBytes(path, encoded);
+    io:ReadableByteChannel readableChannel = check io:openReadableFile(path);
+    studentStream = check avro.fromAvroStream(readableChannel, "students", 64);
+    decodedStudents = check from Student student in studentStream select student;
+    test:assertEquals(decodedStudents, students);
+
+    studentStream = check avro.fromAvroStream(encoded.slice(0, encoded.length() - 10), "students");
+    Student[]|Error truncated = from Student student in studentStream select student;
+    test:assertTrue(truncated is Error);
+
+    stream<Student, Error?>|Error invalidField = avro.fromAvroStream(encoded, "name");
+    test:assertTrue(invalidField is Error);
+    stream<Student, Error?>|Error invalidReadAhead = avro.fromAvroStream(readableChannel, "students", 0);
+    test:assertTrue(invalidReadAhead is Error);
+}
@@ -0,0 +1,81 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+@test:Config {
+    groups: ["column", "record"]
+}
+public isolated function testDecodeColumns() returns error? {
+    Schema avro = check new (PAYMENT_SCHEMA);
+    Payment[] payments = [
+        {customerId: "C-1042", amount: 120.5, attempts: 2, settled: true},
+        {customerId: "C-2077", amount: 35.0, attempts: 1, settled: false},
+        {customerId: "C-1042", amount: 10.25, attempts: 3, settled: true}
+    ];
+    byte[][] data = [];
+    foreach Payment payment in payments {
+        data.push(check avro.toAvro(payment));
+    }
+
+    ColumnBatch batch = check avro.decodeColumns(data, ["amount", "attempts", "settled", "customerId"]);
+    test:assertEquals(batch.rowCount, 3);
+    test:assertEquals(batch.columns["amount"], {values: [120.5, 35.0, 10.25], nulls: ()});
+    test:assertEquals(batch.columns["attempts"], {values: [2, 1, 3], nulls: ()});
+    test:assertEquals(batch.columns["settled"], {values: [true, false, true], nulls: ()});
+    test:assertEquals(batch.columns["customerId"], {values: ["C-1042", "C-2077", "C-1042"], nulls: ()});
+}
+
+@test:Config {
+    groups: ["column", "record"]
+}
+public isolated function testDecodeNullableColumns() returns error? {
+    Schema avro = check new (ORDER_SCHEMA);
+    Order[] orders = [
+        {id: "A-1", note: (), quantities: [2], prices: {}, status: ONE},
+        {id: "A-2", note: "gift", quantities: [], prices: {"pear": 2.25}, status: THREE}
+    ];
+    byte[][] data = [];
+    foreach Order 'order in orders {
+        data.push(check avro.toAvro('order));
+    }
+
+    ColumnBatch batch = check avro.decodeColumns(data, ["note", "status"]);
+    test:assertEquals(batch.columns["note"], {values: ["", "gift"], nulls: [true, false]});
+    test:assertEquals(batch.columns["status"], {values: ["ONE", "THREE"], nulls: ()});
+}
+
+@test:Config {
+    groups: ["column", "record"]
+}
+public isolated function testDecodeColumnsWithInvalidPath() returns error? {
+    Schema avro = check new (ORDER_SCHEMA);
+    byte[][] data = [check avro.toAvro({id: "A-1", note: (), quantities: [2], prices: {}, status: ONE})];
+
+    ColumnBatch|Error batch = avro.decodeColumns(data, ["quantities"]);
+    test:assertTrue(batch is Error);
+}
+
+@test:Config {
+    groups: ["column", "file", "record"]
+}
+public isolated function testReadColumnsFromFile() returns error? {
+    FileReader reader = check new (STUDENTS_FILE);
+
+    ColumnBatch batch = check reader.readColumns(["name"], {'field: "subject", operator: NOT_EQUAL, value: "physics"});
+    test:assertEquals(batch.rowCount, 2);
+    test:assertEquals(batch.columns["name"], {values: ["Liam", "Noah"], nulls: ()});
+}
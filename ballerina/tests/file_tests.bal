@@ -0,0 +1,417 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+const STUDENTS_FILE = "tests/resources/students.avro";
+
+@test:Config {
+    groups: ["file", "record"]
+}
+public isolated function testFileReaderReadsAllRecords() returns error? {
+    FileReader reader = check new (STUDENTS_FILE);
+    stream<Student, Error?> studentStream = check reader.read();
+
+    Student[] students = check from Student student in studentStream select student;
+    test:assertEquals(students, [
+        {name: "Liam", subject: "geology"},
+        {name: "Emma", subject: "physics"},
+        {name: "Noah", subject: "chemistry"}
+    ]);
+}
+
+@test:Config {
+    groups: ["file", "filter", "record"]
+}
+public isolated function testFileReaderWithFilter() returns error? {
+    FileReader reader = check new (STUDENTS_FILE);
+    stream<Student, Error?> studentStream = check reader.read({
+        'field: "subject",
+        operator: IN,
+        value: ["physics", "chemistry"]
+    });
+
+    Student[] students = check from Student student in studentStream select student;
+    test:assertEquals(students, [{name: "Emma", subject: "physics"}, {name: "Noah", subject: "chemistry"}]);
+}
+
+@test:Config {
+    groups: ["file", "filter", "record"]
+}
+public isolated function testFileReaderWithInvalidPredicate() returns error? {
+    FileReader reader = check new (STUDENTS_FILE);
+    stream<Student, Error?>|Error studentStream = reader.read({'field: "age", operator: GREATER_THAN, value: 18});
+    test:assertTrue(studentStream is Error);
+}
+
+@test:Config {
+    groups: ["file", "record"]
+}
+public isolated function testFileReaderWithMissingFile() {
+    FileReader|Error reader = new ("tests/resources/missing.avro");
+    test:assertTrue(reader is Error);
+}
+
+@test:Config {
+    groups: ["file", "record"]
+}
+public isolated function testFileWriterWithParallelCompression() returns error? {
+    string path = "build/parallel_students.avro";
+    Schema avro = check new (string `
+        {
+            "namespace": "example.avro",
+            "type": "record",
+            "name": "Student",
+            "fields": [
+                {"name": "name", "type": "string"},
+                {"name": "subject", "type": "string"}
+            ]
+        }`);
+    Student[] students = [];
+    foreach int i in 0 ..< 1000 {
+        students.push({name: string `student-${i}`, subject: i % 2 == 0 ? "physics" : "chemistry"});
+    }
+
+    FileWriter writer = check new (path, avro, codec = DEFLATE, syncInterval = 256, compressionThreads = 4);
+    foreach Student student in students {
+        check writer.write(student);
+    }
+    check writer.close();
+
+    FileReader reader = check new (path);
+    stream<Student, Error?> studentStream = check reader.read();
+    Student[] result = check from Student student in studentStream select student;
+    test:assertEquals(result, students);
+}
+
+@test:Config {
+    groups: ["file", "record"]
+}
+public isolated function testFileWriterAfterClose() returns error? {
+    Schema avro = check new (string `{"type": "int", "name": "intValue", "namespace": "data"}`);
+    FileWriter writer = check new ("build/closed_writer.avro", avro);
+    check writer.write(1);
+    check writer.close();
+
+    Error? result = writer.write(2);
+    test:assertTrue(result is Error);
+}
+
+@test:Config {
+    groups: ["file", "record"]
+}
+public isolated function testFileReaderSkipsBlocksWithStatistics() returns error? {
+    string path = "build/indexed_payments.avro";
+    Schema avro = check new (PAYMENT_SCHEMA);
+    Payment[] payments = [];
+    foreach int i in 0 ..< 2000 {
+        payments.push({customerId: string `C-${i / 100}`, amount: <float>i, attempts: i, settled: i % 3 == 0});
+    }
+
+    FileWriter writer = check new (path, avro, codec = DEFLATE, syncInterval = 512, compressionThreads = 2,
+        statisticsFields = ["attempts", "customerId"]);
+    foreach Payment payment in payments {
+        check writer.write(payment);
+    }
+    check writer.close();
+
+    FileReader reader = check new (path);
+    stream<Payment, Error?> paymentStream = check reader.read([
+        {'field: "attempts", operator: GREATER_THAN_OR_EQUAL, value: 1500},
+        {'field: "customerId", value: "C-15"}
+    ]);
+    Payment[] result = check from Payment payment in paymentStream select payment;
+    test:assertEquals(result, payments.slice(1500, 1600));
+}
+
+@test:Config {
+    groups: ["file", "record"]
+}
+public isolated function testFileWriterWithInvalidStatisticsField() returns error? {
+    Schema avro = check new (PAYMENT_SCHEMA);
+    FileWriter|Error writer = new ("build/invalid_statistics.avro", avro, statisticsFields = ["unknown"]);
+    test:assertTrue(writer is Error);
+}
+
+@test:Config {
+    groups: ["file", "record"]
+}
+public isolated function testFileWriterWithOutOfRangeConfiguration() returns error? {
+    Schema avro = check new (PAYMENT_SCHEMA);
+    FileWriter|Error writer = new ("build/out_of_range.avro", avro, syncInterval = 4294967296);
+    test:assertTrue(writer is Error);
+}
+
+@test:Config {
+    groups: ["file", "record"]
+}
+public isolated function testFileReaderReadAtWithIndex() returns error? {
+    string path = "build/indexed_students.avro";
+    Schema avro = check new (string `
+        {
+            "namespace": "example.avro",
+            "type": "record",
+            "name": "Student",
+            "fields": [
+                {"name": "name", "type": "string"},
+                {"name": "subject", "type": "string"}
+            ]
+        }`);
+    FileWriter writer = check new (path, avro, syncInterval = 128, createIndex = true);
+    foreach int i in 0 ..< 500 {
+        check writer.write({name: string `student-${i}`, subject: "physics"});
+    }
+    check writer.close();
+
+    FileReader reader = check new (path);
+    Student student = check reader.readAt(321);
+    test:assertEquals(student, {name: "student-321", subject: "physics"});
+
+    stream<Student, Error?> studentStream = check reader.readRange(495, 510);
+    string[] names = check from Student s in studentStream select s.name;
+    test:assertEquals(names, ["student-495", "student-496", "student-497", "student-498", "student-499"]);
+
+    Student|Error missing = reader.readAt(500);
+    test:assertTrue(missing is Error);
+}
+
+@test:Config {
+    groups: ["file", "record"]
+}
+public isolated function testFileReaderReadRangeWithoutIndex() returns error? {
+    FileReader reader = check new (STUDENTS_FILE);
+    stream<Student, Error?> studentStream = check reader.readRange(1, 3);
+    Student[] students = check from Student student in studentStream select student;
+    test:assertEquals(students, [{name: "Emma", subject: "physics"}, {name: "Noah", subject: "chemistry"}]);
+
+    Student student = check reader.readAt(0);
+    test:assertEquals(student, {name: "Liam", subject: "geology"});
+
+    stream<Student, Error?>|Error invalid = reader.readRange(2, 1);
+    test:assertTrue(invalid is Error);
+}
+
+@test:Config {
+    groups: ["file", "record"]
+}
+public isolated function testCreateIndex() returns error? {
+    string path = "build/reindexed_payments.avro";
+    Schema avro = check new (PAYMENT_SCHEMA);
+    FileWriter writer = check new (path, avro, syncInterval = 256);
+    foreach int i in 0 ..< 1000 {
+        check writer.write({customerId: string `C-${i / 10}`, amount: <float>i, attempts: i, settled: false});
+    }
+    check writer.close();
+
+    check createIndex(path, ["attempts"]);
+
+    FileReader reader = check new (path);
+    Payment payment = check reader.readAt(777);
+    test:assertEquals(payment.attempts, 777);
+    stream<Payment, Error?> paymentStream = check reader.read({'field: "attempts", operator: LESS_THAN, value: 3});
+    int[] attempts = check from Payment p in paymentStream select p.attempts;
+    test:assertEquals(attempts, [0, 1, 2]);
+
+    Error? result = createIndex(path, ["unknown"]);
+    test:assertTrue(result is Error);
+}
+
+@test:Config {
+    groups: ["file", "record"]
+}
+public isolated function testFileReaderWithKeyIndex() returns error? {
+    string path = "build/keyed_payments.avro";
+    Schema avro = check new (PAYMENT_SCHEMA);
+    Payment[] payments = [];
+    foreach int i in 0 ..< 1000 {
+        payments.push({customerId: string `C-${(i * 7919) % 250}`, amount: <float>i, attempts: i, settled: false});
+    }
+    FileWriter writer = check new (path, avro, syncInterval = 256, keyField = "customerId");
+    foreach Payment payment in payments {
+        check writer.write(payment);
+    }
+    check writer.close();
+
+    FileReader reader = check new (path);
+    stream<Payment, Error?> paymentStream = check reader.read({'field: "customerId", value: "C-42"});
+    Payment[] result = check from Payment p in paymentStream select p;
+    test:assertEquals(result, payments.filter(p => p.customerId == "C-42"));
+
+    check createIndex(path, keyField = "attempts");
+    paymentStream = check reader.read({'field: "attempts", operator: IN, value: [5, 995]});
+    int[] attempts = check from Payment p in paymentStream select p.attempts;
+    test:assertEquals(attempts, [5, 995]);
+
+    Error? invalidKey = createIndex(path, keyField = "amount");
+    test:assertTrue(invalidKey is Error);
+}
+
+@test:Config {
+    groups: ["file", "record"]
+}
+public isolated function testFileWriterAppend() returns error? {
+    string path = "build/appended_students.avro";
+    Schema avro = check new (string `
+        {
+            "namespace": "example.avro",
+            "type": "record",
+            "name": "Student",
+            "fields": [
+                {"name": "name", "type": "string"},
+                {"name": "subject", "type": "string"}
+            ]
+        }`);
+    FileWriter writer = check new (path, avro, codec = DEFLATE, createIndex = true);
+    check writer.write({name: "Liam", subject: "geology"});
+    check writer.close();
+
+    writer = check new (path, avro, append = true, createIndex = true, commitSize = 1);
+    check writer.write({name: "Emma", subject: "physics"});
+    check writer.'commit();
+    check writer.write({name: "Noah", subject: "chemistry"});
+    check writer.close();
+
+    FileReader reader = check new (path);
+    stream<Student, Error?> studentStream = check reader.read();
+    string[] names = check from Student student in studentStream select student.name;
+    test:assertEquals(names, ["Liam", "Emma", "Noah"]);
+    Student student = check reader.readAt(2);
+    test:assertEquals(student.name, "Noah");
+
+    Schema other = check new (string `{"type": "int", "name": "intValue", "namespace": "data"}`);
+    FileWriter|Error mismatched = new (path, other, append = true);
+    test:assertTrue(mismatched is Error);
+}
+
+@test:Config {
+    groups: ["file", "record"]
+}
+public isolated function testCompactFiles() returns error? {
+    Schema avro = check new (string `
+        {
+            "namespace": "example.avro",
+            "type": "record",
+            "name": "Student",
+            "fields": [
+                {"name": "name", "type": "string"},
+                {"name": "subject", "type": "string"}
+            ]
+        }`);
+    FileWriter writer = check new ("build/students_part_1.avro", avro, codec = DEFLATE);
+    check writer.write({name: "Liam", subject: "geology"});
+    check writer.close();
+    writer = check new ("build/students_part_2.avro", avro);
+    check writer.write({name: "Emma", subject: "physics"});
+    check writer.close();
+    writer = check new ("build/students_part_3.avro", avro, codec = DEFLATE);
+    check writer.write({name: "Noah", subject: "chemistry"});
+    check writer.close();
+
+    string[] inputs = ["build/students_part_1.avro", "build/students_part_2.avro", "build/students_part_3.avro"];
+    check compact(inputs, "build/compacted_students.avro", codec = DEFLATE, createIndex = true);
+    FileReader reader = check new ("build/compacted_students.avro");
+    stream<Student, Error?> studentStream = check reader.read();
+    string[] names = check from Student student in studentStream select student.name;
+    test:assertEquals(names, ["Liam", "Emma", "Noah"]);
+    Student student = check reader.readAt(1);
+    test:assertEquals(student.subject, "physics");
+
+    Error? sameFile = compact(inputs, "build/students_part_1.avro");
+    test:assertTrue(sameFile is Error);
+}
+
+@test:Config {
+    groups: ["file", "record"]
+}
+public isolated function testPartitionedFileWriter() returns error? {
+    Schema avro = check new (string `
+        {
+            "namespace": "example.avro",
+            "type": "record",
+            "name": "Student",
+            "fields": [
+                {"name": "name", "type": "string"},
+                {"name": "subject", "type": "string"}
+            ]
+        }`);
+    string directory = "build/partitioned_students";
+    PartitionedFileWriter writer = check new (directory, avro, partitionField = "subject", maxFileRecords = 2,
+        codec = DEFLATE, compressionThreads = 2);
+    check writer.write({name: "Liam", subject: "geology"});
+    check writer.write({name: "Emma", subject: "physics"});
+    check writer.write({name: "Noah", subject: "geology"});
+    check writer.write({name: "Olivia", subject: "geology"});
+    check writer.close();
+
+    FileReader reader = check new (directory + "/subject=geology/part-00000.avro");
+    stream<Student, Error?> studentStream = check reader.read();
+    string[] names = check from Student student in studentStream select student.name;
+    test:assertEquals(names, ["Liam", "Noah"]);
+    reader = check new (directory + "/subject=geology/part-00001.avro");
+    studentStream = check reader.read();
+    names = check from Student student in studentStream select student.name;
+    test:assertEquals(names, ["Olivia"]);
+    reader = check new (directory + "/subject=physics/part-00000.avro");
+    studentStream = check reader.read();
+    names = check from Student student in studentStream select student.name;
+    test:assertEquals(names, ["Emma"]);
+
+    PartitionedFileWriter|Error invalid = new (directory, avro, partitionField = "grade");
+    test:assertTrue(invalid is Error);
+    invalid = new (directory, avro, partitionField = "subject", maxOpenFiles = 0);
+    test:assertTrue(invalid is Error);
+}
+
+@test:Config {
+    groups: ["file", "record"]
+}
+public isolated function testPartitionedFileWriterWithOpenFileLimit() returns error? {
+    Schema avro = check new (string `
+        {
+            "namespace": "example.avro",
+            "type": "record",
+            "name": "Student",
+            "fields": [
+                {"name": "name", "type": "string"},
+                {"name": "subject", "type": "string"}
+            ]
+        }`);
+    string directory = "build/limited_partitioned_students";
+    PartitionedFileWriter writer = check new (directory, avro, partitionField = "subject", maxOpenFiles = 2);
+    check writer.write({name: "Liam", subject: "geology"});
+    check writer.write({name: "Emma", subject: "physics"});
+    check writer.write({name: "Noah", subject: "geology"});
+    check writer.write({name: "Olivia", subject: "botany"});
+    check writer.write({name: "Ava", subject: "physics"});
+    check writer.close();
+
+    FileReader reader = check new (directory + "/subject=geology/part-00000.avro");
+    stream<Student, Error?> studentStream = check reader.read();
+    string[] names = check from Student student in studentStream select student.name;
+    test:assertEquals(names, ["Liam", "Noah"]);
+    reader = check new (directory + "/subject=physics/part-00000.avro");
+    studentStream = check reader.read();
+    names = check from Student student in studentStream select student.name;
+    test:assertEquals(names, ["Emma"]);
+    reader = check new (directory + "/subject=physics/part-00001.avro");
+    studentStream = check reader.read();
+    names = check from Student student in studentStream select student.name;
+    test:assertEquals(names, ["Ava"]);
+    reader = check new (directory + "/subject=botany/part-00000.avro");
+    studentStream = check reader.read();
+    names = check from Student student in studentStream select student.name;
+    test:assertEquals(names, ["Olivia"]);
+}
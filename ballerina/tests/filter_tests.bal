@@ -0,0 +1,92 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+type Payment record {|
+    string customerId;
+    float amount;
+    int attempts;
+    boolean settled;
+|};
+
+final string PAYMENT_SCHEMA = string `
+    {
+        "namespace": "example.avro",
+        "type": "record",
+        "name": "Payment",
+        "fields": [
+            {"name": "customerId", "type": "string"},
+            {"name": "amount", "type": "double"},
+            {"name": "attempts", "type": "int"},
+            {"name": "settled", "type": "boolean"}
+        ]
+    }`;
+
+@test:Config {
+    groups: ["filter", "record"]
+}
+public isolated function testMatchesWithEqualityPredicates() returns error? {
+    Schema avro = check new (ORDER_SCHEMA);
+    Order 'order = {id: "A-1", note: (), quantities: [2, 5], prices: {"apple": 1.5}, status: TWO};
+    byte[] data = check avro.toAvro('order);
+
+    test:assertTrue(check avro.matches(data, {'field: "id", value: "A-1"}));
+    test:assertTrue(check avro.matches(data, [
+        {'field: "status", value: "TWO"},
+        {'field: "note", operator: IS_NULL}
+    ]));
+    test:assertFalse(check avro.matches(data, [
+        {'field: "id", value: "A-1"},
+        {'field: "status", operator: NOT_EQUAL, value: "TWO"}
+    ]));
+    test:assertFalse(check avro.matches(data, {'field: "note", value: "urgent"}));
+    test:assertTrue(check avro.matches(data, {'field: "note", operator: NOT_EQUAL, value: "urgent"}));
+    test:assertFalse(check avro.matches(data, {'field: "note", operator: NOT_EQUAL}));
+    test:assertFalse(check avro.matches(data, {'field: "note", operator: LESS_THAN, value: "urgent"}));
+}
+
+@test:Config {
+    groups: ["filter", "record"]
+}
+public isolated function testMatchesWithRangeAndInPredicates() returns error? {
+    Schema avro = check new (PAYMENT_SCHEMA);
+    Payment payment = {customerId: "C-1042", amount: 120.5, attempts: 2, settled: true};
+    byte[] data = check avro.toAvro(payment);
+
+    test:assertTrue(check avro.matches(data, [
+        {'field: "amount", operator: GREATER_THAN, value: 100},
+        {'field: "amount", operator: LESS_THAN_OR_EQUAL, value: 120.5},
+        {'field: "attempts", operator: IN, value: [1, 2, 3]},
+        {'field: "settled", value: true}
+    ]));
+    test:assertTrue(check avro.matches(data, {'field: "customerId", operator: GREATER_THAN_OR_EQUAL, value: "C-1"}));
+    test:assertFalse(check avro.matches(data, {'field: "customerId", operator: IN, value: ["C-1", "C-2"]}));
+    test:assertFalse(check avro.matches(data, {'field: "attempts", operator: LESS_THAN, value: 2}));
+}
+
+@test:Config {
+    groups: ["filter", "record"]
+}
+public isolated function testMatchesWithInvalidPredicates() returns error? {
+    Schema avro = check new (PAYMENT_SCHEMA);
+    byte[] data = check avro.toAvro({customerId: "C-1042", amount: 120.5, attempts: 2, settled: true});
+
+    boolean|Error unknownField = avro.matches(data, {'field: "currency", value: "USD"});
+    test:assertTrue(unknownField is Error);
+    boolean|Error invalidValue = avro.matches(data, {'field: "attempts", value: "two"});
+    test:assertTrue(invalidValue is Error);
+}
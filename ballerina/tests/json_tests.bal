@@ -0,0 +1,78 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+type Order record {|
+    string id;
+    string? note;
+    int[] quantities;
+    map<float> prices;
+    Numbers status;
+|};
+
+final string ORDER_SCHEMA = string `
+    {
+        "namespace": "example.avro",
+        "type": "record",
+        "name": "Order",
+        "fields": [
+            {"name": "id", "type": "string"},
+            {"name": "note", "type": ["null", "string"]},
+            {"name": "quantities", "type": {"type": "array", "items": "long"}},
+            {"name": "prices", "type": {"type": "map", "values": "double"}},
+            {
+                "name": "status",
+                "type": {"type": "enum", "name": "Numbers", "symbols": ["ONE", "TWO", "THREE", "FOUR"]}
+            }
+        ]
+    }`;
+
+@test:Config {
+    groups: ["json", "record"]
+}
+public isolated function testToJsonBytes() returns error? {
+    Schema avro = check new (ORDER_SCHEMA);
+    Order 'order = {id: "A-1", note: (), quantities: [2, 5], prices: {"apple": 1.5, "pear": 2.25}, status: TWO};
+
+    byte[] json = check avro.toJsonBytes(check avro.toAvro('order));
+    json transcoded = check (check string:fromBytes(json)).fromJsonString();
+    test:assertEquals(transcoded, 'order.toJson());
+}
+
+@test:Config {
+    groups: ["json", "record"]
+}
+public isolated function testFromJsonBytes() returns error? {
+    Schema avro = check new (ORDER_SCHEMA);
+    string json = string `{"status": "THREE", "prices": {"plum": 3.0}, "id": "A-2", "quantities": [7], "unknown": 1}`;
+
+    byte[] serializedValue = check avro.fromJsonBytes(json.toBytes());
+    Order deserializedValue = check avro.fromAvro(serializedValue);
+    test:assertEquals(deserializedValue, {id: "A-2", note: (), quantities: [7], prices: {"plum": 3.0}, status: THREE});
+    test:assertEquals(serializedValue, check avro.toAvro(deserializedValue));
+}
+
+@test:Config {
+    groups: ["json", "errors"]
+}
+public isolated function testFromJsonBytesWithInvalidValue() returns error? {
+    Schema avro = check new (ORDER_SCHEMA);
+    string json = string `{"id": "A-3", "quantities": ["seven"], "prices": {}, "status": "ONE"}`;
+
+    byte[]|Error serializedValue = avro.fromJsonBytes(json.toBytes());
+    test:assertTrue(serializedValue is Error);
+}
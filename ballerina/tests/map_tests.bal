@@ -770,3 +770,41 @@ public isolated function testMapsWithNestedRecordArrayReadOnlyMaps() returns err
     };
     return verifyOperation(ReadOnlyMapOfRecordArray, lecturers, schema);
 }
+
+@test:Config {
+    groups: ["map", "record"]
+}
+public isolated function testReadOnlyRecordWithNestedMaps() returns error? {
+    string schema = string `
+        {
+            "type": "record",
+            "name": "NestedMapRecord",
+            "fields": [
+                {"name": "name", "type": "string"},
+                {
+                    "name": "levels",
+                    "type": {
+                        "type": "map",
+                        "values": {
+                            "type": "map",
+                            "values": {"type": "map", "values": "int"}
+                        }
+                    }
+                }
+            ]
+        }`;
+
+    NestedMapRecord value = {
+        name: "colors",
+        levels: {
+            "red": {"r": {"r": 2, "g": 3}, "g": {"r": 5, "g": 6}},
+            "blue": {"r": {"r": 8, "g": 9}}
+        }
+    };
+    Schema avro = check new (schema);
+    byte[] serializedValue = check avro.toAvro(value);
+    NestedMapRecord deserializedValue = check avro.fromAvro(serializedValue);
+    test:assertEquals(deserializedValue, value);
+    test:assertTrue(deserializedValue.levels.isReadOnly());
+    test:assertTrue(deserializedValue.levels.get("red").get("r").isReadOnly());
+}
@@ -490,3 +490,224 @@ public isolated function testUnionsWithRecords() returns error? {
     DataRecord deserializedValue = check avro.fromAvro(serializedValue);
     test:assertEquals(deserializedValue, value);
 }
+
+@test:Config {
+    groups: ["record", "readonly"]
+}
+public isolated function testRecordsWithDifferentTargetTypesUsingSameSchema() returns error? {
+    string schema = string `
+        {
+            "namespace": "example.avro",
+            "type": "record",
+            "name": "Student",
+            "fields": [
+                {"name": "name", "type": "string"},
+                {"name": "subject", "type": "string"}
+            ]
+        }`;
+
+    Schema avro = check new (schema);
+    Student[] students = [{name: "Liam", subject: "geology"}, {name: "Emma", subject: "physics"}];
+    foreach Student student in students {
+        byte[] serializedValue = check avro.toAvro(student);
+        Student deserializedStudent = check avro.fromAvro(serializedValue);
+        test:assertEquals(deserializedStudent, student);
+        Student & readonly readOnlyStudent = check avro.fromAvro(serializedValue);
+        test:assertEquals(readOnlyStudent, student);
+    }
+}
+
+@test:Config {
+    groups: ["record", "patch"]
+}
+public isolated function testPatchField() returns error? {
+    string schema = string `
+        {
+            "type": "record",
+            "name": "Instructor",
+            "namespace": "example.avro",
+            "fields": [
+                {"name": "name", "type": ["null", "string"]},
+                {"name": "student", "type": ["null", {
+                    "type": "record",
+                    "name": "Student",
+                    "fields": [
+                        {"name": "name", "type": "string"},
+                        {"name": "subject", "type": "string"}
+                    ]
+                }]}
+            ]
+        }`;
+
+    Schema avro = check new (schema);
+    Instructor instructor = {name: "John", student: {name: "Liam", subject: "geology"}};
+    byte[] serializedValue = check avro.toAvro(instructor);
+
+    byte[] patchedValue = check avro.patch(serializedValue, "student.subject", "astrophysics");
+    Instructor patchedInstructor = check avro.fromAvro(patchedValue);
+    test:assertEquals(patchedInstructor, {name: "John", student: {name: "Liam", subject: "astrophysics"}});
+
+    patchedValue = check avro.patch(patchedValue, "name", ());
+    patchedInstructor = check avro.fromAvro(patchedValue);
+    test:assertEquals(patchedInstructor, {name: (), student: {name: "Liam", subject: "astrophysics"}});
+
+    byte[]|Error invalidPath = avro.patch(serializedValue, "student.grade", "A");
+    test:assertTrue(invalidPath is Error);
+}
+
+@test:Config {
+    groups: ["record", "compare"]
+}
+public isolated function testCompareAndSortEncoded() returns error? {
+    string schema = string `
+        {
+            "type": "record",
+            "name": "Student",
+            "namespace": "example.avro",
+            "fields": [
+                {"name": "name", "type": "string", "order": "ignore"},
+                {"name": "subject", "type": "string", "order": "descending"}
+            ]
+        }`;
+
+    Schema avro = check new (schema);
+    Student[] students = [
+        {name: "Liam", subject: "geology"},
+        {name: "Emma", subject: "physics"},
+        {name: "Noah", subject: "algebra"},
+        {name: "Ava", subject: "physics"}
+    ];
+    byte[][] serializedValues = [];
+    foreach Student student in students {
+        serializedValues.push(check avro.toAvro(student));
+    }
+
+    test:assertEquals(check avro.compare(serializedValues[0], serializedValues[1]), 1);
+    test:assertEquals(check avro.compare(serializedValues[1], serializedValues[3]), 0);
+    test:assertEquals(check avro.compare(serializedValues[2], serializedValues[0]), 1);
+
+    check avro.sortEncoded(serializedValues);
+    Student[] sortedStudents = [];
+    foreach byte[] serializedValue in serializedValues {
+        sortedStudents.push(check avro.fromAvro(serializedValue));
+    }
+    test:assertEquals(sortedStudents, [
+        {name: "Emma", subject: "physics"},
+        {name: "Ava", subject: "physics"},
+        {name: "Liam", subject: "geology"},
+        {name: "Noah", subject: "algebra"}
+    ]);
+
+    int|Error invalidValue = avro.compare(serializedValues[0], [4]);
+    test:assertTrue(invalidValue is Error);
+}
+
+@test:Config {
+    groups: ["record", "key"]
+}
+public isolated function testExtractAndHashKey() returns error? {
+    string schema = string `
+        {
+            "type": "record",
+            "name": "Instructor",
+            "namespace": "example.avro",
+            "fields": [
+                {"name": "name", "type": ["null", "string"]},
+                {"name": "student", "type": ["null", {
+                    "type": "record",
+                    "name": "Student",
+                    "fields": [
+                        {"name": "name", "type": "string"},
+                        {"name": "subject", "type": "string"}
+                    ]
+                }]}
+            ]
+        }`;
+
+    Schema avro = check new (schema);
+    byte[] first = check avro.toAvro(<Instructor>{name: "John", student: {name: "Liam", subject: "geology"}});
+    byte[] second = check avro.toAvro(<Instructor>{name: "Jane", student: {name: "Liam", subject: "physics"}});
+
+    Schema stringSchema = check new (string `{"type": "string"}`);
+    byte[] key = check avro.extractKey(first, ["student.name"]);
+    test:assertEquals(key, check stringSchema.toAvro("Liam"));
+    test:assertEquals(check avro.extractKey(second, ["student.name"]), key);
+    test:assertEquals(check avro.hashKey(first, ["student.name"]), check avro.hashKey(second, ["student.name"]));
+    test:assertNotEquals(check avro.hashKey(first, ["name", "student.name"]),
+            check avro.hashKey(second, ["name", "student.name"]));
+
+    byte[]|Error invalidPath = avro.extractKey(first, ["student.grade"]);
+    test:assertTrue(invalidPath is Error);
+}
+
+@test:Config {
+    groups: ["record", "recursive"]
+}
+public isolated function testRecursiveRecords() returns error? {
+    string schema = string `
+        {
+            "type": "record",
+            "name": "LinkedNode",
+            "namespace": "example.avro",
+            "fields": [
+                {"name": "value", "type": "long"},
+                {"name": "next", "type": ["null", "LinkedNode"]}
+            ]
+        }`;
+
+    Schema avro = check new (schema);
+    LinkedNode? head = ();
+    foreach int i in 0 ..< 500 {
+        head = {value: 500 - i, next: head};
+    }
+    LinkedNode list = check head.ensureType();
+    byte[] serializedValue = check avro.toAvro(list);
+    LinkedNode deserializedValue = check avro.fromAvro(serializedValue);
+    test:assertEquals(deserializedValue, list);
+
+    byte[] changedValue = check avro.toAvro(<LinkedNode>{value: 1, next: {value: 3, next: ()}});
+    test:assertEquals(check avro.compare(serializedValue, changedValue), -1);
+}
+
+@test:Config {
+    groups: ["record", "recursive"]
+}
+public isolated function testRecursiveRecordsNestedDeeperThanLimit() returns error? {
+    string schema = string `
+        {
+            "type": "record",
+            "name": "LinkedNode",
+            "namespace": "example.avro",
+            "fields": [
+                {"name": "value", "type": "long"},
+                {"name": "next", "type": ["null", "LinkedNode"]}
+            ]
+        }`;
+
+    Schema avro = check new (schema);
+    LinkedNode? head = ();
+    foreach int i in 0 ..< 2500 {
+        head = {value: 2500 - i, next: head};
+    }
+    LinkedNode list = check head.ensureType();
+    byte[] serializedValue = check avro.toAvro(list);
+    LinkedNode deserializedValue = check avro.fromAvro(serializedValue);
+    test:assertEquals(deserializedValue, list);
+
+    LinkedNode last = list;
+    LinkedNode? next = list.next;
+    while next is LinkedNode {
+        last = next;
+        next = next.next;
+    }
+    last.value = 0;
+    byte[] changedValue = check avro.toAvro(list);
+    test:assertEquals(check avro.compare(serializedValue, changedValue), 1);
+    byte[] jsonValue = check avro.toJsonBytes(serializedValue);
+    test:assertTrue(jsonValue.length() > 0);
+
+    LinkedNode cyclicList = {value: 1, next: ()};
+    cyclicList.next = cyclicList;
+    byte[]|Error cyclicValue = avro.toAvro(cyclicList);
+    test:assertTrue(cyclicValue is Error);
+}
@@ -0,0 +1,153 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/io;
+import ballerina/test;
+
+const TRANSCODED_STUDENTS_FILE = "build/transcoded_students.avro";
+const INCOMPATIBLE_STUDENTS_FILE = "build/incompatible_students.avro";
+
+type EmployeeV2 record {|
+    string name;
+    float salary;
+    int age;
+    string department;
+|};
+
+final string EMPLOYEE_V1_SCHEMA = string `
+    {
+        "namespace": "example.avro",
+        "type": "record",
+        "name": "Employee",
+        "fields": [
+            {"name": "name", "type": "string"},
+            {"name": "badge", "type": "string"},
+            {"name": "age", "type": "int"},
+            {"name": "salary", "type": "int"}
+        ]
+    }`;
+
+final string EMPLOYEE_V2_SCHEMA = string `
+    {
+        "namespace": "example.avro",
+        "type": "record",
+        "name": "Employee",
+        "fields": [
+            {"name": "name", "type": "string"},
+            {"name": "salary", "type": "double"},
+            {"name": "age", "type": "long"},
+            {"name": "department", "type": "string", "default": "engineering"}
+        ]
+    }`;
+
+@test:Config {
+    groups: ["transcode", "record"]
+}
+public isolated function testTranscodeToEvolvedSchema() returns error? {
+    Schema v1 = check new (EMPLOYEE_V1_SCHEMA);
+    Schema v2 = check new (EMPLOYEE_V2_SCHEMA);
+
+    byte[] data = check v1.toAvro({name: "Jon", badge: "B-17", age: 32, salary: 4200});
+    byte[] transcoded = check transcode(data, v1, v2);
+    EmployeeV2 employee = check v2.fromAvro(transcoded);
+    test:assertEquals(employee, {name: "Jon", salary: 4200.0, age: 32, department: "engineering"});
+}
+
+@test:Config {
+    groups: ["transcode", "record"]
+}
+public isolated function testTranscodeToSameSchema() returns error? {
+    Schema v1 = check new (EMPLOYEE_V1_SCHEMA);
+
+    byte[] data = check v1.toAvro({name: "Jon", badge: "B-17", age: 32, salary: 4200});
+    byte[] transcoded = check transcode(data, v1, v1);
+    test:assertEquals(transcoded, data);
+}
+
+@test:Config {
+    groups: ["transcode", "record"]
+}
+public isolated function testTranscodeToIncompatibleSchema() returns error? {
+    Schema v1 = check new (EMPLOYEE_V1_SCHEMA);
+    Schema incompatible = check new (string `
+        {
+            "namespace": "example.avro",
+            "type": "record",
+            "name": "Employee",
+            "fields": [
+                {"name": "name", "type": "string"},
+                {"name": "manager", "type": "string"}
+            ]
+        }`);
+
+    byte[] data = check v1.toAvro({name: "Jon", badge: "B-17", age: 32, salary: 4200});
+    byte[]|Error transcoded = transcode(data, v1, incompatible);
+    test:assertTrue(transcoded is Error);
+}
+
+@test:Config {
+    groups: ["transcode", "record"]
+}
+public isolated function testTranscodeWithTrailingBytes() returns error? {
+    Schema v1 = check new (EMPLOYEE_V1_SCHEMA);
+    Schema v2 = check new (EMPLOYEE_V2_SCHEMA);
+
+    byte[] data = check v1.toAvro({name: "Jon", badge: "B-17", age: 32, salary: 4200});
+    data.push(0);
+    byte[]|Error transcoded = transcode(data, v1, v2);
+    test:assertTrue(transcoded is Error);
+}
+
+@test:Config {
+    groups: ["transcode", "record"]
+}
+public function testTranscodeFile() returns error? {
+    Schema target = check new (string `
+        {
+            "namespace": "example.avro",
+            "type": "record",
+            "name": "Student",
+            "fields": [
+                {"name": "name", "type": "string"},
+                {"name": "year", "type": "int", "default": 1}
+            ]
+        }`);
+
+    check transcodeFile("tests/resources/students.avro", TRANSCODED_STUDENTS_FILE, target);
+    byte[] content = check io:fileReadBytes(TRANSCODED_STUDENTS_FILE);
+    test:assertEquals(content.slice(0, 4), [79, 98, 106, 1]);
+}
+
+@test:Config {
+    groups: ["transcode", "record"]
+}
+public function testTranscodeFileToIncompatibleSchema() returns error? {
+    Schema target = check new (string `
+        {
+            "namespace": "example.avro",
+            "type": "record",
+            "name": "Student",
+            "fields": [
+                {"name": "name", "type": "string"},
+                {"name": "year", "type": "int"}
+            ]
+        }`);
+
+    Error? result = transcodeFile("tests/resources/students.avro", INCOMPATIBLE_STUDENTS_FILE, target);
+    test:assertTrue(result is Error);
+    byte[]|io:Error content = io:fileReadBytes(INCOMPATIBLE_STUDENTS_FILE);
+    test:assertTrue(content is io:Error);
+}
@@ -97,6 +97,11 @@ public type Lecturer6 record {
     Instructor? instructors;
 };
 
+public type NestedMapRecord readonly & record {
+    string name;
+    map<map<map<int>>> levels;
+};
+
 public type ByteRecord readonly & record {
     byte[] byteData;
 };
@@ -364,3 +369,8 @@ type EnumArray Numbers[];
 type Enum2DArray Numbers[][];
 type ReadOnlyString2DArray string[][] & readonly;
 type DataRecord record{};
+
+public type LinkedNode record {
+    int value;
+    LinkedNode? next;
+};
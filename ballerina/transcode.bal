@@ -0,0 +1,53 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# Re-encodes Avro data written with one schema so that it conforms to another schema, following the Avro schema
+# resolution rules. The data is not deserialized into Ballerina values: parts of the message with an identical
+# schema are copied as they are, removed fields are skipped, and added fields are filled in with their defaults.
+#
+# ```ballerina
+# avro:Schema v1 = check new (schemaV1);
+# avro:Schema v2 = check new (schemaV2);
+# byte[] migrated = check avro:transcode(data, v1, v2);
+# ```
+#
+# + data - The Avro serialized data
+# + 'from - The schema with which the data was written
+# + to - The schema to which the data is re-encoded
+# + return - The re-encoded data or else an `avro:Error` if the schemas are not compatible or the data is invalid or
+# contains more bytes than the `from` schema requires
+public isolated function transcode(byte[] data, Schema 'from, Schema to) returns byte[]|Error = @java:Method {
+    'class: "io.ballerina.lib.avro.AvroTranscoder"
+} external;
+
+# Re-encodes all the records of an Avro object container file so that they conform to the given schema and writes
+# them to a new container file. The compression codec and user metadata of the source file are preserved. The records
+# are written to a temporary file next to the target, which replaces the target only once all of them are written, so
+# a failed transcoding leaves no partial file behind.
+#
+# ```ballerina
+# check avro:transcodeFile("./students_v1.avro", "./students_v2.avro", v2);
+# ```
+#
+# + sourcePath - The path of the container file to be re-encoded
+# + targetPath - The path of the container file to be created
+# + to - The schema to which the records are re-encoded
+# + return - An `avro:Error` if the file cannot be read or written or the schemas are not compatible, or else `()`
+public isolated function transcodeFile(string sourcePath, string targetPath, Schema to) returns Error? = @java:Method {
+    'class: "io.ballerina.lib.avro.AvroTranscoder"
+} external;
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.compiler;
+
+import io.ballerina.projects.DiagnosticResult;
+import io.ballerina.projects.Package;
+import io.ballerina.projects.ProjectEnvironmentBuilder;
+import io.ballerina.projects.directory.BuildProject;
+import io.ballerina.projects.environment.Environment;
+import io.ballerina.projects.environment.EnvironmentBuilder;
+import io.ballerina.tools.diagnostics.Diagnostic;
+import io.ballerina.tools.diagnostics.DiagnosticSeverity;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Tests the diagnostics reported by the Avro compiler plugin.
+ */
+public class CompilerPluginTest {
+
+    private static final Path RESOURCE_DIRECTORY = Paths.get("src", "test", "resources", "ballerina_sources")
+            .toAbsolutePath();
+    private static final Path DISTRIBUTION_PATH = Paths.get("../", "target", "ballerina-runtime")
+            .toAbsolutePath();
+
+    @Test
+    public void testInvalidConstantSchemas() {
+        List<Diagnostic> errors = getErrors("sample_package_1");
+        Assert.assertEquals(errors.size(), 3);
+        for (Diagnostic error : errors) {
+            assertDiagnostic(error, AvroDiagnosticCodes.AVRO_101);
+        }
+    }
+
+    @Test
+    public void testValidConstantSchemas() {
+        Assert.assertEquals(getErrors("sample_package_2").size(), 0);
+    }
+
+    @Test
+    public void testIncompatibleSerializedTypes() {
+        List<Diagnostic> errors = getErrors("sample_package_3");
+        Assert.assertEquals(errors.size(), 5);
+        for (Diagnostic error : errors) {
+            assertDiagnostic(error, AvroDiagnosticCodes.AVRO_102);
+        }
+        Assert.assertTrue(errors.get(0).message().contains("field 'age' expects the Avro type 'int'"));
+        Assert.assertTrue(errors.get(2).message().contains("field 'credits' of the schema is not defined"));
+        Assert.assertTrue(errors.get(4).message().contains("field 'school' of the schema is not defined"));
+    }
+
+    @Test
+    public void testIncompatibleDeserializedTypes() {
+        List<Diagnostic> errors = getErrors("sample_package_4");
+        Assert.assertEquals(errors.size(), 3);
+        for (Diagnostic error : errors) {
+            assertDiagnostic(error, AvroDiagnosticCodes.AVRO_102);
+        }
+        Assert.assertTrue(errors.get(0).message().contains("required field 'school' of the record"));
+        Assert.assertTrue(errors.get(1).message().contains("expects the Avro type 'long' but found 'string'"));
+        Assert.assertTrue(errors.get(2).message().contains("expects the Avro type 'float' but found 'int'"));
+    }
+
+    @Test
+    public void testCompatibleTypes() {
+        Assert.assertEquals(getErrors("sample_package_5").size(), 0);
+    }
+
+    private static List<Diagnostic> getErrors(String path) {
+        DiagnosticResult diagnosticResult = loadPackage(path).getCompilation().diagnosticResult();
+        return diagnosticResult.diagnostics().stream()
+                .filter(diagnostic -> diagnostic.diagnosticInfo().severity() == DiagnosticSeverity.ERROR)
+                .toList();
+    }
+
+    private static void assertDiagnostic(Diagnostic diagnostic, AvroDiagnosticCodes code) {
+        Assert.assertEquals(diagnostic.diagnosticInfo().code(), code.getCode());
+        Assert.assertEquals(diagnostic.diagnosticInfo().severity(), code.getSeverity());
+    }
+
+    private static Package loadPackage(String path) {
+        Path projectDirPath = RESOURCE_DIRECTORY.resolve(path);
+        BuildProject project = BuildProject.load(getEnvironmentBuilder(), projectDirPath);
+        return project.currentPackage();
+    }
+
+    private static ProjectEnvironmentBuilder getEnvironmentBuilder() {
+        Environment environment = EnvironmentBuilder.getBuilder().setBallerinaHome(DISTRIBUTION_PATH).build();
+        return ProjectEnvironmentBuilder.getBuilder(environment);
+    }
+}
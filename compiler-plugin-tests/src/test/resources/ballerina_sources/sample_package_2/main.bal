@@ -0,0 +1,38 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+import ballerina/avro;
+
+const SCHEMA = "{\"type\": \"record\", \"name\": \"Student\", \"fields\": []}";
+
+public function main() returns error? {
+    avro:Schema _ = check new ("{\"type\": \"record\", \"name\": \"Student\", \"fields\": []}");
+    avro:Schema _ = check new (string `{
+        "type": "record",
+        "name": "Student",
+        "fields": [
+            {"name": "name", "type": "string"},
+            {"name": "age", "type": "int"}
+        ]
+    }`);
+    avro:Schema _ = check new (schema = "{\"type\": \"string\"}");
+    avro:Schema _ = check new avro:Schema("\"long\"");
+    avro:Schema _ = check new (SCHEMA);
+    string schema = "{\"type\": \"unknown\"}";
+    avro:Schema|avro:Error invalidSchema = new (schema);
+    if invalidSchema is avro:Error {
+        return;
+    }
+}
@@ -0,0 +1,72 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+import ballerina/avro;
+
+type Student record {
+    string name;
+    string age;
+};
+
+type Course record {|
+    string title;
+|};
+
+type Teacher record {|
+    string name;
+|};
+
+final avro:Schema studentSchema = check new (string `{
+    "type": "record",
+    "name": "Student",
+    "fields": [
+        {"name": "name", "type": "string"},
+        {"name": "age", "type": "int"}
+    ]
+}`);
+
+public function main() returns error? {
+    Student student = {name: "Liam", age: "20"};
+    _ = check studentSchema.toAvro(student);
+
+    byte[] buffer = [];
+    _ = check studentSchema.toAvroInto(student, buffer);
+
+    final avro:Schema courseSchema = check new (string `{
+        "type": "record",
+        "name": "Course",
+        "fields": [
+            {"name": "title", "type": "string"},
+            {"name": "credits", "type": "int"}
+        ]
+    }`);
+    Course course = {title: "Algorithms"};
+    _ = check courseSchema.toAvro(course);
+
+    final avro:Schema doubleSchema = check new ("\"double\"");
+    string text = "2.5";
+    _ = check doubleSchema.toAvro(text);
+
+    final avro:Schema teacherSchema = check new (string `{
+        "type": "record",
+        "name": "Teacher",
+        "fields": [
+            {"name": "name", "type": "string"},
+            {"name": "school", "type": "string", "default": "Central"}
+        ]
+    }`);
+    Teacher teacher = {name: "Mia"};
+    _ = check teacherSchema.toAvro(teacher);
+}
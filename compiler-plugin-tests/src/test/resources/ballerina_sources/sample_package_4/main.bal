@@ -0,0 +1,47 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+import ballerina/avro;
+
+type Student record {
+    string name;
+    int age;
+    string school;
+};
+
+final avro:Schema studentSchema = check new (string `{
+    "type": "record",
+    "name": "Student",
+    "fields": [
+        {"name": "name", "type": "string"},
+        {"name": "age", "type": "int"}
+    ]
+}`);
+
+public function main() returns error? {
+    record {string name; int age;} student = {name: "Liam", age: 20};
+    byte[] data = check studentSchema.toAvro(student);
+    Student _ = check studentSchema.fromAvro(data);
+
+    final avro:Schema numbersSchema = check new ("{\"type\": \"array\", \"items\": \"long\"}");
+    int[] values = [1, 2, 3];
+    byte[] numbers = check numbersSchema.toAvro(values);
+    string[] _ = check numbersSchema.fromAvroSlice(numbers, 0, numbers.length());
+
+    final avro:Schema floatSchema = check new ("\"float\"");
+    float ratio = 2.5;
+    byte[] value = check floatSchema.toAvro(ratio);
+    int _ = check floatSchema.fromAvro(value);
+}
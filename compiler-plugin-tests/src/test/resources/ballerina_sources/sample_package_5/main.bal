@@ -0,0 +1,73 @@
+// Copyright (c) 2024 WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+import ballerina/avro;
+
+type Student record {
+    string name;
+    int age;
+    string? school = ();
+};
+
+type Score record {
+    decimal value;
+};
+
+final avro:Schema studentSchema = check new (string `{
+    "type": "record",
+    "name": "Student",
+    "fields": [
+        {"name": "name", "type": "string"},
+        {"name": "age", "type": "int"},
+        {"name": "email", "type": ["null", "string"], "default": null}
+    ]
+}`);
+
+final avro:Schema scoreSchema = check new (string `{
+    "type": "record",
+    "name": "Score",
+    "fields": [
+        {"name": "value", "type": "int"}
+    ]
+}`);
+
+public function main() returns error? {
+    Student student = {name: "Liam", age: 20};
+    byte[] data = check studentSchema.toAvro(student);
+    record {string name; int age;} _ = check studentSchema.fromAvro(data);
+    map<anydata> _ = check studentSchema.fromAvro(data);
+
+    record {int value;} rawScore = {value: 90};
+    byte[] score = check scoreSchema.toAvro(rawScore);
+    Score _ = check scoreSchema.fromAvro(score);
+
+    final avro:Schema intSchema = check new ("\"int\"");
+    int count = 10;
+    byte[] number = check intSchema.toAvro(count);
+    float _ = check intSchema.fromAvro(number);
+    decimal _ = check intSchema.fromAvroSlice(number, 0, number.length());
+
+    final avro:Schema doubleSchema = check new ("\"double\"");
+    _ = check doubleSchema.toAvro(count);
+    float ratio = 2.5;
+    _ = check doubleSchema.toAvro(ratio);
+
+    avro:Schema mutableSchema = check new ("\"string\"");
+    _ = check mutableSchema.toAvro(count);
+
+    string schemaText = "\"string\"";
+    final avro:Schema runtimeSchema = check new (schemaText);
+    _ = check runtimeSchema.toAvro(count);
+}
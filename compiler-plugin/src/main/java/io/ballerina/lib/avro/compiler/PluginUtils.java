@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.compiler;
+
+import io.ballerina.compiler.api.symbols.IntersectionTypeSymbol;
+import io.ballerina.compiler.api.symbols.ModuleSymbol;
+import io.ballerina.compiler.api.symbols.TypeDescKind;
+import io.ballerina.compiler.api.symbols.TypeReferenceTypeSymbol;
+import io.ballerina.compiler.api.symbols.TypeSymbol;
+import io.ballerina.compiler.api.symbols.UnionTypeSymbol;
+import io.ballerina.compiler.syntax.tree.BasicLiteralNode;
+import io.ballerina.compiler.syntax.tree.ExpressionNode;
+import io.ballerina.compiler.syntax.tree.FunctionArgumentNode;
+import io.ballerina.compiler.syntax.tree.NamedArgumentNode;
+import io.ballerina.compiler.syntax.tree.Node;
+import io.ballerina.compiler.syntax.tree.PositionalArgumentNode;
+import io.ballerina.compiler.syntax.tree.SeparatedNodeList;
+import io.ballerina.compiler.syntax.tree.SyntaxKind;
+import io.ballerina.compiler.syntax.tree.TemplateExpressionNode;
+import io.ballerina.compiler.syntax.tree.Token;
+import io.ballerina.projects.plugins.SyntaxNodeAnalysisContext;
+import io.ballerina.tools.diagnostics.Diagnostic;
+import io.ballerina.tools.diagnostics.DiagnosticFactory;
+import io.ballerina.tools.diagnostics.DiagnosticInfo;
+import io.ballerina.tools.diagnostics.DiagnosticSeverity;
+import io.ballerina.tools.diagnostics.Location;
+import org.apache.avro.Schema;
+
+import java.util.Optional;
+
+/**
+ * Utility functions of the Avro compiler plugin.
+ */
+public final class PluginUtils {
+
+    static final String BALLERINA_ORG = "ballerina";
+    static final String AVRO_MODULE = "avro";
+    static final String SCHEMA_CLASS = "Schema";
+    static final String SCHEMA_PARAMETER = "schema";
+
+    private PluginUtils() {
+    }
+
+    public static boolean hasCompilationErrors(SyntaxNodeAnalysisContext context) {
+        for (Diagnostic diagnostic : context.semanticModel().diagnostics()) {
+            if (diagnostic.diagnosticInfo().severity() == DiagnosticSeverity.ERROR) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static void reportDiagnostic(SyntaxNodeAnalysisContext context, AvroDiagnosticCodes diagnosticCode,
+                                        Location location, Object... args) {
+        DiagnosticInfo diagnosticInfo = new DiagnosticInfo(diagnosticCode.getCode(), diagnosticCode.getMessage(),
+                                                           diagnosticCode.getSeverity());
+        context.reportDiagnostic(DiagnosticFactory.createDiagnostic(diagnosticInfo, location, args));
+    }
+
+    public static boolean isAvroSchemaType(TypeSymbol typeSymbol) {
+        if (typeSymbol.typeKind() == TypeDescKind.UNION) {
+            for (TypeSymbol memberType : ((UnionTypeSymbol) typeSymbol).memberTypeDescriptors()) {
+                if (isAvroSchemaType(memberType)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        Optional<String> name = typeSymbol.getName();
+        Optional<ModuleSymbol> module = typeSymbol.getModule();
+        return name.isPresent() && SCHEMA_CLASS.equals(name.get()) && module.isPresent()
+                && BALLERINA_ORG.equals(module.get().id().orgName())
+                && AVRO_MODULE.equals(module.get().id().moduleName());
+    }
+
+    public static TypeSymbol getReferredType(TypeSymbol typeSymbol) {
+        TypeSymbol type = typeSymbol;
+        while (true) {
+            if (type.typeKind() == TypeDescKind.TYPE_REFERENCE) {
+                type = ((TypeReferenceTypeSymbol) type).typeDescriptor();
+            } else if (type.typeKind() == TypeDescKind.INTERSECTION) {
+                type = ((IntersectionTypeSymbol) type).effectiveTypeDescriptor();
+            } else {
+                return type;
+            }
+        }
+    }
+
+    public static Optional<ExpressionNode> getSchemaArgument(SeparatedNodeList<FunctionArgumentNode> arguments) {
+        for (FunctionArgumentNode argument : arguments) {
+            if (argument.kind() == SyntaxKind.POSITIONAL_ARG) {
+                return Optional.of(((PositionalArgumentNode) argument).expression());
+            }
+            if (argument.kind() == SyntaxKind.NAMED_ARG) {
+                NamedArgumentNode namedArgument = (NamedArgumentNode) argument;
+                if (SCHEMA_PARAMETER.equals(namedArgument.argumentName().name().text())) {
+                    return Optional.of(namedArgument.expression());
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    public static Optional<Schema> parseSchema(String schema) {
+        try {
+            return Optional.of(new Schema.Parser().parse(schema));
+        } catch (RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    public static Optional<String> getStringConstant(ExpressionNode expression) {
+        if (expression.kind() == SyntaxKind.STRING_LITERAL) {
+            String text = ((BasicLiteralNode) expression).literalToken().text();
+            return Optional.of(unescape(text.substring(1, text.length() - 1)));
+        }
+        if (expression.kind() == SyntaxKind.STRING_TEMPLATE_EXPRESSION) {
+            StringBuilder content = new StringBuilder();
+            for (Node node : ((TemplateExpressionNode) expression).content()) {
+                if (node.kind() != SyntaxKind.TEMPLATE_STRING) {
+                    return Optional.empty();
+                }
+                content.append(((Token) node).text());
+            }
+            return Optional.of(content.toString());
+        }
+        return Optional.empty();
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder result = new StringBuilder(value.length());
+        int index = 0;
+        while (index < value.length()) {
+            char current = value.charAt(index++);
+            if (current != '\\' || index >= value.length()) {
+                result.append(current);
+                continue;
+            }
+            char escaped = value.charAt(index++);
+            switch (escaped) {
+                case 'n' -> result.append('\n');
+                case 't' -> result.append('\t');
+                case 'r' -> result.append('\r');
+                case 'u' -> {
+                    int end = value.indexOf('}', index);
+                    if (index < value.length() && value.charAt(index) == '{' && end > index) {
+                        result.appendCodePoint(Integer.parseInt(value.substring(index + 1, end), 16));
+                        index = end + 1;
+                    } else {
+                        result.append('\\').append(escaped);
+                    }
+                }
+                default -> result.append(escaped);
+            }
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.compiler;
+
+import io.ballerina.compiler.api.symbols.TypeSymbol;
+import io.ballerina.compiler.syntax.tree.ExplicitNewExpressionNode;
+import io.ballerina.compiler.syntax.tree.ExpressionNode;
+import io.ballerina.compiler.syntax.tree.ImplicitNewExpressionNode;
+import io.ballerina.compiler.syntax.tree.ParenthesizedArgList;
+import io.ballerina.compiler.syntax.tree.SyntaxKind;
+import io.ballerina.projects.plugins.AnalysisTask;
+import io.ballerina.projects.plugins.SyntaxNodeAnalysisContext;
+import org.apache.avro.Schema;
+
+import java.util.Optional;
+
+import static io.ballerina.lib.avro.compiler.PluginUtils.getSchemaArgument;
+import static io.ballerina.lib.avro.compiler.PluginUtils.getStringConstant;
+import static io.ballerina.lib.avro.compiler.PluginUtils.hasCompilationErrors;
+import static io.ballerina.lib.avro.compiler.PluginUtils.isAvroSchemaType;
+import static io.ballerina.lib.avro.compiler.PluginUtils.reportDiagnostic;
+
+/**
+ * Validates the schema of an `avro:Schema` during compilation when it is given as a constant string.
+ */
+public class SchemaInitializationValidator implements AnalysisTask<SyntaxNodeAnalysisContext> {
+
+    @Override
+    public void perform(SyntaxNodeAnalysisContext context) {
+        if (hasCompilationErrors(context)) {
+            return;
+        }
+        Optional<TypeSymbol> type = context.semanticModel().typeOf(context.node());
+        if (type.isEmpty() || !isAvroSchemaType(type.get())) {
+            return;
+        }
+        Optional<ExpressionNode> schemaArgument = getSchemaArgumentOfNewExpression(context);
+        if (schemaArgument.isEmpty()) {
+            return;
+        }
+        Optional<String> schema = getStringConstant(schemaArgument.get());
+        if (schema.isEmpty()) {
+            return;
+        }
+        try {
+            new Schema.Parser().parse(schema.get());
+        } catch (RuntimeException e) {
+            reportDiagnostic(context, AvroDiagnosticCodes.AVRO_101, schemaArgument.get().location(), e.getMessage());
+        }
+    }
+
+    static Optional<ExpressionNode> getSchemaArgumentOfNewExpression(SyntaxNodeAnalysisContext context) {
+        return getSchemaArgumentOfNewExpression((ExpressionNode) context.node());
+    }
+
+    static Optional<ExpressionNode> getSchemaArgumentOfNewExpression(ExpressionNode expression) {
+        Optional<ParenthesizedArgList> argList;
+        if (expression.kind() == SyntaxKind.IMPLICIT_NEW_EXPRESSION) {
+            argList = ((ImplicitNewExpressionNode) expression).parenthesizedArgList();
+        } else if (expression.kind() == SyntaxKind.EXPLICIT_NEW_EXPRESSION) {
+            argList = Optional.of(((ExplicitNewExpressionNode) expression).parenthesizedArgList());
+        } else {
+            return Optional.empty();
+        }
+        return argList.flatMap(args -> getSchemaArgument(args.arguments()));
+    }
+}
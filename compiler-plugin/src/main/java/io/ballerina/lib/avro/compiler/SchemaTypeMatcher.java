@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.compiler;
+
+import io.ballerina.compiler.api.symbols.ArrayTypeSymbol;
+import io.ballerina.compiler.api.symbols.MapTypeSymbol;
+import io.ballerina.compiler.api.symbols.RecordFieldSymbol;
+import io.ballerina.compiler.api.symbols.RecordTypeSymbol;
+import io.ballerina.compiler.api.symbols.TypeDescKind;
+import io.ballerina.compiler.api.symbols.TypeSymbol;
+import io.ballerina.compiler.api.symbols.UnionTypeSymbol;
+import org.apache.avro.Schema;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static io.ballerina.lib.avro.compiler.PluginUtils.getReferredType;
+
+/**
+ * Checks whether a Ballerina type can be mapped to an Avro schema. Only the mappings which can never succeed at
+ * runtime are reported, so that types such as `anydata` or open records are not rejected.
+ */
+public class SchemaTypeMatcher {
+
+    private final boolean serialize;
+    private final Set<String> visitedRecords = new HashSet<>();
+
+    public SchemaTypeMatcher(boolean serialize) {
+        this.serialize = serialize;
+    }
+
+    public Optional<String> match(Schema schema, TypeSymbol typeSymbol) {
+        return match(schema, typeSymbol, "");
+    }
+
+    private Optional<String> match(Schema schema, TypeSymbol typeSymbol, String path) {
+        TypeSymbol type = getReferredType(typeSymbol);
+        if (type.typeKind() == TypeDescKind.UNION && !isStringType(type)) {
+            return matchUnionType(schema, (UnionTypeSymbol) type, path);
+        }
+        if (schema.getType() == Schema.Type.UNION) {
+            for (Schema memberSchema : schema.getTypes()) {
+                if (match(memberSchema, type, path).isEmpty()) {
+                    return Optional.empty();
+                }
+            }
+            return mismatch(schema, type, path);
+        }
+        TypeDescKind kind = type.typeKind();
+        if (isUncheckedType(kind)) {
+            return Optional.empty();
+        }
+        return switch (schema.getType()) {
+            case NULL -> kind == TypeDescKind.NIL ? Optional.empty() : mismatch(schema, type, path);
+            case BOOLEAN -> kind == TypeDescKind.BOOLEAN ? Optional.empty() : mismatch(schema, type, path);
+            case INT, LONG -> isIntType(kind) || (!serialize && isWiderNumericType(kind))
+                    ? Optional.empty() : mismatch(schema, type, path);
+            case FLOAT -> kind == TypeDescKind.FLOAT || (serialize ? isIntType(kind) : kind == TypeDescKind.DECIMAL)
+                    ? Optional.empty() : mismatch(schema, type, path);
+            case DOUBLE -> kind == TypeDescKind.FLOAT || kind == TypeDescKind.DECIMAL || (serialize && isIntType(kind))
+                    ? Optional.empty() : mismatch(schema, type, path);
+            case STRING, ENUM -> isStringType(type) ? Optional.empty() : mismatch(schema, type, path);
+            case BYTES, FIXED -> isByteArrayType(type) ? Optional.empty() : mismatch(schema, type, path);
+            case ARRAY -> matchArrayType(schema, type, path);
+            case MAP -> matchMapType(schema, type, path);
+            case RECORD -> matchRecordType(schema, type, path);
+            default -> Optional.empty();
+        };
+    }
+
+    private Optional<String> matchUnionType(Schema schema, UnionTypeSymbol type, String path) {
+        for (TypeSymbol memberType : type.memberTypeDescriptors()) {
+            if (match(schema, memberType, path).isEmpty()) {
+                return Optional.empty();
+            }
+        }
+        return mismatch(schema, type, path);
+    }
+
+    private Optional<String> matchArrayType(Schema schema, TypeSymbol type, String path) {
+        if (type.typeKind() == TypeDescKind.TUPLE) {
+            return Optional.empty();
+        }
+        if (type.typeKind() != TypeDescKind.ARRAY) {
+            return mismatch(schema, type, path);
+        }
+        return match(schema.getElementType(), ((ArrayTypeSymbol) type).memberTypeDescriptor(), path + "[]");
+    }
+
+    private Optional<String> matchMapType(Schema schema, TypeSymbol type, String path) {
+        if (type.typeKind() == TypeDescKind.RECORD) {
+            return Optional.empty();
+        }
+        if (type.typeKind() != TypeDescKind.MAP) {
+            return mismatch(schema, type, path);
+        }
+        return match(schema.getValueType(), ((MapTypeSymbol) type).typeParam(), path + "[string]");
+    }
+
+    private Optional<String> matchRecordType(Schema schema, TypeSymbol type, String path) {
+        if (type.typeKind() == TypeDescKind.MAP) {
+            return Optional.empty();
+        }
+        if (type.typeKind() != TypeDescKind.RECORD) {
+            return mismatch(schema, type, path);
+        }
+        if (!visitedRecords.add(schema.getFullName() + ":" + type.signature())) {
+            return Optional.empty();
+        }
+        RecordTypeSymbol recordType = (RecordTypeSymbol) type;
+        Map<String, RecordFieldSymbol> fields = recordType.fieldDescriptors();
+        boolean closed = recordType.restTypeDescriptor().isEmpty();
+        for (Schema.Field schemaField : schema.getFields()) {
+            String fieldPath = path.isEmpty() ? schemaField.name() : path + "." + schemaField.name();
+            RecordFieldSymbol field = fields.get(schemaField.name());
+            if (field == null) {
+                if (closed && (!serialize || !isNullable(schemaField.schema()))) {
+                    return Optional.of("field '" + fieldPath + "' of the schema is not defined in the record");
+                }
+                continue;
+            }
+            Optional<String> fieldMismatch = match(schemaField.schema(), field.typeDescriptor(), fieldPath);
+            if (fieldMismatch.isPresent()) {
+                return fieldMismatch;
+            }
+        }
+        if (!serialize) {
+            for (Map.Entry<String, RecordFieldSymbol> field : fields.entrySet()) {
+                if (schema.getField(field.getKey()) == null && !field.getValue().isOptional()
+                        && !field.getValue().hasDefaultValue()) {
+                    String fieldPath = path.isEmpty() ? field.getKey() : path + "." + field.getKey();
+                    return Optional.of("required field '" + fieldPath + "' of the record is not defined in the schema");
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<String> mismatch(Schema schema, TypeSymbol type, String path) {
+        String location = path.isEmpty() ? "" : "field '" + path + "' ";
+        return Optional.of(location + "expects the Avro type '" + schema.getType().getName() + "' but found '"
+                                   + type.signature() + "'");
+    }
+
+    private static boolean isNullable(Schema schema) {
+        if (schema.getType() == Schema.Type.NULL) {
+            return true;
+        }
+        return schema.getType() == Schema.Type.UNION
+                && schema.getTypes().stream().anyMatch(member -> member.getType() == Schema.Type.NULL);
+    }
+
+    private static boolean isUncheckedType(TypeDescKind kind) {
+        return switch (kind) {
+            case ANYDATA, ANY, JSON, READONLY, SINGLETON, COMPILATION_ERROR, NONE -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean isIntType(TypeDescKind kind) {
+        return switch (kind) {
+            case INT, BYTE, INT_SIGNED8, INT_SIGNED16, INT_SIGNED32, INT_UNSIGNED8, INT_UNSIGNED16, INT_UNSIGNED32 ->
+                    true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Returns whether an Avro integer can be converted to a value of the given numeric type when it is read.
+     */
+    private static boolean isWiderNumericType(TypeDescKind kind) {
+        return kind == TypeDescKind.FLOAT || kind == TypeDescKind.DECIMAL;
+    }
+
+    private static boolean isStringType(TypeSymbol type) {
+        TypeDescKind kind = type.typeKind();
+        if (kind == TypeDescKind.STRING || kind == TypeDescKind.STRING_CHAR || kind == TypeDescKind.SINGLETON) {
+            return true;
+        }
+        if (kind != TypeDescKind.UNION) {
+            return false;
+        }
+        for (TypeSymbol memberType : ((UnionTypeSymbol) type).memberTypeDescriptors()) {
+            if (!isStringType(getReferredType(memberType))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isByteArrayType(TypeSymbol type) {
+        return type.typeKind() == TypeDescKind.ARRAY
+                && getReferredType(((ArrayTypeSymbol) type).memberTypeDescriptor()).typeKind() == TypeDescKind.BYTE;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.compiler;
+
+import io.ballerina.compiler.api.SemanticModel;
+import io.ballerina.compiler.api.symbols.Qualifier;
+import io.ballerina.compiler.api.symbols.Symbol;
+import io.ballerina.compiler.api.symbols.SymbolKind;
+import io.ballerina.compiler.api.symbols.TypeDescKind;
+import io.ballerina.compiler.api.symbols.TypeSymbol;
+import io.ballerina.compiler.api.symbols.UnionTypeSymbol;
+import io.ballerina.compiler.api.symbols.VariableSymbol;
+import io.ballerina.compiler.syntax.tree.CheckExpressionNode;
+import io.ballerina.compiler.syntax.tree.ExpressionNode;
+import io.ballerina.compiler.syntax.tree.FunctionArgumentNode;
+import io.ballerina.compiler.syntax.tree.MethodCallExpressionNode;
+import io.ballerina.compiler.syntax.tree.ModulePartNode;
+import io.ballerina.compiler.syntax.tree.ModuleVariableDeclarationNode;
+import io.ballerina.compiler.syntax.tree.NonTerminalNode;
+import io.ballerina.compiler.syntax.tree.PositionalArgumentNode;
+import io.ballerina.compiler.syntax.tree.SyntaxKind;
+import io.ballerina.compiler.syntax.tree.SyntaxTree;
+import io.ballerina.compiler.syntax.tree.VariableDeclarationNode;
+import io.ballerina.projects.plugins.AnalysisTask;
+import io.ballerina.projects.plugins.SyntaxNodeAnalysisContext;
+import io.ballerina.tools.diagnostics.Location;
+import org.apache.avro.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static io.ballerina.lib.avro.compiler.PluginUtils.getReferredType;
+import static io.ballerina.lib.avro.compiler.PluginUtils.hasCompilationErrors;
+import static io.ballerina.lib.avro.compiler.PluginUtils.isAvroSchemaType;
+import static io.ballerina.lib.avro.compiler.PluginUtils.reportDiagnostic;
+import static io.ballerina.lib.avro.compiler.SchemaInitializationValidator.getSchemaArgumentOfNewExpression;
+
+/**
+ * Validates that the types given to the serialization and deserialization methods of a `final` `avro:Schema`
+ * variable, which is initialized with a constant schema, can be mapped to that schema.
+ */
+public class SchemaUsageValidator implements AnalysisTask<SyntaxNodeAnalysisContext> {
+
+    private static final Set<String> SERIALIZATION_METHODS = Set.of("toAvro", "toAvroInto");
+    private static final Set<String> DESERIALIZATION_METHODS = Set.of("fromAvro", "fromAvroSlice");
+
+    @Override
+    public void perform(SyntaxNodeAnalysisContext context) {
+        if (hasCompilationErrors(context)) {
+            return;
+        }
+        MethodCallExpressionNode methodCall = (MethodCallExpressionNode) context.node();
+        String methodName = methodCall.methodName().name().text();
+        boolean serialize = SERIALIZATION_METHODS.contains(methodName);
+        if (!serialize && !DESERIALIZATION_METHODS.contains(methodName)) {
+            return;
+        }
+        SemanticModel semanticModel = context.semanticModel();
+        Optional<TypeSymbol> schemaType = semanticModel.typeOf(methodCall.expression());
+        if (schemaType.isEmpty() || !isAvroSchemaType(schemaType.get())) {
+            return;
+        }
+        Optional<Schema> schema = findSchema(context, methodCall.expression());
+        if (schema.isEmpty()) {
+            return;
+        }
+        Optional<TypeSymbol> dataType = serialize ? getSerializedType(semanticModel, methodCall)
+                : getDeserializedType(semanticModel, methodCall);
+        if (dataType.isEmpty()) {
+            return;
+        }
+        SchemaTypeMatcher matcher = new SchemaTypeMatcher(serialize);
+        Optional<String> mismatch = matcher.match(schema.get(), dataType.get());
+        mismatch.ifPresent(reason -> reportDiagnostic(context, AvroDiagnosticCodes.AVRO_102, methodCall.location(),
+                                                      dataType.get().signature(), reason));
+    }
+
+    private static Optional<TypeSymbol> getSerializedType(SemanticModel semanticModel,
+                                                          MethodCallExpressionNode methodCall) {
+        for (FunctionArgumentNode argument : methodCall.arguments()) {
+            if (argument.kind() == SyntaxKind.POSITIONAL_ARG) {
+                return semanticModel.typeOf(((PositionalArgumentNode) argument).expression());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<TypeSymbol> getDeserializedType(SemanticModel semanticModel,
+                                                            MethodCallExpressionNode methodCall) {
+        Optional<TypeSymbol> returnType = semanticModel.typeOf(methodCall);
+        if (returnType.isEmpty() || returnType.get().typeKind() != TypeDescKind.UNION) {
+            return returnType;
+        }
+        List<TypeSymbol> memberTypes = new ArrayList<>();
+        for (TypeSymbol memberType : ((UnionTypeSymbol) returnType.get()).memberTypeDescriptors()) {
+            if (getReferredType(memberType).typeKind() != TypeDescKind.ERROR) {
+                memberTypes.add(memberType);
+            }
+        }
+        return memberTypes.size() == 1 ? Optional.of(memberTypes.get(0)) : Optional.empty();
+    }
+
+    private static Optional<Schema> findSchema(SyntaxNodeAnalysisContext context, ExpressionNode schemaExpression) {
+        Optional<Symbol> symbol = context.semanticModel().symbol(schemaExpression);
+        if (symbol.isEmpty() || symbol.get().kind() != SymbolKind.VARIABLE
+                || !((VariableSymbol) symbol.get()).qualifiers().contains(Qualifier.FINAL)) {
+            return Optional.empty();
+        }
+        Optional<ExpressionNode> initializer = findInitializer(context.syntaxTree(), symbol.get());
+        if (initializer.isEmpty()) {
+            return Optional.empty();
+        }
+        ExpressionNode expression = initializer.get();
+        if (expression.kind() == SyntaxKind.CHECK_EXPRESSION) {
+            expression = ((CheckExpressionNode) expression).expression();
+        }
+        return getSchemaArgumentOfNewExpression(expression)
+                .flatMap(PluginUtils::getStringConstant)
+                .flatMap(PluginUtils::parseSchema);
+    }
+
+    private static Optional<ExpressionNode> findInitializer(SyntaxTree syntaxTree, Symbol symbol) {
+        Optional<Location> location = symbol.getLocation();
+        if (location.isEmpty() || !syntaxTree.filePath().equals(location.get().lineRange().fileName())) {
+            return Optional.empty();
+        }
+        ModulePartNode modulePartNode = syntaxTree.rootNode();
+        NonTerminalNode node = modulePartNode.findNode(location.get().textRange());
+        while (node != null) {
+            if (node.kind() == SyntaxKind.LOCAL_VAR_DECL) {
+                return ((VariableDeclarationNode) node).initializer();
+            }
+            if (node.kind() == SyntaxKind.MODULE_VAR_DECL) {
+                return ((ModuleVariableDeclarationNode) node).initializer();
+            }
+            if (node.kind() == SyntaxKind.MODULE_PART) {
+                break;
+            }
+            node = node.parent();
+        }
+        return Optional.empty();
+    }
+}
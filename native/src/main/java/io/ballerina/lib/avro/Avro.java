@@ -18,33 +18,34 @@
 
 package io.ballerina.lib.avro;
 
-import io.ballerina.lib.avro.deserialize.DeserializeFactory;
-import io.ballerina.lib.avro.deserialize.Deserializer;
-import io.ballerina.lib.avro.deserialize.visitor.DeserializeVisitor;
-import io.ballerina.lib.avro.serialize.MessageFactory;
-import io.ballerina.lib.avro.serialize.Serializer;
-import io.ballerina.lib.avro.serialize.visitor.SerializeVisitor;
+import io.ballerina.lib.avro.serialize.BufferOutputStream;
+import io.ballerina.lib.avro.serialize.GrowableOutputStream;
+import io.ballerina.lib.avro.serialize.SliceOutputStream;
+import io.ballerina.lib.avro.transcode.EncodedComparator;
+import io.ballerina.lib.avro.transcode.FieldPatchPlan;
+import io.ballerina.lib.avro.transcode.KeyExtractionPlan;
 import io.ballerina.runtime.api.creators.ValueCreator;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTypedesc;
 import org.apache.avro.Schema;
-import org.apache.avro.generic.GenericDatumReader;
-import org.apache.avro.generic.GenericDatumWriter;
 import org.apache.avro.io.BinaryDecoder;
 import org.apache.avro.io.BinaryEncoder;
-import org.apache.avro.io.DatumReader;
-import org.apache.avro.io.DatumWriter;
 import org.apache.avro.io.DecoderFactory;
 import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.util.ByteBufferInputStream;
 
-import java.io.ByteArrayOutputStream;
-import java.util.Objects;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static io.ballerina.lib.avro.Utils.AVRO_SCHEMA;
+import static io.ballerina.lib.avro.Utils.COMPILED_SCHEMA;
 import static io.ballerina.lib.avro.Utils.DESERIALIZATION_ERROR;
 import static io.ballerina.lib.avro.Utils.SERIALIZATION_ERROR;
+import static io.ballerina.lib.avro.Utils.createBufferTooSmallError;
 import static io.ballerina.lib.avro.Utils.createError;
 
 public final class Avro {
@@ -55,35 +56,186 @@ public final class Avro {
         Schema.Parser parser = new Schema.Parser();
         Schema nativeSchema = parser.parse(schema.getValue());
         schemaObject.addNativeData(AVRO_SCHEMA, nativeSchema);
+        schemaObject.addNativeData(COMPILED_SCHEMA, new CompiledSchema(nativeSchema));
     }
 
     public static Object toAvro(BObject schemaObject, Object data) {
-        Schema schema = (Schema) schemaObject.getNativeData(AVRO_SCHEMA);
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            SerializeVisitor serializeVisitor = new SerializeVisitor();
-            Serializer serializer = MessageFactory.createMessage(schema);
-            Object avroData = Objects.requireNonNull(serializer).convert(serializeVisitor, data);
-            DatumWriter<Object> writer = new GenericDatumWriter<>(schema);
-            BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(outputStream, null);
-            writer.write(avroData, encoder);
+        CompiledSchema compiledSchema = CompiledSchema.getCompiledSchema(schemaObject);
+        try {
+            GrowableOutputStream outputStream = new GrowableOutputStream(compiledSchema.getInitialBufferSize());
+            BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(outputStream, null);
+            compiledSchema.write(data, encoder);
             encoder.flush();
+            compiledSchema.recordEncodedSize(outputStream.size());
             return ValueCreator.createArrayValue(outputStream.toByteArray());
         } catch (Exception e) {
             return Utils.createError(SERIALIZATION_ERROR, e);
         }
     }
 
+    public static Object toAvroInto(BObject schemaObject, Object data, BArray target, long offset) {
+        if (target.isFrozen()) {
+            return createError(SERIALIZATION_ERROR, new IllegalArgumentException("The target buffer is read-only"));
+        }
+        if (offset < 0 || offset > target.size()) {
+            return createError(SERIALIZATION_ERROR, new IndexOutOfBoundsException(
+                    "Offset " + offset + " is out of bounds for a buffer of size " + target.size()));
+        }
+        CompiledSchema compiledSchema = CompiledSchema.getCompiledSchema(schemaObject);
+        try {
+            SliceOutputStream outputStream = new SliceOutputStream(target.getByteArray(), (int) offset, target.size());
+            BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(outputStream, null);
+            compiledSchema.write(data, encoder);
+            encoder.flush();
+            if (outputStream.isOverflowed()) {
+                return createBufferTooSmallError(outputStream.getCount(), outputStream.getCapacity());
+            }
+            return outputStream.getCount();
+        } catch (Exception e) {
+            return Utils.createError(SERIALIZATION_ERROR, e);
+        }
+    }
+
+    public static Object toAvroBuffer(BObject schemaObject, Object data, ByteBuffer target) {
+        if (target.isReadOnly()) {
+            return createError(SERIALIZATION_ERROR, new IllegalArgumentException("The target buffer is read-only"));
+        }
+        CompiledSchema compiledSchema = CompiledSchema.getCompiledSchema(schemaObject);
+        try {
+            BufferOutputStream outputStream = new BufferOutputStream(target);
+            BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(outputStream, null);
+            compiledSchema.write(data, encoder);
+            encoder.flush();
+            if (outputStream.isOverflowed()) {
+                return createBufferTooSmallError(outputStream.getCount(), outputStream.getCapacity());
+            }
+            target.position(target.position() + (int) outputStream.getCount());
+            return outputStream.getCount();
+        } catch (Exception e) {
+            return Utils.createError(SERIALIZATION_ERROR, e);
+        }
+    }
+
     public static Object fromAvro(BObject schemaObject, BArray payload, BTypedesc typeParam) {
-        Schema schema = (Schema) schemaObject.getNativeData(AVRO_SCHEMA);
-        DatumReader<Object> datumReader = new GenericDatumReader<>(schema);
-        BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(payload.getBytes(), null);
+        return fromAvro(CompiledSchema.getCompiledSchema(schemaObject), payload.getByteArray(), 0, payload.size(),
+                        typeParam);
+    }
+
+    public static Object fromAvroBuffer(BObject schemaObject, ByteBuffer payload, BTypedesc typeParam) {
+        return decodeBuffer(CompiledSchema.getCompiledSchema(schemaObject), payload, typeParam);
+    }
+
+    static Object decodeBuffer(CompiledSchema compiledSchema, ByteBuffer payload, BTypedesc typeParam) {
+        if (payload.hasArray()) {
+            return fromAvro(compiledSchema, payload.array(), payload.arrayOffset() + payload.position(),
+                            payload.remaining(), typeParam);
+        }
+        ByteBufferInputStream inputStream = new ByteBufferInputStream(List.of(payload.duplicate()));
+        BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(inputStream, null);
         try {
-            Object data = datumReader.read(payload, decoder);
-            DeserializeVisitor deserializeVisitor = new DeserializeVisitor();
-            Deserializer deserializer = DeserializeFactory.generateDeserializer(schema, typeParam.getDescribingType());
-            return Objects.requireNonNull(deserializer).accept(deserializeVisitor, data);
+            return compiledSchema.read(decoder, typeParam.getDescribingType());
         } catch (Exception e) {
             return createError(DESERIALIZATION_ERROR, e);
         }
     }
+
+    public static Object fromAvroSlice(BObject schemaObject, BArray payload, long offset, long length,
+                                       BTypedesc typeParam) {
+        if (offset < 0 || length < 0 || offset + length > payload.size()) {
+            return createError(DESERIALIZATION_ERROR, new IndexOutOfBoundsException(
+                    "Range [" + offset + ", " + (offset + length) + ") is out of bounds for a payload of size "
+                            + payload.size()));
+        }
+        return fromAvro(CompiledSchema.getCompiledSchema(schemaObject), payload.getByteArray(), (int) offset,
+                        (int) length, typeParam);
+    }
+
+    public static Object patch(BObject schemaObject, BArray data, BString fieldPath, Object newValue) {
+        try {
+            FieldPatchPlan plan = CompiledSchema.getCompiledSchema(schemaObject).getPatchPlan(fieldPath.getValue());
+            return ValueCreator.createArrayValue(plan.patch(data.getByteArray(), 0, data.size(), newValue));
+        } catch (Exception e) {
+            return createError(SERIALIZATION_ERROR, e);
+        }
+    }
+
+    public static Object extractKey(BObject schemaObject, BArray data, BArray fieldPaths) {
+        try {
+            KeyExtractionPlan plan = getKeyPlan(schemaObject, fieldPaths);
+            return ValueCreator.createArrayValue(plan.extract(data.getByteArray(), 0, data.size()));
+        } catch (Exception e) {
+            return createError(DESERIALIZATION_ERROR, e);
+        }
+    }
+
+    public static Object hashKey(BObject schemaObject, BArray data, BArray fieldPaths) {
+        try {
+            return getKeyPlan(schemaObject, fieldPaths).hashKey(data.getByteArray(), 0, data.size());
+        } catch (Exception e) {
+            return createError(DESERIALIZATION_ERROR, e);
+        }
+    }
+
+    public static Object compare(BObject schemaObject, BArray first, BArray second) {
+        try {
+            EncodedComparator comparator = CompiledSchema.getCompiledSchema(schemaObject).getComparator();
+            return (long) Integer.signum(comparator.compare(first.getByteArray(), 0, first.size(),
+                                                            second.getByteArray(), 0, second.size()));
+        } catch (Exception e) {
+            return createError(DESERIALIZATION_ERROR, e);
+        }
+    }
+
+    public static Object sortEncoded(BObject schemaObject, BArray records) {
+        try {
+            EncodedComparator comparator = CompiledSchema.getCompiledSchema(schemaObject).getComparator();
+            BArray[] values = new BArray[records.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = (BArray) records.getRefValue(i);
+            }
+            Arrays.sort(values, (first, second) -> {
+                try {
+                    return comparator.compare(first.getByteArray(), 0, first.size(), second.getByteArray(), 0,
+                                              second.size());
+                } catch (Exception e) {
+                    throw new SortFailure(e);
+                }
+            });
+            for (int i = 0; i < values.length; i++) {
+                records.add(i, values[i]);
+            }
+            return null;
+        } catch (SortFailure e) {
+            return createError(DESERIALIZATION_ERROR, e.getCause());
+        } catch (Exception e) {
+            return createError(DESERIALIZATION_ERROR, e);
+        }
+    }
+
+    private static KeyExtractionPlan getKeyPlan(BObject schemaObject, BArray fieldPaths) {
+        List<String> paths = new ArrayList<>(fieldPaths.size());
+        for (int i = 0; i < fieldPaths.size(); i++) {
+            paths.add(fieldPaths.getBString(i).getValue());
+        }
+        return CompiledSchema.getCompiledSchema(schemaObject).getKeyPlan(paths);
+    }
+
+    private static Object fromAvro(CompiledSchema compiledSchema, byte[] bytes, int offset, int length,
+                                   BTypedesc typeParam) {
+        BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(bytes, offset, length, null);
+        try {
+            return compiledSchema.read(decoder, typeParam.getDescribingType());
+        } catch (Exception e) {
+            return createError(DESERIALIZATION_ERROR, e);
+        }
+    }
+
+    private static final class SortFailure extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        SortFailure(Exception cause) {
+            super(cause);
+        }
+    }
 }
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro;
+
+import io.ballerina.lib.avro.channel.ArrayStreamReader;
+import io.ballerina.lib.avro.channel.FrameReader;
+import io.ballerina.lib.avro.channel.FrameWriter;
+import io.ballerina.lib.avro.channel.StreamingRecordEncoder;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+
+import java.io.IOException;
+
+import static io.ballerina.lib.avro.ModuleUtils.getModule;
+import static io.ballerina.lib.avro.Utils.DESERIALIZATION_ERROR;
+import static io.ballerina.lib.avro.Utils.SERIALIZATION_ERROR;
+import static io.ballerina.lib.avro.Utils.createError;
+
+public final class AvroChannel {
+
+    private static final String CHANNEL_DATUM_ITERATOR = "ChannelDatumIterator";
+    private static final String ARRAY_ELEMENT_ITERATOR = "ArrayElementIterator";
+    private static final String FRAME_READER = "frameReader";
+    private static final String ARRAY_STREAM_READER = "arrayStreamReader";
+    private static final String FRAME_WRITER = "frameWriter";
+    private static final String STREAMING_RECORD_ENCODER = "streamingRecordEncoder";
+    private static final long MAX_BUFFER_SIZE = Integer.MAX_VALUE / 2;
+
+    private AvroChannel() {}
+
+    public static Object fromAvroChannel(BObject schemaObject, BObject channel, long readAheadSize,
+                                         BTypedesc typeParam) {
+        CompiledSchema compiledSchema = CompiledSchema.getCompiledSchema(schemaObject);
+        FrameReader frameReader;
+        try {
+            frameReader = new FrameReader(compiledSchema, toBufferSize("read-ahead size", readAheadSize));
+        } catch (IllegalArgumentException e) {
+            return createError(DESERIALIZATION_ERROR, e);
+        }
+        BObject iterator = ValueCreator.createObjectValue(getModule(), CHANNEL_DATUM_ITERATOR, channel, typeParam,
+                                                          readAheadSize);
+        iterator.addNativeData(FRAME_READER, frameReader);
+        return ValueCreator.createStreamValue(TypeCreator.createStreamType(typeParam.getDescribingType(),
+                TypeCreator.createUnionType(PredefinedTypes.TYPE_ERROR, PredefinedTypes.TYPE_NULL)), iterator);
+    }
+
+    public static Object hasBufferedFrame(BObject iterator) {
+        try {
+            return getFrameReader(iterator).hasFrame();
+        } catch (IOException e) {
+            return createError(DESERIALIZATION_ERROR, e);
+        }
+    }
+
+    public static void feed(BObject iterator, BArray chunk) {
+        getFrameReader(iterator).feed(chunk.getByteArray(), chunk.size());
+    }
+
+    public static Object verifyEndOfInput(BObject iterator) {
+        if (getFrameReader(iterator).hasRemaining()) {
+            return createError(DESERIALIZATION_ERROR,
+                               new IOException("The channel ended in the middle of an Avro message"));
+        }
+        return null;
+    }
+
+    public static Object decodeFrame(BObject iterator, BTypedesc typeParam) {
+        try {
+            return getFrameReader(iterator).decodeFrame(typeParam.getDescribingType());
+        } catch (Exception e) {
+            return createError(DESERIALIZATION_ERROR, e);
+        }
+    }
+
+    public static Object fromAvroStream(BObject schemaObject, Object data, Object field, long readAheadSize,
+                                        BTypedesc typeParam) {
+        String fieldName = field == null ? null : ((BString) field).getValue();
+        ArrayStreamReader reader;
+        try {
+            CompiledSchema compiledSchema = CompiledSchema.getCompiledSchema(schemaObject);
+            reader = new ArrayStreamReader(compiledSchema.getArrayStreamLayout(fieldName),
+                                           toBufferSize("read-ahead size", readAheadSize));
+        } catch (IllegalArgumentException e) {
+            return createError(DESERIALIZATION_ERROR, e);
+        }
+        Object channel = null;
+        if (data instanceof BArray bytes) {
+            reader.wrap(bytes.getByteArray(), bytes.size());
+        } else {
+            channel = data;
+        }
+        BObject iterator = ValueCreator.createObjectValue(getModule(), ARRAY_ELEMENT_ITERATOR, channel, typeParam,
+                                                          readAheadSize);
+        iterator.addNativeData(ARRAY_STREAM_READER, reader);
+        return ValueCreator.createStreamValue(TypeCreator.createStreamType(typeParam.getDescribingType(),
+                TypeCreator.createUnionType(PredefinedTypes.TYPE_ERROR, PredefinedTypes.TYPE_NULL)), iterator);
+    }
+
+    public static Object hasBufferedElement(BObject iterator) {
+        try {
+            return getArrayStreamReader(iterator).hasElement();
+        } catch (Exception e) {
+            return createError(DESERIALIZATION_ERROR, e);
+        }
+    }
+
+    public static boolean isEndOfArray(BObject iterator) {
+        return getArrayStreamReader(iterator).isEnd();
+    }
+
+    public static void feedArrayReader(BObject iterator, BArray chunk) {
+        getArrayStreamReader(iterator).feed(chunk.getByteArray(), chunk.size());
+    }
+
+    public static Object verifyEndOfArray(BObject iterator) {
+        if (!getArrayStreamReader(iterator).isEnd()) {
+            return createError(DESERIALIZATION_ERROR,
+                               new IOException("The input ended in the middle of the Avro array"));
+        }
+        return null;
+    }
+
+    public static Object decodeElement(BObject iterator, BTypedesc typeParam) {
+        try {
+            return getArrayStreamReader(iterator).decodeElement(typeParam.getDescribingType());
+        } catch (Exception e) {
+            return createError(DESERIALIZATION_ERROR, e);
+        }
+    }
+
+    public static Object initChannelWriter(BObject writer, BObject schemaObject, long batchSize) {
+        CompiledSchema compiledSchema = CompiledSchema.getCompiledSchema(schemaObject);
+        try {
+            writer.addNativeData(FRAME_WRITER, new FrameWriter(compiledSchema, toBufferSize("batch size", batchSize)));
+        } catch (IllegalArgumentException e) {
+            return createError(SERIALIZATION_ERROR, e);
+        }
+        return null;
+    }
+
+    public static Object encodeFrame(BObject writer, Object data) {
+        try {
+            return (long) getFrameWriter(writer).encodeFrame(data);
+        } catch (Exception e) {
+            return createError(SERIALIZATION_ERROR, e);
+        }
+    }
+
+    public static BArray drainBatch(BObject writer) {
+        return ValueCreator.createArrayValue(getFrameWriter(writer).drain());
+    }
+
+    public static Object initStreamEncoder(BObject streamEncoder, BObject schemaObject, BString field,
+                                           long blockSize) {
+        try {
+            streamEncoder.addNativeData(STREAMING_RECORD_ENCODER, new StreamingRecordEncoder(
+                    CompiledSchema.getCompiledSchema(schemaObject).getStreamingLayout(field.getValue()),
+                    toBufferSize("block size", blockSize)));
+        } catch (IllegalArgumentException e) {
+            return createError(SERIALIZATION_ERROR, e);
+        }
+        return null;
+    }
+
+    public static Object startStream(BObject streamEncoder, BMap<?, ?> data) {
+        try {
+            return ValueCreator.createArrayValue(getStreamingRecordEncoder(streamEncoder).start(data));
+        } catch (Exception e) {
+            return createError(SERIALIZATION_ERROR, e);
+        }
+    }
+
+    public static Object encodeStreamItem(BObject streamEncoder, Object item) {
+        try {
+            byte[] block = getStreamingRecordEncoder(streamEncoder).add(item);
+            return block == null ? null : ValueCreator.createArrayValue(block);
+        } catch (Exception e) {
+            return createError(SERIALIZATION_ERROR, e);
+        }
+    }
+
+    public static Object finishStream(BObject streamEncoder) {
+        try {
+            return ValueCreator.createArrayValue(getStreamingRecordEncoder(streamEncoder).finish());
+        } catch (Exception e) {
+            return createError(SERIALIZATION_ERROR, e);
+        }
+    }
+
+    private static int toBufferSize(String name, long size) {
+        if (size <= 0 || size > MAX_BUFFER_SIZE) {
+            throw new IllegalArgumentException("The " + name + " must be between 1 and " + MAX_BUFFER_SIZE
+                                                       + ", but was " + size);
+        }
+        return (int) size;
+    }
+
+    private static FrameReader getFrameReader(BObject iterator) {
+        return (FrameReader) iterator.getNativeData(FRAME_READER);
+    }
+
+    private static ArrayStreamReader getArrayStreamReader(BObject iterator) {
+        return (ArrayStreamReader) iterator.getNativeData(ARRAY_STREAM_READER);
+    }
+
+    private static FrameWriter getFrameWriter(BObject writer) {
+        return (FrameWriter) writer.getNativeData(FRAME_WRITER);
+    }
+
+    private static StreamingRecordEncoder getStreamingRecordEncoder(BObject streamEncoder) {
+        return (StreamingRecordEncoder) streamEncoder.getNativeData(STREAMING_RECORD_ENCODER);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro;
+
+import io.ballerina.lib.avro.column.ColumnBuilder;
+import io.ballerina.lib.avro.column.ColumnDecoder;
+import io.ballerina.lib.avro.file.FileRecordReader;
+import io.ballerina.lib.avro.transcode.BinaryCursor;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.ballerina.lib.avro.ModuleUtils.getModule;
+import static io.ballerina.lib.avro.Utils.COLUMN_ERROR;
+import static io.ballerina.lib.avro.Utils.DESERIALIZATION_ERROR;
+import static io.ballerina.lib.avro.Utils.FILE_ERROR;
+import static io.ballerina.lib.avro.Utils.PREDICATE_ERROR;
+import static io.ballerina.lib.avro.Utils.createError;
+
+/**
+ * Decodes the primitive fields of many records into columns instead of creating a Ballerina value per record.
+ */
+public final class AvroColumns {
+
+    private static final String COLUMN = "Column";
+    private static final String COLUMN_BATCH = "ColumnBatch";
+    private static final String VALUES = "values";
+    private static final String NULLS = "nulls";
+    private static final String ROW_COUNT = "rowCount";
+    private static final String COLUMNS = "columns";
+    private static final int FILE_ROW_CAPACITY = 1024;
+
+    private AvroColumns() {}
+
+    public static Object decodeColumns(BObject schemaObject, BArray data, BArray paths) {
+        CompiledSchema compiledSchema = CompiledSchema.getCompiledSchema(schemaObject);
+        ColumnDecoder columns;
+        try {
+            columns = ColumnDecoder.compile(compiledSchema.getSchema(), toPaths(paths), data.size());
+        } catch (IllegalArgumentException e) {
+            return createError(COLUMN_ERROR, e);
+        }
+        try {
+            for (int i = 0; i < data.size(); i++) {
+                BArray datum = (BArray) data.get(i);
+                BinaryCursor cursor = new BinaryCursor(datum.getByteArray(), 0, datum.size());
+                columns.decode(cursor);
+                if (!cursor.isEnd()) {
+                    throw new IOException("The message at index " + i + " contains more bytes than required by "
+                                                  + "the schema");
+                }
+            }
+        } catch (Exception e) {
+            return createError(DESERIALIZATION_ERROR, e);
+        }
+        return createColumnBatch(paths, columns);
+    }
+
+    public static Object readColumns(BObject fileReader, BArray paths, Object predicates) {
+        CompiledSchema compiledSchema = CompiledSchema.getCompiledSchema(fileReader);
+        ColumnDecoder columns;
+        try {
+            columns = ColumnDecoder.compile(compiledSchema.getSchema(), toPaths(paths), FILE_ROW_CAPACITY);
+        } catch (IllegalArgumentException e) {
+            return createError(COLUMN_ERROR, e);
+        }
+        FileRecordReader recordReader;
+        try {
+            recordReader = AvroFile.createRecordReader(fileReader, predicates);
+        } catch (IllegalArgumentException e) {
+            return createError(PREDICATE_ERROR, e);
+        } catch (IOException e) {
+            return createError(FILE_ERROR, e);
+        }
+        try (recordReader) {
+            recordReader.readColumns(columns);
+        } catch (Exception e) {
+            return createError(DESERIALIZATION_ERROR, e);
+        }
+        return createColumnBatch(paths, columns);
+    }
+
+    private static List<String> toPaths(BArray paths) {
+        List<String> result = new ArrayList<>(paths.size());
+        for (int i = 0; i < paths.size(); i++) {
+            result.add(paths.getBString(i).getValue());
+        }
+        return result;
+    }
+
+    private static BMap<BString, Object> createColumnBatch(BArray paths, ColumnDecoder decoder) {
+        List<ColumnBuilder> columns = decoder.getColumns();
+        Type columnType = ValueCreator.createRecordValue(getModule(), COLUMN).getType();
+        BMap<BString, Object> columnMap = ValueCreator.createMapValue(TypeCreator.createMapType(columnType));
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnBuilder column = columns.get(i);
+            Map<String, Object> fields = new HashMap<>();
+            fields.put(VALUES, column.getValues());
+            fields.put(NULLS, column.getNulls());
+            columnMap.put(paths.getBString(i), ValueCreator.createRecordValue(getModule(), COLUMN, fields));
+        }
+        Map<String, Object> batch = new HashMap<>();
+        batch.put(ROW_COUNT, (long) decoder.getRowCount());
+        batch.put(COLUMNS, columnMap);
+        return ValueCreator.createRecordValue(getModule(), COLUMN_BATCH, batch);
+    }
+}
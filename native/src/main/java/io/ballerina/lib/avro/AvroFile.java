@@ -0,0 +1,478 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro;
+
+import io.ballerina.lib.avro.file.BlockExecutors;
+import io.ballerina.lib.avro.file.BlockIndex;
+import io.ballerina.lib.avro.file.CommitPolicy;
+import io.ballerina.lib.avro.file.ContainerFileCompactor;
+import io.ballerina.lib.avro.file.ContainerFileWriter;
+import io.ballerina.lib.avro.file.FileRecordReader;
+import io.ballerina.lib.avro.file.IndexOptions;
+import io.ballerina.lib.avro.file.PartitionedContainerFileWriter;
+import io.ballerina.lib.avro.file.RollPolicy;
+import io.ballerina.lib.avro.filter.Condition;
+import io.ballerina.lib.avro.filter.RecordFilter;
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+import org.apache.avro.file.DataFileReader;
+import org.apache.avro.file.SeekableFileInput;
+import org.apache.avro.generic.GenericDatumReader;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.ballerina.lib.avro.ModuleUtils.getModule;
+import static io.ballerina.lib.avro.Utils.DESERIALIZATION_ERROR;
+import static io.ballerina.lib.avro.Utils.FILE_ERROR;
+import static io.ballerina.lib.avro.Utils.PREDICATE_ERROR;
+import static io.ballerina.lib.avro.Utils.SERIALIZATION_ERROR;
+import static io.ballerina.lib.avro.Utils.TRANSCODING_ERROR;
+import static io.ballerina.lib.avro.Utils.createError;
+
+/**
+ * Reads and writes Avro object container files.
+ */
+public final class AvroFile {
+
+    private static final String FILE_RECORD_ITERATOR = "FileRecordIterator";
+    private static final String FILE_PATH = "filePath";
+    private static final String RECORD_READER = "recordReader";
+    private static final String CONTAINER_FILE_WRITER = "containerFileWriter";
+    private static final String PARTITIONED_FILE_WRITER = "partitionedFileWriter";
+    private static final BString CODEC = StringUtils.fromString("codec");
+    private static final BString COMPRESSION_LEVEL = StringUtils.fromString("compressionLevel");
+    private static final BString SYNC_INTERVAL = StringUtils.fromString("syncInterval");
+    private static final BString COMPRESSION_THREADS = StringUtils.fromString("compressionThreads");
+    private static final BString MAX_PENDING_BLOCKS = StringUtils.fromString("maxPendingBlocks");
+    private static final BString METADATA = StringUtils.fromString("metadata");
+    private static final BString CREATE_INDEX = StringUtils.fromString("createIndex");
+    private static final BString STATISTICS_FIELDS = StringUtils.fromString("statisticsFields");
+    private static final BString KEY_FIELD = StringUtils.fromString("keyField");
+    private static final BString KEY_FALSE_POSITIVE_RATE = StringUtils.fromString("keyFalsePositiveRate");
+    private static final BString APPEND = StringUtils.fromString("append");
+    private static final BString COMMIT_SIZE = StringUtils.fromString("commitSize");
+    private static final BString COMMIT_INTERVAL = StringUtils.fromString("commitInterval");
+    private static final BString PARTITION_FIELD = StringUtils.fromString("partitionField");
+    private static final BString PARTITIONS = StringUtils.fromString("partitions");
+    private static final BString MAX_FILE_SIZE = StringUtils.fromString("maxFileSize");
+    private static final BString MAX_FILE_RECORDS = StringUtils.fromString("maxFileRecords");
+    private static final BString MAX_FILE_AGE = StringUtils.fromString("maxFileAge");
+    private static final BString MAX_OPEN_FILES = StringUtils.fromString("maxOpenFiles");
+    private static final BigDecimal MILLISECONDS_PER_SECOND = BigDecimal.valueOf(1000);
+
+    private AvroFile() {}
+
+    public static Object initFileReader(BObject fileReader, BString path) {
+        try (DataFileReader<Object> source = openFile(path.getValue())) {
+            fileReader.addNativeData(FILE_PATH, path.getValue());
+            fileReader.addNativeData(Utils.COMPILED_SCHEMA, new CompiledSchema(source.getSchema()));
+        } catch (IOException e) {
+            return createError(FILE_ERROR, e);
+        }
+        return null;
+    }
+
+    public static BString getFileSchema(BObject fileReader) {
+        return StringUtils.fromString(CompiledSchema.getCompiledSchema(fileReader).getSchema().toString());
+    }
+
+    public static Object read(BObject fileReader, Object predicates, BTypedesc typeParam) {
+        FileRecordReader recordReader;
+        try {
+            recordReader = createRecordReader(fileReader, predicates);
+        } catch (IllegalArgumentException e) {
+            return createError(PREDICATE_ERROR, e);
+        } catch (IOException e) {
+            return createError(FILE_ERROR, e);
+        }
+        BObject iterator = ValueCreator.createObjectValue(getModule(), FILE_RECORD_ITERATOR, typeParam);
+        iterator.addNativeData(RECORD_READER, recordReader);
+        return ValueCreator.createStreamValue(TypeCreator.createStreamType(typeParam.getDescribingType(),
+                TypeCreator.createUnionType(PredefinedTypes.TYPE_ERROR, PredefinedTypes.TYPE_NULL)), iterator);
+    }
+
+    public static Object readAt(BObject fileReader, long recordNumber, BTypedesc typeParam) {
+        if (recordNumber < 0) {
+            return createError(FILE_ERROR, new IllegalArgumentException("Invalid record number: " + recordNumber));
+        }
+        try (FileRecordReader recordReader = createRecordReader(fileReader, null)) {
+            seekToRecord(fileReader, recordReader, recordNumber);
+            if (!recordReader.hasNext()) {
+                return createError(FILE_ERROR, new IOException("The file has no record with the number "
+                                                                       + recordNumber));
+            }
+            return recordReader.next(typeParam.getDescribingType());
+        } catch (IOException e) {
+            return createError(FILE_ERROR, e);
+        } catch (Exception e) {
+            return createError(DESERIALIZATION_ERROR, e);
+        }
+    }
+
+    public static Object readRange(BObject fileReader, long from, long to, BTypedesc typeParam) {
+        if (from < 0 || to < from) {
+            return createError(FILE_ERROR, new IllegalArgumentException("Invalid record range: " + from + " to "
+                                                                                + to));
+        }
+        FileRecordReader recordReader;
+        try {
+            recordReader = createRecordReader(fileReader, null);
+            try {
+                seekToRecord(fileReader, recordReader, from);
+            } catch (IOException e) {
+                recordReader.close();
+                throw e;
+            }
+        } catch (IOException e) {
+            return createError(FILE_ERROR, e);
+        }
+        recordReader.limit(to - from);
+        BObject iterator = ValueCreator.createObjectValue(getModule(), FILE_RECORD_ITERATOR, typeParam);
+        iterator.addNativeData(RECORD_READER, recordReader);
+        return ValueCreator.createStreamValue(TypeCreator.createStreamType(typeParam.getDescribingType(),
+                TypeCreator.createUnionType(PredefinedTypes.TYPE_ERROR, PredefinedTypes.TYPE_NULL)), iterator);
+    }
+
+    public static Object createIndex(BString path, BArray statisticsFields, Object keyField,
+                                     double keyFalsePositiveRate) {
+        try {
+            BlockIndex.build(Path.of(path.getValue()), new IndexOptions(
+                    true, toStringList(statisticsFields), keyField == null ? null : ((BString) keyField).getValue(),
+                    keyFalsePositiveRate));
+        } catch (Exception e) {
+            return createError(FILE_ERROR, e);
+        }
+        return null;
+    }
+
+    public static Object hasNextFileRecord(BObject iterator) {
+        FileRecordReader reader = getRecordReader(iterator);
+        try {
+            if (reader.hasNext()) {
+                return true;
+            }
+            reader.close();
+            return false;
+        } catch (Exception e) {
+            return createError(DESERIALIZATION_ERROR, e);
+        }
+    }
+
+    public static Object readFileRecord(BObject iterator, BTypedesc typeParam) {
+        try {
+            return getRecordReader(iterator).next(typeParam.getDescribingType());
+        } catch (Exception e) {
+            return createError(DESERIALIZATION_ERROR, e);
+        }
+    }
+
+    public static Object closeFileRecordIterator(BObject iterator) {
+        try {
+            getRecordReader(iterator).close();
+        } catch (IOException e) {
+            return createError(FILE_ERROR, e);
+        }
+        return null;
+    }
+
+    public static Object initFileWriter(BObject fileWriter, BString path, BObject schemaObject,
+                                        BMap<BString, Object> config) {
+        try {
+            ContainerFileWriter writer = createFileWriter(Path.of(path.getValue()),
+                                                          CompiledSchema.getCompiledSchema(schemaObject), config);
+            fileWriter.addNativeData(CONTAINER_FILE_WRITER, writer);
+        } catch (IOException | IllegalArgumentException e) {
+            return createError(FILE_ERROR, e);
+        }
+        return null;
+    }
+
+    public static Object compact(BArray inputs, BString output, Object schemaObject, BMap<BString, Object> config) {
+        List<Path> inputPaths = new ArrayList<>();
+        for (String input : toStringList(inputs)) {
+            inputPaths.add(Path.of(input));
+        }
+        if (inputPaths.isEmpty()) {
+            return createError(FILE_ERROR, new IllegalArgumentException("At least one input file is required"));
+        }
+        Path outputPath = Path.of(output.getValue());
+        try {
+            CompiledSchema compiledSchema;
+            if (schemaObject == null) {
+                try (DataFileReader<Object> first = openFile(inputPaths.get(0).toString())) {
+                    compiledSchema = new CompiledSchema(first.getSchema());
+                }
+            } else {
+                compiledSchema = CompiledSchema.getCompiledSchema((BObject) schemaObject);
+            }
+            ContainerFileCompactor.compact(inputPaths, outputPath,
+                                           path -> createFileWriter(path, compiledSchema, config));
+        } catch (IOException | IllegalArgumentException e) {
+            return createError(FILE_ERROR, e);
+        } catch (Exception e) {
+            return createError(TRANSCODING_ERROR, e);
+        }
+        return null;
+    }
+
+    public static Object initPartitionedFileWriter(BObject fileWriter, BString directory, BObject schemaObject,
+                                                   BMap<BString, Object> config) {
+        CompiledSchema compiledSchema = CompiledSchema.getCompiledSchema(schemaObject);
+        BString partitionField = config.getStringValue(PARTITION_FIELD);
+        BlockExecutors executors = null;
+        try {
+            int threads = getInt(config, COMPRESSION_THREADS);
+            executors = new BlockExecutors(threads, threads);
+            BlockExecutors sharedExecutors = executors;
+            PartitionedContainerFileWriter writer = new PartitionedContainerFileWriter(
+                    Path.of(directory.getValue()), compiledSchema.getSchema(), partitionField.getValue(),
+                    getInt(config, PARTITIONS), data -> getPartitionKey(data, partitionField), getRollPolicy(config),
+                    getInt(config, MAX_OPEN_FILES),
+                    path -> createFileWriter(path, compiledSchema, config, sharedExecutors), executors);
+            fileWriter.addNativeData(PARTITIONED_FILE_WRITER, writer);
+        } catch (IOException | IllegalArgumentException e) {
+            if (executors != null) {
+                executors.close();
+            }
+            return createError(FILE_ERROR, e);
+        }
+        return null;
+    }
+
+    public static Object writePartitionedRecord(Environment env, BObject fileWriter, Object data) {
+        PartitionedContainerFileWriter.PendingAppend pending;
+        try {
+            pending = getPartitionedFileWriter(fileWriter).appendRecord(data);
+        } catch (IOException e) {
+            return createError(FILE_ERROR, e);
+        } catch (Exception e) {
+            return createError(SERIALIZATION_ERROR, e);
+        }
+        return pending == null ? null : runAfterYield(env, pending::complete);
+    }
+
+    public static Object flushPartitionedFileWriter(Environment env, BObject fileWriter) {
+        return runAfterYield(env, getPartitionedFileWriter(fileWriter)::flush);
+    }
+
+    public static Object closePartitionedFileWriter(Environment env, BObject fileWriter) {
+        return runAfterYield(env, getPartitionedFileWriter(fileWriter)::close);
+    }
+
+    public static Object writeFileRecord(Environment env, BObject fileWriter, Object data) {
+        ContainerFileWriter writer = getFileWriter(fileWriter);
+        try {
+            if (!writer.appendRecord(data)) {
+                return null;
+            }
+        } catch (IOException e) {
+            return createError(FILE_ERROR, e);
+        } catch (Exception e) {
+            return createError(SERIALIZATION_ERROR, e);
+        }
+        return runAfterYield(env, writer::writePendingBlock);
+    }
+
+    public static Object flushFileWriter(Environment env, BObject fileWriter) {
+        return runAfterYield(env, getFileWriter(fileWriter)::flush);
+    }
+
+    public static Object commitFileWriter(Environment env, BObject fileWriter) {
+        return runAfterYield(env, getFileWriter(fileWriter)::commit);
+    }
+
+    public static Object closeFileWriter(Environment env, BObject fileWriter) {
+        return runAfterYield(env, getFileWriter(fileWriter)::close);
+    }
+
+    /**
+     * Runs an operation which waits for a file, such as writing a full block, committing or closing, after yielding
+     * the strand, so that the wait does not hold up other strands.
+     */
+    private static Object runAfterYield(Environment env, FileOperation operation) {
+        return env.yieldAndRun(() -> {
+            try {
+                operation.run();
+            } catch (IOException e) {
+                return createError(FILE_ERROR, e);
+            } catch (Exception e) {
+                return createError(SERIALIZATION_ERROR, e);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Opens a new reader over the records of the file of the given `avro:FileReader`. When predicates are given and
+     * the file has an up-to-date block index, the blocks whose statistics rule out every predicate are skipped.
+     *
+     * @throws IllegalArgumentException if a predicate is not valid for the schema of the file
+     * @throws IOException              if the file cannot be opened
+     */
+    static FileRecordReader createRecordReader(BObject fileReader, Object predicates) throws IOException {
+        CompiledSchema compiledSchema = CompiledSchema.getCompiledSchema(fileReader);
+        List<Condition> conditions = predicates == null ? null : AvroFilter.toConditions(predicates);
+        RecordFilter filter = conditions == null ? null : compiledSchema.getFilter(conditions);
+        DataFileReader<Object> source = openFile((String) fileReader.getNativeData(FILE_PATH));
+        try {
+            if (!source.getSchema().equals(compiledSchema.getSchema())) {
+                throw new IOException("The schema of the file has changed since the reader was created");
+            }
+            FileRecordReader recordReader = new FileRecordReader(source, compiledSchema, filter);
+            if (conditions != null) {
+                BlockIndex index = readIndex(fileReader, recordReader);
+                if (index != null) {
+                    recordReader.skipToBlocks(index.findCandidateBlocks(conditions), index.getEndOffset());
+                }
+            }
+            return recordReader;
+        } catch (IOException | RuntimeException e) {
+            source.close();
+            throw e;
+        }
+    }
+
+    private static void seekToRecord(BObject fileReader, FileRecordReader recordReader, long recordNumber)
+            throws IOException {
+        recordReader.seekToRecord(recordNumber, readIndex(fileReader, recordReader));
+    }
+
+    private static BlockIndex readIndex(BObject fileReader, FileRecordReader recordReader) throws IOException {
+        Path dataPath = Path.of((String) fileReader.getNativeData(FILE_PATH));
+        return BlockIndex.read(dataPath, BlockIndex.readSync(dataPath, recordReader.getFirstBlockOffset()));
+    }
+
+    private static DataFileReader<Object> openFile(String path) throws IOException {
+        SeekableFileInput input = new SeekableFileInput(Path.of(path).toFile());
+        try {
+            return new DataFileReader<>(input, new GenericDatumReader<>());
+        } catch (IOException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    private static ContainerFileWriter createFileWriter(Path path, CompiledSchema compiledSchema,
+                                                        BMap<BString, Object> config) throws IOException {
+        return createFileWriter(path, compiledSchema, config, null);
+    }
+
+    private static ContainerFileWriter createFileWriter(Path path, CompiledSchema compiledSchema,
+                                                        BMap<BString, Object> config, BlockExecutors executors)
+            throws IOException {
+        Map<String, byte[]> metadata = new LinkedHashMap<>();
+        BMap<?, ?> metadataMap = config.getMapValue(METADATA);
+        for (Map.Entry<?, ?> entry : metadataMap.entrySet()) {
+            metadata.put(entry.getKey().toString(), ((BString) entry.getValue()).getValue()
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+        String codecName = config.getStringValue(CODEC).getValue();
+        if (executors != null) {
+            return new ContainerFileWriter(path, compiledSchema, codecName, getInt(config, COMPRESSION_LEVEL),
+                                           getInt(config, SYNC_INTERVAL), executors,
+                                           getInt(config, MAX_PENDING_BLOCKS), metadata, getIndexOptions(config),
+                                           config.getBooleanValue(APPEND), getCommitPolicy(config));
+        }
+        return new ContainerFileWriter(path, compiledSchema, codecName, getInt(config, COMPRESSION_LEVEL),
+                                       getInt(config, SYNC_INTERVAL), getInt(config, COMPRESSION_THREADS),
+                                       getInt(config, MAX_PENDING_BLOCKS), metadata, getIndexOptions(config),
+                                       config.getBooleanValue(APPEND), getCommitPolicy(config));
+    }
+
+    private static PartitionedContainerFileWriter getPartitionedFileWriter(BObject fileWriter) {
+        return (PartitionedContainerFileWriter) fileWriter.getNativeData(PARTITIONED_FILE_WRITER);
+    }
+
+    private static ContainerFileWriter getFileWriter(BObject fileWriter) {
+        return (ContainerFileWriter) fileWriter.getNativeData(CONTAINER_FILE_WRITER);
+    }
+
+    private static IndexOptions getIndexOptions(BMap<BString, Object> config) {
+        BString keyField = (BString) config.get(KEY_FIELD);
+        return new IndexOptions(config.getBooleanValue(CREATE_INDEX),
+                                toStringList(config.getArrayValue(STATISTICS_FIELDS)),
+                                keyField == null ? null : keyField.getValue(),
+                                (Double) config.get(KEY_FALSE_POSITIVE_RATE));
+    }
+
+    private static CommitPolicy getCommitPolicy(BMap<BString, Object> config) {
+        return new CommitPolicy((Long) config.get(COMMIT_SIZE), getMilliseconds(config, COMMIT_INTERVAL));
+    }
+
+    private static RollPolicy getRollPolicy(BMap<BString, Object> config) {
+        return new RollPolicy((Long) config.get(MAX_FILE_SIZE), (Long) config.get(MAX_FILE_RECORDS),
+                              getMilliseconds(config, MAX_FILE_AGE));
+    }
+
+    private static long getMilliseconds(BMap<BString, Object> config, BString key) {
+        BigDecimal seconds = ((BDecimal) config.get(key)).decimalValue();
+        return seconds.multiply(MILLISECONDS_PER_SECOND).setScale(0, RoundingMode.CEILING).longValue();
+    }
+
+    private static Object getPartitionKey(Object data, BString field) {
+        if (!(data instanceof BMap<?, ?> record)) {
+            throw new IllegalArgumentException("A partitioned file writer only writes records");
+        }
+        Object value = record.get(field);
+        return value instanceof BString string ? string.getValue() : value;
+    }
+
+    private static List<String> toStringList(BArray array) {
+        List<String> values = new ArrayList<>(array.size());
+        for (int i = 0; i < array.size(); i++) {
+            values.add(((BString) array.get(i)).getValue());
+        }
+        return values;
+    }
+
+    private static int getInt(BMap<BString, Object> config, BString key) {
+        long value = (Long) config.get(key);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The " + key.getValue() + " is out of range: " + value);
+        }
+        return (int) value;
+    }
+
+    private static FileRecordReader getRecordReader(BObject iterator) {
+        return (FileRecordReader) iterator.getNativeData(RECORD_READER);
+    }
+
+    @FunctionalInterface
+    private interface FileOperation {
+
+        void run() throws Exception;
+    }
+}
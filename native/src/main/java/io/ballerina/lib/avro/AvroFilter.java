@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro;
+
+import io.ballerina.lib.avro.filter.Condition;
+import io.ballerina.lib.avro.filter.Operator;
+import io.ballerina.lib.avro.filter.RecordFilter;
+import io.ballerina.lib.avro.transcode.BinaryCursor;
+import io.ballerina.runtime.api.types.TypeTags;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.ballerina.lib.avro.Utils.DESERIALIZATION_ERROR;
+import static io.ballerina.lib.avro.Utils.PREDICATE_ERROR;
+import static io.ballerina.lib.avro.Utils.createError;
+
+/**
+ * Evaluates `avro:Predicate` values against encoded records without deserializing them.
+ */
+public final class AvroFilter {
+
+    private static final BString FIELD = StringUtils.fromString("field");
+    private static final BString OPERATOR = StringUtils.fromString("operator");
+    private static final BString VALUE = StringUtils.fromString("value");
+
+    private AvroFilter() {}
+
+    public static Object matches(BObject schemaObject, BArray data, Object predicates) {
+        RecordFilter filter;
+        try {
+            filter = CompiledSchema.getCompiledSchema(schemaObject).getFilter(toConditions(predicates));
+        } catch (IllegalArgumentException e) {
+            return createError(PREDICATE_ERROR, e);
+        }
+        try {
+            return filter.matches(new BinaryCursor(data.getByteArray(), 0, data.size()));
+        } catch (Exception e) {
+            return createError(DESERIALIZATION_ERROR, e);
+        }
+    }
+
+    /**
+     * Converts the given `avro:Predicate|avro:Predicate[]` value into conditions.
+     */
+    static List<Condition> toConditions(Object predicates) {
+        List<Condition> conditions = new ArrayList<>();
+        if (predicates instanceof BArray array) {
+            for (int i = 0; i < array.size(); i++) {
+                conditions.add(toCondition(array.get(i)));
+            }
+        } else {
+            conditions.add(toCondition(predicates));
+        }
+        return conditions;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Condition toCondition(Object predicate) {
+        BMap<BString, Object> fields = (BMap<BString, Object>) predicate;
+        Operator operator = Operator.valueOf(fields.getStringValue(OPERATOR).getValue());
+        Object value = fields.get(VALUE);
+        if (operator == Operator.IN && value instanceof BArray array && !isByteArray(array)) {
+            List<Object> values = new ArrayList<>(array.size());
+            for (int i = 0; i < array.size(); i++) {
+                values.add(toOperand(array.get(i)));
+            }
+            return new Condition(fields.getStringValue(FIELD).getValue(), operator, values);
+        }
+        return new Condition(fields.getStringValue(FIELD).getValue(), operator, toOperand(value));
+    }
+
+    private static Object toOperand(Object value) {
+        if (value == null || value instanceof Long || value instanceof Double || value instanceof Boolean) {
+            return value;
+        }
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value instanceof BString string) {
+            return string.getValue();
+        }
+        if (value instanceof BDecimal decimal) {
+            return decimal.decimalValue();
+        }
+        if (value instanceof BArray array && isByteArray(array)) {
+            return array.getBytes();
+        }
+        throw new IllegalArgumentException("Unsupported predicate value: " + value);
+    }
+
+    private static boolean isByteArray(BArray array) {
+        return TypeUtils.getImpliedType(array.getElementType()).getTag() == TypeTags.BYTE_TAG;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.StreamWriteConstraints;
+import io.ballerina.lib.avro.json.AvroToJsonTranscoder;
+import io.ballerina.lib.avro.json.JsonToAvroTranscoder;
+import io.ballerina.lib.avro.serialize.GrowableOutputStream;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BObject;
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+
+import static io.ballerina.lib.avro.Utils.DESERIALIZATION_ERROR;
+import static io.ballerina.lib.avro.Utils.SERIALIZATION_ERROR;
+import static io.ballerina.lib.avro.Utils.createError;
+
+/**
+ * Transcodes between Avro binary data and JSON without creating Ballerina values for the data.
+ */
+public final class AvroJson {
+
+    // The Avro to JSON transcoder does not recurse, so that the nesting of the JSON it writes is only bounded by the
+    // data. The JSON to Avro transcoder does, and relies on the default nesting limit of the parser.
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .streamWriteConstraints(StreamWriteConstraints.builder().maxNestingDepth(Integer.MAX_VALUE).build())
+            .build();
+
+    private AvroJson() {}
+
+    public static Object toJsonBytes(BObject schemaObject, BArray data) {
+        CompiledSchema compiledSchema = CompiledSchema.getCompiledSchema(schemaObject);
+        BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(data.getByteArray(), 0, data.size(), null);
+        GrowableOutputStream outputStream = new GrowableOutputStream(data.size() * 2 + 16);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(outputStream, JsonEncoding.UTF8)) {
+            new AvroToJsonTranscoder(decoder, generator).transcode(compiledSchema.getSchema());
+        } catch (Exception e) {
+            return createError(DESERIALIZATION_ERROR, e);
+        }
+        return ValueCreator.createArrayValue(outputStream.toByteArray());
+    }
+
+    public static Object fromJsonBytes(BObject schemaObject, BArray json) {
+        CompiledSchema compiledSchema = CompiledSchema.getCompiledSchema(schemaObject);
+        GrowableOutputStream outputStream = new GrowableOutputStream(compiledSchema.getInitialBufferSize());
+        try (JsonParser parser = JSON_FACTORY.createParser(json.getByteArray(), 0, json.size())) {
+            BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(outputStream, null);
+            new JsonToAvroTranscoder(parser).transcode(compiledSchema.getSchema(), encoder);
+            if (parser.nextToken() != null) {
+                throw new AvroTypeException("Unexpected content after the JSON value");
+            }
+            encoder.flush();
+        } catch (Exception e) {
+            return createError(SERIALIZATION_ERROR, e);
+        }
+        compiledSchema.recordEncodedSize(outputStream.size());
+        return ValueCreator.createArrayValue(outputStream.toByteArray());
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro;
+
+import io.ballerina.lib.avro.ring.MappedRingBuffer;
+import io.ballerina.lib.avro.serialize.GrowableOutputStream;
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.util.concurrent.TimeoutException;
+
+import static io.ballerina.lib.avro.Utils.RING_ERROR;
+import static io.ballerina.lib.avro.Utils.SERIALIZATION_ERROR;
+import static io.ballerina.lib.avro.Utils.createError;
+import static io.ballerina.lib.avro.Utils.createRingTimeoutError;
+
+/**
+ * Natives of `ring:Writer` and `ring:Reader`. A write or read first tries the ring without waiting. Only when
+ * the ring is full or empty does it wait, after yielding the strand, so that the wait does not hold up other strands.
+ */
+public final class AvroRing {
+
+    private static final String MAPPED_RING_BUFFER = "mappedRingBuffer";
+    private static final BString CAPACITY = StringUtils.fromString("capacity");
+    private static final BigDecimal NANOSECONDS_PER_SECOND = BigDecimal.valueOf(1_000_000_000L);
+    private static final Object TIMED_OUT = new Object();
+
+    private AvroRing() {}
+
+    public static Object initRing(BObject ring, BString path, BObject schemaObject, BMap<BString, Object> config) {
+        try {
+            long capacity = (Long) config.get(CAPACITY);
+            if (capacity > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("The capacity of a ring must not exceed " + Integer.MAX_VALUE
+                                                           + " bytes");
+            }
+            ring.addNativeData(MAPPED_RING_BUFFER, MappedRingBuffer.open(Path.of(path.getValue()), (int) capacity));
+            ring.addNativeData(Utils.COMPILED_SCHEMA, CompiledSchema.getCompiledSchema(schemaObject));
+        } catch (IOException | IllegalArgumentException e) {
+            return createError(RING_ERROR, e);
+        }
+        return null;
+    }
+
+    public static Object writeRingRecord(Environment env, BObject ring, Object data, BDecimal timeout) {
+        CompiledSchema compiledSchema = CompiledSchema.getCompiledSchema(ring);
+        GrowableOutputStream outputStream = new GrowableOutputStream(compiledSchema.getInitialBufferSize());
+        try {
+            BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(outputStream, null);
+            compiledSchema.write(data, encoder);
+            encoder.flush();
+            compiledSchema.recordEncodedSize(outputStream.size());
+        } catch (Exception e) {
+            return createError(SERIALIZATION_ERROR, e);
+        }
+        MappedRingBuffer ringBuffer = getRing(ring);
+        byte[] value = outputStream.getBuffer();
+        int length = outputStream.size();
+        long timeoutNanos = getNanoseconds(timeout);
+        try {
+            boolean written = ringBuffer.offer(value, 0, length, 0);
+            if (!written && timeoutNanos > 0) {
+                written = env.yieldAndRun(() -> ringBuffer.offer(value, 0, length, timeoutNanos));
+            }
+            if (!written) {
+                return createRingTimeoutError("The ring stayed full until the timeout elapsed");
+            }
+        } catch (IllegalArgumentException e) {
+            return createError(RING_ERROR, e);
+        }
+        return null;
+    }
+
+    public static Object readRingRecord(Environment env, BObject ring, BDecimal timeout, BTypedesc typeParam) {
+        CompiledSchema compiledSchema = CompiledSchema.getCompiledSchema(ring);
+        MappedRingBuffer ringBuffer = getRing(ring);
+        MappedRingBuffer.FrameReader<Object> reader = value -> Avro.decodeBuffer(compiledSchema, value, typeParam);
+        long timeoutNanos = getNanoseconds(timeout);
+        Object result = poll(ringBuffer, reader, 0);
+        if (result == TIMED_OUT && timeoutNanos > 0) {
+            result = env.yieldAndRun(() -> poll(ringBuffer, reader, timeoutNanos));
+        }
+        if (result == TIMED_OUT) {
+            return createRingTimeoutError("No value was written to the ring until the timeout elapsed");
+        }
+        return result;
+    }
+
+    public static Object closeRing(BObject ring) {
+        try {
+            getRing(ring).close();
+        } catch (IOException e) {
+            return createError(RING_ERROR, e);
+        }
+        return null;
+    }
+
+    private static Object poll(MappedRingBuffer ring, MappedRingBuffer.FrameReader<Object> reader, long timeoutNanos) {
+        try {
+            return ring.poll(reader, timeoutNanos);
+        } catch (TimeoutException e) {
+            return TIMED_OUT;
+        } catch (Exception e) {
+            return createError(RING_ERROR, e);
+        }
+    }
+
+    private static MappedRingBuffer getRing(BObject ring) {
+        return (MappedRingBuffer) ring.getNativeData(MAPPED_RING_BUFFER);
+    }
+
+    private static long getNanoseconds(BDecimal seconds) {
+        BigDecimal nanoseconds = seconds.decimalValue().multiply(NANOSECONDS_PER_SECOND);
+        return Math.max(0, nanoseconds.setScale(0, RoundingMode.CEILING).min(BigDecimal.valueOf(Long.MAX_VALUE))
+                .longValue());
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro;
+
+import io.ballerina.lib.avro.serialize.GrowableOutputStream;
+import io.ballerina.lib.avro.transcode.BinaryCursor;
+import io.ballerina.lib.avro.transcode.TranscodePlan;
+import io.ballerina.lib.avro.transcode.TranscodePlanCompiler;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import org.apache.avro.Schema;
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileConstants;
+import org.apache.avro.file.DataFileStream;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import static io.ballerina.lib.avro.Utils.TRANSCODING_ERROR;
+import static io.ballerina.lib.avro.Utils.createError;
+
+/**
+ * Re-encodes Avro data from a writer schema to a reader schema without deserializing it.
+ */
+public final class AvroTranscoder {
+
+    private static final int DATUM_BUFFER_SIZE = 1024;
+
+    private AvroTranscoder() {}
+
+    public static Object transcode(BArray data, BObject fromSchema, BObject toSchema) {
+        try {
+            Schema targetSchema = CompiledSchema.getCompiledSchema(toSchema).getSchema();
+            TranscodePlan plan = CompiledSchema.getCompiledSchema(fromSchema).getTranscodePlan(targetSchema);
+            GrowableOutputStream outputStream = new GrowableOutputStream(data.size() + (data.size() >> 3) + 16);
+            BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(outputStream, null);
+            BinaryCursor cursor = new BinaryCursor(data.getByteArray(), 0, data.size());
+            plan.transcode(cursor, encoder);
+            if (!cursor.isEnd()) {
+                throw new IOException("The data contains more bytes than required by the schema");
+            }
+            encoder.flush();
+            return ValueCreator.createArrayValue(outputStream.toByteArray());
+        } catch (Exception e) {
+            return createError(TRANSCODING_ERROR, e);
+        }
+    }
+
+    /**
+     * Transcodes a container file into a temporary file next to the target, which is moved into place once every
+     * block is written, so that a failure never leaves a truncated file at the target path.
+     */
+    public static Object transcodeFile(BString sourcePath, BString targetPath, BObject toSchema) {
+        Schema targetSchema = CompiledSchema.getCompiledSchema(toSchema).getSchema();
+        Path target = Path.of(targetPath.getValue()).toAbsolutePath();
+        Path temporaryFile = null;
+        try {
+            temporaryFile = Files.createTempFile(target.getParent(), "." + target.getFileName(), ".tmp");
+            writeTranscodedFile(Path.of(sourcePath.getValue()), temporaryFile, targetSchema);
+            moveIntoPlace(temporaryFile, target);
+        } catch (Exception e) {
+            if (temporaryFile != null) {
+                try {
+                    Files.deleteIfExists(temporaryFile);
+                } catch (IOException deleteFailure) {
+                    e.addSuppressed(deleteFailure);
+                }
+            }
+            return createError(TRANSCODING_ERROR, e);
+        }
+        return null;
+    }
+
+    private static void writeTranscodedFile(Path sourcePath, Path targetPath, Schema targetSchema) throws Exception {
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(sourcePath));
+             DataFileStream<Object> source = new DataFileStream<>(inputStream, new GenericDatumReader<>());
+             DataFileWriter<Object> target = new DataFileWriter<>(new GenericDatumWriter<>(targetSchema))) {
+            TranscodePlan plan = new TranscodePlanCompiler().compile(source.getSchema(), targetSchema);
+            String codec = source.getMetaString(DataFileConstants.CODEC);
+            if (codec != null) {
+                target.setCodec(CodecFactory.fromString(codec));
+            }
+            for (String key : source.getMetaKeys()) {
+                if (!DataFileWriter.isReservedMeta(key)) {
+                    target.setMeta(key, source.getMeta(key));
+                }
+            }
+            target.create(targetSchema, targetPath.toFile());
+            GrowableOutputStream datum = new GrowableOutputStream(DATUM_BUFFER_SIZE);
+            BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(datum, null);
+            while (source.hasNext()) {
+                ByteBuffer block = source.nextBlock();
+                long count = source.getBlockCount();
+                BinaryCursor cursor = new BinaryCursor(block.array(), block.arrayOffset() + block.position(),
+                                                       block.remaining());
+                for (long i = 0; i < count; i++) {
+                    datum.reset();
+                    plan.transcode(cursor, encoder);
+                    target.appendEncoded(ByteBuffer.wrap(datum.getBuffer(), 0, datum.size()));
+                }
+                if (!cursor.isEnd()) {
+                    throw new IOException("A block of the source file contains more bytes than required by its "
+                                                  + "records");
+                }
+            }
+        }
+    }
+
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro;
+
+import io.ballerina.lib.avro.channel.ArrayStreamReader;
+import io.ballerina.lib.avro.channel.StreamingRecordEncoder;
+import io.ballerina.lib.avro.deserialize.DeserializeFactory;
+import io.ballerina.lib.avro.deserialize.Deserializer;
+import io.ballerina.lib.avro.deserialize.visitor.DeserializeVisitor;
+import io.ballerina.lib.avro.filter.Condition;
+import io.ballerina.lib.avro.filter.RecordFilter;
+import io.ballerina.lib.avro.plan.DecodePlan;
+import io.ballerina.lib.avro.plan.DecodePlanCompiler;
+import io.ballerina.lib.avro.plan.EncodePlan;
+import io.ballerina.lib.avro.plan.EncodePlanCompiler;
+import io.ballerina.lib.avro.serialize.MessageFactory;
+import io.ballerina.lib.avro.serialize.Serializer;
+import io.ballerina.lib.avro.serialize.visitor.SerializeVisitor;
+import io.ballerina.lib.avro.transcode.EncodedComparator;
+import io.ballerina.lib.avro.transcode.FieldPatchPlan;
+import io.ballerina.lib.avro.transcode.KeyExtractionPlan;
+import io.ballerina.lib.avro.transcode.TranscodePlan;
+import io.ballerina.lib.avro.transcode.TranscodePlanCompiler;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.values.BObject;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.Decoder;
+import org.apache.avro.io.Encoder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.ballerina.lib.avro.Utils.COMPILED_SCHEMA;
+
+/**
+ * Holds the per-schema state which is reused across every serialization and deserialization call of an
+ * `avro:Schema` instance.
+ */
+public final class CompiledSchema {
+
+    private static final int MIN_BUFFER_SIZE = 32;
+    private static final int MAX_INITIAL_BUFFER_SIZE = 16 * 1024 * 1024;
+    private static final int MAX_CACHED_FILTERS = 256;
+
+    private final Schema schema;
+    private final DatumWriter<Object> writer;
+    private final DatumReader<Object> reader;
+    private final EncodePlan encodePlan;
+    private final Map<Type, DecodePlan> decodePlans = new ConcurrentHashMap<>();
+    private final Map<Schema, TranscodePlan> transcodePlans = new ConcurrentHashMap<>();
+    private final Map<String, FieldPatchPlan> patchPlans = new ConcurrentHashMap<>();
+    private final Map<List<String>, KeyExtractionPlan> keyPlans = new ConcurrentHashMap<>();
+    private final Map<List<Condition>, RecordFilter> filters = new ConcurrentHashMap<>();
+    private final Map<String, StreamingRecordEncoder.Layout> streamingLayouts = new ConcurrentHashMap<>();
+    private final Map<String, ArrayStreamReader.Layout> arrayFieldLayouts = new ConcurrentHashMap<>();
+    private volatile ArrayStreamReader.Layout arrayLayout;
+    private volatile EncodedComparator comparator;
+    private volatile int encodedSizeEstimate = MIN_BUFFER_SIZE;
+
+    public CompiledSchema(Schema schema) {
+        this.schema = schema;
+        this.writer = new GenericDatumWriter<>(schema);
+        this.reader = new GenericDatumReader<>(schema);
+        EncodePlan plan = EncodePlanCompiler.compile(schema);
+        this.encodePlan = plan == null ? createVisitorEncodePlan(schema, writer) : plan;
+    }
+
+    /**
+     * Compiles only the encode plan of the given schema, for values which are written as part of a larger value and
+     * so need none of the readers and caches of a compiled schema.
+     */
+    public static EncodePlan compileEncodePlan(Schema schema) {
+        EncodePlan plan = EncodePlanCompiler.compile(schema);
+        return plan == null ? createVisitorEncodePlan(schema, new GenericDatumWriter<>(schema)) : plan;
+    }
+
+    public static CompiledSchema getCompiledSchema(BObject schemaObject) {
+        return (CompiledSchema) schemaObject.getNativeData(COMPILED_SCHEMA);
+    }
+
+    public Schema getSchema() {
+        return schema;
+    }
+
+    public DatumWriter<Object> getWriter() {
+        return writer;
+    }
+
+    public DatumReader<Object> getReader() {
+        return reader;
+    }
+
+    public void write(Object data, Encoder encoder) throws Exception {
+        encodePlan.write(data, encoder);
+    }
+
+    public Object read(Decoder decoder, Type type) throws Exception {
+        return getDecodePlan(type).read(decoder);
+    }
+
+    public TranscodePlan getTranscodePlan(Schema readerSchema) {
+        TranscodePlan plan = transcodePlans.get(readerSchema);
+        if (plan == null) {
+            plan = transcodePlans.computeIfAbsent(readerSchema,
+                                                  target -> new TranscodePlanCompiler().compile(schema, target));
+        }
+        return plan;
+    }
+
+    public FieldPatchPlan getPatchPlan(String fieldPath) {
+        FieldPatchPlan plan = patchPlans.get(fieldPath);
+        if (plan == null) {
+            plan = patchPlans.computeIfAbsent(fieldPath, path -> FieldPatchPlan.compile(schema, path));
+        }
+        return plan;
+    }
+
+    public KeyExtractionPlan getKeyPlan(List<String> fieldPaths) {
+        KeyExtractionPlan plan = keyPlans.get(fieldPaths);
+        if (plan == null) {
+            plan = keyPlans.computeIfAbsent(fieldPaths, paths -> KeyExtractionPlan.compile(schema, paths));
+        }
+        return plan;
+    }
+
+    /**
+     * Returns the compiled filter of the given predicates. Unlike the field paths of the other plans, the predicate
+     * values are not bounded by the schema, so only the first {@value #MAX_CACHED_FILTERS} predicate sets are kept.
+     *
+     * @throws IllegalArgumentException if a predicate is not valid for the schema
+     */
+    public RecordFilter getFilter(List<Condition> conditions) {
+        RecordFilter filter = filters.get(conditions);
+        if (filter == null) {
+            if (filters.size() >= MAX_CACHED_FILTERS) {
+                return RecordFilter.compile(schema, conditions);
+            }
+            filter = filters.computeIfAbsent(List.copyOf(conditions), key -> RecordFilter.compile(schema, key));
+        }
+        return filter;
+    }
+
+    /**
+     * Returns the layout with which a record of this schema is encoded while the given field is streamed.
+     *
+     * @throws IllegalArgumentException if the schema is not a record schema, or the field is not an array or map field
+     */
+    public StreamingRecordEncoder.Layout getStreamingLayout(String fieldName) {
+        StreamingRecordEncoder.Layout layout = streamingLayouts.get(fieldName);
+        if (layout == null) {
+            layout = streamingLayouts.computeIfAbsent(fieldName,
+                                                      name -> new StreamingRecordEncoder.Layout(schema, name));
+        }
+        return layout;
+    }
+
+    /**
+     * Returns the layout with which the elements of an array of this schema are read one by one.
+     *
+     * @param fieldName name of the array field of a record schema, or `null` if this is an array schema
+     * @throws IllegalArgumentException if the schema, or the given field of a record schema, is not an array
+     */
+    public ArrayStreamReader.Layout getArrayStreamLayout(String fieldName) {
+        if (fieldName != null) {
+            ArrayStreamReader.Layout layout = arrayFieldLayouts.get(fieldName);
+            if (layout == null) {
+                layout = arrayFieldLayouts.computeIfAbsent(fieldName,
+                                                           name -> new ArrayStreamReader.Layout(schema, name));
+            }
+            return layout;
+        }
+        ArrayStreamReader.Layout layout = arrayLayout;
+        if (layout == null) {
+            layout = new ArrayStreamReader.Layout(schema, null);
+            arrayLayout = layout;
+        }
+        return layout;
+    }
+
+    public EncodedComparator getComparator() {
+        EncodedComparator result = comparator;
+        if (result == null) {
+            result = EncodedComparator.compile(schema);
+            comparator = result;
+        }
+        return result;
+    }
+
+    private DecodePlan getDecodePlan(Type type) {
+        DecodePlan plan = decodePlans.get(type);
+        if (plan == null) {
+            plan = decodePlans.computeIfAbsent(type, this::compileDecodePlan);
+        }
+        return plan;
+    }
+
+    private DecodePlan compileDecodePlan(Type type) {
+        DecodePlan plan = DecodePlanCompiler.compile(schema, type);
+        if (plan != null) {
+            return plan;
+        }
+        Deserializer deserializer = Objects.requireNonNull(DeserializeFactory.generateDeserializer(schema, type));
+        return decoder -> deserializer.accept(new DeserializeVisitor(), reader.read(null, decoder));
+    }
+
+    private static EncodePlan createVisitorEncodePlan(Schema schema, DatumWriter<Object> writer) {
+        Serializer serializer = Objects.requireNonNull(MessageFactory.createMessage(schema));
+        return (data, encoder) -> writer.write(serializer.convert(new SerializeVisitor(), data), encoder);
+    }
+
+    public int getInitialBufferSize() {
+        return encodedSizeEstimate;
+    }
+
+    /**
+     * Updates the running estimate of the encoded size. Growth is followed immediately so that the next buffer
+     * does not have to be resized, while shrinking decays slowly so that a single small message does not cause
+     * the following large messages to be copied again.
+     *
+     * @param encodedSize size of the most recently encoded message
+     */
+    public void recordEncodedSize(int encodedSize) {
+        int estimate = encodedSizeEstimate;
+        int updated;
+        if (encodedSize >= estimate) {
+            updated = encodedSize;
+        } else {
+            updated = estimate - ((estimate - encodedSize) >> 3);
+        }
+        updated = Math.min(Math.max(updated, MIN_BUFFER_SIZE), MAX_INITIAL_BUFFER_SIZE);
+        if (updated != estimate) {
+            encodedSizeEstimate = updated;
+        }
+    }
+}
@@ -18,9 +18,13 @@
 
 package io.ballerina.lib.avro;
 
+import io.ballerina.lib.avro.plan.RecursionGuard;
 import io.ballerina.runtime.api.Environment;
 import io.ballerina.runtime.api.Module;
 
+import static io.ballerina.lib.avro.Utils.CONFIGURATION_ERROR;
+import static io.ballerina.lib.avro.Utils.createError;
+
 /**
  * Utility functions of Avro module.
  *
@@ -31,14 +35,34 @@ public final class ModuleUtils {
     private ModuleUtils() {}
 
     private static Module avroModule = null;
+    private static Module ringModule = null;
 
     public static Module getModule() {
         return avroModule;
     }
 
+    public static Module getRingModule() {
+        return ringModule;
+    }
+
     @SuppressWarnings("unused")
     public static void setModule(Environment env) {
         avroModule = env.getCurrentModule();
     }
 
+    @SuppressWarnings("unused")
+    public static void setRingModule(Environment env) {
+        ringModule = env.getCurrentModule();
+    }
+
+    @SuppressWarnings("unused")
+    public static Object setMaxNestingDepth(long depth) {
+        if (depth <= 0 || depth > Integer.MAX_VALUE) {
+            return createError(CONFIGURATION_ERROR,
+                               new IllegalArgumentException("The maxNestingDepth is out of range: " + depth));
+        }
+        RecursionGuard.setMaxDepth((int) depth);
+        return null;
+    }
+
 }
@@ -19,14 +19,21 @@
 package io.ballerina.lib.avro;
 
 import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
 import io.ballerina.runtime.api.types.IntersectionType;
 import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.types.TypeTags;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.utils.TypeUtils;
 import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.HashMap;
+import java.util.Map;
 
 import static io.ballerina.lib.avro.ModuleUtils.getModule;
+import static io.ballerina.lib.avro.ModuleUtils.getRingModule;
 
 public final class Utils {
 
@@ -34,15 +41,43 @@ public final class Utils {
     }
 
     public static final String AVRO_SCHEMA = "avroSchema";
+    public static final String COMPILED_SCHEMA = "compiledSchema";
     public static final String ERROR_TYPE = "Error";
+    public static final String BUFFER_TOO_SMALL_ERROR_TYPE = "BufferTooSmallError";
+    public static final String BUFFER_TOO_SMALL_ERROR_DETAIL = "BufferTooSmallErrorDetail";
+    public static final String RING_TIMEOUT_ERROR_TYPE = "TimeoutError";
+    public static final String REQUIRED_SIZE = "requiredSize";
     public static final String SERIALIZATION_ERROR = "Avro serialization error";
     public static final String DESERIALIZATION_ERROR = "Avro deserialization error";
+    public static final String TRANSCODING_ERROR = "Avro transcoding error";
+    public static final String PREDICATE_ERROR = "Invalid Avro predicate";
+    public static final String FILE_ERROR = "Avro container file error";
+    public static final String COLUMN_ERROR = "Invalid Avro column path";
+    public static final String RING_ERROR = "Avro ring buffer error";
+    public static final String CONFIGURATION_ERROR = "Invalid Avro configuration";
 
     public static BError createError(String message, Throwable throwable) {
         BError cause = ErrorCreator.createError(throwable);
         return ErrorCreator.createError(getModule(), ERROR_TYPE, StringUtils.fromString(message), cause, null);
     }
 
+    public static BError createBufferTooSmallError(long requiredSize, long availableSize) {
+        Map<String, Object> details = new HashMap<>();
+        details.put(REQUIRED_SIZE, requiredSize);
+        BMap<BString, Object> errorDetail = ValueCreator.createReadonlyRecordValue(getModule(),
+                                                                                   BUFFER_TOO_SMALL_ERROR_DETAIL,
+                                                                                   details);
+        String message = "The encoded data requires " + requiredSize + " bytes but only " + availableSize
+                + " bytes are available in the target buffer";
+        return ErrorCreator.createError(getModule(), BUFFER_TOO_SMALL_ERROR_TYPE, StringUtils.fromString(message),
+                                        null, errorDetail);
+    }
+
+    public static BError createRingTimeoutError(String message) {
+        return ErrorCreator.createError(getRingModule(), RING_TIMEOUT_ERROR_TYPE, StringUtils.fromString(message),
+                                        null, null);
+    }
+
     public static Type getMutableType(Type dataType) {
         if (dataType.getTag() != TypeTags.INTERSECTION_TAG) {
             return dataType;
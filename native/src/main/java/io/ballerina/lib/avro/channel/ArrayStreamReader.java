@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.channel;
+
+import io.ballerina.lib.avro.CompiledSchema;
+import io.ballerina.lib.avro.transcode.BinaryCursor;
+import io.ballerina.runtime.api.types.Type;
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.Schema;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DecoderFactory;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.ballerina.lib.avro.transcode.TranscodePlanCompiler.skipValue;
+
+/**
+ * Decodes the elements of an encoded array one by one as its bytes become available, either from a top-level array
+ * or from an array field of a top-level record. The bytes of an element are located by skipping over it in the
+ * buffered input, and the element is decoded once all of its bytes are buffered, so that only the current element
+ * and the unread input are held in memory.
+ */
+public final class ArrayStreamReader {
+
+    private static final int MIN_BUFFER_SIZE = 16;
+
+    private enum State { PREFIX, BLOCK, ELEMENT, END }
+
+    private final Schema[] precedingFields;
+    private final Schema union;
+    private final int arrayBranch;
+    private final Schema elementSchema;
+    private final CompiledSchema compiledElement;
+    private byte[] buffer;
+    private int start;
+    private int end;
+    private State state = State.PREFIX;
+    private long remainingInBlock;
+    private int elementEnd = -1;
+    private BinaryDecoder decoder;
+
+    /**
+     * @param layout        compiled schemas of the encoded value and its array
+     * @param readAheadSize initial size of the input buffer
+     */
+    public ArrayStreamReader(Layout layout, int readAheadSize) {
+        this.precedingFields = layout.precedingFields;
+        this.union = layout.union;
+        this.arrayBranch = layout.arrayBranch;
+        this.elementSchema = layout.elementSchema;
+        this.compiledElement = layout.compiledElement;
+        this.buffer = new byte[Math.max(readAheadSize, MIN_BUFFER_SIZE)];
+    }
+
+    /**
+     * Uses the given bytes as the whole input, without copying them.
+     */
+    public void wrap(byte[] bytes, int length) {
+        buffer = bytes;
+        start = 0;
+        end = length;
+    }
+
+    public void feed(byte[] bytes, int length) {
+        if (end + length > buffer.length) {
+            int remaining = end - start;
+            if (remaining + length > buffer.length) {
+                buffer = Arrays.copyOfRange(buffer, start, start + Math.max(buffer.length * 2, remaining + length));
+            } else {
+                System.arraycopy(buffer, start, buffer, 0, remaining);
+            }
+            start = 0;
+            end = remaining;
+        }
+        System.arraycopy(bytes, 0, buffer, end, length);
+        end += length;
+    }
+
+    /**
+     * Returns whether the next element is completely buffered. Returns `false` when more input is required and
+     * after the last element.
+     */
+    public boolean hasElement() throws Exception {
+        while (true) {
+            if (elementEnd >= 0) {
+                return true;
+            }
+            BinaryCursor input = new BinaryCursor(buffer, start, end - start);
+            try {
+                switch (state) {
+                    case PREFIX -> {
+                        for (Schema field : precedingFields) {
+                            skipValue(field, input);
+                        }
+                        state = readArrayBranch(input) ? State.BLOCK : State.END;
+                    }
+                    case BLOCK -> {
+                        long count = input.readBlockCount();
+                        remainingInBlock = count;
+                        state = count == 0 ? State.END : State.ELEMENT;
+                    }
+                    case ELEMENT -> {
+                        skipValue(elementSchema, input);
+                        elementEnd = input.getPosition();
+                        return true;
+                    }
+                    default -> {
+                        return false;
+                    }
+                }
+            } catch (EOFException e) {
+                return false;
+            }
+            start = input.getPosition();
+        }
+    }
+
+    /**
+     * Returns whether every element has been read.
+     */
+    public boolean isEnd() {
+        return state == State.END;
+    }
+
+    public Object decodeElement(Type type) throws Exception {
+        if (!hasElement()) {
+            throw new IOException("No complete element is available in the read-ahead buffer");
+        }
+        int elementStart = start;
+        start = elementEnd;
+        elementEnd = -1;
+        if (--remainingInBlock == 0) {
+            state = State.BLOCK;
+        }
+        decoder = DecoderFactory.get().binaryDecoder(buffer, elementStart, start - elementStart, decoder);
+        return compiledElement.read(decoder, type);
+    }
+
+    private boolean readArrayBranch(BinaryCursor input) throws EOFException {
+        if (union == null) {
+            return true;
+        }
+        int index = input.readInt();
+        if (index == arrayBranch) {
+            return true;
+        }
+        if (index < 0 || index >= union.getTypes().size()
+                || union.getTypes().get(index).getType() != Schema.Type.NULL) {
+            throw new AvroTypeException("Union index " + index + " does not select the array or null branch");
+        }
+        return false;
+    }
+
+    /**
+     * The compiled schemas of an encoded value whose array, or array field, is streamed. A layout does not change
+     * once it is created, so the readers of the same array share it.
+     */
+    public static final class Layout {
+
+        private final Schema[] precedingFields;
+        private final Schema union;
+        private final int arrayBranch;
+        private final Schema elementSchema;
+        private final CompiledSchema compiledElement;
+
+        /**
+         * @param schema    schema of the encoded value
+         * @param fieldName name of the array field of a record schema, or `null` if the schema is an array schema
+         * @throws IllegalArgumentException if the schema, or the given field of a record schema, is not an array,
+         *                                  which may be a branch of a union
+         */
+        public Layout(Schema schema, String fieldName) {
+            Schema arraySchema = schema;
+            if (fieldName == null) {
+                this.precedingFields = new Schema[0];
+            } else {
+                if (schema.getType() != Schema.Type.RECORD) {
+                    throw new IllegalArgumentException("A field can only be streamed from a record schema");
+                }
+                Schema.Field field = schema.getField(fieldName);
+                if (field == null) {
+                    throw new IllegalArgumentException("Field '" + fieldName + "' is not defined in the schema");
+                }
+                List<Schema.Field> fields = schema.getFields();
+                this.precedingFields = new Schema[field.pos()];
+                for (int i = 0; i < precedingFields.length; i++) {
+                    precedingFields[i] = fields.get(i).schema();
+                }
+                arraySchema = field.schema();
+            }
+            int branch = -1;
+            if (arraySchema.getType() == Schema.Type.UNION) {
+                List<Schema> branches = arraySchema.getTypes();
+                for (int i = 0; i < branches.size() && branch < 0; i++) {
+                    if (branches.get(i).getType() == Schema.Type.ARRAY) {
+                        branch = i;
+                    }
+                }
+                this.union = arraySchema;
+                arraySchema = branch < 0 ? arraySchema : branches.get(branch);
+            } else {
+                this.union = null;
+            }
+            if (arraySchema.getType() != Schema.Type.ARRAY) {
+                throw new IllegalArgumentException("Only array values can be streamed, but the schema is "
+                                                           + arraySchema);
+            }
+            this.arrayBranch = branch;
+            this.elementSchema = arraySchema.getElementType();
+            this.compiledElement = new CompiledSchema(elementSchema);
+        }
+    }
+}
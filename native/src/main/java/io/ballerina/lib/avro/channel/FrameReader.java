@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.channel;
+
+import io.ballerina.lib.avro.CompiledSchema;
+import io.ballerina.runtime.api.types.Type;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DecoderFactory;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Accumulates bytes read from a channel and decodes the length-prefixed Avro messages in them. The read-ahead
+ * buffer and the binary decoder are reused for every message.
+ */
+public final class FrameReader {
+
+    private static final int MAX_FRAME_SIZE = Integer.MAX_VALUE - 8;
+
+    private final CompiledSchema compiledSchema;
+    private byte[] buffer;
+    private int start;
+    private int end;
+    private int frameOffset;
+    private int frameLength = -1;
+    private BinaryDecoder decoder;
+
+    public FrameReader(CompiledSchema compiledSchema, int readAheadSize) {
+        this.compiledSchema = compiledSchema;
+        this.buffer = new byte[Math.max(readAheadSize, 16)];
+    }
+
+    public void feed(byte[] bytes, int length) {
+        if (end + length > buffer.length) {
+            int remaining = end - start;
+            if (remaining + length > buffer.length) {
+                buffer = Arrays.copyOfRange(buffer, start, start + Math.max(buffer.length * 2, remaining + length));
+            } else {
+                System.arraycopy(buffer, start, buffer, 0, remaining);
+            }
+            if (frameLength >= 0) {
+                frameOffset -= start;
+            }
+            start = 0;
+            end = remaining;
+        }
+        System.arraycopy(bytes, 0, buffer, end, length);
+        end += length;
+    }
+
+    public boolean hasFrame() throws IOException {
+        if (frameLength < 0 && !readFrameHeader()) {
+            return false;
+        }
+        return end - frameOffset >= frameLength;
+    }
+
+    public boolean hasRemaining() {
+        return end > start;
+    }
+
+    public Object decodeFrame(Type type) throws Exception {
+        if (!hasFrame()) {
+            throw new IOException("No complete message is available in the read-ahead buffer");
+        }
+        decoder = DecoderFactory.get().binaryDecoder(buffer, frameOffset, frameLength, decoder);
+        start = frameOffset + frameLength;
+        frameLength = -1;
+        Object value = compiledSchema.read(decoder, type);
+        if (!decoder.isEnd()) {
+            throw new IOException("The message contains more bytes than required by the schema");
+        }
+        return value;
+    }
+
+    private boolean readFrameHeader() throws IOException {
+        long value = 0;
+        int shift = 0;
+        int position = start;
+        while (position < end) {
+            int b = buffer[position++] & 0xff;
+            value |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                long length = (value >>> 1) ^ -(value & 1);
+                if (length < 0 || length > MAX_FRAME_SIZE) {
+                    throw new IOException("Invalid message length: " + length);
+                }
+                frameOffset = position;
+                frameLength = (int) length;
+                return true;
+            }
+            shift += 7;
+            if (shift > 63) {
+                throw new IOException("Invalid message length prefix");
+            }
+        }
+        return false;
+    }
+}
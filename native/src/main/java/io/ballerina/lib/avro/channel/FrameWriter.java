@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.channel;
+
+import io.ballerina.lib.avro.CompiledSchema;
+import io.ballerina.lib.avro.serialize.GrowableOutputStream;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+
+import java.util.Arrays;
+
+/**
+ * Encodes values as length-prefixed Avro messages into a batch which is written to a channel when flushed.
+ */
+public final class FrameWriter {
+
+    private final CompiledSchema compiledSchema;
+    private final GrowableOutputStream message;
+    private final GrowableOutputStream batch;
+    private final BinaryEncoder messageEncoder;
+    private final BinaryEncoder batchEncoder;
+
+    public FrameWriter(CompiledSchema compiledSchema, int batchSize) {
+        this.compiledSchema = compiledSchema;
+        this.message = new GrowableOutputStream(compiledSchema.getInitialBufferSize());
+        this.batch = new GrowableOutputStream(Math.max(batchSize, 16));
+        this.messageEncoder = EncoderFactory.get().directBinaryEncoder(message, null);
+        this.batchEncoder = EncoderFactory.get().directBinaryEncoder(batch, null);
+    }
+
+    public int encodeFrame(Object data) throws Exception {
+        message.reset();
+        compiledSchema.write(data, messageEncoder);
+        messageEncoder.flush();
+        compiledSchema.recordEncodedSize(message.size());
+        batchEncoder.writeLong(message.size());
+        batchEncoder.writeFixed(message.getBuffer(), 0, message.size());
+        batchEncoder.flush();
+        return batch.size();
+    }
+
+    public byte[] drain() {
+        byte[] bytes = Arrays.copyOf(batch.getBuffer(), batch.size());
+        batch.reset();
+        return bytes;
+    }
+}
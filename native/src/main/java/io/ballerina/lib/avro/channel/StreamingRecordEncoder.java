@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.channel;
+
+import io.ballerina.lib.avro.CompiledSchema;
+import io.ballerina.lib.avro.plan.EncodePlan;
+import io.ballerina.lib.avro.serialize.GrowableOutputStream;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.Schema;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Encodes a record whose array or map field is supplied item by item. The items are encoded into blocks which are
+ * prefixed with their negated item count and their size in bytes, so that the encoded record is produced in chunks
+ * of bounded size and readers can skip a block without decoding its items.
+ */
+public final class StreamingRecordEncoder {
+
+    private final BString[] keys;
+    private final EncodePlan[] fieldPlans;
+    private final int streamedField;
+    private final int unionIndex;
+    private final boolean isMap;
+    private final EncodePlan itemPlan;
+    private final int blockSize;
+    private final GrowableOutputStream output;
+    private final GrowableOutputStream items;
+    private final BinaryEncoder outputEncoder;
+    private final BinaryEncoder itemEncoder;
+    private BMap<?, ?> record;
+    private long itemCount;
+
+    /**
+     * @param layout    encode plans of the record and its streamed field
+     * @param blockSize number of encoded bytes at which a block of items is completed
+     * @throws IllegalArgumentException if the block size is not positive
+     */
+    public StreamingRecordEncoder(Layout layout, int blockSize) {
+        this.keys = layout.keys;
+        this.fieldPlans = layout.fieldPlans;
+        this.streamedField = layout.streamedField;
+        this.unionIndex = layout.unionIndex;
+        this.isMap = layout.isMap;
+        this.itemPlan = layout.itemPlan;
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("The block size must be positive, but was " + blockSize);
+        }
+        this.blockSize = blockSize;
+        this.output = new GrowableOutputStream(blockSize + 2 * 10);
+        this.items = new GrowableOutputStream(blockSize + blockSize / 4);
+        this.outputEncoder = EncoderFactory.get().directBinaryEncoder(output, null);
+        this.itemEncoder = EncoderFactory.get().directBinaryEncoder(items, null);
+    }
+
+    /**
+     * Encodes the fields of the given record which precede the streamed field. The value of the streamed field in
+     * the record, if any, is ignored.
+     *
+     * @return the encoded bytes
+     */
+    public byte[] start(BMap<?, ?> data) throws Exception {
+        this.record = data;
+        output.reset();
+        for (int i = 0; i < streamedField; i++) {
+            fieldPlans[i].write(record.get(keys[i]), outputEncoder);
+        }
+        if (unionIndex >= 0) {
+            outputEncoder.writeIndex(unionIndex);
+        }
+        return drain(output);
+    }
+
+    /**
+     * Encodes the given item into the current block. An item of a map field is a tuple of its key and value.
+     *
+     * @return the encoded block if the item completed it, or else `null`
+     */
+    public byte[] add(Object item) throws Exception {
+        if (record == null) {
+            throw new IllegalStateException("The encoding has not been started");
+        }
+        int mark = items.size();
+        try {
+            if (isMap) {
+                if (!(item instanceof BArray entry) || entry.size() != 2 || !(entry.get(0) instanceof BString key)) {
+                    throw new AvroTypeException("An item of a map field must be a tuple of a string key and a value");
+                }
+                itemEncoder.writeString(key.getValue());
+                itemPlan.write(entry.get(1), itemEncoder);
+            } else {
+                itemPlan.write(item, itemEncoder);
+            }
+        } catch (Exception e) {
+            items.truncate(mark);
+            throw e;
+        }
+        itemCount++;
+        if (items.size() < blockSize) {
+            return null;
+        }
+        output.reset();
+        writeBlock();
+        return drain(output);
+    }
+
+    /**
+     * Encodes the last block, the end of the items, and the fields of the record which follow the streamed field.
+     *
+     * @return the encoded bytes
+     */
+    public byte[] finish() throws Exception {
+        if (record == null) {
+            throw new IllegalStateException("The encoding has not been started");
+        }
+        output.reset();
+        writeBlock();
+        outputEncoder.writeLong(0);
+        for (int i = streamedField + 1; i < keys.length; i++) {
+            fieldPlans[i].write(record.get(keys[i]), outputEncoder);
+        }
+        record = null;
+        return drain(output);
+    }
+
+    private void writeBlock() throws Exception {
+        if (itemCount == 0) {
+            return;
+        }
+        outputEncoder.writeLong(-itemCount);
+        outputEncoder.writeLong(items.size());
+        outputEncoder.writeFixed(items.getBuffer(), 0, items.size());
+        items.reset();
+        itemCount = 0;
+    }
+
+    private static byte[] drain(GrowableOutputStream stream) {
+        return Arrays.copyOf(stream.getBuffer(), stream.size());
+    }
+
+    private static IllegalArgumentException invalidField(String name, Schema schema) {
+        return new IllegalArgumentException("Field '" + name + "' must be an array or map field, but is of type "
+                                                    + schema);
+    }
+
+    /**
+     * The encode plans of the fields and the items of a record whose given field is streamed. A layout does not
+     * change once it is created, so the encoders of the same field share it.
+     */
+    public static final class Layout {
+
+        private final BString[] keys;
+        private final EncodePlan[] fieldPlans;
+        private final int streamedField;
+        private final int unionIndex;
+        private final boolean isMap;
+        private final EncodePlan itemPlan;
+
+        /**
+         * @param schema    schema of the record
+         * @param fieldName name of the field whose items are supplied separately
+         * @throws IllegalArgumentException if the schema is not a record schema, or the field is not an array or map
+         *                                  field, which may be a branch of a union
+         */
+        public Layout(Schema schema, String fieldName) {
+            if (schema.getType() != Schema.Type.RECORD) {
+                throw new IllegalArgumentException("Streamed encoding is only supported for record schemas");
+            }
+            Schema.Field field = schema.getField(fieldName);
+            if (field == null) {
+                throw new IllegalArgumentException("Field '" + fieldName + "' is not defined in the schema");
+            }
+            List<Schema.Field> fields = schema.getFields();
+            this.keys = new BString[fields.size()];
+            this.fieldPlans = new EncodePlan[fields.size()];
+            for (Schema.Field recordField : fields) {
+                keys[recordField.pos()] = StringUtils.fromString(recordField.name());
+                if (recordField.pos() != field.pos()) {
+                    fieldPlans[recordField.pos()] = CompiledSchema.compileEncodePlan(recordField.schema());
+                }
+            }
+            this.streamedField = field.pos();
+            Schema collection = field.schema();
+            int index = -1;
+            if (collection.getType() == Schema.Type.UNION) {
+                List<Schema> branches = collection.getTypes();
+                for (int i = 0; i < branches.size() && index < 0; i++) {
+                    Schema.Type type = branches.get(i).getType();
+                    if (type == Schema.Type.ARRAY || type == Schema.Type.MAP) {
+                        index = i;
+                    }
+                }
+                if (index < 0) {
+                    throw invalidField(fieldName, collection);
+                }
+                collection = branches.get(index);
+            }
+            this.unionIndex = index;
+            this.isMap = collection.getType() == Schema.Type.MAP;
+            if (!isMap && collection.getType() != Schema.Type.ARRAY) {
+                throw invalidField(fieldName, collection);
+            }
+            this.itemPlan = CompiledSchema.compileEncodePlan(isMap ? collection.getValueType()
+                                                                  : collection.getElementType());
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.column;
+
+import io.ballerina.lib.avro.transcode.BinaryCursor;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BString;
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.Schema;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Accumulates the values of a primitive field into a growing primitive array. Nullable fields also record a null
+ * flag per row, and the value of a null row is the zero value of the column type.
+ */
+public abstract class ColumnBuilder implements ColumnStep {
+
+    protected int size;
+    private boolean[] nulls;
+
+    protected ColumnBuilder(boolean nullable, int capacity) {
+        this.nulls = nullable ? new boolean[capacity] : null;
+    }
+
+    static ColumnBuilder create(Schema schema, boolean nullable, int capacity) {
+        return switch (schema.getType()) {
+            case INT, LONG -> new LongColumn(nullable, capacity);
+            case FLOAT -> new DoubleColumn(nullable, capacity, true);
+            case DOUBLE -> new DoubleColumn(nullable, capacity, false);
+            case BOOLEAN -> new BooleanColumn(nullable, capacity);
+            case STRING -> new StringColumn(nullable, capacity, null);
+            case ENUM -> new StringColumn(nullable, capacity, schema.getEnumSymbols());
+            default -> null;
+        };
+    }
+
+    @Override
+    public void read(BinaryCursor input) throws Exception {
+        ensureCapacity(size + 1);
+        readValue(input);
+        size++;
+    }
+
+    @Override
+    public void appendNull() {
+        ensureCapacity(size + 1);
+        nulls[size++] = true;
+    }
+
+    /**
+     * Returns the null flags of the rows, or `null` if the field is not nullable.
+     */
+    public BArray getNulls() {
+        return nulls == null ? null : ValueCreator.createArrayValue(Arrays.copyOf(nulls, size));
+    }
+
+    public abstract BArray getValues();
+
+    protected abstract void readValue(BinaryCursor input) throws Exception;
+
+    protected abstract int capacity();
+
+    protected abstract void grow(int capacity);
+
+    private void ensureCapacity(int required) {
+        int capacity = capacity();
+        if (required <= capacity) {
+            return;
+        }
+        int newCapacity = Math.max(required, capacity + (capacity >> 1) + 16);
+        grow(newCapacity);
+        if (nulls != null) {
+            nulls = Arrays.copyOf(nulls, newCapacity);
+        }
+    }
+
+    private static final class LongColumn extends ColumnBuilder {
+
+        private long[] values;
+
+        LongColumn(boolean nullable, int capacity) {
+            super(nullable, capacity);
+            this.values = new long[capacity];
+        }
+
+        @Override
+        protected void readValue(BinaryCursor input) throws Exception {
+            values[size] = input.readLong();
+        }
+
+        @Override
+        public BArray getValues() {
+            return ValueCreator.createArrayValue(Arrays.copyOf(values, size));
+        }
+
+        @Override
+        protected int capacity() {
+            return values.length;
+        }
+
+        @Override
+        protected void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+    }
+
+    private static final class DoubleColumn extends ColumnBuilder {
+
+        private final boolean isFloat;
+        private double[] values;
+
+        DoubleColumn(boolean nullable, int capacity, boolean isFloat) {
+            super(nullable, capacity);
+            this.isFloat = isFloat;
+            this.values = new double[capacity];
+        }
+
+        @Override
+        protected void readValue(BinaryCursor input) throws Exception {
+            values[size] = isFloat ? input.readFloat() : input.readDouble();
+        }
+
+        @Override
+        public BArray getValues() {
+            return ValueCreator.createArrayValue(Arrays.copyOf(values, size));
+        }
+
+        @Override
+        protected int capacity() {
+            return values.length;
+        }
+
+        @Override
+        protected void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+    }
+
+    private static final class BooleanColumn extends ColumnBuilder {
+
+        private boolean[] values;
+
+        BooleanColumn(boolean nullable, int capacity) {
+            super(nullable, capacity);
+            this.values = new boolean[capacity];
+        }
+
+        @Override
+        protected void readValue(BinaryCursor input) throws Exception {
+            values[size] = input.readBoolean();
+        }
+
+        @Override
+        public BArray getValues() {
+            return ValueCreator.createArrayValue(Arrays.copyOf(values, size));
+        }
+
+        @Override
+        protected int capacity() {
+            return values.length;
+        }
+
+        @Override
+        protected void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+    }
+
+    private static final class StringColumn extends ColumnBuilder {
+
+        private static final BString EMPTY = StringUtils.fromString("");
+
+        private final BString[] symbols;
+        private BString[] values;
+
+        StringColumn(boolean nullable, int capacity, List<String> symbols) {
+            super(nullable, capacity);
+            this.values = new BString[capacity];
+            if (symbols == null) {
+                this.symbols = null;
+            } else {
+                this.symbols = new BString[symbols.size()];
+                for (int i = 0; i < this.symbols.length; i++) {
+                    this.symbols[i] = StringUtils.fromString(symbols.get(i));
+                }
+            }
+        }
+
+        @Override
+        protected void readValue(BinaryCursor input) throws Exception {
+            if (symbols != null) {
+                int index = input.readInt();
+                if (index < 0 || index >= symbols.length) {
+                    throw new AvroTypeException("Enum index " + index + " is out of bounds");
+                }
+                values[size] = symbols[index];
+                return;
+            }
+            long length = input.readLong();
+            int offset = input.getPosition();
+            input.skip(length);
+            values[size] = StringUtils.fromString(new String(input.getBuffer(), offset, (int) length,
+                                                             StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public BArray getValues() {
+            BString[] result = Arrays.copyOf(values, size);
+            for (int i = 0; i < result.length; i++) {
+                if (result[i] == null) {
+                    result[i] = EMPTY;
+                }
+            }
+            return ValueCreator.createArrayValue(result);
+        }
+
+        @Override
+        protected int capacity() {
+            return values.length;
+        }
+
+        @Override
+        protected void grow(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+    }
+}
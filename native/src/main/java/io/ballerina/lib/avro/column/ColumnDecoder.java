@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.column;
+
+import io.ballerina.lib.avro.transcode.BinaryCursor;
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.Schema;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.ballerina.lib.avro.transcode.TranscodePlanCompiler.skipValue;
+
+/**
+ * Decodes encoded records into one primitive column per field path. A field path is a dot separated list of
+ * record field names which ends at an int, long, float, double, boolean, string or enum field. Fields which are
+ * not on any of the paths are skipped without being decoded.
+ */
+public final class ColumnDecoder {
+
+    private final ColumnStep recordStep;
+    private final List<ColumnBuilder> columns;
+    private int rowCount;
+
+    private ColumnDecoder(ColumnStep recordStep, List<ColumnBuilder> columns) {
+        this.recordStep = recordStep;
+        this.columns = columns;
+    }
+
+    /**
+     * Compiles a decoder for the given field paths.
+     *
+     * @param schema   record schema of the encoded data
+     * @param paths    field paths of the columns
+     * @param capacity expected number of rows
+     * @throws IllegalArgumentException if a path does not lead to a primitive field
+     */
+    public static ColumnDecoder compile(Schema schema, List<String> paths, int capacity) {
+        if (schema.getType() != Schema.Type.RECORD) {
+            throw new IllegalArgumentException("Columns are only supported for record schemas");
+        }
+        PathNode root = new PathNode();
+        for (int i = 0; i < paths.size(); i++) {
+            PathNode node = root;
+            boolean overlaps = false;
+            for (String name : paths.get(i).split("\\.", -1)) {
+                overlaps |= node.column >= 0;
+                node = node.children.computeIfAbsent(name, key -> new PathNode());
+            }
+            if (overlaps || node.column >= 0 || !node.children.isEmpty()) {
+                throw new IllegalArgumentException("Column path '" + paths.get(i) + "' is repeated or overlaps "
+                                                           + "with another path");
+            }
+            node.column = i;
+        }
+        ColumnBuilder[] columns = new ColumnBuilder[paths.size()];
+        ColumnStep recordStep = compileRecord(schema, root, "", false, Math.max(capacity, 0), columns);
+        return new ColumnDecoder(recordStep, List.of(columns));
+    }
+
+    /**
+     * Decodes the record at the cursor and moves the cursor to the end of the record.
+     */
+    public void decode(BinaryCursor input) throws Exception {
+        recordStep.read(input);
+        rowCount++;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public List<ColumnBuilder> getColumns() {
+        return columns;
+    }
+
+    private static ColumnStep compile(Schema schema, PathNode node, String path, boolean nullable, int capacity,
+                                      ColumnBuilder[] columns) {
+        if (schema.getType() == Schema.Type.UNION) {
+            return compileUnion(schema, node, path, capacity, columns);
+        }
+        if (node.column >= 0) {
+            ColumnBuilder column = ColumnBuilder.create(schema, nullable, capacity);
+            if (column == null) {
+                throw new IllegalArgumentException("Column path '" + path + "' does not lead to a primitive field");
+            }
+            columns[node.column] = column;
+            return column;
+        }
+        if (schema.getType() != Schema.Type.RECORD) {
+            throw new IllegalArgumentException("Column path '" + path + "' continues past a field which is not a "
+                                                       + "record");
+        }
+        return compileRecord(schema, node, path, nullable, capacity, columns);
+    }
+
+    private static ColumnStep compileRecord(Schema schema, PathNode node, String path, boolean nullable,
+                                            int capacity, ColumnBuilder[] columns) {
+        List<Schema.Field> fields = schema.getFields();
+        Schema[] fieldSchemas = new Schema[fields.size()];
+        ColumnStep[] fieldSteps = new ColumnStep[fields.size()];
+        List<ColumnStep> children = new ArrayList<>();
+        for (int i = 0; i < fieldSchemas.length; i++) {
+            fieldSchemas[i] = fields.get(i).schema();
+        }
+        for (Map.Entry<String, PathNode> child : node.children.entrySet()) {
+            String childPath = path.isEmpty() ? child.getKey() : path + "." + child.getKey();
+            Schema.Field field = schema.getField(child.getKey());
+            if (field == null) {
+                throw new IllegalArgumentException("Column path '" + childPath + "' is not defined in the schema");
+            }
+            ColumnStep step = compile(field.schema(), child.getValue(), childPath, nullable, capacity, columns);
+            fieldSteps[field.pos()] = step;
+            children.add(step);
+        }
+        return new ColumnStep() {
+            @Override
+            public void read(BinaryCursor input) throws Exception {
+                for (int i = 0; i < fieldSteps.length; i++) {
+                    ColumnStep step = fieldSteps[i];
+                    if (step == null) {
+                        skipValue(fieldSchemas[i], input);
+                    } else {
+                        step.read(input);
+                    }
+                }
+            }
+
+            @Override
+            public void appendNull() {
+                for (ColumnStep child : children) {
+                    child.appendNull();
+                }
+            }
+        };
+    }
+
+    private static ColumnStep compileUnion(Schema schema, PathNode node, String path, int capacity,
+                                           ColumnBuilder[] columns) {
+        List<Schema> branches = schema.getTypes();
+        ColumnStep[] branchSteps = new ColumnStep[branches.size()];
+        ColumnStep valueStep = null;
+        for (int i = 0; i < branchSteps.length; i++) {
+            Schema branch = branches.get(i);
+            if (branch.getType() == Schema.Type.NULL) {
+                continue;
+            }
+            if (valueStep != null) {
+                throw new IllegalArgumentException("Column path '" + path + "' crosses a union with more than one "
+                                                           + "non-null type");
+            }
+            valueStep = compile(branch, node, path, true, capacity, columns);
+            branchSteps[i] = valueStep;
+        }
+        if (valueStep == null) {
+            throw new IllegalArgumentException("Column path '" + path + "' does not lead to a primitive field");
+        }
+        ColumnStep nullStep = valueStep;
+        return new ColumnStep() {
+            @Override
+            public void read(BinaryCursor input) throws Exception {
+                int index = input.readInt();
+                if (index < 0 || index >= branchSteps.length) {
+                    throw new AvroTypeException("Union index " + index + " is out of bounds");
+                }
+                ColumnStep step = branchSteps[index];
+                if (step == null) {
+                    nullStep.appendNull();
+                } else {
+                    step.read(input);
+                }
+            }
+
+            @Override
+            public void appendNull() {
+                nullStep.appendNull();
+            }
+        };
+    }
+
+    private static final class PathNode {
+
+        private final Map<String, PathNode> children = new LinkedHashMap<>();
+        private int column = -1;
+    }
+}
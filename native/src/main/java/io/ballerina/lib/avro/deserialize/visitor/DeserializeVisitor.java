@@ -27,10 +27,12 @@ import io.ballerina.lib.avro.deserialize.MapDeserializer;
 import io.ballerina.lib.avro.deserialize.PrimitiveDeserializer;
 import io.ballerina.lib.avro.deserialize.RecordDeserializer;
 import io.ballerina.lib.avro.deserialize.UnionDeserializer;
+import io.ballerina.runtime.api.creators.TypeCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
 import io.ballerina.runtime.api.types.ArrayType;
 import io.ballerina.runtime.api.types.Field;
 import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.PredefinedTypes;
 import io.ballerina.runtime.api.types.RecordType;
 import io.ballerina.runtime.api.types.ReferenceType;
 import io.ballerina.runtime.api.types.Type;
@@ -40,6 +42,7 @@ import io.ballerina.runtime.api.utils.TypeUtils;
 import io.ballerina.runtime.api.utils.ValueUtils;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BRefValue;
 import io.ballerina.runtime.api.values.BString;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
@@ -62,6 +65,10 @@ import static io.ballerina.runtime.api.utils.StringUtils.fromString;
 
 public class DeserializeVisitor implements IDeserializeVisitor {
 
+    private static final MapType ANYDATA_MAP_TYPE = TypeCreator.createMapType(PredefinedTypes.TYPE_ANYDATA);
+    private static final ArrayType BYTES_ARRAY_TYPE =
+            TypeCreator.createArrayType(TypeCreator.createArrayType(PredefinedTypes.TYPE_BYTE));
+
     public static Deserializer createDeserializer(Schema schema, Type type) {
         return switch (schema.getElementType().getType()) {
             case UNION ->
@@ -113,17 +120,14 @@ public class DeserializeVisitor implements IDeserializeVisitor {
         if (originalType.isReadOnly()) {
             avroRecord.freezeDirect();
         }
-        if (type.getTag() == TypeTags.ANYDATA_TAG) {
-            return (BMap<BString, Object>) ValueUtils.convert(avroRecord, type);
-        }
         return avroRecord;
     }
 
     public BMap<BString, Object> visit(MapDeserializer mapDeserializer, Map<String, Object> data) throws Exception {
-        BMap<BString, Object> avroRecord = ValueCreator.createMapValue();
-        Object[] keys = data.keySet().toArray();
         Schema schema = mapDeserializer.getSchema();
         Type type = mapDeserializer.getType();
+        BMap<BString, Object> avroRecord = createMapValue(type, schema.getValueType());
+        Object[] keys = data.keySet().toArray();
         for (Object key : keys) {
             Object value = data.get(key);
             Schema.Type valueType = schema.getValueType().getType();
@@ -143,6 +147,8 @@ public class DeserializeVisitor implements IDeserializeVisitor {
                 case RECORD ->
                         processMapRecord(avroRecord, schema, (MapType) getMutableType(type),
                                          key, (GenericRecord) value);
+                case INT ->
+                        avroRecord.put(StringUtils.fromString(key.toString()), ((Integer) value).longValue());
                 case FLOAT ->
                         avroRecord.put(StringUtils.fromString(key.toString()),
                                        Double.parseDouble(value.toString()));
@@ -153,7 +159,7 @@ public class DeserializeVisitor implements IDeserializeVisitor {
                         avroRecord.put(StringUtils.fromString(key.toString()), value);
             }
         }
-        return (BMap<BString, Object>) ValueUtils.convert(avroRecord, type);
+        return (BMap<BString, Object>) completeValue(avroRecord, type);
     }
 
     public Object visit(PrimitiveDeserializer primitiveDeserializer, Object data) throws Exception {
@@ -161,7 +167,7 @@ public class DeserializeVisitor implements IDeserializeVisitor {
         Type type = primitiveDeserializer.getType();
         switch(schema.getType()) {
             case ARRAY -> {
-                return visitPrimitiveArrays(primitiveDeserializer, (GenericData.Array<Object>) data, schema, type);
+                return visitPrimitiveArrays((GenericData.Array<Object>) data, schema, type);
             }
             case STRING, ENUM -> {
                 return StringUtils.fromString(data.toString());
@@ -187,28 +193,16 @@ public class DeserializeVisitor implements IDeserializeVisitor {
         }
     }
 
-    private Object visitPrimitiveArrays(PrimitiveDeserializer primitiveDeserializer, GenericData.Array<Object> data,
-                                        Schema schema, Type type) {
-        switch (schema.getElementType().getType()) {
-            case STRING -> {
-                return ValueUtils.convert(visitStringArray(data), type);
-            }
-            case INT -> {
-                return ValueUtils.convert(visitIntArray(data), type);
-            }
-            case LONG -> {
-                return ValueUtils.convert(visitLongArray(data), type);
-            }
-            case FLOAT, DOUBLE -> {
-                return ValueUtils.convert(visitDoubleArray(data), type);
-            }
-            case BOOLEAN -> {
-                return ValueUtils.convert(visitBooleanArray(data), type);
-            }
-            default -> {
-                return ValueUtils.convert(visitBytesArray(data, primitiveDeserializer.getType()), type);
-            }
-        }
+    private Object visitPrimitiveArrays(GenericData.Array<Object> data, Schema schema, Type type) {
+        BArray array = switch (schema.getElementType().getType()) {
+            case STRING -> visitStringArray(data);
+            case INT -> visitIntArray(data);
+            case LONG -> visitLongArray(data);
+            case FLOAT, DOUBLE -> visitDoubleArray(data);
+            case BOOLEAN -> visitBooleanArray(data);
+            default -> visitBytesArray(data, BYTES_ARRAY_TYPE);
+        };
+        return completeValue(array, type);
     }
 
     public BArray visit(UnionDeserializer unionDeserializer, GenericData.Array<Object> data) throws Exception {
@@ -287,11 +281,58 @@ public class DeserializeVisitor implements IDeserializeVisitor {
 
     private BMap<BString, Object> createAvroRecord(Type type) {
         if (type.getTag() == TypeTags.ANYDATA_TAG) {
-            return ValueCreator.createMapValue();
+            return ValueCreator.createMapValue(ANYDATA_MAP_TYPE);
         }
         return ValueCreator.createRecordValue((RecordType) getMutableType(type));
     }
 
+    private static BMap<BString, Object> createMapValue(Type type, Schema valueSchema) {
+        Type mutableType = getMutableType(TypeUtils.getReferredType(type));
+        if (mutableType.getTag() == TypeTags.MAP_TAG
+                && holdsValues(((MapType) mutableType).getConstrainedType(), valueSchema)) {
+            return ValueCreator.createMapValue((MapType) mutableType);
+        }
+        return ValueCreator.createMapValue(ANYDATA_MAP_TYPE);
+    }
+
+    private static boolean holdsValues(Type constraint, Schema valueSchema) {
+        Type type = TypeUtils.getReferredType(constraint);
+        if (type.getTag() == TypeTags.ANYDATA_TAG) {
+            return true;
+        }
+        return switch (valueSchema.getType()) {
+            case ARRAY, MAP, RECORD -> true;
+            case INT, LONG -> type.getTag() == TypeTags.INT_TAG;
+            case FLOAT, DOUBLE -> type.getTag() == TypeTags.FLOAT_TAG;
+            case STRING, ENUM -> type.getTag() == TypeTags.STRING_TAG;
+            case BOOLEAN -> type.getTag() == TypeTags.BOOLEAN_TAG;
+            case BYTES, FIXED -> type.getTag() == TypeTags.ARRAY_TAG
+                    && TypeUtils.getReferredType(((ArrayType) type).getElementType()).getTag() == TypeTags.BYTE_TAG;
+            default -> false;
+        };
+    }
+
+    /**
+     * Completes a value which was created with the mutable form of the target type while it was being read, so
+     * that nested values are not converted again by every enclosing value. Readonly targets are frozen here, and
+     * only targets which do not determine the type of the value, such as unions, are still converted.
+     *
+     * @param value value created while reading
+     * @param type  expected Ballerina type
+     * @return the value as the expected type
+     */
+    private static Object completeValue(BRefValue value, Type type) {
+        Type referredType = TypeUtils.getReferredType(type);
+        Type mutableType = getMutableType(referredType);
+        if (mutableType.getTag() != TypeTags.ANYDATA_TAG && !TypeUtils.isSameType(value.getType(), mutableType)) {
+            return ValueUtils.convert(value, type);
+        }
+        if (referredType.isReadOnly()) {
+            value.freezeDirect();
+        }
+        return value;
+    }
+
     private void processMaps(BMap<BString, Object> avroRecord, Schema schema,
                              MapType type, Object key, Map<String, Object> value) throws Exception {
         Schema fieldSchema = schema.getValueType();
@@ -362,12 +403,13 @@ public class DeserializeVisitor implements IDeserializeVisitor {
         return visitLongArray(data);
     }
 
-    private BArray visitBytesArray(GenericData.Array<Object> data, Type type) {
-        List<BArray> values = new ArrayList<>();
+    private BArray visitBytesArray(GenericData.Array<Object> data, ArrayType type) {
+        BArray[] values = new BArray[data.size()];
+        int index = 0;
         for (Object datum : data) {
-            values.add(ValueCreator.createArrayValue(((ByteBuffer) datum).array()));
+            values[index++] = ValueCreator.createArrayValue(((ByteBuffer) datum).array());
         }
-        return ValueCreator.createArrayValue(values.toArray(new BArray[data.size()]), (ArrayType) type);
+        return ValueCreator.createArrayValue(values, type);
     }
 
     private static BArray visitBooleanArray(GenericData.Array<Object> data) {
@@ -380,29 +422,29 @@ public class DeserializeVisitor implements IDeserializeVisitor {
     }
 
     private BArray visitDoubleArray(GenericData.Array<Object> data) {
-        List<Double> doubleList = new ArrayList<>();
+        double[] doubleArray = new double[data.size()];
+        int index = 0;
         for (Object datum : data) {
-            doubleList.add(visitDouble(datum));
+            doubleArray[index++] = visitDouble(datum);
         }
-        double[] doubleArray = doubleList.stream().mapToDouble(Double::doubleValue).toArray();
         return ValueCreator.createArrayValue(doubleArray);
     }
 
     private static BArray visitLongArray(GenericData.Array<Object> data) {
-        List<Long> longList = new ArrayList<>();
+        long[] longArray = new long[data.size()];
+        int index = 0;
         for (Object datum : data) {
-            longList.add((Long) datum);
+            longArray[index++] = (Long) datum;
         }
-        long[] longArray = longList.stream().mapToLong(Long::longValue).toArray();
         return ValueCreator.createArrayValue(longArray);
     }
 
     private static BArray visitIntArray(GenericData.Array<Object> data) {
-        List<Long> longList = new ArrayList<>();
+        long[] longArray = new long[data.size()];
+        int index = 0;
         for (Object datum : data) {
-            longList.add(((Integer) datum).longValue());
+            longArray[index++] = (Integer) datum;
         }
-        long[] longArray = longList.stream().mapToLong(Long::longValue).toArray();
         return ValueCreator.createArrayValue(longArray);
     }
 
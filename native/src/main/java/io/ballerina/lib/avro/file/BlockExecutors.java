@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.file;
+
+import java.io.Closeable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The threads which compress the blocks of container files and write them to the files. The threads can be shared
+ * by several writers. The blocks of each file are written in their original order, while the blocks of different
+ * files are compressed and written concurrently.
+ */
+public final class BlockExecutors implements Closeable {
+
+    private final int compressionThreads;
+    private final ExecutorService compressors;
+    private final ExecutorService writers;
+
+    /**
+     * @param compressionThreads number of threads which compress blocks
+     * @param writerThreads      number of threads which write blocks to the files
+     */
+    public BlockExecutors(int compressionThreads, int writerThreads) {
+        if (compressionThreads <= 0 || writerThreads <= 0) {
+            throw new IllegalArgumentException("The number of threads must be positive");
+        }
+        this.compressionThreads = compressionThreads;
+        this.compressors = Executors.newFixedThreadPool(compressionThreads, daemonThreads("avro-block-compressor"));
+        this.writers = Executors.newFixedThreadPool(writerThreads, daemonThreads("avro-block-writer"));
+    }
+
+    int getCompressionThreads() {
+        return compressionThreads;
+    }
+
+    ExecutorService getCompressors() {
+        return compressors;
+    }
+
+    ExecutorService getWriters() {
+        return writers;
+    }
+
+    @Override
+    public void close() {
+        compressors.shutdown();
+        writers.shutdown();
+    }
+
+    static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,531 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.file;
+
+import io.ballerina.lib.avro.file.StatisticsCollector.BlockStatistics;
+import io.ballerina.lib.avro.filter.Condition;
+import io.ballerina.lib.avro.filter.Operator;
+import io.ballerina.lib.avro.transcode.BinaryCursor;
+import org.apache.avro.AvroRuntimeException;
+import org.apache.avro.Schema;
+import org.apache.avro.file.DataFileReader;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.file.SeekableFileInput;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static io.ballerina.lib.avro.transcode.TranscodePlanCompiler.skipValue;
+
+/**
+ * A sidecar file which describes the blocks of an Avro object container file. Each entry holds the position and
+ * length of a block, the ordinal of its first record, the number of records, optionally the minimum, maximum and
+ * null count of selected top-level fields, and optionally a Bloom filter of the values of a key field. The sidecar
+ * is itself a container file, and it is bound to its data file by the sync marker of the data file.
+ */
+public final class BlockIndex {
+
+    public static final String INDEX_SUFFIX = ".idx";
+
+    static final String SYNC_METADATA = "ballerina.avro.sync";
+    static final String KEY_FIELD_METADATA = "ballerina.avro.keyField";
+    static final Schema FIELD_STATISTICS_SCHEMA = new Schema.Parser().parse("""
+            {
+                "type": "record",
+                "name": "FieldStatistics",
+                "namespace": "ballerina.avro.index",
+                "fields": [
+                    {"name": "nullCount", "type": "long"},
+                    {"name": "min", "type": ["null", "long", "double", "string", "boolean"], "default": null},
+                    {"name": "max", "type": ["null", "long", "double", "string", "boolean"], "default": null}
+                ]
+            }""");
+    static final Schema BLOCK_SCHEMA = new Schema.Parser().addTypes(Map.of(FIELD_STATISTICS_SCHEMA.getFullName(),
+                                                                         FIELD_STATISTICS_SCHEMA)).parse("""
+            {
+                "type": "record",
+                "name": "Block",
+                "namespace": "ballerina.avro.index",
+                "fields": [
+                    {"name": "offset", "type": "long"},
+                    {"name": "length", "type": "long"},
+                    {"name": "firstRecord", "type": "long"},
+                    {"name": "recordCount", "type": "long"},
+                    {
+                        "name": "statistics",
+                        "type": {"type": "map", "values": "ballerina.avro.index.FieldStatistics"},
+                        "default": {}
+                    },
+                    {"name": "keyFilter", "type": ["null", "bytes"], "default": null}
+                ]
+            }""");
+
+    private final List<Entry> entries;
+    private final String keyField;
+    private final boolean sortedByKey;
+    private final boolean current;
+
+    private BlockIndex(List<Entry> entries, String keyField, boolean current) {
+        this.entries = entries;
+        this.keyField = keyField;
+        this.sortedByKey = keyField != null && isSortedBy(entries, keyField);
+        this.current = current;
+    }
+
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Checks whether the entries of new blocks can be appended to the index without changing its key field.
+     */
+    boolean canAppend(String keyField) {
+        return current && Objects.equals(this.keyField, keyField);
+    }
+
+    /**
+     * Returns the position after the last indexed block, from which blocks which were not indexed start.
+     */
+    public long getEndOffset() {
+        Entry last = entries.get(entries.size() - 1);
+        return last.offset + last.length;
+    }
+
+    /**
+     * Returns the number of records in the indexed blocks.
+     */
+    public long getRecordCount() {
+        Entry last = entries.get(entries.size() - 1);
+        return last.firstRecord + last.recordCount;
+    }
+
+    /**
+     * Returns the indexed block which holds the record with the given ordinal, or `null` if the record is not in
+     * an indexed block.
+     */
+    public Entry findBlock(long recordNumber) {
+        int low = 0;
+        int high = entries.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            Entry entry = entries.get(middle);
+            if (recordNumber < entry.firstRecord) {
+                high = middle - 1;
+            } else if (recordNumber >= entry.firstRecord + entry.recordCount) {
+                low = middle + 1;
+            } else {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the positions of the blocks which may contain records that satisfy every given condition. When the
+     * key ranges of the blocks do not overlap and ascend, the blocks which may hold a key given by an equality
+     * condition are found by binary search.
+     */
+    public long[] findCandidateBlocks(List<Condition> conditions) {
+        int from = 0;
+        int to = entries.size();
+        if (sortedByKey) {
+            for (Condition condition : conditions) {
+                if (condition.getOperator() == Operator.EQUAL && condition.getValue() != null
+                        && condition.getField().equals(keyField)) {
+                    int first = searchKey(condition.getValue(), false);
+                    int last = searchKey(condition.getValue(), true);
+                    if (first >= 0 && last >= 0) {
+                        from = Math.max(from, first);
+                        to = Math.min(to, last);
+                    }
+                }
+            }
+        }
+        long[] offsets = new long[Math.max(to - from, 0)];
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            Entry entry = entries.get(i);
+            if (entry.mayMatch(conditions, keyField)) {
+                offsets[count++] = entry.offset;
+            }
+        }
+        return Arrays.copyOf(offsets, count);
+    }
+
+    /**
+     * Returns the index of the first block whose maximum key is not less than the given key or, when searching for
+     * the upper end, whose minimum key is greater than the given key. Returns -1 if the key cannot be compared.
+     */
+    private int searchKey(Object key, boolean upper) {
+        int low = 0;
+        int high = entries.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            Statistics statistics = entries.get(middle).statistics.get(keyField);
+            Integer comparison = Statistics.compare(upper ? statistics.min() : statistics.max(), key);
+            if (comparison == null) {
+                return -1;
+            }
+            if (upper ? comparison > 0 : comparison >= 0) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private static boolean isSortedBy(List<Entry> entries, String field) {
+        Object previousMax = null;
+        for (Entry entry : entries) {
+            Statistics statistics = entry.statistics.get(field);
+            if (statistics == null || statistics.min() == null || statistics.max() == null) {
+                return false;
+            }
+            if (previousMax != null) {
+                Integer comparison = Statistics.compare(previousMax, statistics.min());
+                if (comparison == null || comparison > 0) {
+                    return false;
+                }
+            }
+            previousMax = statistics.max();
+        }
+        return true;
+    }
+
+    /**
+     * Reads the sidecar index of the given container file.
+     *
+     * @param dataPath path of the container file
+     * @param sync     sync marker of the container file
+     * @return the index, or `null` if the file has no usable index, such as an index which belongs to another file
+     * or which was left incomplete by a writer that did not close it
+     */
+    public static BlockIndex read(Path dataPath, byte[] sync) {
+        Path indexPath = Path.of(dataPath + INDEX_SUFFIX);
+        if (!Files.isRegularFile(indexPath)) {
+            return null;
+        }
+        try (DataFileReader<GenericRecord> reader = new DataFileReader<>(indexPath.toFile(),
+                                                                         new GenericDatumReader<>(BLOCK_SCHEMA))) {
+            if (!Arrays.equals(reader.getMeta(SYNC_METADATA), sync)) {
+                return null;
+            }
+            List<Entry> entries = new ArrayList<>();
+            for (GenericRecord block : reader) {
+                entries.add(new Entry(block));
+            }
+            byte[] keyField = reader.getMeta(KEY_FIELD_METADATA);
+            return entries.isEmpty() ? null : new BlockIndex(entries, keyField == null ? null
+                    : new String(keyField, StandardCharsets.UTF_8), reader.getSchema().equals(BLOCK_SCHEMA));
+        } catch (IOException | AvroRuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates the sidecar index of an existing container file by reading its blocks, replacing any index the file
+     * already has.
+     *
+     * @param dataPath path of the container file
+     * @param options  the contents of the index
+     * @throws IllegalArgumentException if a statistics field or the key field is not a supported field of the schema
+     *                                  of the file
+     * @throws Exception                if the container file cannot be read or the index cannot be written
+     */
+    public static void build(Path dataPath, IndexOptions options) throws Exception {
+        try (DataFileReader<Object> reader = new DataFileReader<>(new SeekableFileInput(dataPath.toFile()),
+                                                                  new GenericDatumReader<>())) {
+            Schema schema = reader.getSchema();
+            StatisticsCollector collector = options.createCollector(schema);
+            long offset = reader.previousSync();
+            long firstRecord = 0;
+            try (Writer writer = new Writer(dataPath, readSync(dataPath, offset), options.keyField())) {
+                while (reader.hasNext()) {
+                    ByteBuffer block = reader.nextBlock();
+                    long recordCount = reader.getBlockCount();
+                    BlockStatistics statistics = BlockStatistics.EMPTY;
+                    if (collector != null) {
+                        BinaryCursor cursor = new BinaryCursor(block.array(), block.arrayOffset() + block.position(),
+                                                               block.remaining());
+                        for (long i = 0; i < recordCount; i++) {
+                            int start = cursor.getPosition();
+                            skipValue(schema, cursor);
+                            collector.update(new BinaryCursor(cursor.getBuffer(), start,
+                                                              cursor.getPosition() - start));
+                        }
+                        statistics = collector.finishBlock();
+                    }
+                    long end = reader.previousSync();
+                    writer.append(offset, end - offset, firstRecord, recordCount, statistics);
+                    offset = end;
+                    firstRecord += recordCount;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the sync marker of a container file, which ends at the given position of the first block.
+     */
+    public static byte[] readSync(Path dataPath, long firstBlockOffset) throws IOException {
+        byte[] sync = new byte[16];
+        try (RandomAccessFile file = new RandomAccessFile(dataPath.toFile(), "r")) {
+            file.seek(firstBlockOffset - sync.length);
+            file.readFully(sync);
+        }
+        return sync;
+    }
+
+    /**
+     * An indexed block.
+     */
+    public static final class Entry {
+
+        private final long offset;
+        private final long length;
+        private final long firstRecord;
+        private final long recordCount;
+        private final Map<String, Statistics> statistics = new HashMap<>();
+        private final BloomFilter keyFilter;
+
+        private Entry(GenericRecord block) {
+            this.offset = (Long) block.get("offset");
+            this.length = (Long) block.get("length");
+            this.firstRecord = (Long) block.get("firstRecord");
+            this.recordCount = (Long) block.get("recordCount");
+            Map<?, ?> fields = (Map<?, ?>) block.get("statistics");
+            for (Map.Entry<?, ?> field : fields.entrySet()) {
+                GenericRecord value = (GenericRecord) field.getValue();
+                statistics.put(field.getKey().toString(), new Statistics((Long) value.get("nullCount"),
+                                                                         toJava(value.get("min")),
+                                                                         toJava(value.get("max"))));
+            }
+            ByteBuffer filter = (ByteBuffer) block.get("keyFilter");
+            this.keyFilter = filter == null ? null : BloomFilter.read(filter);
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public long getFirstRecord() {
+            return firstRecord;
+        }
+
+        public long getRecordCount() {
+            return recordCount;
+        }
+
+        boolean mayMatch(List<Condition> conditions, String keyField) {
+            for (Condition condition : conditions) {
+                Statistics field = statistics.get(condition.getField());
+                if (field != null && !field.mayMatch(condition, recordCount)) {
+                    return false;
+                }
+                if (keyFilter != null && condition.getField().equals(keyField) && !mayContainKey(condition)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean mayContainKey(Condition condition) {
+            Object value = condition.getValue();
+            return switch (condition.getOperator()) {
+                case EQUAL -> value == null || mayContainKey(value);
+                case IN -> {
+                    if (!(value instanceof List<?> values)) {
+                        yield true;
+                    }
+                    for (Object element : values) {
+                        if (element == null || mayContainKey(element)) {
+                            yield true;
+                        }
+                    }
+                    yield false;
+                }
+                default -> true;
+            };
+        }
+
+        private boolean mayContainKey(Object key) {
+            if (key instanceof Long longKey) {
+                return keyFilter.mightContain(BloomFilter.hash(longKey));
+            }
+            if (key instanceof String stringKey) {
+                byte[] bytes = stringKey.getBytes(StandardCharsets.UTF_8);
+                return keyFilter.mightContain(BloomFilter.hash(bytes, 0, bytes.length));
+            }
+            return true;
+        }
+
+        private static Object toJava(Object value) {
+            return value instanceof CharSequence ? value.toString() : value;
+        }
+    }
+
+    private record Statistics(long nullCount, Object min, Object max) {
+
+        boolean mayMatch(Condition condition, long recordCount) {
+            long valueCount = recordCount - nullCount;
+            Object value = condition.getValue();
+            return switch (condition.getOperator()) {
+                case IS_NULL -> nullCount > 0;
+                case IS_NOT_NULL -> valueCount > 0;
+                case EQUAL -> value == null ? nullCount > 0 : valueCount > 0 && contains(value);
+                case NOT_EQUAL -> value == null ? valueCount > 0
+                        : nullCount > 0 || !(isEqual(min, value) && isEqual(max, value));
+                case IN -> {
+                    if (!(value instanceof List<?> values)) {
+                        yield true;
+                    }
+                    for (Object element : values) {
+                        if (element == null ? nullCount > 0 : valueCount > 0 && contains(element)) {
+                            yield true;
+                        }
+                    }
+                    yield false;
+                }
+                default -> valueCount > 0 && inRange(condition.getOperator(), value);
+            };
+        }
+
+        private boolean contains(Object value) {
+            Integer lower = compare(min, value);
+            Integer upper = compare(max, value);
+            return lower == null || upper == null || lower <= 0 && upper >= 0;
+        }
+
+        private boolean inRange(Operator operator, Object value) {
+            Integer comparison = switch (operator) {
+                case LESS_THAN, LESS_THAN_OR_EQUAL -> compare(min, value);
+                default -> compare(max, value);
+            };
+            return comparison == null || operator.test(comparison);
+        }
+
+        private static boolean isEqual(Object bound, Object value) {
+            Integer comparison = compare(bound, value);
+            return comparison != null && comparison == 0;
+        }
+
+        /**
+         * Compares a bound with a predicate value, or returns `null` if they cannot be compared.
+         */
+        private static Integer compare(Object bound, Object value) {
+            if (bound instanceof Long longBound) {
+                if (value instanceof Long longValue) {
+                    return Long.compare(longBound, longValue);
+                }
+                return value instanceof Number number
+                        ? compareDoubles(longBound.doubleValue(), toDouble(number)) : null;
+            }
+            if (bound instanceof Double doubleBound) {
+                return value instanceof Number number ? compareDoubles(doubleBound, toDouble(number)) : null;
+            }
+            if (bound instanceof String stringBound && value instanceof String stringValue) {
+                return Arrays.compareUnsigned(stringBound.getBytes(StandardCharsets.UTF_8),
+                                              stringValue.getBytes(StandardCharsets.UTF_8));
+            }
+            if (bound instanceof Boolean booleanBound && value instanceof Boolean booleanValue) {
+                return Boolean.compare(booleanBound, booleanValue);
+            }
+            return null;
+        }
+
+        private static Integer compareDoubles(double bound, double value) {
+            if (Double.isNaN(value)) {
+                return null;
+            }
+            return bound < value ? -1 : bound > value ? 1 : 0;
+        }
+
+        private static double toDouble(Number number) {
+            return number instanceof BigDecimal decimal ? decimal.doubleValue() : number.doubleValue();
+        }
+    }
+
+    /**
+     * Appends the entries of the blocks of a container file to its sidecar index as the blocks are written.
+     */
+    static final class Writer implements Closeable {
+
+        private final DataFileWriter<GenericRecord> writer;
+
+        Writer(Path dataPath, byte[] sync, String keyField) throws IOException {
+            this.writer = new DataFileWriter<>(new GenericDatumWriter<>(BLOCK_SCHEMA));
+            writer.setMeta(SYNC_METADATA, sync);
+            if (keyField != null) {
+                writer.setMeta(KEY_FIELD_METADATA, keyField);
+            }
+            writer.create(BLOCK_SCHEMA, Path.of(dataPath + INDEX_SUFFIX).toFile());
+        }
+
+        private Writer(DataFileWriter<GenericRecord> writer) {
+            this.writer = writer;
+        }
+
+        /**
+         * Opens the existing index of the given container file to append the entries of new blocks.
+         */
+        static Writer append(Path dataPath) throws IOException {
+            return new Writer(new DataFileWriter<>(new GenericDatumWriter<GenericRecord>(BLOCK_SCHEMA))
+                                      .appendTo(Path.of(dataPath + INDEX_SUFFIX).toFile()));
+        }
+
+        void append(long offset, long length, long firstRecord, long recordCount, BlockStatistics statistics)
+                throws IOException {
+            GenericRecord block = new GenericData.Record(BLOCK_SCHEMA);
+            block.put("offset", offset);
+            block.put("length", length);
+            block.put("firstRecord", firstRecord);
+            block.put("recordCount", recordCount);
+            block.put("statistics", statistics.fields());
+            block.put("keyFilter", statistics.keyFilter());
+            writer.append(block);
+        }
+
+        void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
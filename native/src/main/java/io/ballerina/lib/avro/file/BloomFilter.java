@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.file;
+
+import io.ballerina.lib.avro.transcode.KeyExtractionPlan;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A Bloom filter over the 64-bit hashes of the key values of a block. The bit positions are derived from the two
+ * halves of the hash by double hashing. The serialized form is the number of hash functions followed by the words of
+ * the bit set.
+ */
+final class BloomFilter {
+
+    private static final int MAX_HASH_FUNCTIONS = 16;
+
+    private final long[] words;
+    private final int hashFunctions;
+
+    private BloomFilter(long[] words, int hashFunctions) {
+        this.words = words;
+        this.hashFunctions = hashFunctions;
+    }
+
+    /**
+     * Builds a filter which holds the given hashes, sized for the given false positive probability.
+     */
+    static ByteBuffer build(long[] hashes, int count, double falsePositiveRate) {
+        int distinct = Math.max(count, 1);
+        long bits = (long) Math.ceil(-distinct * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Math.max((bits + Long.SIZE - 1) / Long.SIZE, 1), Integer.MAX_VALUE / Long.SIZE);
+        int hashFunctions = (int) Math.round((double) wordCount * Long.SIZE / distinct * Math.log(2));
+        BloomFilter filter = new BloomFilter(new long[wordCount],
+                                             Math.min(Math.max(hashFunctions, 1), MAX_HASH_FUNCTIONS));
+        for (int i = 0; i < count; i++) {
+            filter.add(hashes[i]);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(1 + wordCount * Long.BYTES);
+        buffer.put((byte) filter.hashFunctions);
+        buffer.asLongBuffer().put(filter.words);
+        return buffer.rewind();
+    }
+
+    /**
+     * Reads a serialized filter.
+     */
+    static BloomFilter read(ByteBuffer buffer) {
+        ByteBuffer data = buffer.duplicate();
+        int hashFunctions = data.get();
+        long[] words = new long[data.remaining() / Long.BYTES];
+        data.asLongBuffer().get(words);
+        return new BloomFilter(words, hashFunctions);
+    }
+
+    boolean mightContain(long hash) {
+        long bitCount = (long) words.length * Long.SIZE;
+        int first = (int) hash;
+        int second = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long bit = Math.floorMod(first + (long) i * second, bitCount);
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(long hash) {
+        long bitCount = (long) words.length * Long.SIZE;
+        int first = (int) hash;
+        int second = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            long bit = Math.floorMod(first + (long) i * second, bitCount);
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    static long hash(long value) {
+        return mix(value);
+    }
+
+    static long hash(byte[] bytes, int offset, int length) {
+        return KeyExtractionPlan.hash(bytes, offset, length);
+    }
+
+    private static long mix(long value) {
+        long hash = value;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.file;
+
+/**
+ * Describes when the records written to a container file are flushed and forced to the storage device.
+ *
+ * @param commitSize     number of encoded bytes after which a write commits, or `0` to not commit on writes
+ * @param commitInterval interval in milliseconds at which the written records are committed, or `0` to not commit
+ *                       periodically
+ */
+public record CommitPolicy(long commitSize, long commitInterval) {
+
+    public static final CommitPolicy NONE = new CommitPolicy(0, 0);
+
+    public CommitPolicy {
+        if (commitSize < 0 || commitInterval < 0) {
+            throw new IllegalArgumentException("The commit size and interval must not be negative");
+        }
+    }
+
+    boolean isEnabled() {
+        return commitSize > 0 || commitInterval > 0;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.file;
+
+import io.ballerina.lib.avro.serialize.GrowableOutputStream;
+import io.ballerina.lib.avro.transcode.BinaryCursor;
+import io.ballerina.lib.avro.transcode.TranscodePlan;
+import io.ballerina.lib.avro.transcode.TranscodePlanCompiler;
+import org.apache.avro.Schema;
+import org.apache.avro.file.Codec;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static io.ballerina.lib.avro.transcode.TranscodePlanCompiler.skipValue;
+
+/**
+ * Merges container files into a single container file. The blocks of an input file which has the schema and the codec
+ * of the output file are copied as they are, without being decompressed or decoded. The records of any other input
+ * file are transcoded to the schema of the output file and written into new blocks of the configured size.
+ */
+public final class ContainerFileCompactor {
+
+    private static final int DATUM_BUFFER_SIZE = 1024;
+
+    private ContainerFileCompactor() {
+    }
+
+    /**
+     * Writes the records of the given files to the output file, in the order of the files.
+     *
+     * @param inputs  the files to be merged
+     * @param output  the path of the output file
+     * @param writers opens the writer of the output file
+     * @throws IllegalArgumentException if the output file is one of the input files
+     * @throws org.apache.avro.AvroTypeException if the schema of an input file cannot be resolved to the schema of
+     *                                           the output file
+     */
+    public static void compact(List<Path> inputs, Path output, ContainerFileWriter.Factory writers) throws Exception {
+        for (Path input : inputs) {
+            if (input.toAbsolutePath().normalize().equals(output.toAbsolutePath().normalize())) {
+                throw new IllegalArgumentException("The output file cannot be one of the input files: " + input);
+            }
+        }
+        try (ContainerFileWriter writer = writers.open(output)) {
+            Schema schema = writer.getCompiledSchema().getSchema();
+            for (Path input : inputs) {
+                try (RawBlockReader reader = RawBlockReader.open(input)) {
+                    if (reader.getSchema().equals(schema) && reader.getCodecName().equals(writer.getCodecName())) {
+                        copyBlocks(reader, writer);
+                    } else {
+                        writeRecords(reader, writer, schema);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void copyBlocks(RawBlockReader reader, ContainerFileWriter writer) throws Exception {
+        while (reader.next()) {
+            writer.appendBlock(reader.getRecordCount(), reader.getData());
+        }
+    }
+
+    private static void writeRecords(RawBlockReader reader, ContainerFileWriter writer, Schema schema)
+            throws Exception {
+        Supplier<Codec> codecs = ContainerFileWriter.createCodecs(reader.getCodecName(), -1);
+        Codec codec = codecs == null ? null : codecs.get();
+        Schema writerSchema = reader.getSchema();
+        TranscodePlan plan = writerSchema.equals(schema) ? null
+                : new TranscodePlanCompiler().compile(writerSchema, schema);
+        GrowableOutputStream datum = new GrowableOutputStream(DATUM_BUFFER_SIZE);
+        BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(datum, null);
+        while (reader.next()) {
+            ByteBuffer block = codec == null ? reader.getData() : codec.decompress(reader.getData());
+            BinaryCursor input = new BinaryCursor(block.array(), block.arrayOffset() + block.position(),
+                                                  block.remaining());
+            for (long i = 0; i < reader.getRecordCount(); i++) {
+                if (plan == null) {
+                    int start = input.getPosition();
+                    skipValue(writerSchema, input);
+                    writer.appendEncoded(input.getBuffer(), start, input.getPosition() - start);
+                } else {
+                    datum.reset();
+                    plan.transcode(input, encoder);
+                    writer.appendEncoded(datum.getBuffer(), 0, datum.size());
+                }
+            }
+        }
+    }
+}
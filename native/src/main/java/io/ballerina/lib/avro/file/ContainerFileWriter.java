@@ -0,0 +1,661 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.file;
+
+import io.ballerina.lib.avro.CompiledSchema;
+import io.ballerina.lib.avro.file.StatisticsCollector.BlockStatistics;
+import io.ballerina.lib.avro.serialize.GrowableOutputStream;
+import io.ballerina.lib.avro.transcode.BinaryCursor;
+import org.apache.avro.file.Codec;
+import org.apache.avro.file.DataFileConstants;
+import org.apache.avro.file.DeflateCodec;
+import org.apache.avro.io.BinaryData;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Writes records to an Avro object container file. Records are encoded into a block buffer on the calling thread.
+ * When compression threads are configured, full blocks are compressed concurrently on a worker pool and a single
+ * writer thread appends the compressed blocks to the file in their original order. The number of blocks which
+ * are compressed or waiting to be written is bounded, so that the memory used by the pipeline stays capped.
+ * <p>
+ * A commit writes the current block, flushes the file and forces it to the storage device. Commits use group
+ * commit: a commit which finds another commit forcing the file waits for it, and is complete without forcing the
+ * file again if the other commit already covered its blocks.
+ */
+public final class ContainerFileWriter implements Closeable {
+
+    public static final String NULL_CODEC = "null";
+    public static final String DEFLATE_CODEC = "deflate";
+
+    private static final byte[] MAGIC = {'O', 'b', 'j', 1};
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    private final CompiledSchema compiledSchema;
+    private final String codecName;
+    private final FileChannel channel;
+    private final OutputStream output;
+    private final byte[] sync;
+    private final int syncInterval;
+    private final Supplier<Codec> codecs;
+    private final Codec codec;
+    private final BlockExecutors executors;
+    private final boolean ownsExecutors;
+    private final ExecutorService compressors;
+    private final ExecutorService writer;
+    private final Semaphore pendingBlocks;
+    private final ThreadLocal<Codec> workerCodecs;
+    private final ConcurrentLinkedQueue<GrowableOutputStream> freeBuffers = new ConcurrentLinkedQueue<>();
+    private final byte[] blockHeader = new byte[2 * 10];
+    private final StatisticsCollector statistics;
+    private final BlockIndex.Writer index;
+    private final boolean durable;
+    private final long commitSize;
+    private final ScheduledExecutorService committer;
+    private final Object commitLock = new Object();
+    private volatile long flushedPosition;
+    private long durablePosition;
+    private long uncommittedBytes;
+    private CompletableFuture<Void> lastWrite = CompletableFuture.completedFuture(null);
+    private volatile Throwable failure;
+    private GrowableOutputStream block;
+    private BinaryEncoder encoder;
+    private long blockCount;
+    private volatile long position;
+    private long recordsWritten;
+    private boolean closed;
+
+    /**
+     * Creates a container file and writes its header, or opens an existing container file to append records to it.
+     * When appending, the schema of the file must be the given schema, the codec and the sync marker of the file are
+     * reused, and any bytes after the last complete block, such as a block which was partially written by a writer
+     * that did not close the file, are discarded.
+     *
+     * @param path               path of the file
+     * @param compiledSchema     schema of the records
+     * @param codecName          `null` or `deflate`
+     * @param compressionLevel   deflate compression level
+     * @param syncInterval       approximate number of uncompressed bytes in a block
+     * @param compressionThreads number of threads which compress blocks, or `1` to compress on the calling thread
+     * @param maxPendingBlocks   maximum number of blocks which are compressed or waiting to be written
+     * @param metadata           user metadata of the file, which is ignored when appending to an existing file
+     * @param indexOptions       the contents of the sidecar block index
+     * @param append             whether records are appended to the file if it already exists
+     * @param commitPolicy       when the written records are committed in addition to explicit commits
+     */
+    public ContainerFileWriter(Path path, CompiledSchema compiledSchema, String codecName, int compressionLevel,
+                               int syncInterval, int compressionThreads, int maxPendingBlocks,
+                               Map<String, byte[]> metadata, IndexOptions indexOptions, boolean append,
+                               CommitPolicy commitPolicy) throws IOException {
+        this(path, compiledSchema, codecName, compressionLevel, syncInterval, compressionThreads, null,
+             maxPendingBlocks, metadata, indexOptions, append, commitPolicy);
+    }
+
+    /**
+     * Creates a container file whose blocks are compressed and written by the given shared threads, or opens an
+     * existing container file to append records to it. The threads are not shut down when the writer is closed.
+     *
+     * @param executors the threads which compress and write the blocks, which also write the blocks when they are
+     *                  not compressed
+     * @see #ContainerFileWriter(Path, CompiledSchema, String, int, int, int, int, Map, IndexOptions, boolean,
+     * CommitPolicy)
+     */
+    public ContainerFileWriter(Path path, CompiledSchema compiledSchema, String codecName, int compressionLevel,
+                               int syncInterval, BlockExecutors executors, int maxPendingBlocks,
+                               Map<String, byte[]> metadata, IndexOptions indexOptions, boolean append,
+                               CommitPolicy commitPolicy) throws IOException {
+        this(path, compiledSchema, codecName, compressionLevel, syncInterval, executors.getCompressionThreads(),
+             executors, maxPendingBlocks, metadata, indexOptions, append, commitPolicy);
+    }
+
+    private ContainerFileWriter(Path path, CompiledSchema compiledSchema, String codecName, int compressionLevel,
+                                int syncInterval, int compressionThreads, BlockExecutors sharedExecutors,
+                                int maxPendingBlocks, Map<String, byte[]> metadata, IndexOptions indexOptions,
+                                boolean append, CommitPolicy commitPolicy) throws IOException {
+        if (syncInterval <= 0) {
+            throw new IllegalArgumentException("The sync interval must be positive: " + syncInterval);
+        }
+        for (Map.Entry<String, byte[]> entry : metadata.entrySet()) {
+            if (entry.getKey().startsWith("avro.")) {
+                throw new IllegalArgumentException("The metadata key '" + entry.getKey() + "' is reserved");
+            }
+        }
+        this.compiledSchema = compiledSchema;
+        this.syncInterval = syncInterval;
+        ExistingContainerFile existing = append && Files.isRegularFile(path) && Files.size(path) > 0
+                ? ExistingContainerFile.open(path) : null;
+        if (existing != null && !existing.getSchema().equals(compiledSchema.getSchema())) {
+            throw new IllegalArgumentException("The schema of the file differs from the schema of the writer");
+        }
+        this.codecName = existing == null ? codecName : existing.getCodecName();
+        this.codecs = createCodecs(this.codecName, compressionLevel);
+        this.statistics = indexOptions.createCollector(compiledSchema.getSchema());
+        this.durable = commitPolicy.isEnabled();
+        this.commitSize = commitPolicy.commitSize();
+        if (existing == null) {
+            this.sync = createSync();
+            Map<String, byte[]> header = new LinkedHashMap<>();
+            header.put(DataFileConstants.SCHEMA,
+                       compiledSchema.getSchema().toString().getBytes(StandardCharsets.UTF_8));
+            header.put(DataFileConstants.CODEC, codecName.getBytes(StandardCharsets.UTF_8));
+            header.putAll(metadata);
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                            StandardOpenOption.TRUNCATE_EXISTING);
+            this.output = new BufferedOutputStream(Channels.newOutputStream(channel), OUTPUT_BUFFER_SIZE);
+            try {
+                writeHeader(header);
+                this.index = indexOptions.isEnabled()
+                        ? new BlockIndex.Writer(path, sync, indexOptions.keyField()) : null;
+            } catch (IOException e) {
+                output.close();
+                throw e;
+            }
+        } else {
+            this.sync = existing.getSync();
+            this.channel = FileChannel.open(path, StandardOpenOption.WRITE);
+            try {
+                channel.truncate(existing.getEnd());
+                channel.position(existing.getEnd());
+                this.index = openIndex(path, existing, indexOptions);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            this.output = new BufferedOutputStream(Channels.newOutputStream(channel), OUTPUT_BUFFER_SIZE);
+            this.position = existing.getEnd();
+            this.recordsWritten = existing.getRecordCount();
+        }
+        this.flushedPosition = position;
+        this.durablePosition = existing == null ? 0 : position;
+        if (sharedExecutors != null || codecs != null && compressionThreads > 1) {
+            this.codec = null;
+            this.ownsExecutors = sharedExecutors == null;
+            this.executors = ownsExecutors ? new BlockExecutors(compressionThreads, 1) : sharedExecutors;
+            this.compressors = executors.getCompressors();
+            this.writer = executors.getWriters();
+            this.pendingBlocks = new Semaphore(maxPendingBlocks > 0 ? maxPendingBlocks : 2 * compressionThreads);
+            this.workerCodecs = codecs == null ? null : ThreadLocal.withInitial(codecs);
+        } else {
+            this.codec = codecs == null ? null : codecs.get();
+            this.ownsExecutors = false;
+            this.executors = null;
+            this.compressors = null;
+            this.writer = null;
+            this.pendingBlocks = null;
+            this.workerCodecs = null;
+        }
+        this.block = new GrowableOutputStream(syncInterval + syncInterval / 4);
+        this.encoder = EncoderFactory.get().directBinaryEncoder(block, null);
+        if (commitPolicy.commitInterval() > 0) {
+            this.committer = Executors.newSingleThreadScheduledExecutor(
+                    BlockExecutors.daemonThreads("avro-file-committer"));
+            committer.scheduleWithFixedDelay(this::commitPeriodically, commitPolicy.commitInterval(),
+                                             commitPolicy.commitInterval(), TimeUnit.MILLISECONDS);
+        } else {
+            this.committer = null;
+        }
+    }
+
+    /**
+     * Encodes the given value and appends it to the current block. When the encoded size of the records written
+     * since the last commit reaches the commit size, the records are committed before returning.
+     */
+    public void append(Object data) throws Exception {
+        if (appendRecord(data)) {
+            writePendingBlock();
+        }
+    }
+
+    /**
+     * Encodes the given value and appends it to the current block without waiting for the file. The block is not
+     * written even when it is full, so that the caller can write it where waiting does not hold up other work.
+     *
+     * @return whether the block is full or the commit size is reached, so that {@link #writePendingBlock()} has to
+     * be called
+     */
+    public synchronized boolean appendRecord(Object data) throws Exception {
+        checkOpen();
+        int mark = block.size();
+        try {
+            compiledSchema.write(data, encoder);
+            updateStatistics(mark);
+        } catch (Exception e) {
+            block.truncate(mark);
+            throw e;
+        }
+        return recordAppended(mark);
+    }
+
+    /**
+     * Commits the records if the commit size is reached, or else writes the current block if it is full. This waits
+     * while the maximum number of blocks are being compressed, and for the file to be forced. It does nothing once
+     * the file is closed, since closing writes the current block.
+     */
+    public void writePendingBlock() throws IOException {
+        long commitTarget = -1;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            checkFailure();
+            if (commitSize > 0 && uncommittedBytes >= commitSize) {
+                commitTarget = flushForCommit();
+            } else if (block.size() >= syncInterval) {
+                writeBlock();
+            }
+        }
+        if (commitTarget >= 0) {
+            force(commitTarget);
+        }
+    }
+
+    /**
+     * Appends a record which is already encoded with the schema of the file to the current block.
+     */
+    public void appendEncoded(byte[] buffer, int offset, int length) throws Exception {
+        boolean pending;
+        synchronized (this) {
+            checkOpen();
+            int mark = block.size();
+            block.write(buffer, offset, length);
+            try {
+                updateStatistics(mark);
+            } catch (Exception e) {
+                block.truncate(mark);
+                throw e;
+            }
+            pending = recordAppended(mark);
+        }
+        if (pending) {
+            writePendingBlock();
+        }
+    }
+
+    /**
+     * Writes the current block and then the given block, which holds records encoded with the schema of the file
+     * and compressed with the codec of the file. The block is written as it is, and is only decompressed when the
+     * block index records statistics.
+     *
+     * @param count number of records in the block
+     * @param data  compressed data of the block, which must not be modified afterwards
+     */
+    public synchronized void appendBlock(long count, ByteBuffer data) throws Exception {
+        checkOpen();
+        writeBlock();
+        BlockStatistics blockStatistics = BlockStatistics.EMPTY;
+        if (statistics != null) {
+            Codec decompressor = codec != null ? codec : workerCodec();
+            ByteBuffer records = decompressor == null ? data.duplicate() : decompressor.decompress(data.duplicate());
+            BinaryCursor input = new BinaryCursor(records.array(), records.arrayOffset() + records.position(),
+                                                  records.remaining());
+            for (long i = 0; i < count; i++) {
+                statistics.update(input);
+            }
+            blockStatistics = statistics.finishBlock();
+        }
+        uncommittedBytes += data.remaining();
+        if (compressors == null) {
+            writeBlock(count, data, blockStatistics);
+        } else {
+            acquirePendingBlock();
+            enqueueWrite(count, CompletableFuture.completedFuture(data), blockStatistics);
+        }
+    }
+
+    /**
+     * Returns the name of the codec with which the blocks of the file are compressed.
+     */
+    public String getCodecName() {
+        return codecName;
+    }
+
+    public CompiledSchema getCompiledSchema() {
+        return compiledSchema;
+    }
+
+    /**
+     * Returns the approximate size of the file, which includes the blocks written to the file and the uncompressed
+     * size of the current block, but not the blocks which are being compressed.
+     */
+    public synchronized long getSize() {
+        return position + block.size();
+    }
+
+    private void updateStatistics(int mark) throws Exception {
+        if (statistics != null) {
+            statistics.update(new BinaryCursor(block.getBuffer(), mark, block.size() - mark));
+        }
+    }
+
+    private boolean recordAppended(int mark) {
+        blockCount++;
+        uncommittedBytes += block.size() - mark;
+        return commitSize > 0 && uncommittedBytes >= commitSize || block.size() >= syncInterval;
+    }
+
+    /**
+     * Writes the current block and waits until every block is written to the file.
+     */
+    public synchronized void flush() throws IOException {
+        checkOpen();
+        writeBlock();
+        awaitWrites();
+        output.flush();
+        flushedPosition = position;
+        if (index != null) {
+            index.flush();
+        }
+    }
+
+    /**
+     * Writes the current block, flushes the file and forces it to the storage device.
+     */
+    public void commit() throws IOException {
+        long target;
+        synchronized (this) {
+            checkOpen();
+            target = flushForCommit();
+        }
+        force(target);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            checkFailure();
+            writeBlock();
+            awaitWrites();
+            if (durable) {
+                output.flush();
+                channel.force(false);
+            }
+        } finally {
+            closed = true;
+            if (committer != null) {
+                committer.shutdown();
+            }
+            if (compressors != null) {
+                waitForWriter();
+                if (ownsExecutors) {
+                    executors.close();
+                }
+            }
+            try {
+                output.close();
+            } finally {
+                if (index != null) {
+                    index.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes every block to the file and returns the position up to which the file must be forced.
+     */
+    private long flushForCommit() throws IOException {
+        writeBlock();
+        awaitWrites();
+        output.flush();
+        if (index != null) {
+            index.flush();
+        }
+        uncommittedBytes = 0;
+        flushedPosition = position;
+        return position;
+    }
+
+    private void force(long target) throws IOException {
+        synchronized (commitLock) {
+            if (durablePosition >= target) {
+                return;
+            }
+            long flushed = flushedPosition;
+            channel.force(false);
+            durablePosition = flushed;
+        }
+    }
+
+    private void commitPeriodically() {
+        try {
+            long target;
+            synchronized (this) {
+                if (closed || uncommittedBytes == 0) {
+                    return;
+                }
+                target = flushForCommit();
+            }
+            force(target);
+        } catch (IOException | RuntimeException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+    }
+
+    private static BlockIndex.Writer openIndex(Path path, ExistingContainerFile existing, IndexOptions options)
+            throws IOException {
+        if (!options.isEnabled()) {
+            return null;
+        }
+        BlockIndex index = existing.getIndex();
+        if (index == null || !index.canAppend(options.keyField())) {
+            try {
+                BlockIndex.build(path, options);
+            } catch (IOException | IllegalArgumentException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException("Failed to index the existing blocks of the file", e);
+            }
+        }
+        return BlockIndex.Writer.append(path);
+    }
+
+    private void writeBlock() throws IOException {
+        if (blockCount == 0) {
+            return;
+        }
+        long count = blockCount;
+        GrowableOutputStream data = block;
+        BlockStatistics blockStatistics = statistics == null ? BlockStatistics.EMPTY : statistics.finishBlock();
+        if (compressors == null) {
+            writeBlock(count, compress(codec, data), blockStatistics);
+            data.reset();
+        } else {
+            submitBlock(count, data, blockStatistics);
+            GrowableOutputStream next = freeBuffers.poll();
+            block = next != null ? next : new GrowableOutputStream(syncInterval + syncInterval / 4);
+            encoder = EncoderFactory.get().directBinaryEncoder(block, encoder);
+        }
+        blockCount = 0;
+    }
+
+    private void submitBlock(long count, GrowableOutputStream data, BlockStatistics blockStatistics)
+            throws IOException {
+        acquirePendingBlock();
+        CompletableFuture<ByteBuffer> compressed = CompletableFuture.supplyAsync(() -> {
+            try {
+                ByteBuffer result = compress(workerCodec(), data);
+                if (result.array() != data.getBuffer()) {
+                    data.reset();
+                    freeBuffers.offer(data);
+                }
+                return result;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, compressors);
+        enqueueWrite(count, compressed, blockStatistics);
+    }
+
+    private Codec workerCodec() {
+        return workerCodecs == null ? null : workerCodecs.get();
+    }
+
+    private void acquirePendingBlock() throws IOException {
+        try {
+            pendingBlocks.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a block to be written", e);
+        }
+        checkFailure();
+    }
+
+    private void enqueueWrite(long count, CompletableFuture<ByteBuffer> compressed, BlockStatistics blockStatistics) {
+        lastWrite = lastWrite.thenCombineAsync(compressed, (previous, result) -> {
+            try {
+                writeBlock(count, result, blockStatistics);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return (Void) null;
+        }, writer).whenComplete((result, error) -> {
+            if (error != null && failure == null) {
+                failure = error instanceof CompletionException ? error.getCause() : error;
+            }
+            pendingBlocks.release();
+        });
+    }
+
+    private void awaitWrites() throws IOException {
+        if (compressors != null) {
+            waitForWriter();
+            checkFailure();
+        }
+    }
+
+    private void waitForWriter() {
+        try {
+            lastWrite.join();
+        } catch (CompletionException e) {
+            // The failure is recorded by the stage which failed and reported by checkFailure.
+        }
+    }
+
+    private static ByteBuffer compress(Codec codec, GrowableOutputStream data) throws IOException {
+        ByteBuffer uncompressed = ByteBuffer.wrap(data.getBuffer(), 0, data.size());
+        return codec == null ? uncompressed : codec.compress(uncompressed);
+    }
+
+    private void writeBlock(long count, ByteBuffer data, BlockStatistics blockStatistics)
+            throws IOException {
+        int headerLength = BinaryData.encodeLong(count, blockHeader, 0);
+        headerLength += BinaryData.encodeLong(data.remaining(), blockHeader, headerLength);
+        output.write(blockHeader, 0, headerLength);
+        output.write(data.array(), data.arrayOffset() + data.position(), data.remaining());
+        output.write(sync);
+        long length = headerLength + data.remaining() + sync.length;
+        if (index != null) {
+            index.append(position, length, recordsWritten, count, blockStatistics);
+        }
+        position += length;
+        recordsWritten += count;
+    }
+
+    private void writeHeader(Map<String, byte[]> metadata) throws IOException {
+        GrowableOutputStream header = new GrowableOutputStream(OUTPUT_BUFFER_SIZE);
+        BinaryEncoder headerEncoder = EncoderFactory.get().directBinaryEncoder(header, null);
+        headerEncoder.writeFixed(MAGIC);
+        headerEncoder.writeMapStart();
+        headerEncoder.setItemCount(metadata.size());
+        for (Map.Entry<String, byte[]> entry : metadata.entrySet()) {
+            headerEncoder.startItem();
+            headerEncoder.writeString(entry.getKey());
+            headerEncoder.writeBytes(entry.getValue());
+        }
+        headerEncoder.writeMapEnd();
+        headerEncoder.writeFixed(sync);
+        headerEncoder.flush();
+        output.write(header.getBuffer(), 0, header.size());
+        position = header.size();
+    }
+
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new IOException("The file writer is closed");
+        }
+        checkFailure();
+    }
+
+    private void checkFailure() throws IOException {
+        Throwable error = failure;
+        if (error == null) {
+            return;
+        }
+        if (error instanceof UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (error instanceof IOException e) {
+            throw e;
+        }
+        throw new IOException("Failed to write a block", error);
+    }
+
+    static Supplier<Codec> createCodecs(String codecName, int compressionLevel) {
+        return switch (codecName) {
+            case NULL_CODEC -> null;
+            case DEFLATE_CODEC -> () -> new DeflateCodec(compressionLevel);
+            default -> throw new IllegalArgumentException("Unsupported codec: " + codecName);
+        };
+    }
+
+    private static byte[] createSync() {
+        UUID uuid = UUID.randomUUID();
+        return ByteBuffer.allocate(DataFileConstants.SYNC_SIZE).putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits()).array();
+    }
+
+    /**
+     * Opens the writer of a container file.
+     */
+    @FunctionalInterface
+    public interface Factory {
+
+        ContainerFileWriter open(Path path) throws IOException;
+    }
+}
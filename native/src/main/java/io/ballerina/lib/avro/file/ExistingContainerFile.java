@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.file;
+
+import org.apache.avro.Schema;
+import org.apache.avro.file.DataFileConstants;
+import org.apache.avro.file.DataFileReader;
+import org.apache.avro.file.SeekableFileInput;
+import org.apache.avro.generic.GenericDatumReader;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * The header and the complete blocks of an existing container file to which records are appended. The blocks are
+ * walked through their headers and sync markers without being read, starting after the blocks covered by the block
+ * index of the file when it has one. A block which was not completely written ends the walk.
+ */
+final class ExistingContainerFile {
+
+    private final Schema schema;
+    private final String codecName;
+    private final byte[] sync;
+    private final BlockIndex index;
+    private final long length;
+    private long end;
+    private long recordCount;
+
+    private ExistingContainerFile(Schema schema, String codecName, byte[] sync, BlockIndex index, long length) {
+        this.schema = schema;
+        this.codecName = codecName;
+        this.sync = sync;
+        this.index = index;
+        this.length = length;
+    }
+
+    static ExistingContainerFile open(Path path) throws IOException {
+        ExistingContainerFile file;
+        long firstBlockOffset;
+        try (DataFileReader<Object> reader = new DataFileReader<>(new SeekableFileInput(path.toFile()),
+                                                                  new GenericDatumReader<>())) {
+            String codecName = reader.getMetaString(DataFileConstants.CODEC);
+            firstBlockOffset = reader.previousSync();
+            byte[] sync = BlockIndex.readSync(path, firstBlockOffset);
+            BlockIndex index = BlockIndex.read(path, sync);
+            file = new ExistingContainerFile(reader.getSchema(), codecName == null ? DataFileConstants.NULL_CODEC
+                    : codecName, sync, index, path.toFile().length());
+        }
+        file.walkBlocks(path, firstBlockOffset);
+        return file;
+    }
+
+    private void walkBlocks(Path path, long firstBlockOffset) throws IOException {
+        end = firstBlockOffset;
+        if (index != null && index.getEndOffset() <= length) {
+            end = index.getEndOffset();
+            recordCount = index.getRecordCount();
+        }
+        byte[] marker = new byte[sync.length];
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "r")) {
+            while (end < length) {
+                file.seek(end);
+                long count;
+                long size;
+                try {
+                    count = RawBlockReader.readLong(file);
+                    size = RawBlockReader.readLong(file);
+                } catch (EOFException e) {
+                    return;
+                }
+                long blockEnd = file.getFilePointer() + size + marker.length;
+                if (count < 0 || size < 0 || blockEnd > length) {
+                    return;
+                }
+                file.seek(blockEnd - marker.length);
+                file.readFully(marker);
+                if (!Arrays.equals(marker, sync)) {
+                    return;
+                }
+                end = blockEnd;
+                recordCount += count;
+            }
+        }
+    }
+
+    Schema getSchema() {
+        return schema;
+    }
+
+    String getCodecName() {
+        return codecName;
+    }
+
+    byte[] getSync() {
+        return sync;
+    }
+
+    /**
+     * Returns the block index of the file if it covers every complete block of the file, or else `null`.
+     */
+    BlockIndex getIndex() {
+        return index != null && index.getEndOffset() == end ? index : null;
+    }
+
+    /**
+     * Returns the position after the last complete block, after which any bytes are discarded.
+     */
+    long getEnd() {
+        return end;
+    }
+
+    long getRecordCount() {
+        return recordCount;
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.file;
+
+import io.ballerina.lib.avro.CompiledSchema;
+import io.ballerina.lib.avro.column.ColumnDecoder;
+import io.ballerina.lib.avro.filter.RecordFilter;
+import io.ballerina.lib.avro.transcode.BinaryCursor;
+import io.ballerina.runtime.api.types.Type;
+import org.apache.avro.file.DataFileReader;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DecoderFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static io.ballerina.lib.avro.transcode.TranscodePlanCompiler.skipValue;
+
+/**
+ * Reads the records of an Avro object container file block by block. When a filter is given, the records of a
+ * decompressed block are tested in their encoded form and only the matching records are decoded. When the offsets
+ * of the blocks which may contain matching records are known from the block index of the file, the other blocks are
+ * skipped without being read or decompressed.
+ */
+public final class FileRecordReader implements Closeable {
+
+    private final DataFileReader<Object> source;
+    private final CompiledSchema compiledSchema;
+    private final RecordFilter filter;
+    private final long firstBlockOffset;
+    private long[] candidateBlocks;
+    private int nextCandidate;
+    private long tailOffset;
+    private long recordsToSkip;
+    private long recordsToRead = -1;
+    private BinaryCursor cursor;
+    private long remainingInBlock;
+    private int recordStart = -1;
+    private int recordEnd;
+    private BinaryDecoder decoder;
+
+    public FileRecordReader(DataFileReader<Object> source, CompiledSchema compiledSchema, RecordFilter filter) {
+        this.source = source;
+        this.compiledSchema = compiledSchema;
+        this.filter = filter;
+        this.firstBlockOffset = source.previousSync();
+    }
+
+    /**
+     * Returns the position of the first block of the file, which is right after the sync marker of the header.
+     */
+    public long getFirstBlockOffset() {
+        return firstBlockOffset;
+    }
+
+    /**
+     * Restricts the indexed part of the file to the given blocks. The blocks written after the indexed part, which
+     * starts at the header and ends at the given offset, are still read in full.
+     *
+     * @param candidateBlocks ascending offsets of the indexed blocks which may contain matching records
+     * @param tailOffset      offset of the first block which is not covered by the index
+     */
+    public void skipToBlocks(long[] candidateBlocks, long tailOffset) {
+        this.candidateBlocks = candidateBlocks;
+        this.tailOffset = tailOffset;
+    }
+
+    /**
+     * Positions the reader at the record with the given ordinal. The indexed blocks before the record are skipped by
+     * seeking, and the records before it in the remaining blocks are skipped in their encoded form.
+     *
+     * @param recordNumber zero-based ordinal of the record
+     * @param index        block index of the file, or `null` if the file has no index
+     */
+    public void seekToRecord(long recordNumber, BlockIndex index) throws IOException {
+        recordsToSkip = recordNumber;
+        if (index == null) {
+            return;
+        }
+        BlockIndex.Entry entry = index.findBlock(recordNumber);
+        if (entry == null) {
+            source.seek(index.getEndOffset());
+            recordsToSkip -= index.getRecordCount();
+        } else {
+            source.seek(entry.getOffset());
+            recordsToSkip -= entry.getFirstRecord();
+        }
+    }
+
+    /**
+     * Limits the number of records returned by the reader.
+     */
+    public void limit(long count) {
+        recordsToRead = count;
+    }
+
+    public boolean hasNext() throws Exception {
+        while (recordStart < 0) {
+            if (recordsToRead == 0) {
+                return false;
+            }
+            if (remainingInBlock == 0) {
+                if (!nextBlock()) {
+                    return false;
+                }
+                continue;
+            }
+            remainingInBlock--;
+            int start = cursor.getPosition();
+            boolean matched = true;
+            if (recordsToSkip > 0) {
+                recordsToSkip--;
+                skipValue(compiledSchema.getSchema(), cursor);
+                continue;
+            }
+            if (filter == null) {
+                skipValue(compiledSchema.getSchema(), cursor);
+            } else {
+                matched = filter.test(cursor);
+            }
+            if (matched) {
+                recordStart = start;
+                recordEnd = cursor.getPosition();
+                if (recordsToRead > 0) {
+                    recordsToRead--;
+                }
+            }
+        }
+        return true;
+    }
+
+    public Object next(Type type) throws Exception {
+        if (!hasNext()) {
+            throw new IOException("No more records are available in the file");
+        }
+        decoder = DecoderFactory.get().binaryDecoder(cursor.getBuffer(), recordStart, recordEnd - recordStart,
+                                                     decoder);
+        recordStart = -1;
+        return compiledSchema.read(decoder, type);
+    }
+
+    /**
+     * Decodes the remaining records which satisfy the filter into the columns of the given decoder.
+     */
+    public void readColumns(ColumnDecoder columns) throws Exception {
+        while (true) {
+            if (remainingInBlock == 0) {
+                if (!nextBlock()) {
+                    return;
+                }
+                continue;
+            }
+            remainingInBlock--;
+            if (filter == null) {
+                columns.decode(cursor);
+                continue;
+            }
+            int start = cursor.getPosition();
+            if (filter.test(cursor)) {
+                columns.decode(new BinaryCursor(cursor.getBuffer(), start, cursor.getPosition() - start));
+            }
+        }
+    }
+
+    private boolean nextBlock() throws IOException {
+        if (candidateBlocks != null) {
+            if (nextCandidate < candidateBlocks.length) {
+                source.seek(candidateBlocks[nextCandidate++]);
+            } else {
+                source.seek(tailOffset);
+                candidateBlocks = null;
+            }
+        }
+        if (!source.hasNext()) {
+            return false;
+        }
+        ByteBuffer block = source.nextBlock();
+        remainingInBlock = source.getBlockCount();
+        if (recordsToSkip >= remainingInBlock) {
+            recordsToSkip -= remainingInBlock;
+            remainingInBlock = 0;
+            return true;
+        }
+        cursor = new BinaryCursor(block.array(), block.arrayOffset() + block.position(), block.remaining());
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+}
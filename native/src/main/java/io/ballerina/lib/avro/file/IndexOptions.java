@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.file;
+
+import org.apache.avro.Schema;
+
+import java.util.List;
+
+/**
+ * Describes the sidecar block index which is written for a container file.
+ *
+ * @param createIndex           whether the index is written even without statistics fields or a key field
+ * @param statisticsFields      top-level fields whose minimum, maximum and null count are recorded per block
+ * @param keyField              top-level field whose values are added to a Bloom filter per block, or `null`
+ * @param keyFalsePositiveRate  false positive probability of the Bloom filters
+ */
+public record IndexOptions(boolean createIndex, List<String> statisticsFields, String keyField,
+                           double keyFalsePositiveRate) {
+
+    public static final IndexOptions NONE = new IndexOptions(false, List.of(), null, 0.01);
+
+    public IndexOptions {
+        if (!(keyFalsePositiveRate > 0 && keyFalsePositiveRate < 1)) {
+            throw new IllegalArgumentException("The key false positive rate must be between 0 and 1: "
+                                                       + keyFalsePositiveRate);
+        }
+        statisticsFields = List.copyOf(statisticsFields);
+    }
+
+    boolean isEnabled() {
+        return createIndex || !statisticsFields.isEmpty() || keyField != null;
+    }
+
+    /**
+     * Compiles the collector of the per-block statistics and key filters, or returns `null` if neither is recorded.
+     *
+     * @throws IllegalArgumentException if a field is not supported
+     */
+    StatisticsCollector createCollector(Schema schema) {
+        if (statisticsFields.isEmpty() && keyField == null) {
+            return null;
+        }
+        return StatisticsCollector.compile(schema, statisticsFields, keyField, keyFalsePositiveRate);
+    }
+}
@@ -0,0 +1,429 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.file;
+
+import org.apache.avro.Schema;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Writes records to container files in a directory tree, routing every record to a partition by the value of a
+ * top-level field. With a fixed number of partitions, a record goes to the partition selected by the hash of the
+ * value, in a directory named `bucket-<number>`. Otherwise, every distinct value has its own partition, in a
+ * directory named `<field>=<value>`.
+ * <p>
+ * Every partition writes to one file at a time, named `part-<sequence>.avro`, which is rolled when it reaches the
+ * size, record count or age limit of the roll policy. A rolled file is closed by a background thread, so that the
+ * writes which trigger a roll do not wait for the file to be written. Records of different partitions can be written
+ * concurrently, and the blocks of all the files are compressed and written by the same shared threads.
+ * <p>
+ * At most a given number of files are open at a time. When a partition opens a file beyond that limit, the file of
+ * the partition which was written least recently is handed to the background thread to be closed, like a rolled
+ * file, and that partition starts a new file when it receives its next record. This keeps a partition per value
+ * from running out of file descriptors when the field has many distinct values.
+ */
+public final class PartitionedContainerFileWriter implements Closeable {
+
+    static final String NULL_PARTITION = "__null__";
+
+    private static final Pattern FILE_NAME = Pattern.compile("part-(\\d{1,18})\\.avro");
+    private static final long MIN_ROLL_CHECK_INTERVAL = 10;
+
+    private final Path directory;
+    private final String partitionField;
+    private final int partitionCount;
+    private final Function<Object, Object> keys;
+    private final RollPolicy rollPolicy;
+    private final int maxOpenFiles;
+    private final ContainerFileWriter.Factory files;
+    private final BlockExecutors executors;
+    private final ConcurrentHashMap<String, Partition> partitions = new ConcurrentHashMap<>();
+    private final Set<Partition> openPartitions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService finalizer;
+    private final ScheduledExecutorService roller;
+    private volatile Throwable failure;
+    private volatile boolean closed;
+
+    /**
+     * Creates a writer which writes to the given directory.
+     *
+     * @param directory      the root directory of the partitions, which is created if it does not exist
+     * @param schema         schema of the records
+     * @param partitionField top-level int, long, string, enum or boolean field which selects the partition
+     * @param partitionCount number of hash partitions, or `0` for a partition per value
+     * @param keys           returns the value of the partition field of a record as a `String`, `Long`, `Boolean`
+     *                       or `null`
+     * @param rollPolicy     when the file of a partition is rolled
+     * @param maxOpenFiles   maximum number of files which are open at a time
+     * @param files          opens the writer of a new file
+     * @param executors      the threads which compress and write the blocks, which are shut down when the writer is
+     *                       closed, or `null` if the files write their blocks themselves
+     * @throws IllegalArgumentException if the partition field is not valid for the schema, or the number of
+     *                                  partitions or open files is out of range
+     */
+    public PartitionedContainerFileWriter(Path directory, Schema schema, String partitionField, int partitionCount,
+                                          Function<Object, Object> keys, RollPolicy rollPolicy, int maxOpenFiles,
+                                          ContainerFileWriter.Factory files, BlockExecutors executors)
+            throws IOException {
+        validatePartitionField(schema, partitionField);
+        if (partitionCount < 0) {
+            throw new IllegalArgumentException("The number of partitions must not be negative: " + partitionCount);
+        }
+        if (maxOpenFiles <= 0) {
+            throw new IllegalArgumentException("The maximum number of open files must be positive: " + maxOpenFiles);
+        }
+        Files.createDirectories(directory);
+        this.directory = directory;
+        this.partitionField = partitionField;
+        this.partitionCount = partitionCount;
+        this.keys = keys;
+        this.rollPolicy = rollPolicy;
+        this.maxOpenFiles = maxOpenFiles;
+        this.files = files;
+        this.executors = executors;
+        this.finalizer = Executors.newSingleThreadExecutor(BlockExecutors.daemonThreads("avro-file-finalizer"));
+        if (rollPolicy.maxFileAge() > 0) {
+            long interval = Math.max(MIN_ROLL_CHECK_INTERVAL, rollPolicy.maxFileAge() / 10);
+            this.roller = Executors.newSingleThreadScheduledExecutor(BlockExecutors.daemonThreads("avro-file-roller"));
+            roller.scheduleWithFixedDelay(this::rollExpiredFiles, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            this.roller = null;
+        }
+    }
+
+    /**
+     * Encodes the given record and appends it to the current file of its partition.
+     */
+    public void append(Object data) throws Exception {
+        checkOpen();
+        Partition partition = getPartition(data);
+        if (partition.append(data)) {
+            closeLeastRecentlyWrittenFiles(partition);
+        }
+    }
+
+    /**
+     * Appends the given record to the current file of its partition if that does not wait for a file. When the
+     * partition has no open file, the record is not appended. When the block of the file is full, the record is
+     * appended but the block is not written.
+     *
+     * @return `null` if the record was appended, or else the rest of the append, which may wait for a file
+     */
+    public PendingAppend appendRecord(Object data) throws Exception {
+        checkOpen();
+        return getPartition(data).appendRecord(data);
+    }
+
+    /**
+     * Writes the current block of every file and waits until the blocks are written to the files.
+     */
+    public void flush() throws IOException {
+        checkOpen();
+        for (Partition partition : partitions.values()) {
+            partition.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (roller != null) {
+            roller.shutdown();
+        }
+        IOException error = null;
+        for (Partition partition : partitions.values()) {
+            try {
+                partition.close();
+            } catch (IOException e) {
+                if (error == null) {
+                    error = e;
+                } else {
+                    error.addSuppressed(e);
+                }
+            }
+        }
+        finalizer.shutdown();
+        try {
+            while (!finalizer.awaitTermination(1, TimeUnit.MINUTES)) {
+                // The rolled files are still being written.
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the rolled files to be closed", e);
+        } finally {
+            if (executors != null) {
+                executors.close();
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+        checkFailure();
+    }
+
+    private Partition getPartition(Object data) {
+        String name = getPartitionName(keys.apply(data));
+        return partitions.computeIfAbsent(name, partitionName -> new Partition(directory.resolve(partitionName)));
+    }
+
+    private String getPartitionName(Object key) {
+        if (partitionCount > 0) {
+            long hash;
+            if (key instanceof Long value) {
+                hash = BloomFilter.hash(value);
+            } else {
+                byte[] bytes = String.valueOf(key).getBytes(StandardCharsets.UTF_8);
+                hash = BloomFilter.hash(bytes, 0, bytes.length);
+            }
+            return "bucket-" + Math.floorMod(hash, partitionCount);
+        }
+        String value = key == null ? NULL_PARTITION : URLEncoder.encode(key.toString(), StandardCharsets.UTF_8);
+        return partitionField + "=" + value;
+    }
+
+    /**
+     * Closes the files of the partitions which were written least recently until the number of open files is within
+     * the limit. This runs after the partition which opened a file has released its lock, so that two partitions
+     * never wait for each other.
+     */
+    private void closeLeastRecentlyWrittenFiles(Partition current) {
+        while (openPartitions.size() > maxOpenFiles) {
+            Partition eldest = null;
+            for (Partition partition : openPartitions) {
+                if (partition != current && (eldest == null || partition.lastWrite - eldest.lastWrite < 0)) {
+                    eldest = partition;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            eldest.closeInBackground();
+        }
+    }
+
+    private void rollExpiredFiles() {
+        long deadline = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(rollPolicy.maxFileAge());
+        for (Partition partition : partitions.values()) {
+            partition.rollIfOpenedBefore(deadline);
+        }
+    }
+
+    private void closeRolledFile(ContainerFileWriter file) {
+        try {
+            file.close();
+        } catch (IOException | RuntimeException e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+    }
+
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new IOException("The file writer is closed");
+        }
+        checkFailure();
+    }
+
+    private void checkFailure() throws IOException {
+        Throwable error = failure;
+        if (error instanceof IOException e) {
+            throw e;
+        }
+        if (error != null) {
+            throw new IOException("Failed to close a rolled file", error);
+        }
+    }
+
+    private static void validatePartitionField(Schema schema, String name) {
+        if (schema.getType() != Schema.Type.RECORD) {
+            throw new IllegalArgumentException("Partitioning is only supported for record schemas");
+        }
+        Schema.Field field = schema.getField(name);
+        if (field == null) {
+            throw new IllegalArgumentException("Field '" + name + "' is not defined in the schema");
+        }
+        Schema fieldSchema = field.schema();
+        if (fieldSchema.getType() == Schema.Type.UNION) {
+            for (Schema branch : fieldSchema.getTypes()) {
+                if (branch.getType() != Schema.Type.NULL && !isPartitionType(branch.getType())) {
+                    throw invalidPartitionField(name, fieldSchema);
+                }
+            }
+        } else if (!isPartitionType(fieldSchema.getType())) {
+            throw invalidPartitionField(name, fieldSchema);
+        }
+    }
+
+    private static boolean isPartitionType(Schema.Type type) {
+        return switch (type) {
+            case INT, LONG, STRING, ENUM, BOOLEAN -> true;
+            default -> false;
+        };
+    }
+
+    private static IllegalArgumentException invalidPartitionField(String name, Schema schema) {
+        return new IllegalArgumentException("Partition field '" + name + "' must be an int, long, string, enum or "
+                                                    + "boolean field, but is of type " + schema);
+    }
+
+    /**
+     * The rest of an append which could not be completed without waiting for a file.
+     */
+    @FunctionalInterface
+    public interface PendingAppend {
+
+        void complete() throws Exception;
+    }
+
+    private final class Partition {
+
+        private final Path path;
+        private long sequence = -1;
+        private ContainerFileWriter file;
+        private long records;
+        private long openedAt;
+        private volatile long lastWrite;
+
+        Partition(Path path) {
+            this.path = path;
+        }
+
+        /**
+         * Appends the given record to the current file, opening a new file if there is none.
+         *
+         * @return whether a new file was opened
+         */
+        synchronized boolean append(Object data) throws Exception {
+            if (closed) {
+                throw new IOException("The file writer is closed");
+            }
+            boolean opened = file == null;
+            if (opened) {
+                open();
+            }
+            file.append(data);
+            recordAppended();
+            return opened;
+        }
+
+        /**
+         * Appends the given record to the current file without waiting for it.
+         *
+         * @return `null` if the record was appended, or else the rest of the append
+         */
+        synchronized PendingAppend appendRecord(Object data) throws Exception {
+            if (closed) {
+                throw new IOException("The file writer is closed");
+            }
+            if (file == null) {
+                return () -> PartitionedContainerFileWriter.this.append(data);
+            }
+            ContainerFileWriter current = file;
+            boolean pending = current.appendRecord(data);
+            recordAppended();
+            return pending ? current::writePendingBlock : null;
+        }
+
+        private void recordAppended() {
+            records++;
+            lastWrite = System.nanoTime();
+            if (rollPolicy.isExceeded(file.getSize(), records)) {
+                roll();
+            }
+        }
+
+        synchronized void flush() throws IOException {
+            if (file != null) {
+                file.flush();
+            }
+        }
+
+        synchronized void rollIfOpenedBefore(long deadline) {
+            if (file != null && !closed && openedAt - deadline <= 0) {
+                roll();
+            }
+        }
+
+        synchronized void closeInBackground() {
+            if (file != null) {
+                roll();
+            }
+        }
+
+        synchronized void close() throws IOException {
+            if (file != null) {
+                ContainerFileWriter current = file;
+                file = null;
+                openPartitions.remove(this);
+                current.close();
+            }
+        }
+
+        private void open() throws IOException {
+            if (sequence < 0) {
+                Files.createDirectories(path);
+                sequence = findNextSequence(path);
+            }
+            file = files.open(path.resolve(String.format("part-%05d.avro", sequence)));
+            sequence++;
+            records = 0;
+            openedAt = System.nanoTime();
+            openPartitions.add(this);
+        }
+
+        private void roll() {
+            ContainerFileWriter rolled = file;
+            file = null;
+            openPartitions.remove(this);
+            finalizer.execute(() -> closeRolledFile(rolled));
+        }
+
+        private static long findNextSequence(Path path) throws IOException {
+            long next = 0;
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(path)) {
+                for (Path entry : entries) {
+                    Matcher matcher = FILE_NAME.matcher(entry.getFileName().toString());
+                    if (matcher.matches()) {
+                        next = Math.max(next, Long.parseLong(matcher.group(1)) + 1);
+                    }
+                }
+            }
+            return next;
+        }
+    }
+}
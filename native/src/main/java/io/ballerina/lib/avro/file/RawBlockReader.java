@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.file;
+
+import org.apache.avro.Schema;
+import org.apache.avro.file.DataFileConstants;
+import org.apache.avro.file.DataFileReader;
+import org.apache.avro.file.SeekableFileInput;
+import org.apache.avro.generic.GenericDatumReader;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Reads the blocks of a container file as they are stored, without decompressing them.
+ */
+final class RawBlockReader implements Closeable {
+
+    private static final int INPUT_BUFFER_SIZE = 64 * 1024;
+
+    private final Schema schema;
+    private final String codecName;
+    private final byte[] sync;
+    private final DataInputStream input;
+    private final byte[] marker;
+    private long recordCount;
+    private ByteBuffer data;
+
+    private RawBlockReader(Schema schema, String codecName, byte[] sync, DataInputStream input) {
+        this.schema = schema;
+        this.codecName = codecName;
+        this.sync = sync;
+        this.input = input;
+        this.marker = new byte[sync.length];
+    }
+
+    static RawBlockReader open(Path path) throws IOException {
+        Schema schema;
+        String codecName;
+        long firstBlockOffset;
+        try (DataFileReader<Object> reader = new DataFileReader<>(new SeekableFileInput(path.toFile()),
+                                                                  new GenericDatumReader<>())) {
+            schema = reader.getSchema();
+            codecName = reader.getMetaString(DataFileConstants.CODEC);
+            firstBlockOffset = reader.previousSync();
+        }
+        byte[] sync = BlockIndex.readSync(path, firstBlockOffset);
+        DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path),
+                                                                            INPUT_BUFFER_SIZE));
+        try {
+            input.skipNBytes(firstBlockOffset);
+        } catch (IOException e) {
+            input.close();
+            throw e;
+        }
+        return new RawBlockReader(schema, codecName == null ? DataFileConstants.NULL_CODEC : codecName, sync, input);
+    }
+
+    Schema getSchema() {
+        return schema;
+    }
+
+    String getCodecName() {
+        return codecName;
+    }
+
+    /**
+     * Reads the next block.
+     *
+     * @return `false` if the file has no more blocks
+     */
+    boolean next() throws IOException {
+        try {
+            recordCount = readLong(input);
+        } catch (EOFException e) {
+            return false;
+        }
+        long size = readLong(input);
+        if (recordCount < 0 || size < 0 || size > Integer.MAX_VALUE - 8) {
+            throw new IOException("Invalid block header: " + recordCount + " records in " + size + " bytes");
+        }
+        byte[] bytes = new byte[(int) size];
+        input.readFully(bytes);
+        input.readFully(marker);
+        if (!Arrays.equals(marker, sync)) {
+            throw new IOException("Invalid sync marker");
+        }
+        data = ByteBuffer.wrap(bytes);
+        return true;
+    }
+
+    long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Returns the stored, possibly compressed, data of the current block. A new buffer is returned for every block.
+     */
+    ByteBuffer getData() {
+        return data;
+    }
+
+    /**
+     * Reads a zig-zag encoded variable-length long of a block header.
+     */
+    static long readLong(DataInput input) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = input.readUnsignedByte();
+            value |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return (value >>> 1) ^ -(value & 1);
+            }
+        }
+        throw new IOException("Invalid block header");
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.file;
+
+/**
+ * Describes when a rolling writer closes its current file and starts a new file.
+ *
+ * @param maxFileSize    approximate size in bytes at which a file is rolled, or `0` for no limit
+ * @param maxFileRecords number of records at which a file is rolled, or `0` for no limit
+ * @param maxFileAge     time in milliseconds after which a file is rolled, or `0` for no limit
+ */
+public record RollPolicy(long maxFileSize, long maxFileRecords, long maxFileAge) {
+
+    public static final RollPolicy NONE = new RollPolicy(0, 0, 0);
+
+    public RollPolicy {
+        if (maxFileSize < 0 || maxFileRecords < 0 || maxFileAge < 0) {
+            throw new IllegalArgumentException("The file size, record count and age limits must not be negative");
+        }
+    }
+
+    boolean isExceeded(long size, long records) {
+        return maxFileSize > 0 && size >= maxFileSize || maxFileRecords > 0 && records >= maxFileRecords;
+    }
+}
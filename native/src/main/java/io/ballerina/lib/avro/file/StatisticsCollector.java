@@ -0,0 +1,324 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.file;
+
+import io.ballerina.lib.avro.transcode.BinaryCursor;
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.ballerina.lib.avro.transcode.TranscodePlanCompiler.skipValue;
+
+/**
+ * Collects the minimum, maximum and null count of selected top-level primitive fields over the encoded records of
+ * a block, along with a Bloom filter of the values of the key field. The fields after the last selected field are
+ * not read.
+ */
+final class StatisticsCollector {
+
+    private final Schema[] fieldSchemas;
+    private final FieldCollector[] collectors;
+    private final FieldCollector keyCollector;
+    private final double keyFalsePositiveRate;
+
+    private StatisticsCollector(Schema[] fieldSchemas, FieldCollector[] collectors, FieldCollector keyCollector,
+                                double keyFalsePositiveRate) {
+        this.fieldSchemas = fieldSchemas;
+        this.collectors = collectors;
+        this.keyCollector = keyCollector;
+        this.keyFalsePositiveRate = keyFalsePositiveRate;
+    }
+
+    /**
+     * Compiles a collector for the given fields. The key field, if any, also has its statistics collected.
+     *
+     * @throws IllegalArgumentException if a field is not a top-level int, long, float, double, boolean, string or
+     *                                  enum field, or the key field is not an int, long, string or enum field, which
+     *                                  may be nullable
+     */
+    static StatisticsCollector compile(Schema schema, List<String> fields, String keyField,
+                                       double keyFalsePositiveRate) {
+        if (schema.getType() != Schema.Type.RECORD) {
+            throw new IllegalArgumentException("Statistics are only supported for record schemas");
+        }
+        List<Schema.Field> schemaFields = schema.getFields();
+        Schema[] fieldSchemas = new Schema[schemaFields.size()];
+        for (int i = 0; i < fieldSchemas.length; i++) {
+            fieldSchemas[i] = schemaFields.get(i).schema();
+        }
+        int last = -1;
+        Map<Integer, String> positions = new HashMap<>();
+        List<String> names = new ArrayList<>(fields);
+        if (keyField != null) {
+            names.add(keyField);
+        }
+        for (String name : names) {
+            Schema.Field field = schema.getField(name);
+            if (field == null) {
+                throw new IllegalArgumentException("Field '" + name + "' is not defined in the schema");
+            }
+            positions.put(field.pos(), name);
+            last = Math.max(last, field.pos());
+        }
+        FieldCollector[] collectors = new FieldCollector[last + 1];
+        FieldCollector keyCollector = null;
+        for (Map.Entry<Integer, String> position : positions.entrySet()) {
+            boolean isKey = position.getValue().equals(keyField);
+            FieldCollector collector = new FieldCollector(position.getValue(), fieldSchemas[position.getKey()], isKey);
+            collectors[position.getKey()] = collector;
+            if (isKey) {
+                keyCollector = collector;
+            }
+        }
+        return new StatisticsCollector(fieldSchemas, collectors, keyCollector, keyFalsePositiveRate);
+    }
+
+    /**
+     * Adds the record at the cursor to the statistics of the current block.
+     */
+    void update(BinaryCursor input) throws Exception {
+        for (int i = 0; i < collectors.length; i++) {
+            FieldCollector collector = collectors[i];
+            if (collector == null) {
+                skipValue(fieldSchemas[i], input);
+            } else {
+                collector.update(input);
+            }
+        }
+    }
+
+    /**
+     * Returns the statistics of the current block and starts a new block.
+     */
+    BlockStatistics finishBlock() {
+        ByteBuffer keyFilter = keyCollector == null ? null
+                : BloomFilter.build(keyCollector.keyHashes, keyCollector.keyCount, keyFalsePositiveRate);
+        Map<String, GenericRecord> statistics = new HashMap<>();
+        for (FieldCollector collector : collectors) {
+            if (collector != null) {
+                statistics.put(collector.name, collector.finishBlock());
+            }
+        }
+        return new BlockStatistics(statistics, keyFilter);
+    }
+
+    /**
+     * The statistics of a block.
+     *
+     * @param fields    `FieldStatistics` index records by field name
+     * @param keyFilter serialized Bloom filter of the key values, or `null` if there is no key field
+     */
+    record BlockStatistics(Map<String, GenericRecord> fields, ByteBuffer keyFilter) {
+
+        static final BlockStatistics EMPTY = new BlockStatistics(Map.of(), null);
+    }
+
+    private static final class FieldCollector {
+
+        private final String name;
+        private final boolean isKey;
+        private long[] keyHashes;
+        private int keyCount;
+        private final Schema[] branches;
+        private final int nullBranch;
+        private final Schema.Type valueType;
+        private long nullCount;
+        private boolean hasValue;
+        private boolean unbounded;
+        private long minLong;
+        private long maxLong;
+        private double minDouble;
+        private double maxDouble;
+        private byte[] minBytes;
+        private byte[] maxBytes;
+
+        FieldCollector(String name, Schema schema, boolean isKey) {
+            this.name = name;
+            this.isKey = isKey;
+            if (schema.getType() == Schema.Type.UNION) {
+                this.branches = schema.getTypes().toArray(new Schema[0]);
+            } else {
+                this.branches = new Schema[]{schema};
+            }
+            int nullIndex = -1;
+            Schema valueSchema = null;
+            for (int i = 0; i < branches.length; i++) {
+                if (branches[i].getType() == Schema.Type.NULL) {
+                    nullIndex = i;
+                } else if (valueSchema == null) {
+                    valueSchema = branches[i];
+                } else {
+                    valueSchema = null;
+                    break;
+                }
+            }
+            if (valueSchema == null || !isSupported(valueSchema.getType())) {
+                throw new IllegalArgumentException("Statistics are not supported for field '" + name + "' of type "
+                                                           + schema);
+            }
+            if (isKey && !isKeyType(valueSchema.getType())) {
+                throw new IllegalArgumentException("Key field '" + name + "' must be an int, long, string or enum "
+                                                           + "field, but is of type " + schema);
+            }
+            this.nullBranch = nullIndex;
+            this.valueType = valueSchema.getType();
+            this.keyHashes = isKey ? new long[64] : null;
+        }
+
+        void update(BinaryCursor input) throws Exception {
+            Schema schema = branches[0];
+            if (branches.length > 1) {
+                int index = input.readInt();
+                if (index < 0 || index >= branches.length) {
+                    throw new AvroTypeException("Union index " + index + " is out of bounds");
+                }
+                if (index == nullBranch) {
+                    nullCount++;
+                    return;
+                }
+                schema = branches[index];
+            }
+            switch (schema.getType()) {
+                case INT, LONG -> {
+                    long value = input.readLong();
+                    updateLong(value);
+                    if (isKey) {
+                        addKey(BloomFilter.hash(value));
+                    }
+                }
+                case BOOLEAN -> updateLong(input.readBoolean() ? 1 : 0);
+                case FLOAT -> updateDouble(input.readFloat());
+                case DOUBLE -> updateDouble(input.readDouble());
+                case ENUM -> {
+                    int index = input.readInt();
+                    List<String> symbols = schema.getEnumSymbols();
+                    if (index < 0 || index >= symbols.size()) {
+                        throw new AvroTypeException("Enum index " + index + " is out of bounds");
+                    }
+                    byte[] symbol = symbols.get(index).getBytes(StandardCharsets.UTF_8);
+                    updateBytes(symbol, 0, symbol.length);
+                    if (isKey) {
+                        addKey(BloomFilter.hash(symbol, 0, symbol.length));
+                    }
+                }
+                case STRING -> {
+                    long length = input.readLong();
+                    int offset = input.getPosition();
+                    input.skip(length);
+                    updateBytes(input.getBuffer(), offset, (int) length);
+                    if (isKey) {
+                        addKey(BloomFilter.hash(input.getBuffer(), offset, (int) length));
+                    }
+                }
+                default -> throw new IllegalStateException("Unexpected field schema: " + schema);
+            }
+        }
+
+        private void addKey(long hash) {
+            if (keyCount == keyHashes.length) {
+                keyHashes = Arrays.copyOf(keyHashes, keyCount * 2);
+            }
+            keyHashes[keyCount++] = hash;
+        }
+
+        private void updateLong(long value) {
+            if (!hasValue || value < minLong) {
+                minLong = value;
+            }
+            if (!hasValue || value > maxLong) {
+                maxLong = value;
+            }
+            hasValue = true;
+        }
+
+        private void updateDouble(double value) {
+            if (Double.isNaN(value)) {
+                unbounded = true;
+                return;
+            }
+            if (!hasValue || value < minDouble) {
+                minDouble = value;
+            }
+            if (!hasValue || value > maxDouble) {
+                maxDouble = value;
+            }
+            hasValue = true;
+        }
+
+        private void updateBytes(byte[] buffer, int offset, int length) {
+            if (!hasValue || Arrays.compareUnsigned(buffer, offset, offset + length, minBytes, 0,
+                                                    minBytes.length) < 0) {
+                minBytes = Arrays.copyOfRange(buffer, offset, offset + length);
+            }
+            if (!hasValue || Arrays.compareUnsigned(buffer, offset, offset + length, maxBytes, 0,
+                                                    maxBytes.length) > 0) {
+                maxBytes = Arrays.copyOfRange(buffer, offset, offset + length);
+            }
+            hasValue = true;
+        }
+
+        GenericRecord finishBlock() {
+            GenericRecord statistics = new GenericData.Record(BlockIndex.FIELD_STATISTICS_SCHEMA);
+            statistics.put("nullCount", nullCount);
+            if (hasValue && !unbounded) {
+                statistics.put("min", bound(minLong, minDouble, minBytes));
+                statistics.put("max", bound(maxLong, maxDouble, maxBytes));
+            }
+            nullCount = 0;
+            hasValue = false;
+            unbounded = false;
+            minBytes = null;
+            maxBytes = null;
+            keyCount = 0;
+            return statistics;
+        }
+
+        private Object bound(long longValue, double doubleValue, byte[] bytes) {
+            return switch (valueType) {
+                case INT, LONG -> longValue;
+                case BOOLEAN -> longValue != 0;
+                case FLOAT, DOUBLE -> doubleValue;
+                default -> new String(bytes, StandardCharsets.UTF_8);
+            };
+        }
+
+        private static boolean isKeyType(Schema.Type type) {
+            return switch (type) {
+                case INT, LONG, STRING, ENUM -> true;
+                default -> false;
+            };
+        }
+
+        private static boolean isSupported(Schema.Type type) {
+            return switch (type) {
+                case INT, LONG, FLOAT, DOUBLE, BOOLEAN, STRING, ENUM -> true;
+                default -> false;
+            };
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.filter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A predicate on a single top-level record field. The value is a `Long`, `Double`, `BigDecimal`, `String`,
+ * `Boolean`, `byte[]` or `null`, or a `List` of them for the `IN` operator.
+ */
+public final class Condition {
+
+    private final String field;
+    private final Operator operator;
+    private final Object value;
+
+    public Condition(String field, Operator operator, Object value) {
+        this.field = field;
+        this.operator = operator;
+        this.value = value;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    List<?> getValues() {
+        return value instanceof List<?> values ? values : List.of();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Condition condition && field.equals(condition.field)
+                && operator == condition.operator && valueEquals(value, condition.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(field, operator) * 31 + valueHashCode(value);
+    }
+
+    private static boolean valueEquals(Object value, Object other) {
+        if (value instanceof byte[] bytes) {
+            return other instanceof byte[] otherBytes && Arrays.equals(bytes, otherBytes);
+        }
+        if (value instanceof List<?> values) {
+            if (!(other instanceof List<?> otherValues) || values.size() != otherValues.size()) {
+                return false;
+            }
+            for (int i = 0; i < values.size(); i++) {
+                if (!valueEquals(values.get(i), otherValues.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return Objects.equals(value, other);
+    }
+
+    private static int valueHashCode(Object value) {
+        if (value instanceof byte[] bytes) {
+            return Arrays.hashCode(bytes);
+        }
+        if (value instanceof List<?> values) {
+            int hash = 1;
+            for (Object item : values) {
+                hash = hash * 31 + valueHashCode(item);
+            }
+            return hash;
+        }
+        return Objects.hashCode(value);
+    }
+}
@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.filter;
+
+import io.ballerina.lib.avro.transcode.BinaryCursor;
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.Schema;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.DoublePredicate;
+import java.util.function.LongPredicate;
+
+import static io.ballerina.lib.avro.transcode.TranscodePlanCompiler.skipValue;
+
+/**
+ * Compiles the predicates on a record field into a test which works on the encoded value of the field. Numbers
+ * are compared without boxing, strings and bytes are compared in place, and enum and boolean values are looked up
+ * in tables which are evaluated at compile time.
+ */
+final class FieldTestCompiler {
+
+    private static final int LINEAR_SEARCH_LIMIT = 8;
+
+    private FieldTestCompiler() {}
+
+    static FieldTest compile(String field, Schema schema, List<Condition> conditions) {
+        for (Condition condition : conditions) {
+            validate(field, schema, condition);
+        }
+        if (schema.getType() != Schema.Type.UNION) {
+            return compileBranch(schema, conditions);
+        }
+        List<Schema> branches = schema.getTypes();
+        FieldTest[] tests = new FieldTest[branches.size()];
+        for (int i = 0; i < tests.length; i++) {
+            tests[i] = compileBranch(branches.get(i), conditions);
+        }
+        return input -> {
+            int index = input.readInt();
+            if (index < 0 || index >= tests.length) {
+                throw new AvroTypeException("Union index " + index + " is out of bounds");
+            }
+            return tests[index].test(input);
+        };
+    }
+
+    private static void validate(String field, Schema schema, Condition condition) {
+        Operator operator = condition.getOperator();
+        Object value = condition.getValue();
+        List<Object> operands = new ArrayList<>();
+        if (operator == Operator.IN) {
+            if (!(value instanceof List<?>)) {
+                throw new IllegalArgumentException("The predicate on field '" + field
+                                                           + "' requires an array of values for the IN operator");
+            }
+            for (Object element : condition.getValues()) {
+                if (element != null) {
+                    operands.add(element);
+                }
+            }
+        } else if (operator.isRange() && value == null) {
+            throw new IllegalArgumentException("The predicate on field '" + field + "' requires a non-null value for"
+                                                       + " the " + operator + " operator");
+        } else if (value != null && operator != Operator.IS_NULL && operator != Operator.IS_NOT_NULL) {
+            operands.add(value);
+        }
+        if (operands.isEmpty()) {
+            return;
+        }
+        List<Schema> branches = schema.getType() == Schema.Type.UNION ? schema.getTypes() : List.of(schema);
+        for (Schema branch : branches) {
+            for (Object operand : operands) {
+                if (isComparable(branch, operand)) {
+                    return;
+                }
+            }
+        }
+        throw new IllegalArgumentException("The value of the predicate on field '" + field
+                                                   + "' cannot be compared with a value of the field schema "
+                                                   + schema);
+    }
+
+    private static FieldTest compileBranch(Schema schema, List<Condition> conditions) {
+        if (schema.getType() == Schema.Type.NULL) {
+            boolean result = true;
+            for (Condition condition : conditions) {
+                result &= testNull(condition);
+            }
+            boolean matched = result;
+            return input -> matched;
+        }
+        Object combined = Boolean.TRUE;
+        for (Condition condition : conditions) {
+            Object test = compileCondition(schema, condition);
+            if (Boolean.FALSE.equals(test)) {
+                combined = Boolean.FALSE;
+                break;
+            }
+            combined = and(combined, test);
+        }
+        if (combined instanceof Boolean result) {
+            return input -> {
+                skipValue(schema, input);
+                return result;
+            };
+        }
+        return switch (schema.getType()) {
+            case INT, LONG -> {
+                LongPredicate test = (LongPredicate) combined;
+                yield input -> test.test(input.readLong());
+            }
+            case ENUM -> {
+                LongPredicate test = (LongPredicate) combined;
+                yield input -> test.test(input.readInt());
+            }
+            case BOOLEAN -> {
+                LongPredicate test = (LongPredicate) combined;
+                yield input -> test.test(input.readBoolean() ? 1 : 0);
+            }
+            case FLOAT -> {
+                DoublePredicate test = (DoublePredicate) combined;
+                yield input -> test.test(input.readFloat());
+            }
+            case DOUBLE -> {
+                DoublePredicate test = (DoublePredicate) combined;
+                yield input -> test.test(input.readDouble());
+            }
+            case STRING, BYTES -> {
+                BytesTest test = (BytesTest) combined;
+                yield input -> {
+                    long length = input.readLong();
+                    int offset = input.getPosition();
+                    input.skip(length);
+                    return test.test(input.getBuffer(), offset, (int) length);
+                };
+            }
+            case FIXED -> {
+                BytesTest test = (BytesTest) combined;
+                int size = schema.getFixedSize();
+                yield input -> {
+                    int offset = input.getPosition();
+                    input.skip(size);
+                    return test.test(input.getBuffer(), offset, size);
+                };
+            }
+            default -> throw new IllegalStateException("Unexpected field schema: " + schema);
+        };
+    }
+
+    private static boolean testNull(Condition condition) {
+        return switch (condition.getOperator()) {
+            case IS_NULL -> true;
+            case EQUAL -> condition.getValue() == null;
+            case NOT_EQUAL -> condition.getValue() != null;
+            case IN -> {
+                for (Object element : condition.getValues()) {
+                    if (element == null) {
+                        yield true;
+                    }
+                }
+                yield false;
+            }
+            default -> false;
+        };
+    }
+
+    /**
+     * Compiles a condition for a non-null branch of a field.
+     *
+     * @return a constant `Boolean` or a `LongPredicate`, `DoublePredicate` or `BytesTest` depending on the
+     * branch type
+     */
+    private static Object compileCondition(Schema schema, Condition condition) {
+        Operator operator = condition.getOperator();
+        Object value = condition.getValue();
+        return switch (operator) {
+            case IS_NULL -> Boolean.FALSE;
+            case IS_NOT_NULL -> Boolean.TRUE;
+            case IN -> compileIn(schema, condition.getValues());
+            default -> {
+                if (value == null || !isComparable(schema, value)) {
+                    yield operator == Operator.NOT_EQUAL;
+                }
+                yield compileComparison(schema, operator, value);
+            }
+        };
+    }
+
+    private static Object compileIn(Schema schema, List<?> values) {
+        List<Object> operands = new ArrayList<>();
+        for (Object value : values) {
+            if (value != null && isComparable(schema, value)) {
+                operands.add(value);
+            }
+        }
+        if (operands.isEmpty()) {
+            return Boolean.FALSE;
+        }
+        if (operands.size() > LINEAR_SEARCH_LIMIT) {
+            Schema.Type type = schema.getType();
+            if ((type == Schema.Type.INT || type == Schema.Type.LONG)
+                    && operands.stream().allMatch(Long.class::isInstance)) {
+                long[] keys = operands.stream().mapToLong(Long.class::cast).sorted().toArray();
+                return (LongPredicate) value -> Arrays.binarySearch(keys, value) >= 0;
+            }
+            if (type == Schema.Type.STRING) {
+                Set<String> keys = new HashSet<>();
+                for (Object operand : operands) {
+                    keys.add((String) operand);
+                }
+                return (BytesTest) (buffer, offset, length) ->
+                        keys.contains(new String(buffer, offset, length, StandardCharsets.UTF_8));
+            }
+        }
+        Object combined = null;
+        for (Object operand : operands) {
+            Object test = compileComparison(schema, Operator.EQUAL, operand);
+            combined = combined == null ? test : or(combined, test);
+        }
+        return combined;
+    }
+
+    private static Object compileComparison(Schema schema, Operator operator, Object value) {
+        return switch (schema.getType()) {
+            case INT, LONG -> {
+                if (value instanceof Long longValue) {
+                    yield longPredicate(operator, longValue);
+                }
+                DoublePredicate test = doublePredicate(operator, ((Number) value).doubleValue());
+                yield (LongPredicate) test::test;
+            }
+            case FLOAT, DOUBLE -> doublePredicate(operator, ((Number) value).doubleValue());
+            case STRING -> bytesTest(operator, ((String) value).getBytes(StandardCharsets.UTF_8));
+            case BYTES, FIXED -> bytesTest(operator, (byte[]) value);
+            case ENUM -> {
+                List<String> symbols = schema.getEnumSymbols();
+                boolean[] table = new boolean[symbols.size()];
+                for (int i = 0; i < table.length; i++) {
+                    table[i] = operator.test(symbols.get(i).compareTo((String) value));
+                }
+                yield tablePredicate(table);
+            }
+            case BOOLEAN -> {
+                boolean booleanValue = (Boolean) value;
+                yield tablePredicate(new boolean[]{
+                        operator.test(Boolean.compare(false, booleanValue)),
+                        operator.test(Boolean.compare(true, booleanValue))
+                });
+            }
+            default -> throw new IllegalStateException("Unexpected field schema: " + schema);
+        };
+    }
+
+    private static boolean isComparable(Schema schema, Object value) {
+        return switch (schema.getType()) {
+            case INT, LONG, FLOAT, DOUBLE -> value instanceof Number;
+            case STRING, ENUM -> value instanceof String;
+            case BYTES, FIXED -> value instanceof byte[];
+            case BOOLEAN -> value instanceof Boolean;
+            default -> false;
+        };
+    }
+
+    private static LongPredicate longPredicate(Operator operator, long operand) {
+        return switch (operator) {
+            case EQUAL, IN -> value -> value == operand;
+            case NOT_EQUAL -> value -> value != operand;
+            case LESS_THAN -> value -> value < operand;
+            case LESS_THAN_OR_EQUAL -> value -> value <= operand;
+            case GREATER_THAN -> value -> value > operand;
+            case GREATER_THAN_OR_EQUAL -> value -> value >= operand;
+            default -> throw new IllegalStateException("Unexpected operator: " + operator);
+        };
+    }
+
+    private static DoublePredicate doublePredicate(Operator operator, double operand) {
+        boolean isNaN = Double.isNaN(operand);
+        return switch (operator) {
+            case EQUAL, IN -> value -> value == operand || isNaN && Double.isNaN(value);
+            case NOT_EQUAL -> value -> value != operand && !(isNaN && Double.isNaN(value));
+            case LESS_THAN -> value -> value < operand;
+            case LESS_THAN_OR_EQUAL -> value -> value <= operand;
+            case GREATER_THAN -> value -> value > operand;
+            case GREATER_THAN_OR_EQUAL -> value -> value >= operand;
+            default -> throw new IllegalStateException("Unexpected operator: " + operator);
+        };
+    }
+
+    private static BytesTest bytesTest(Operator operator, byte[] operand) {
+        return switch (operator) {
+            case EQUAL, IN -> (buffer, offset, length) ->
+                    Arrays.equals(buffer, offset, offset + length, operand, 0, operand.length);
+            case NOT_EQUAL -> (buffer, offset, length) ->
+                    !Arrays.equals(buffer, offset, offset + length, operand, 0, operand.length);
+            default -> (buffer, offset, length) ->
+                    operator.test(Arrays.compareUnsigned(buffer, offset, offset + length, operand, 0,
+                                                         operand.length));
+        };
+    }
+
+    private static LongPredicate tablePredicate(boolean[] table) {
+        return value -> value >= 0 && value < table.length && table[(int) value];
+    }
+
+    private static Object and(Object left, Object right) {
+        if (Boolean.TRUE.equals(left)) {
+            return right;
+        }
+        if (Boolean.TRUE.equals(right)) {
+            return left;
+        }
+        if (left instanceof LongPredicate test) {
+            return test.and((LongPredicate) right);
+        }
+        if (left instanceof DoublePredicate test) {
+            return test.and((DoublePredicate) right);
+        }
+        return ((BytesTest) left).and((BytesTest) right);
+    }
+
+    private static Object or(Object left, Object right) {
+        if (left instanceof LongPredicate test) {
+            return test.or((LongPredicate) right);
+        }
+        if (left instanceof DoublePredicate test) {
+            return test.or((DoublePredicate) right);
+        }
+        return ((BytesTest) left).or((BytesTest) right);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.filter;
+
+/**
+ * Operators of the predicates which are evaluated against top-level record fields.
+ */
+public enum Operator {
+    EQUAL,
+    NOT_EQUAL,
+    LESS_THAN,
+    LESS_THAN_OR_EQUAL,
+    GREATER_THAN,
+    GREATER_THAN_OR_EQUAL,
+    IN,
+    IS_NULL,
+    IS_NOT_NULL;
+
+    public boolean isRange() {
+        return this == LESS_THAN || this == LESS_THAN_OR_EQUAL || this == GREATER_THAN
+                || this == GREATER_THAN_OR_EQUAL;
+    }
+
+    /**
+     * Applies the operator to the result of comparing a field value with the predicate value.
+     *
+     * @param comparison a negative number, zero or a positive number if the field value is less than, equal to or
+     *                   greater than the predicate value
+     * @return whether the field value satisfies the operator
+     */
+    public boolean test(int comparison) {
+        return switch (this) {
+            case EQUAL, IN -> comparison == 0;
+            case NOT_EQUAL -> comparison != 0;
+            case LESS_THAN -> comparison < 0;
+            case LESS_THAN_OR_EQUAL -> comparison <= 0;
+            case GREATER_THAN -> comparison > 0;
+            case GREATER_THAN_OR_EQUAL -> comparison >= 0;
+            case IS_NULL -> false;
+            case IS_NOT_NULL -> true;
+        };
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.filter;
+
+import io.ballerina.lib.avro.transcode.BinaryCursor;
+import org.apache.avro.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static io.ballerina.lib.avro.transcode.TranscodePlanCompiler.skipValue;
+
+/**
+ * Evaluates a conjunction of predicates on the top-level fields of encoded records. Only the fields referenced by
+ * the predicates are decoded. The fields before them are skipped, and the evaluation stops at the first predicate
+ * which is not satisfied.
+ */
+public final class RecordFilter {
+
+    private final Schema[] fieldSchemas;
+    private final FieldTest[] tests;
+
+    private RecordFilter(Schema[] fieldSchemas, FieldTest[] tests) {
+        this.fieldSchemas = fieldSchemas;
+        this.tests = tests;
+    }
+
+    public static RecordFilter compile(Schema schema, List<Condition> conditions) {
+        if (schema.getType() != Schema.Type.RECORD) {
+            throw new IllegalArgumentException("Predicates are only supported for record schemas");
+        }
+        TreeMap<Integer, List<Condition>> fieldConditions = new TreeMap<>();
+        for (Condition condition : conditions) {
+            Schema.Field field = schema.getField(condition.getField());
+            if (field == null) {
+                throw new IllegalArgumentException("Field '" + condition.getField()
+                                                           + "' is not defined in the schema");
+            }
+            fieldConditions.computeIfAbsent(field.pos(), position -> new ArrayList<>()).add(condition);
+        }
+        List<Schema.Field> fields = schema.getFields();
+        Schema[] fieldSchemas = new Schema[fields.size()];
+        for (int i = 0; i < fieldSchemas.length; i++) {
+            fieldSchemas[i] = fields.get(i).schema();
+        }
+        FieldTest[] tests = new FieldTest[fieldConditions.isEmpty() ? 0 : fieldConditions.lastKey() + 1];
+        for (Map.Entry<Integer, List<Condition>> entry : fieldConditions.entrySet()) {
+            int position = entry.getKey();
+            tests[position] = FieldTestCompiler.compile(fields.get(position).name(), fieldSchemas[position],
+                                                        entry.getValue());
+        }
+        return new RecordFilter(fieldSchemas, tests);
+    }
+
+    /**
+     * Tests the record at the cursor. The cursor is left after the last field which had to be read to decide the
+     * result.
+     *
+     * @param input cursor positioned at the start of an encoded record
+     * @return whether the record satisfies every predicate
+     */
+    public boolean matches(BinaryCursor input) throws Exception {
+        for (int i = 0; i < tests.length; i++) {
+            if (!testField(i, input)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tests the record at the cursor and moves the cursor to the end of the record.
+     *
+     * @param input cursor positioned at the start of an encoded record
+     * @return whether the record satisfies every predicate
+     */
+    public boolean test(BinaryCursor input) throws Exception {
+        boolean matched = true;
+        int position = 0;
+        while (matched && position < tests.length) {
+            matched = testField(position++, input);
+        }
+        for (; position < fieldSchemas.length; position++) {
+            skipValue(fieldSchemas[position], input);
+        }
+        return matched;
+    }
+
+    private boolean testField(int position, BinaryCursor input) throws Exception {
+        FieldTest test = tests[position];
+        if (test == null) {
+            skipValue(fieldSchemas[position], input);
+            return true;
+        }
+        return test.test(input);
+    }
+}
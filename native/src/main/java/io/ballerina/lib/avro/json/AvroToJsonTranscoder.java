@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.ballerina.lib.avro.plan.RecursionGuard;
+import org.apache.avro.Schema;
+import org.apache.avro.io.Decoder;
+import org.apache.avro.util.Utf8;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Writes the JSON representation of Avro binary data to a JSON generator while the data is decoded. The JSON has
+ * the same shape as the `toJson()` value of the data deserialized with `fromAvro`: union values are written
+ * without a branch wrapper, and `bytes` and `fixed` values are written as arrays of byte values. The values which
+ * remain to be written are kept on a work stack, so that nested values do not use the stack of the calling thread.
+ */
+public final class AvroToJsonTranscoder {
+
+    private static final Object END_OBJECT = new Object();
+
+    private final Decoder decoder;
+    private final JsonGenerator generator;
+    private final Deque<Object> pending = new ArrayDeque<>();
+    private Utf8 utf8 = new Utf8();
+    private ByteBuffer byteBuffer;
+
+    public AvroToJsonTranscoder(Decoder decoder, JsonGenerator generator) {
+        this.decoder = decoder;
+        this.generator = generator;
+    }
+
+    public void transcode(Schema schema) throws Exception {
+        // Only records nested in record fields are written without reading any data, and a schema which nests such
+        // records without end has no finite values.
+        pending.clear();
+        pending.push(schema);
+        int emptyDepth = 0;
+        while (!pending.isEmpty()) {
+            Object next = pending.pop();
+            if (next == END_OBJECT) {
+                generator.writeEndObject();
+                continue;
+            }
+            if (next instanceof String fieldName) {
+                generator.writeFieldName(fieldName);
+                continue;
+            }
+            if (next instanceof Blocks blocks) {
+                if (blocks.nextItem()) {
+                    pending.push(blocks);
+                    pending.push(blocks.itemSchema);
+                    emptyDepth = 0;
+                }
+                continue;
+            }
+            Schema valueSchema = (Schema) next;
+            switch (valueSchema.getType()) {
+                case NULL -> {
+                    decoder.readNull();
+                    generator.writeNull();
+                }
+                case BOOLEAN -> generator.writeBoolean(decoder.readBoolean());
+                case INT -> generator.writeNumber(decoder.readInt());
+                case LONG -> generator.writeNumber(decoder.readLong());
+                case FLOAT -> generator.writeNumber(decoder.readFloat());
+                case DOUBLE -> generator.writeNumber(decoder.readDouble());
+                case STRING -> {
+                    utf8 = decoder.readString(utf8);
+                    generator.writeUTF8String(utf8.getBytes(), 0, utf8.getByteLength());
+                }
+                case ENUM -> generator.writeString(valueSchema.getEnumSymbols().get(decoder.readEnum()));
+                case BYTES -> {
+                    byteBuffer = decoder.readBytes(byteBuffer);
+                    writeByteArray(byteBuffer.array(), byteBuffer.arrayOffset() + byteBuffer.position(),
+                                   byteBuffer.remaining());
+                }
+                case FIXED -> {
+                    byte[] bytes = new byte[valueSchema.getFixedSize()];
+                    decoder.readFixed(bytes);
+                    writeByteArray(bytes, 0, bytes.length);
+                }
+                case ARRAY -> {
+                    generator.writeStartArray();
+                    pending.push(new Blocks(valueSchema.getElementType(), false, decoder.readArrayStart()));
+                }
+                case MAP -> {
+                    generator.writeStartObject();
+                    pending.push(new Blocks(valueSchema.getValueType(), true, decoder.readMapStart()));
+                }
+                case RECORD -> {
+                    RecursionGuard.checkDepth(++emptyDepth);
+                    generator.writeStartObject();
+                    pending.push(END_OBJECT);
+                    List<Schema.Field> fields = valueSchema.getFields();
+                    for (int i = fields.size() - 1; i >= 0; i--) {
+                        pending.push(fields.get(i).schema());
+                        pending.push(fields.get(i).name());
+                    }
+                }
+                case UNION -> {
+                    List<Schema> branches = valueSchema.getTypes();
+                    pending.push(branches.get(decoder.readIndex()));
+                    emptyDepth = 0;
+                }
+            }
+        }
+    }
+
+    private void writeByteArray(byte[] bytes, int offset, int length) throws Exception {
+        generator.writeStartArray();
+        for (int i = offset; i < offset + length; i++) {
+            generator.writeNumber(bytes[i] & 0xFF);
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * The items of an array or a map which remain to be written.
+     */
+    private final class Blocks {
+
+        private final Schema itemSchema;
+        private final boolean hasKeys;
+        private long remaining;
+        private boolean blockEnded;
+
+        private Blocks(Schema itemSchema, boolean hasKeys, long count) {
+            this.itemSchema = itemSchema;
+            this.hasKeys = hasKeys;
+            this.remaining = count;
+        }
+
+        /**
+         * Moves the decoder to the next item, writing its key, or ends the array or the map.
+         *
+         * @return false if there are no more items
+         */
+        private boolean nextItem() throws Exception {
+            if (blockEnded) {
+                remaining = hasKeys ? decoder.mapNext() : decoder.arrayNext();
+            }
+            if (remaining == 0) {
+                if (hasKeys) {
+                    generator.writeEndObject();
+                } else {
+                    generator.writeEndArray();
+                }
+                return false;
+            }
+            remaining--;
+            blockEnded = remaining == 0;
+            if (hasKeys) {
+                generator.writeFieldName(decoder.readString());
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.ballerina.lib.avro.serialize.GrowableOutputStream;
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes a JSON document read from a JSON parser into Avro binary data. The accepted JSON has the same shape as
+ * the one written by {@link AvroToJsonTranscoder}. Record fields may appear in any order, unknown fields are
+ * ignored and missing fields are filled with their default values or with `null` when the field is nullable.
+ */
+public final class JsonToAvroTranscoder {
+
+    private static final int SCRATCH_BUFFER_SIZE = 64;
+
+    private final JsonParser parser;
+    private final List<GrowableOutputStream> scratchBuffers = new ArrayList<>();
+    private int depth = 0;
+
+    public JsonToAvroTranscoder(JsonParser parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * Encodes the next JSON value of the parser.
+     *
+     * @param schema  schema of the value
+     * @param encoder encoder to which the value is written
+     */
+    public void transcode(Schema schema, BinaryEncoder encoder) throws Exception {
+        if (parser.nextToken() == null) {
+            throw new AvroTypeException("Unexpected end of the JSON document");
+        }
+        transcodeCurrent(schema, encoder);
+    }
+
+    private void transcodeCurrent(Schema schema, BinaryEncoder encoder) throws Exception {
+        JsonToken token = parser.currentToken();
+        switch (schema.getType()) {
+            case NULL -> {
+                expect(schema, token == JsonToken.VALUE_NULL);
+                encoder.writeNull();
+            }
+            case BOOLEAN -> {
+                expect(schema, token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE);
+                encoder.writeBoolean(token == JsonToken.VALUE_TRUE);
+            }
+            case INT -> {
+                expect(schema, token == JsonToken.VALUE_NUMBER_INT);
+                encoder.writeInt(parser.getIntValue());
+            }
+            case LONG -> {
+                expect(schema, token == JsonToken.VALUE_NUMBER_INT);
+                encoder.writeLong(parser.getLongValue());
+            }
+            case FLOAT -> {
+                expect(schema, token.isNumeric());
+                encoder.writeFloat(parser.getFloatValue());
+            }
+            case DOUBLE -> {
+                expect(schema, token.isNumeric());
+                encoder.writeDouble(parser.getDoubleValue());
+            }
+            case STRING -> {
+                expect(schema, token == JsonToken.VALUE_STRING);
+                encoder.writeString(parser.getText());
+            }
+            case ENUM -> {
+                expect(schema, token == JsonToken.VALUE_STRING);
+                String symbol = parser.getText();
+                if (!schema.hasEnumSymbol(symbol)) {
+                    throw new AvroTypeException("Value '" + symbol + "' is not a symbol of the enum '"
+                                                        + schema.getFullName() + "'");
+                }
+                encoder.writeEnum(schema.getEnumOrdinal(symbol));
+            }
+            case BYTES -> {
+                expect(schema, token == JsonToken.START_ARRAY);
+                GrowableOutputStream bytes = readByteArray();
+                encoder.writeBytes(bytes.getBuffer(), 0, bytes.size());
+                depth--;
+            }
+            case FIXED -> {
+                expect(schema, token == JsonToken.START_ARRAY);
+                GrowableOutputStream bytes = readByteArray();
+                if (bytes.size() != schema.getFixedSize()) {
+                    throw new AvroTypeException("Expected " + schema.getFixedSize() + " bytes for the fixed type '"
+                                                        + schema.getFullName() + "' but found " + bytes.size());
+                }
+                encoder.writeFixed(bytes.getBuffer(), 0, bytes.size());
+                depth--;
+            }
+            case ARRAY -> {
+                expect(schema, token == JsonToken.START_ARRAY);
+                transcodeArray(schema.getElementType(), encoder);
+            }
+            case MAP -> {
+                expect(schema, token == JsonToken.START_OBJECT);
+                transcodeMap(schema.getValueType(), encoder);
+            }
+            case RECORD -> {
+                expect(schema, token == JsonToken.START_OBJECT);
+                transcodeRecord(schema, encoder);
+            }
+            case UNION -> {
+                int branch = resolveUnion(schema, token);
+                encoder.writeIndex(branch);
+                transcodeCurrent(schema.getTypes().get(branch), encoder);
+            }
+        }
+    }
+
+    private void transcodeArray(Schema elementSchema, BinaryEncoder encoder) throws Exception {
+        GrowableOutputStream items = acquireScratchBuffer();
+        BinaryEncoder itemEncoder = EncoderFactory.get().directBinaryEncoder(items, null);
+        long count = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            transcodeCurrent(elementSchema, itemEncoder);
+            count++;
+        }
+        writeBlock(encoder, items, count);
+        depth--;
+    }
+
+    private void transcodeMap(Schema valueSchema, BinaryEncoder encoder) throws Exception {
+        GrowableOutputStream entries = acquireScratchBuffer();
+        BinaryEncoder entryEncoder = EncoderFactory.get().directBinaryEncoder(entries, null);
+        long count = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            entryEncoder.writeString(parser.currentName());
+            transcode(valueSchema, entryEncoder);
+            count++;
+        }
+        writeBlock(encoder, entries, count);
+        depth--;
+    }
+
+    private void transcodeRecord(Schema schema, BinaryEncoder encoder) throws Exception {
+        List<Schema.Field> fields = schema.getFields();
+        GrowableOutputStream[] pendingFields = null;
+        int next = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            Schema.Field field = schema.getField(parser.currentName());
+            parser.nextToken();
+            if (field == null) {
+                parser.skipChildren();
+                continue;
+            }
+            int position = field.pos();
+            if (position < next || (pendingFields != null && pendingFields[position] != null)) {
+                throw new AvroTypeException("Duplicate field '" + field.name() + "' in the JSON document");
+            }
+            if (position == next) {
+                transcodeCurrent(field.schema(), encoder);
+                next++;
+                while (pendingFields != null && next < fields.size() && pendingFields[next] != null) {
+                    encoder.writeFixed(pendingFields[next].getBuffer(), 0, pendingFields[next].size());
+                    next++;
+                }
+            } else {
+                if (pendingFields == null) {
+                    pendingFields = new GrowableOutputStream[fields.size()];
+                }
+                GrowableOutputStream fieldBuffer = new GrowableOutputStream(SCRATCH_BUFFER_SIZE);
+                transcodeCurrent(field.schema(), EncoderFactory.get().directBinaryEncoder(fieldBuffer, null));
+                pendingFields[position] = fieldBuffer;
+            }
+        }
+        for (; next < fields.size(); next++) {
+            if (pendingFields != null && pendingFields[next] != null) {
+                encoder.writeFixed(pendingFields[next].getBuffer(), 0, pendingFields[next].size());
+            } else {
+                writeDefaultValue(fields.get(next), encoder);
+            }
+        }
+    }
+
+    private void writeDefaultValue(Schema.Field field, BinaryEncoder encoder) throws Exception {
+        if (field.hasDefaultValue()) {
+            Object defaultValue = GenericData.get().getDefaultValue(field);
+            new GenericDatumWriter<>(field.schema()).write(defaultValue, encoder);
+            return;
+        }
+        Schema fieldSchema = field.schema();
+        if (fieldSchema.getType() == Schema.Type.NULL) {
+            encoder.writeNull();
+            return;
+        }
+        if (fieldSchema.getType() == Schema.Type.UNION) {
+            Integer nullBranch = fieldSchema.getIndexNamed(Schema.Type.NULL.getName());
+            if (nullBranch != null) {
+                encoder.writeIndex(nullBranch);
+                return;
+            }
+        }
+        throw new AvroTypeException("Missing required field '" + field.name() + "' in the JSON document");
+    }
+
+    private GrowableOutputStream readByteArray() throws Exception {
+        GrowableOutputStream bytes = acquireScratchBuffer();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() != JsonToken.VALUE_NUMBER_INT) {
+                throw new AvroTypeException("Expected a byte value but found " + parser.currentToken());
+            }
+            int value = parser.getIntValue();
+            if (value < 0 || value > 0xFF) {
+                throw new AvroTypeException("Value " + value + " is out of the range of a byte");
+            }
+            bytes.write(value);
+        }
+        return bytes;
+    }
+
+    private int resolveUnion(Schema schema, JsonToken token) throws Exception {
+        List<Schema> branches = schema.getTypes();
+        for (int i = 0; i < branches.size(); i++) {
+            Schema branch = branches.get(i);
+            boolean matches = switch (branch.getType()) {
+                case NULL -> token == JsonToken.VALUE_NULL;
+                case BOOLEAN -> token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE;
+                case INT -> token == JsonToken.VALUE_NUMBER_INT
+                        && parser.getNumberType() == JsonParser.NumberType.INT;
+                case LONG -> token == JsonToken.VALUE_NUMBER_INT
+                        && parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER;
+                case FLOAT, DOUBLE -> token.isNumeric();
+                case STRING -> token == JsonToken.VALUE_STRING;
+                case ENUM -> token == JsonToken.VALUE_STRING && branch.hasEnumSymbol(parser.getText());
+                case ARRAY, BYTES, FIXED -> token == JsonToken.START_ARRAY;
+                case MAP, RECORD -> token == JsonToken.START_OBJECT;
+                case UNION -> false;
+            };
+            if (matches) {
+                return i;
+            }
+        }
+        throw new AvroTypeException("JSON value of type " + token + " does not match with the Avro union types");
+    }
+
+    private GrowableOutputStream acquireScratchBuffer() {
+        if (depth == scratchBuffers.size()) {
+            scratchBuffers.add(new GrowableOutputStream(SCRATCH_BUFFER_SIZE));
+        }
+        GrowableOutputStream buffer = scratchBuffers.get(depth++);
+        buffer.reset();
+        return buffer;
+    }
+
+    private static void writeBlock(BinaryEncoder encoder, GrowableOutputStream items, long count) throws Exception {
+        encoder.writeArrayStart();
+        encoder.setItemCount(count);
+        encoder.writeFixed(items.getBuffer(), 0, items.size());
+        encoder.writeArrayEnd();
+    }
+
+    private static void expect(Schema schema, boolean matches) throws AvroTypeException {
+        if (!matches) {
+            throw new AvroTypeException("Expected a JSON value of the Avro type '" + schema.getType().getName()
+                                                + "'");
+        }
+    }
+}
@@ -0,0 +1,455 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.plan;
+
+import io.ballerina.lib.avro.Utils;
+import io.ballerina.lib.avro.deserialize.visitor.DeserializeVisitor;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.TypeTags;
+import io.ballerina.runtime.api.types.UnionType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BRefValue;
+import io.ballerina.runtime.api.values.BString;
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.Schema;
+import org.apache.avro.io.Decoder;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles an Avro schema and a Ballerina target type into a {@link DecodePlan} which creates the typed Ballerina
+ * value while reading, instead of reading a generic Avro datum and converting it with the {@link DeserializeVisitor}.
+ * A plan is only compiled when the schema maps to the target type without ambiguity. Other combinations are left
+ * to the visitor path. Every record schema is compiled once per record type, and records which refer to themselves
+ * share a single plan. A record plan reads the records nested in its fields and union branches from a work stack
+ * instead of calling their plans, so that their nesting is only bounded by the data.
+ */
+public final class DecodePlanCompiler {
+
+    private final Map<RecordKey, DecodePlan> recordPlans = new HashMap<>();
+    private final List<RecordKey> compiledRecords = new ArrayList<>();
+
+    private DecodePlanCompiler() {
+    }
+
+    /**
+     * Compiles the plan for a value of the given type.
+     *
+     * @param schema schema of the encoded value
+     * @param type   expected Ballerina type
+     * @return the compiled plan, or null if the value has to be decoded through the visitor path
+     */
+    public static DecodePlan compile(Schema schema, Type type) {
+        return new DecodePlanCompiler().compileValue(schema, type);
+    }
+
+    private DecodePlan compileValue(Schema schema, Type type) {
+        Type referredType = TypeUtils.getReferredType(type);
+        if (referredType.getTag() == TypeTags.INTERSECTION_TAG) {
+            DecodePlan mutablePlan = compileValue(schema, Utils.getMutableType(referredType));
+            return mutablePlan == null ? null : decoder -> freeze(mutablePlan.read(decoder));
+        }
+        if (schema.getType() == Schema.Type.UNION) {
+            return compileUnion(schema, referredType);
+        }
+        if (referredType.getTag() == TypeTags.UNION_TAG) {
+            return compileUnionMember(schema, (UnionType) referredType);
+        }
+        if (referredType.isReadOnly() && !isPrimitiveSchema(schema)) {
+            return null;
+        }
+        return switch (schema.getType()) {
+            case NULL -> accepts(referredType, TypeTags.NULL_TAG) ? decoder -> {
+                decoder.readNull();
+                return null;
+            } : null;
+            case BOOLEAN -> accepts(referredType, TypeTags.BOOLEAN_TAG) ? Decoder::readBoolean : null;
+            case INT -> accepts(referredType, TypeTags.INT_TAG) ? decoder -> (long) decoder.readInt() : null;
+            case LONG -> accepts(referredType, TypeTags.INT_TAG) ? Decoder::readLong : null;
+            case FLOAT -> accepts(referredType, TypeTags.FLOAT_TAG) ? decoder -> (double) decoder.readFloat() : null;
+            case DOUBLE -> accepts(referredType, TypeTags.FLOAT_TAG) ? Decoder::readDouble : null;
+            case STRING -> accepts(referredType, TypeTags.STRING_TAG)
+                    ? decoder -> StringUtils.fromString(decoder.readString()) : null;
+            case ENUM -> accepts(referredType, TypeTags.STRING_TAG) ? compileEnum(schema) : null;
+            case BYTES -> isByteArrayType(referredType)
+                    ? decoder -> ValueCreator.createArrayValue(readBytes(decoder)) : null;
+            case FIXED -> isByteArrayType(referredType) ? compileFixed(schema) : null;
+            case ARRAY -> referredType.getTag() == TypeTags.ARRAY_TAG
+                    ? compileArray(schema, (ArrayType) referredType) : null;
+            case MAP -> referredType.getTag() == TypeTags.MAP_TAG
+                    ? compileMap(schema, (MapType) referredType) : null;
+            case RECORD -> referredType.getTag() == TypeTags.RECORD_TYPE_TAG
+                    ? compileRecord(schema, (RecordType) referredType) : null;
+            case UNION -> null;
+        };
+    }
+
+    private static DecodePlan compileEnum(Schema schema) {
+        List<String> symbols = schema.getEnumSymbols();
+        BString[] values = new BString[symbols.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = StringUtils.fromString(symbols.get(i));
+        }
+        return decoder -> values[decoder.readEnum()];
+    }
+
+    private static DecodePlan compileFixed(Schema schema) {
+        int size = schema.getFixedSize();
+        return decoder -> {
+            byte[] bytes = new byte[size];
+            decoder.readFixed(bytes);
+            return ValueCreator.createArrayValue(bytes);
+        };
+    }
+
+    private DecodePlan compileArray(Schema schema, ArrayType arrayType) {
+        if (arrayType.getState() != ArrayType.ArrayState.OPEN) {
+            return null;
+        }
+        Type elementType = TypeUtils.getReferredType(arrayType.getElementType());
+        ElementReader elementReader = switch (schema.getElementType().getType()) {
+            case INT -> elementType.getTag() == TypeTags.INT_TAG
+                    ? (decoder, array, index) -> array.add(index, (long) decoder.readInt()) : null;
+            case LONG -> elementType.getTag() == TypeTags.INT_TAG
+                    ? (decoder, array, index) -> array.add(index, decoder.readLong()) : null;
+            case FLOAT -> elementType.getTag() == TypeTags.FLOAT_TAG
+                    ? (decoder, array, index) -> array.add(index, (double) decoder.readFloat()) : null;
+            case DOUBLE -> elementType.getTag() == TypeTags.FLOAT_TAG
+                    ? (decoder, array, index) -> array.add(index, decoder.readDouble()) : null;
+            case BOOLEAN -> elementType.getTag() == TypeTags.BOOLEAN_TAG
+                    ? (decoder, array, index) -> array.add(index, decoder.readBoolean()) : null;
+            default -> null;
+        };
+        if (elementReader == null) {
+            DecodePlan elementPlan = compileValue(schema.getElementType(), arrayType.getElementType());
+            if (elementPlan == null) {
+                return null;
+            }
+            elementReader = (decoder, array, index) -> array.add(index, elementPlan.read(decoder));
+        }
+        ElementReader reader = elementReader;
+        return decoder -> {
+            BArray array = ValueCreator.createArrayValue(arrayType);
+            long index = 0;
+            for (long count = decoder.readArrayStart(); count != 0; count = decoder.arrayNext()) {
+                for (long i = 0; i < count; i++) {
+                    reader.read(decoder, array, index++);
+                }
+            }
+            return array;
+        };
+    }
+
+    private DecodePlan compileMap(Schema schema, MapType mapType) {
+        DecodePlan valuePlan = compileValue(schema.getValueType(), mapType.getConstrainedType());
+        if (valuePlan == null) {
+            return null;
+        }
+        return decoder -> {
+            BMap<BString, Object> map = ValueCreator.createMapValue(mapType);
+            for (long count = decoder.readMapStart(); count != 0; count = decoder.mapNext()) {
+                for (long i = 0; i < count; i++) {
+                    BString key = StringUtils.fromString(decoder.readString());
+                    map.put(key, valuePlan.read(decoder));
+                }
+            }
+            return map;
+        };
+    }
+
+    private DecodePlan compileRecord(Schema schema, RecordType recordType) {
+        RecordKey key = new RecordKey(schema, recordType);
+        if (recordPlans.containsKey(key)) {
+            DecodePlan compiled = recordPlans.get(key);
+            if (compiled instanceof RecursiveRecordPlan recursivePlan) {
+                recursivePlan.referenced = true;
+            }
+            return compiled;
+        }
+        RecursiveRecordPlan recursivePlan = new RecursiveRecordPlan();
+        int mark = compiledRecords.size();
+        recordPlans.put(key, recursivePlan);
+        compiledRecords.add(key);
+        RecordPlan plan = compileFields(schema, recordType);
+        if (plan == null) {
+            // Records compiled since may refer to the plan of this record, which will never be completed.
+            List<RecordKey> incomplete = compiledRecords.subList(mark, compiledRecords.size());
+            incomplete.forEach(recordPlans::remove);
+            incomplete.clear();
+            recordPlans.put(key, null);
+            compiledRecords.add(key);
+            return null;
+        }
+        if (!recursivePlan.referenced) {
+            recordPlans.put(key, plan);
+            return plan;
+        }
+        recursivePlan.target = plan;
+        return recursivePlan;
+    }
+
+    private RecordPlan compileFields(Schema schema, RecordType recordType) {
+        Map<String, Field> recordFields = recordType.getFields();
+        for (Map.Entry<String, Field> recordField : recordFields.entrySet()) {
+            if (schema.getField(recordField.getKey()) == null
+                    && SymbolFlags.isFlagOn(recordField.getValue().getFlags(), SymbolFlags.REQUIRED)) {
+                return null;
+            }
+        }
+        List<Schema.Field> fields = schema.getFields();
+        BString[] keys = new BString[fields.size()];
+        DecodePlan[] fieldPlans = new DecodePlan[fields.size()];
+        for (int i = 0; i < fields.size(); i++) {
+            Schema.Field field = fields.get(i);
+            Field recordField = recordFields.get(field.name());
+            Type fieldType;
+            if (recordField != null) {
+                fieldType = recordField.getFieldType();
+            } else if (!recordType.isSealed()) {
+                fieldType = recordType.getRestFieldType();
+            } else {
+                return null;
+            }
+            keys[i] = StringUtils.fromString(field.name());
+            fieldPlans[i] = compileValue(field.schema(), fieldType);
+            if (fieldPlans[i] == null) {
+                return null;
+            }
+        }
+        return new RecordPlan(recordType, keys, fieldPlans);
+    }
+
+    private DecodePlan compileUnion(Schema schema, Type type) {
+        List<Schema> branches = schema.getTypes();
+        DecodePlan[] branchPlans = new DecodePlan[branches.size()];
+        int compiledBranches = 0;
+        for (int i = 0; i < branchPlans.length; i++) {
+            branchPlans[i] = compileValue(branches.get(i), type);
+            if (branchPlans[i] != null) {
+                compiledBranches++;
+            } else if (branches.get(i).getType() == Schema.Type.NULL) {
+                // The visitor path fails on a null value of a type without nil as well.
+                branchPlans[i] = decoder -> {
+                    throw new AvroTypeException("The value is null, which is not a value of the expected type");
+                };
+            } else {
+                return null;
+            }
+        }
+        return compiledBranches == 0 ? null : new UnionPlan(branchPlans);
+    }
+
+    private DecodePlan compileUnionMember(Schema schema, UnionType unionType) {
+        DecodePlan selectedPlan = null;
+        int matchingMembers = 0;
+        for (Type memberType : unionType.getMemberTypes()) {
+            DecodePlan plan = compileValue(schema, memberType);
+            if (plan != null) {
+                selectedPlan = selectedPlan == null ? plan : selectedPlan;
+                matchingMembers++;
+            }
+        }
+        if (matchingMembers > 1 && !isPrimitiveSchema(schema)) {
+            return null;
+        }
+        return selectedPlan;
+    }
+
+    private static boolean accepts(Type type, int tag) {
+        return switch (type.getTag()) {
+            case TypeTags.ANYDATA_TAG, TypeTags.JSON_TAG, TypeTags.ANY_TAG -> true;
+            default -> type.getTag() == tag;
+        };
+    }
+
+    private static boolean isByteArrayType(Type type) {
+        if (type.getTag() == TypeTags.ANYDATA_TAG || type.getTag() == TypeTags.ANY_TAG) {
+            return true;
+        }
+        return type.getTag() == TypeTags.ARRAY_TAG && ((ArrayType) type).getState() == ArrayType.ArrayState.OPEN
+                && TypeUtils.getReferredType(((ArrayType) type).getElementType()).getTag() == TypeTags.BYTE_TAG;
+    }
+
+    private static boolean isPrimitiveSchema(Schema schema) {
+        return switch (schema.getType()) {
+            case RECORD, ARRAY, MAP, UNION -> false;
+            default -> true;
+        };
+    }
+
+    private static byte[] readBytes(Decoder decoder) throws Exception {
+        ByteBuffer buffer = decoder.readBytes(null);
+        if (buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.position() == 0
+                && buffer.remaining() == buffer.array().length) {
+            return buffer.array();
+        }
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static Object freeze(Object value) {
+        if (value instanceof BRefValue refValue) {
+            refValue.freezeDirect();
+        }
+        return value;
+    }
+
+    /**
+     * Identifies a record schema and a record type by identity, as recursive schemas and types are not compared
+     * cheaply by value.
+     */
+    private record RecordKey(Schema schema, RecordType type) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof RecordKey key && key.schema == schema && key.type == type;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(schema) + System.identityHashCode(type);
+        }
+    }
+
+    private static RecordPlan asRecordPlan(DecodePlan plan) {
+        if (plan instanceof RecordPlan recordPlan) {
+            return recordPlan;
+        }
+        return plan instanceof RecursiveRecordPlan recursivePlan ? recursivePlan.target : null;
+    }
+
+    private static final class RecordPlan implements DecodePlan {
+
+        private final RecordType recordType;
+        private final BString[] keys;
+        private final DecodePlan[] fieldPlans;
+
+        private RecordPlan(RecordType recordType, BString[] keys, DecodePlan[] fieldPlans) {
+            this.recordType = recordType;
+            this.keys = keys;
+            this.fieldPlans = fieldPlans;
+        }
+
+        @Override
+        public Object read(Decoder decoder) throws Exception {
+            RecordPlan plan = this;
+            BMap<BString, Object> root = ValueCreator.createRecordValue(recordType);
+            BMap<BString, Object> record = root;
+            int position = 0;
+            int emptyDepth = 0;
+            Deque<Frame> parents = null;
+            while (true) {
+                if (position == plan.keys.length) {
+                    if (parents == null || parents.isEmpty()) {
+                        return root;
+                    }
+                    Frame parent = parents.pop();
+                    plan = parent.plan;
+                    record = parent.record;
+                    position = parent.position;
+                    emptyDepth = parent.emptyDepth;
+                    continue;
+                }
+                BString key = plan.keys[position];
+                DecodePlan fieldPlan = plan.fieldPlans[position++];
+                int nestedEmptyDepth = emptyDepth + 1;
+                if (fieldPlan instanceof UnionPlan unionPlan) {
+                    fieldPlan = unionPlan.branchPlans[decoder.readIndex()];
+                    nestedEmptyDepth = 0;
+                }
+                RecordPlan nestedPlan = asRecordPlan(fieldPlan);
+                if (nestedPlan == null) {
+                    record.put(key, fieldPlan.read(decoder));
+                    continue;
+                }
+                // Only a record nested in a record field reads no data before its fields, and a schema which nests
+                // such records without end has no finite values.
+                RecursionGuard.checkDepth(nestedEmptyDepth);
+                BMap<BString, Object> nestedRecord = ValueCreator.createRecordValue(nestedPlan.recordType);
+                record.put(key, nestedRecord);
+                if (parents == null) {
+                    parents = new ArrayDeque<>();
+                }
+                parents.push(new Frame(plan, record, position, emptyDepth));
+                plan = nestedPlan;
+                record = nestedRecord;
+                position = 0;
+                emptyDepth = nestedEmptyDepth;
+            }
+        }
+    }
+
+    private static final class UnionPlan implements DecodePlan {
+
+        private final DecodePlan[] branchPlans;
+
+        private UnionPlan(DecodePlan[] branchPlans) {
+            this.branchPlans = branchPlans;
+        }
+
+        @Override
+        public Object read(Decoder decoder) throws Exception {
+            return branchPlans[decoder.readIndex()].read(decoder);
+        }
+    }
+
+    private static final class RecursiveRecordPlan implements DecodePlan {
+
+        private RecordPlan target;
+        private boolean referenced;
+
+        @Override
+        public Object read(Decoder decoder) throws Exception {
+            RecursionGuard.Depth depth = RecursionGuard.enter();
+            try {
+                return target.read(decoder);
+            } finally {
+                depth.exit();
+            }
+        }
+    }
+
+    /**
+     * A record whose fields are read up to the position, while a record nested in its previous field is read.
+     */
+    private record Frame(RecordPlan plan, BMap<BString, Object> record, int position, int emptyDepth) {
+    }
+
+    @FunctionalInterface
+    private interface ElementReader {
+
+        void read(Decoder decoder, BArray array, long index) throws Exception;
+    }
+}
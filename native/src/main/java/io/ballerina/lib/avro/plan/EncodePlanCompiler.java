@@ -0,0 +1,430 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.plan;
+
+import io.ballerina.lib.avro.serialize.visitor.SerializeVisitor;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.Schema;
+import org.apache.avro.io.Encoder;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles an Avro schema into an {@link EncodePlan} which produces the same encoding as converting the value
+ * with the {@link SerializeVisitor} and writing it with a generic datum writer, without building the intermediate
+ * Avro objects. Schemas whose visitor conversion is not reproduced here are left to the visitor path. Every record
+ * schema is compiled once, and records which refer to themselves share a single plan. A record plan writes the
+ * records nested in its fields and union branches from a work stack instead of calling their plans, and checks the
+ * value for reference cycles once it is nested deeper than the limit of the {@link RecursionGuard}.
+ */
+public final class EncodePlanCompiler {
+
+    private final Map<Schema, EncodePlan> recordPlans = new IdentityHashMap<>();
+
+    private EncodePlanCompiler() {
+    }
+
+    /**
+     * Compiles the plan for a top level value.
+     *
+     * @param schema schema of the value
+     * @return the compiled plan, or null if the value has to be encoded through the visitor path
+     */
+    public static EncodePlan compile(Schema schema) {
+        return new EncodePlanCompiler().compileValue(schema);
+    }
+
+    private EncodePlan compileValue(Schema schema) {
+        return switch (schema.getType()) {
+            case NULL -> (data, encoder) -> {
+                if (data != null) {
+                    throw new Exception("The value does not match with the null schema");
+                }
+                encoder.writeNull();
+            };
+            case BOOLEAN -> (data, encoder) -> encoder.writeBoolean((Boolean) data);
+            case INT -> (data, encoder) -> encoder.writeInt(((Number) data).intValue());
+            case LONG -> (data, encoder) -> encoder.writeLong(((Number) data).longValue());
+            case FLOAT -> (data, encoder) -> encoder.writeFloat(((Number) data).floatValue());
+            case DOUBLE -> (data, encoder) -> {
+                if (data instanceof BDecimal decimalValue) {
+                    encoder.writeDouble(decimalValue.floatValue());
+                } else {
+                    encoder.writeDouble(((Number) data).doubleValue());
+                }
+            };
+            case STRING -> (data, encoder) -> encoder.writeString(data.toString());
+            case BYTES -> (data, encoder) -> writeBytes((BArray) data, encoder);
+            case FIXED -> compileFixed(schema);
+            case ENUM -> compileEnum(schema);
+            case RECORD -> compileRecord(schema);
+            case MAP -> compileMap(schema);
+            case ARRAY -> compileArray(schema);
+            case UNION -> compileUnion(schema);
+        };
+    }
+
+    private static EncodePlan compileFixed(Schema schema) {
+        int size = schema.getFixedSize();
+        return (data, encoder) -> {
+            byte[] bytes = ((BArray) data).getByteArray();
+            if (bytes.length < size) {
+                throw new AvroTypeException("Expected " + size + " bytes for the fixed type '"
+                                                    + schema.getFullName() + "' but found " + bytes.length);
+            }
+            encoder.writeFixed(bytes, 0, size);
+        };
+    }
+
+    private static EncodePlan compileEnum(Schema schema) {
+        Map<String, Integer> ordinals = new HashMap<>();
+        List<String> symbols = schema.getEnumSymbols();
+        for (int i = 0; i < symbols.size(); i++) {
+            ordinals.put(symbols.get(i), i);
+        }
+        return (data, encoder) -> {
+            Integer ordinal = ordinals.get(data.toString());
+            if (ordinal == null) {
+                throw new AvroTypeException("Value '" + data + "' is not a symbol of the enum '"
+                                                    + schema.getFullName() + "'");
+            }
+            encoder.writeEnum(ordinal);
+        };
+    }
+
+    private EncodePlan compileRecord(Schema schema) {
+        EncodePlan compiled = recordPlans.get(schema);
+        if (compiled instanceof RecursiveRecordPlan recursivePlan) {
+            recursivePlan.referenced = true;
+        }
+        if (compiled != null) {
+            return compiled;
+        }
+        RecursiveRecordPlan recursivePlan = new RecursiveRecordPlan();
+        recordPlans.put(schema, recursivePlan);
+        RecordPlan plan = compileFields(schema);
+        if (plan == null || !recursivePlan.referenced) {
+            recordPlans.put(schema, plan);
+            return plan;
+        }
+        recursivePlan.target = plan;
+        return recursivePlan;
+    }
+
+    private RecordPlan compileFields(Schema schema) {
+        List<Schema.Field> fields = schema.getFields();
+        BString[] keys = new BString[fields.size()];
+        EncodePlan[] fieldPlans = new EncodePlan[fields.size()];
+        for (int i = 0; i < fields.size(); i++) {
+            keys[i] = StringUtils.fromString(fields.get(i).name());
+            fieldPlans[i] = compileValue(fields.get(i).schema());
+            if (fieldPlans[i] == null) {
+                return null;
+            }
+        }
+        return new RecordPlan(keys, fieldPlans);
+    }
+
+    private EncodePlan compileMap(Schema schema) {
+        Schema.Type valueType = schema.getValueType().getType();
+        if (valueType == Schema.Type.UNION || valueType == Schema.Type.NULL) {
+            return null;
+        }
+        EncodePlan valuePlan = compileValue(schema.getValueType());
+        if (valuePlan == null) {
+            return null;
+        }
+        return (data, encoder) -> {
+            BMap<?, ?> map = (BMap<?, ?>) data;
+            Object[] keys = map.getKeys();
+            encoder.writeMapStart();
+            encoder.setItemCount(keys.length);
+            for (Object key : keys) {
+                encoder.startItem();
+                encoder.writeString(key.toString());
+                valuePlan.write(map.get(key), encoder);
+            }
+            encoder.writeMapEnd();
+        };
+    }
+
+    private EncodePlan compileArray(Schema schema) {
+        Schema elementSchema = schema.getElementType();
+        return switch (elementSchema.getType()) {
+            case NULL, UNION -> null;
+            case INT -> (data, encoder) -> {
+                BArray array = (BArray) data;
+                long[] values = array.getIntArray();
+                startArray(encoder, array.size());
+                for (int i = 0; i < array.size(); i++) {
+                    encoder.startItem();
+                    encoder.writeInt((int) values[i]);
+                }
+                encoder.writeArrayEnd();
+            };
+            case LONG -> (data, encoder) -> {
+                BArray array = (BArray) data;
+                long[] values = array.getIntArray();
+                startArray(encoder, array.size());
+                for (int i = 0; i < array.size(); i++) {
+                    encoder.startItem();
+                    encoder.writeLong(values[i]);
+                }
+                encoder.writeArrayEnd();
+            };
+            case FLOAT -> (data, encoder) -> {
+                BArray array = (BArray) data;
+                double[] values = array.getFloatArray();
+                startArray(encoder, array.size());
+                for (int i = 0; i < array.size(); i++) {
+                    encoder.startItem();
+                    encoder.writeFloat((float) values[i]);
+                }
+                encoder.writeArrayEnd();
+            };
+            case DOUBLE -> (data, encoder) -> {
+                BArray array = (BArray) data;
+                double[] values = array.getFloatArray();
+                startArray(encoder, array.size());
+                for (int i = 0; i < array.size(); i++) {
+                    encoder.startItem();
+                    encoder.writeDouble(values[i]);
+                }
+                encoder.writeArrayEnd();
+            };
+            case BOOLEAN -> (data, encoder) -> {
+                BArray array = (BArray) data;
+                boolean[] values = array.getBooleanArray();
+                startArray(encoder, array.size());
+                for (int i = 0; i < array.size(); i++) {
+                    encoder.startItem();
+                    encoder.writeBoolean(values[i]);
+                }
+                encoder.writeArrayEnd();
+            };
+            case STRING -> (data, encoder) -> {
+                BArray array = (BArray) data;
+                Object[] values = array.getStringArray();
+                startArray(encoder, array.size());
+                for (int i = 0; i < array.size(); i++) {
+                    encoder.startItem();
+                    encoder.writeString(values[i].toString());
+                }
+                encoder.writeArrayEnd();
+            };
+            case ENUM -> {
+                EncodePlan elementPlan = compileEnum(elementSchema);
+                yield (data, encoder) -> {
+                    BArray array = (BArray) data;
+                    Object[] values = array.getValues() == null ? array.getStringArray() : array.getValues();
+                    writeNonNullElements(values, array.size(), elementPlan, encoder);
+                };
+            }
+            default -> {
+                EncodePlan elementPlan = compileValue(elementSchema);
+                if (elementPlan == null) {
+                    yield null;
+                }
+                yield (data, encoder) -> {
+                    BArray array = (BArray) data;
+                    writeNonNullElements(array.getValues(), array.size(), elementPlan, encoder);
+                };
+            }
+        };
+    }
+
+    private EncodePlan compileUnion(Schema schema) {
+        List<Schema> branches = schema.getTypes();
+        SerializeVisitor serializeVisitor = new SerializeVisitor();
+        int[][] branchTags = new int[branches.size()][];
+        EncodePlan[] branchPlans = new EncodePlan[branches.size()];
+        for (int i = 0; i < branches.size(); i++) {
+            branchTags[i] = serializeVisitor.deriveBallerinaTag(branches.get(i)).stream()
+                    .mapToInt(Integer::intValue).toArray();
+            branchPlans[i] = compileValue(branches.get(i));
+            if (branchPlans[i] == null) {
+                return null;
+            }
+        }
+        return new UnionPlan(branchTags, branchPlans);
+    }
+
+    private static void writeBytes(BArray data, Encoder encoder) throws Exception {
+        encoder.writeBytes(data.getByteArray(), 0, data.size());
+    }
+
+    private static void startArray(Encoder encoder, int size) throws Exception {
+        encoder.writeArrayStart();
+        encoder.setItemCount(size);
+    }
+
+    private static void writeNonNullElements(Object[] values, int size, EncodePlan elementPlan,
+                                             Encoder encoder) throws Exception {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (values[i] != null) {
+                count++;
+            }
+        }
+        startArray(encoder, count);
+        for (int i = 0; i < size; i++) {
+            if (values[i] != null) {
+                encoder.startItem();
+                elementPlan.write(values[i], encoder);
+            }
+        }
+        encoder.writeArrayEnd();
+    }
+
+    private static RecordPlan asRecordPlan(EncodePlan plan) {
+        if (plan instanceof RecordPlan recordPlan) {
+            return recordPlan;
+        }
+        return plan instanceof RecursiveRecordPlan recursivePlan ? recursivePlan.target : null;
+    }
+
+    private static final class RecordPlan implements EncodePlan {
+
+        private final BString[] keys;
+        private final EncodePlan[] fieldPlans;
+
+        private RecordPlan(BString[] keys, EncodePlan[] fieldPlans) {
+            this.keys = keys;
+            this.fieldPlans = fieldPlans;
+        }
+
+        @Override
+        public void write(Object data, Encoder encoder) throws Exception {
+            RecordPlan plan = this;
+            BMap<?, ?> record = (BMap<?, ?>) data;
+            int position = 0;
+            Deque<Frame> parents = null;
+            int nextCycleCheck = RecursionGuard.getMaxDepth();
+            while (true) {
+                if (position == plan.keys.length) {
+                    if (parents == null || parents.isEmpty()) {
+                        return;
+                    }
+                    Frame parent = parents.pop();
+                    plan = parent.plan;
+                    record = parent.record;
+                    position = parent.position;
+                    continue;
+                }
+                Object value = record.get(plan.keys[position]);
+                EncodePlan fieldPlan = plan.fieldPlans[position++];
+                if (fieldPlan instanceof UnionPlan unionPlan) {
+                    int branch = unionPlan.selectBranch(value);
+                    encoder.writeIndex(branch);
+                    fieldPlan = unionPlan.branchPlans[branch];
+                }
+                RecordPlan nestedPlan = asRecordPlan(fieldPlan);
+                if (nestedPlan == null) {
+                    fieldPlan.write(value, encoder);
+                    continue;
+                }
+                if (parents == null) {
+                    parents = new ArrayDeque<>();
+                }
+                parents.push(new Frame(plan, record, position));
+                plan = nestedPlan;
+                record = (BMap<?, ?>) value;
+                position = 0;
+                if (parents.size() == nextCycleCheck) {
+                    checkAcyclic(parents, record);
+                    nextCycleCheck *= 2;
+                }
+            }
+        }
+
+        private static void checkAcyclic(Deque<Frame> parents, BMap<?, ?> record) {
+            // A record which contains itself would be nested without end. Checking at doubling depths finds such a
+            // cycle once the depth covers it, while an acyclic value is only scanned a constant number of times per
+            // level.
+            for (Frame parent : parents) {
+                if (parent.record == record) {
+                    throw new AvroTypeException("The value contains itself, so it cannot be encoded");
+                }
+            }
+        }
+    }
+
+    private static final class UnionPlan implements EncodePlan {
+
+        private final int[][] branchTags;
+        private final EncodePlan[] branchPlans;
+
+        private UnionPlan(int[][] branchTags, EncodePlan[] branchPlans) {
+            this.branchTags = branchTags;
+            this.branchPlans = branchPlans;
+        }
+
+        @Override
+        public void write(Object data, Encoder encoder) throws Exception {
+            int branch = selectBranch(data);
+            encoder.writeIndex(branch);
+            branchPlans[branch].write(data, encoder);
+        }
+
+        private int selectBranch(Object data) throws Exception {
+            int tag = TypeUtils.getType(data).getTag();
+            for (int i = 0; i < branchTags.length; i++) {
+                for (int branchTag : branchTags[i]) {
+                    if (branchTag == tag) {
+                        return i;
+                    }
+                }
+            }
+            throw new Exception("Value does not match with the Avro union types");
+        }
+    }
+
+    private static final class RecursiveRecordPlan implements EncodePlan {
+
+        private RecordPlan target;
+        private boolean referenced;
+
+        @Override
+        public void write(Object data, Encoder encoder) throws Exception {
+            RecursionGuard.Depth depth = RecursionGuard.enter();
+            try {
+                target.write(data, encoder);
+            } finally {
+                depth.exit();
+            }
+        }
+    }
+
+    /**
+     * A record whose fields are written up to the position, while a record nested in its previous field is written.
+     */
+    private record Frame(RecordPlan plan, BMap<?, ?> record, int position) {
+    }
+}
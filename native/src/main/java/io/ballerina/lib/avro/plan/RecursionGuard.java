@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.plan;
+
+import org.apache.avro.AvroTypeException;
+
+/**
+ * Bounds the nesting of values of recursive schemas. The plans keep the records which they are nested in on a work
+ * stack in the heap, so that a record nested through record fields and union branches does not use the stack of the
+ * calling thread. Records nested inside arrays and maps are still processed by plans which call themselves, and
+ * their depth is bounded by the `maxNestingDepth` configurable of the module so that hostile data is rejected with an
+ * error instead of overflowing the stack. The same limit bounds the records which are nested without any data in
+ * between, as only a schema without finite values nests them so deeply.
+ */
+public final class RecursionGuard {
+
+    public static final int DEFAULT_MAX_DEPTH = 1000;
+    private static final ThreadLocal<Depth> DEPTH = ThreadLocal.withInitial(Depth::new);
+    private static volatile int maxDepth = DEFAULT_MAX_DEPTH;
+
+    private RecursionGuard() {
+    }
+
+    /**
+     * Returns the number of levels to which a recursive value may be nested on the stack of the calling thread.
+     */
+    public static int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Sets the number of levels to which a recursive value may be nested on the stack of the calling thread.
+     *
+     * @throws IllegalArgumentException if the depth is not positive
+     */
+    public static void setMaxDepth(int depth) {
+        if (depth <= 0) {
+            throw new IllegalArgumentException("The maximum nesting depth must be positive: " + depth);
+        }
+        maxDepth = depth;
+    }
+
+    /**
+     * Enters a level of a recursive value on the current thread.
+     *
+     * @return the depth of the current thread, which has to be exited after the level
+     * @throws AvroTypeException if the value is nested deeper than the maximum depth
+     */
+    public static Depth enter() {
+        Depth depth = DEPTH.get();
+        if (depth.value >= maxDepth) {
+            throw tooDeep();
+        }
+        depth.value++;
+        return depth;
+    }
+
+    /**
+     * Checks the depth of a plan which tracks the depth itself instead of per thread.
+     *
+     * @throws AvroTypeException if the depth exceeds the maximum depth
+     */
+    public static void checkDepth(int depth) {
+        if (depth > maxDepth) {
+            throw tooDeep();
+        }
+    }
+
+    private static AvroTypeException tooDeep() {
+        return new AvroTypeException("The value is nested deeper than " + maxDepth
+                                             + " levels, which is the maximum nesting depth");
+    }
+
+    /**
+     * The number of levels of recursive values which the plans of a thread are processing.
+     */
+    public static final class Depth {
+
+        private int value;
+
+        public void exit() {
+            value--;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.ring;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A ring of length-prefixed frames in a memory-mapped file, through which processes on the same host exchange
+ * encoded values. Any number of producers append frames, and a single consumer takes them in the order in which
+ * they were reserved.
+ * <p>
+ * The file starts with a header holding the capacity of the ring, the tail up to which frames are reserved and the
+ * head up to which frames are consumed, each on its own cache line. Head and tail are positions in an unbounded
+ * sequence of bytes, whose offset in the ring is the position modulo the capacity. A producer reserves a frame by
+ * advancing the tail, copies the value into the frame and then publishes the frame by writing its length. A frame
+ * which does not fit before the end of the ring is preceded by a padding frame up to the end. The consumer waits for
+ * the length of the frame at the head, reads the value in place, clears the frame and advances the head, which frees
+ * the space for the producers. Lengths, head and tail are accessed with acquire and release semantics, so that the
+ * contents of a frame are visible to the consumer once its length is, and a cleared frame is visible to the producers
+ * once the head moves past it.
+ */
+public final class MappedRingBuffer implements Closeable {
+
+    private static final long MAGIC = 0x41766f52696e6701L;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int TAIL_OFFSET = 64;
+    private static final int HEAD_OFFSET = 128;
+    private static final int DATA_OFFSET = 192;
+    private static final int FRAME_HEADER_SIZE = 8;
+    private static final int FRAME_ALIGNMENT = 8;
+    private static final int MIN_CAPACITY = 1024;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 1000;
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class,
+                                                                                ByteOrder.nativeOrder());
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int mask;
+    private final ReentrantLock takeLock = new ReentrantLock();
+    private FileLock consumerLock;
+
+    private MappedRingBuffer(FileChannel channel, MappedByteBuffer buffer, int capacity) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Opens the ring in the given file, creating the file when it does not exist or is empty.
+     *
+     * @param capacity size of the ring in bytes, a power of two
+     * @throws IllegalArgumentException if the capacity is not valid, or the file is not a ring of the given capacity
+     */
+    public static MappedRingBuffer open(Path path, int capacity) throws IOException {
+        if (capacity < MIN_CAPACITY || capacity > MAX_CAPACITY || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("The capacity of a ring must be a power of two between " + MIN_CAPACITY
+                                                       + " and " + MAX_CAPACITY + " bytes, but is " + capacity);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                               StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer;
+            synchronized (MappedRingBuffer.class) {
+                FileLock lock = channel.lock(0, Long.BYTES, false);
+                try {
+                    long size = DATA_OFFSET + (long) capacity;
+                    boolean created = channel.size() == 0;
+                    if (!created && channel.size() != size) {
+                        throw notARing(path, capacity);
+                    }
+                    buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                    buffer.order(ByteOrder.nativeOrder());
+                    if (created) {
+                        buffer.putLong(CAPACITY_OFFSET, capacity);
+                        LONG.setRelease(buffer, 0, MAGIC);
+                    } else if ((long) LONG.getAcquire(buffer, 0) != MAGIC
+                            || buffer.getLong(CAPACITY_OFFSET) != capacity) {
+                        throw notARing(path, capacity);
+                    }
+                } finally {
+                    lock.release();
+                }
+            }
+            return new MappedRingBuffer(channel, buffer, capacity);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the largest value that fits in a frame.
+     */
+    public int getMaxLength() {
+        return capacity - FRAME_HEADER_SIZE;
+    }
+
+    /**
+     * Appends a frame with the given value, waiting for space while the ring is full. This method may be called
+     * concurrently, also by other processes.
+     *
+     * @return whether the frame was appended before the timeout elapsed
+     * @throws IllegalArgumentException if the value is larger than the maximum length
+     */
+    public boolean offer(byte[] value, int offset, int length, long timeoutNanos) {
+        if (length > getMaxLength()) {
+            throw new IllegalArgumentException("A value of " + length + " bytes does not fit in a ring of "
+                                                       + capacity + " bytes");
+        }
+        int frameLength = align(FRAME_HEADER_SIZE + length);
+        long deadline = System.nanoTime() + timeoutNanos;
+        int tries = 0;
+        while (true) {
+            long tail = (long) LONG.getAcquire(buffer, TAIL_OFFSET);
+            int index = (int) (tail & mask);
+            int reserved = Math.min(frameLength, capacity - index);
+            long head = (long) LONG.getAcquire(buffer, HEAD_OFFSET);
+            if (tail + reserved - head > capacity) {
+                if (!await(++tries, deadline)) {
+                    return false;
+                }
+                continue;
+            }
+            if (!LONG.compareAndSet(buffer, TAIL_OFFSET, tail, tail + reserved)) {
+                continue;
+            }
+            int frame = DATA_OFFSET + index;
+            if (reserved < frameLength) {
+                INT.setRelease(buffer, frame, -reserved);
+                continue;
+            }
+            buffer.put(frame + FRAME_HEADER_SIZE, value, offset, length);
+            INT.setRelease(buffer, frame, length + 1);
+            return true;
+        }
+    }
+
+    /**
+     * Takes the frame at the head of the ring, waiting for one while the ring is empty, and passes its value to the
+     * given reader. The frame is consumed even when the reader fails. Only a single consumer may take frames from a
+     * ring at a time, and concurrent calls on the same instance take frames one after the other.
+     *
+     * @return the result of the reader
+     * @throws IllegalStateException if another consumer has the ring open
+     * @throws TimeoutException      if no frame was published before the timeout elapsed
+     */
+    public <T> T poll(FrameReader<T> reader, long timeoutNanos) throws Exception {
+        acquireConsumer();
+        takeLock.lock();
+        try {
+            return take(reader, timeoutNanos);
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (consumerLock != null && consumerLock.isValid()) {
+            consumerLock.release();
+        }
+        channel.close();
+    }
+
+    private <T> T take(FrameReader<T> reader, long timeoutNanos) throws Exception {
+        long deadline = System.nanoTime() + timeoutNanos;
+        int tries = 0;
+        while (true) {
+            long head = (long) LONG.getAcquire(buffer, HEAD_OFFSET);
+            int frame = DATA_OFFSET + (int) (head & mask);
+            int header = (int) INT.getAcquire(buffer, frame);
+            if (header == 0) {
+                if (!await(++tries, deadline)) {
+                    throw new TimeoutException("No value was written to the ring before the timeout elapsed");
+                }
+                continue;
+            }
+            if (header < 0) {
+                release(head, frame, -header);
+                continue;
+            }
+            int length = header - 1;
+            try {
+                return reader.read(buffer.slice(frame + FRAME_HEADER_SIZE, length).asReadOnlyBuffer());
+            } finally {
+                release(head, frame, align(FRAME_HEADER_SIZE + length));
+            }
+        }
+    }
+
+    private synchronized void acquireConsumer() throws IOException {
+        if (consumerLock != null) {
+            return;
+        }
+        try {
+            consumerLock = channel.tryLock(HEAD_OFFSET, Long.BYTES, false);
+        } catch (OverlappingFileLockException e) {
+            consumerLock = null;
+        }
+        if (consumerLock == null) {
+            throw new IllegalStateException("The ring already has a consumer");
+        }
+    }
+
+    private void release(long head, int frame, int frameLength) {
+        for (int i = frame; i < frame + frameLength; i += Long.BYTES) {
+            buffer.putLong(i, 0);
+        }
+        LONG.setRelease(buffer, HEAD_OFFSET, head + frameLength);
+    }
+
+    private static IllegalArgumentException notARing(Path path, int capacity) {
+        return new IllegalArgumentException("File '" + path + "' is not a ring with a capacity of " + capacity
+                                                    + " bytes");
+    }
+
+    private static boolean await(int tries, long deadline) {
+        if (System.nanoTime() - deadline >= 0) {
+            return false;
+        }
+        if (tries < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (tries < SPIN_TRIES + YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+        return true;
+    }
+
+    private static int align(int length) {
+        return (length + FRAME_ALIGNMENT - 1) & -FRAME_ALIGNMENT;
+    }
+
+    /**
+     * Reads the value of a frame, which is only valid until the method returns.
+     */
+    @FunctionalInterface
+    public interface FrameReader<T> {
+
+        T read(ByteBuffer value) throws Exception;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.serialize;
+
+import java.io.OutputStream;
+
+/**
+ * Writes encoded bytes into a region of fixed capacity. Once the region is full, the remaining bytes are only counted
+ * so that the caller can report the size that would have been required.
+ */
+public abstract class BoundedOutputStream extends OutputStream {
+
+    private final int capacity;
+    private long count;
+
+    protected BoundedOutputStream(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public final void write(int b) {
+        if (count < capacity) {
+            writeAt((int) count, (byte) b);
+        }
+        count++;
+    }
+
+    @Override
+    public final void write(byte[] bytes, int off, int length) {
+        int writable = (int) Math.min(length, capacity - count);
+        if (writable > 0) {
+            writeAt((int) count, bytes, off, writable);
+        }
+        count += length;
+    }
+
+    /**
+     * Writes a byte at the given position of the region, which is within the capacity.
+     */
+    protected abstract void writeAt(int position, byte b);
+
+    /**
+     * Writes bytes at the given position of the region, which fit within the capacity.
+     */
+    protected abstract void writeAt(int position, byte[] bytes, int off, int length);
+
+    public boolean isOverflowed() {
+        return count > capacity;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
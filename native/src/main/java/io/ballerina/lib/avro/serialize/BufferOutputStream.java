@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.serialize;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Writes encoded bytes into a byte buffer, which may be a direct buffer, between its position and its limit. The
+ * position of the given buffer is not changed. Once the buffer is full, the remaining bytes are only counted so that
+ * the caller can report the size that would have been required.
+ */
+public final class BufferOutputStream extends BoundedOutputStream {
+
+    private final ByteBuffer target;
+    private final int start;
+
+    public BufferOutputStream(ByteBuffer target) {
+        super(target.remaining());
+        this.target = target.duplicate();
+        this.start = target.position();
+    }
+
+    @Override
+    protected void writeAt(int position, byte b) {
+        target.put(start + position, b);
+    }
+
+    @Override
+    protected void writeAt(int position, byte[] bytes, int off, int length) {
+        target.put(start + position, bytes, off, length);
+    }
+}
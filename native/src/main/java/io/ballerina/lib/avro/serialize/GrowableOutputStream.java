@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.serialize;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * An unsynchronized, growable output stream which exposes its buffer so that the encoded bytes can be handed
+ * over without an additional copy when the buffer was sized exactly.
+ */
+public final class GrowableOutputStream extends OutputStream {
+
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private byte[] buffer;
+    private int count;
+
+    public GrowableOutputStream(int initialCapacity) {
+        this.buffer = new byte[Math.max(initialCapacity, 1)];
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(count + 1);
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+        ensureCapacity(count + length);
+        System.arraycopy(bytes, offset, buffer, count, length);
+        count += length;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    public void reset() {
+        count = 0;
+    }
+
+    /**
+     * Discards the bytes written after the given size.
+     *
+     * @param size number of bytes to keep
+     */
+    public void truncate(int size) {
+        if (size < 0 || size > count) {
+            throw new IndexOutOfBoundsException("Invalid size: " + size);
+        }
+        count = size;
+    }
+
+    public byte[] toByteArray() {
+        return count == buffer.length ? buffer : Arrays.copyOf(buffer, count);
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity <= buffer.length) {
+            return;
+        }
+        if (minCapacity < 0 || minCapacity > MAX_ARRAY_SIZE) {
+            throw new OutOfMemoryError("Encoded data exceeds the maximum supported size");
+        }
+        int newCapacity = Math.max(buffer.length + (buffer.length >> 1), minCapacity);
+        buffer = Arrays.copyOf(buffer, Math.min(newCapacity, MAX_ARRAY_SIZE));
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.serialize;
+
+/**
+ * Writes encoded bytes into a region of an existing array. Once the region is full, the remaining bytes are only
+ * counted so that the caller can report the size that would have been required.
+ */
+public final class SliceOutputStream extends BoundedOutputStream {
+
+    private final byte[] target;
+    private final int offset;
+
+    public SliceOutputStream(byte[] target, int offset, int limit) {
+        super(limit - offset);
+        this.target = target;
+        this.offset = offset;
+    }
+
+    @Override
+    protected void writeAt(int position, byte b) {
+        target[offset + position] = b;
+    }
+
+    @Override
+    protected void writeAt(int position, byte[] bytes, int off, int length) {
+        System.arraycopy(bytes, off, target, offset + position, length);
+    }
+}
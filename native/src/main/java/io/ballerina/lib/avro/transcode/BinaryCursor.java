@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.transcode;
+
+import org.apache.avro.AvroRuntimeException;
+
+import java.io.EOFException;
+
+/**
+ * A cursor over Avro binary data which exposes its position, so that encoded values can be copied as byte ranges.
+ */
+public final class BinaryCursor {
+
+    private final byte[] buffer;
+    private final int limit;
+    private int position;
+
+    public BinaryCursor(byte[] buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public boolean isEnd() {
+        return position >= limit;
+    }
+
+    public long readLong() throws EOFException {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            if (position >= limit) {
+                throw new EOFException();
+            }
+            int b = buffer[position++] & 0xFF;
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (value >>> 1) ^ -(value & 1);
+            }
+            shift += 7;
+            if (shift > 63) {
+                throw new AvroRuntimeException("Invalid long encoding");
+            }
+        }
+    }
+
+    public int readInt() throws EOFException {
+        long value = readLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new AvroRuntimeException("Invalid int encoding");
+        }
+        return (int) value;
+    }
+
+    public boolean readBoolean() throws EOFException {
+        if (position >= limit) {
+            throw new EOFException();
+        }
+        return buffer[position++] != 0;
+    }
+
+    public float readFloat() throws EOFException {
+        return Float.intBitsToFloat(readFixedInt());
+    }
+
+    public double readDouble() throws EOFException {
+        long low = readFixedInt() & 0xFFFFFFFFL;
+        long high = readFixedInt() & 0xFFFFFFFFL;
+        return Double.longBitsToDouble((high << 32) | low);
+    }
+
+    /**
+     * Reads the item count of the next array or map block. The byte size of a block with a negative count is
+     * skipped, since the items are read one by one.
+     *
+     * @return the number of items in the block, or zero at the end of the array or map
+     */
+    public long readBlockCount() throws EOFException {
+        long count = readLong();
+        if (count < 0) {
+            readLong();
+            count = -count;
+        }
+        return count;
+    }
+
+    public void skip(long length) throws EOFException {
+        if (length < 0 || length > limit - position) {
+            throw new EOFException();
+        }
+        position += (int) length;
+    }
+
+    private int readFixedInt() throws EOFException {
+        if (limit - position < 4) {
+            throw new EOFException();
+        }
+        int value = (buffer[position] & 0xFF) | (buffer[position + 1] & 0xFF) << 8
+                | (buffer[position + 2] & 0xFF) << 16 | (buffer[position + 3] & 0xFF) << 24;
+        position += 4;
+        return value;
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.transcode;
+
+import io.ballerina.lib.avro.plan.RecursionGuard;
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.Schema;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.ballerina.lib.avro.transcode.TranscodePlanCompiler.skipValue;
+
+/**
+ * Compares encoded values in the sort order of the Avro specification without decoding them. Record fields are
+ * compared in their declared order, descending fields have their order reversed and ignored fields are skipped.
+ * The comparison stops at the first difference, so that the rest of the values is not read. Records which refer to
+ * themselves share a single comparison. A record comparison compares the records nested in its fields and union
+ * branches from a work stack instead of calling their comparisons, so that their nesting is only bounded by the data.
+ */
+public final class EncodedComparator {
+
+    private final Step step;
+
+    private EncodedComparator(Step step) {
+        this.step = step;
+    }
+
+    /**
+     * Compiles a comparator for the values of the given schema.
+     *
+     * @throws IllegalArgumentException if the schema contains a map which is not in an ignored field
+     */
+    public static EncodedComparator compile(Schema schema) {
+        return new EncodedComparator(compileValue(schema, new IdentityHashMap<>()));
+    }
+
+    /**
+     * Compares two encoded values.
+     *
+     * @return a negative number, zero or a positive number if the first value sorts before, together with or after
+     * the second value
+     */
+    public int compare(byte[] first, int firstOffset, int firstLength, byte[] second, int secondOffset,
+                       int secondLength) throws Exception {
+        return step.compare(new BinaryCursor(first, firstOffset, firstLength),
+                            new BinaryCursor(second, secondOffset, secondLength));
+    }
+
+    private static Step compileValue(Schema schema, Map<Schema, Step> recordSteps) {
+        return switch (schema.getType()) {
+            case NULL -> (first, second) -> 0;
+            case BOOLEAN -> (first, second) -> Boolean.compare(first.readBoolean(), second.readBoolean());
+            case INT, LONG -> (first, second) -> Long.compare(first.readLong(), second.readLong());
+            case ENUM -> (first, second) -> Integer.compare(first.readInt(), second.readInt());
+            case FLOAT -> (first, second) -> Float.compare(first.readFloat(), second.readFloat());
+            case DOUBLE -> (first, second) -> Double.compare(first.readDouble(), second.readDouble());
+            case STRING, BYTES -> (first, second) -> compareBytes(first, first.readLong(), second, second.readLong());
+            case FIXED -> {
+                int size = schema.getFixedSize();
+                yield (first, second) -> compareBytes(first, size, second, size);
+            }
+            case ARRAY -> compileArray(schema, recordSteps);
+            case MAP -> throw new IllegalArgumentException("Maps cannot be compared, so map fields must have the "
+                                                                   + "'ignore' order");
+            case RECORD -> compileRecord(schema, recordSteps);
+            case UNION -> compileUnion(schema, recordSteps);
+        };
+    }
+
+    private static Step compileRecord(Schema schema, Map<Schema, Step> recordSteps) {
+        Step compiled = recordSteps.get(schema);
+        if (compiled instanceof RecursiveRecordStep recursiveStep) {
+            recursiveStep.referenced = true;
+        }
+        if (compiled != null) {
+            return compiled;
+        }
+        RecursiveRecordStep recursiveStep = new RecursiveRecordStep();
+        recordSteps.put(schema, recursiveStep);
+        RecordStep step = compileFields(schema, recordSteps);
+        if (!recursiveStep.referenced) {
+            recordSteps.put(schema, step);
+            return step;
+        }
+        recursiveStep.target = step;
+        return recursiveStep;
+    }
+
+    private static RecordStep compileFields(Schema schema, Map<Schema, Step> recordSteps) {
+        List<Schema.Field> fields = schema.getFields();
+        Schema[] fieldSchemas = new Schema[fields.size()];
+        Step[] fieldSteps = new Step[fields.size()];
+        boolean[] descending = new boolean[fields.size()];
+        for (Schema.Field field : fields) {
+            fieldSchemas[field.pos()] = field.schema();
+            descending[field.pos()] = field.order() == Schema.Field.Order.DESCENDING;
+            if (field.order() != Schema.Field.Order.IGNORE) {
+                fieldSteps[field.pos()] = compileValue(field.schema(), recordSteps);
+            }
+        }
+        return new RecordStep(fieldSchemas, fieldSteps, descending);
+    }
+
+    private static Step compileArray(Schema schema, Map<Schema, Step> recordSteps) {
+        Step elementStep = compileValue(schema.getElementType(), recordSteps);
+        return (first, second) -> {
+            long firstRemaining = 0;
+            long secondRemaining = 0;
+            while (true) {
+                if (firstRemaining == 0) {
+                    firstRemaining = first.readBlockCount();
+                }
+                if (secondRemaining == 0) {
+                    secondRemaining = second.readBlockCount();
+                }
+                if (firstRemaining == 0 || secondRemaining == 0) {
+                    return Boolean.compare(firstRemaining != 0, secondRemaining != 0);
+                }
+                long count = Math.min(firstRemaining, secondRemaining);
+                for (long i = 0; i < count; i++) {
+                    int result = elementStep.compare(first, second);
+                    if (result != 0) {
+                        return result;
+                    }
+                }
+                firstRemaining -= count;
+                secondRemaining -= count;
+            }
+        };
+    }
+
+    private static Step compileUnion(Schema schema, Map<Schema, Step> recordSteps) {
+        List<Schema> branches = schema.getTypes();
+        Step[] branchSteps = new Step[branches.size()];
+        for (int i = 0; i < branchSteps.length; i++) {
+            branchSteps[i] = compileValue(branches.get(i), recordSteps);
+        }
+        return new UnionStep(branchSteps);
+    }
+
+    private static int compareBytes(BinaryCursor first, long firstLength, BinaryCursor second, long secondLength)
+            throws Exception {
+        int firstStart = first.getPosition();
+        int secondStart = second.getPosition();
+        first.skip(firstLength);
+        second.skip(secondLength);
+        return Arrays.compareUnsigned(first.getBuffer(), firstStart, first.getPosition(), second.getBuffer(),
+                                      secondStart, second.getPosition());
+    }
+
+    @FunctionalInterface
+    private interface Step {
+
+        int compare(BinaryCursor first, BinaryCursor second) throws Exception;
+    }
+
+    private static RecordStep asRecordStep(Step step) {
+        if (step instanceof RecordStep recordStep) {
+            return recordStep;
+        }
+        return step instanceof RecursiveRecordStep recursiveStep ? recursiveStep.target : null;
+    }
+
+    private static final class RecordStep implements Step {
+
+        private final Schema[] fieldSchemas;
+        private final Step[] fieldSteps;
+        private final boolean[] descending;
+
+        private RecordStep(Schema[] fieldSchemas, Step[] fieldSteps, boolean[] descending) {
+            this.fieldSchemas = fieldSchemas;
+            this.fieldSteps = fieldSteps;
+            this.descending = descending;
+        }
+
+        @Override
+        public int compare(BinaryCursor first, BinaryCursor second) throws Exception {
+            RecordStep step = this;
+            int position = 0;
+            int sign = 1;
+            int emptyDepth = 0;
+            Deque<Frame> parents = null;
+            while (true) {
+                if (position == step.fieldSteps.length) {
+                    if (parents == null || parents.isEmpty()) {
+                        return 0;
+                    }
+                    Frame parent = parents.pop();
+                    step = parent.step;
+                    position = parent.position;
+                    sign = parent.sign;
+                    emptyDepth = parent.emptyDepth;
+                    continue;
+                }
+                int field = position++;
+                Step fieldStep = step.fieldSteps[field];
+                if (fieldStep == null) {
+                    skipValue(step.fieldSchemas[field], first);
+                    skipValue(step.fieldSchemas[field], second);
+                    continue;
+                }
+                int fieldSign = step.descending[field] ? -sign : sign;
+                int nestedEmptyDepth = emptyDepth + 1;
+                if (fieldStep instanceof UnionStep unionStep) {
+                    int firstIndex = first.readInt();
+                    int secondIndex = second.readInt();
+                    if (firstIndex != secondIndex) {
+                        return fieldSign * Integer.compare(firstIndex, secondIndex);
+                    }
+                    fieldStep = unionStep.selectBranch(firstIndex);
+                    nestedEmptyDepth = 0;
+                }
+                RecordStep nestedStep = asRecordStep(fieldStep);
+                if (nestedStep == null) {
+                    int result = fieldStep.compare(first, second);
+                    if (result != 0) {
+                        return fieldSign < 0 ? -result : result;
+                    }
+                    continue;
+                }
+                RecursionGuard.checkDepth(nestedEmptyDepth);
+                if (parents == null) {
+                    parents = new ArrayDeque<>();
+                }
+                parents.push(new Frame(step, position, sign, emptyDepth));
+                step = nestedStep;
+                position = 0;
+                sign = fieldSign;
+                emptyDepth = nestedEmptyDepth;
+            }
+        }
+    }
+
+    private static final class UnionStep implements Step {
+
+        private final Step[] branchSteps;
+
+        private UnionStep(Step[] branchSteps) {
+            this.branchSteps = branchSteps;
+        }
+
+        @Override
+        public int compare(BinaryCursor first, BinaryCursor second) throws Exception {
+            int firstIndex = first.readInt();
+            int secondIndex = second.readInt();
+            if (firstIndex != secondIndex) {
+                return Integer.compare(firstIndex, secondIndex);
+            }
+            return selectBranch(firstIndex).compare(first, second);
+        }
+
+        private Step selectBranch(int index) {
+            if (index < 0 || index >= branchSteps.length) {
+                throw new AvroTypeException("Union index " + index + " is out of bounds");
+            }
+            return branchSteps[index];
+        }
+    }
+
+    private static final class RecursiveRecordStep implements Step {
+
+        private RecordStep target;
+        private boolean referenced;
+
+        @Override
+        public int compare(BinaryCursor first, BinaryCursor second) throws Exception {
+            RecursionGuard.Depth depth = RecursionGuard.enter();
+            try {
+                return target.compare(first, second);
+            } finally {
+                depth.exit();
+            }
+        }
+    }
+
+    /**
+     * A record which is compared up to the position, while records nested in its previous field are compared.
+     */
+    private record Frame(RecordStep step, int position, int sign, int emptyDepth) {
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.transcode;
+
+import io.ballerina.lib.avro.CompiledSchema;
+import io.ballerina.lib.avro.serialize.GrowableOutputStream;
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.Schema;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.ballerina.lib.avro.transcode.TranscodePlanCompiler.skipValue;
+
+/**
+ * Replaces the value of a single field of an encoded record. The bytes of the field are located by skipping the
+ * fields before it, and only the new value is encoded, while the bytes before and after the field are copied.
+ */
+public final class FieldPatchPlan {
+
+    private static final int VALUE_BUFFER_SIZE = 64;
+
+    private final String path;
+    private final Step[] steps;
+    private final Schema fieldSchema;
+    private final CompiledSchema valueSchema;
+
+    private FieldPatchPlan(String path, Step[] steps, Schema fieldSchema) {
+        this.path = path;
+        this.steps = steps;
+        this.fieldSchema = fieldSchema;
+        this.valueSchema = new CompiledSchema(fieldSchema);
+    }
+
+    /**
+     * Compiles the plan for the field at the given path.
+     *
+     * @param schema schema of the encoded records
+     * @param path   dot separated names of the field and of the record fields which lead to it
+     * @throws IllegalArgumentException if the path is not defined in the schema or passes through a field which is
+     *                                  not a record, or a union of `null` and a record
+     */
+    public static FieldPatchPlan compile(Schema schema, String path) {
+        List<Step> steps = new ArrayList<>();
+        Schema current = schema;
+        String[] names = path.split("\\.", -1);
+        for (int i = 0; i < names.length; i++) {
+            if (current.getType() != Schema.Type.RECORD) {
+                throw new IllegalArgumentException("Field path '" + path + "' continues past a field which is not "
+                                                           + "a record");
+            }
+            Schema.Field field = current.getField(names[i]);
+            if (field == null) {
+                throw new IllegalArgumentException("Field path '" + path + "' is not defined in the schema");
+            }
+            Schema[] preceding = new Schema[field.pos()];
+            for (int j = 0; j < preceding.length; j++) {
+                preceding[j] = current.getFields().get(j).schema();
+            }
+            current = field.schema();
+            int recordBranch = -1;
+            if (i < names.length - 1 && current.getType() == Schema.Type.UNION) {
+                recordBranch = findRecordBranch(current, path);
+                current = current.getTypes().get(recordBranch);
+            }
+            steps.add(new Step(preceding, recordBranch, String.join(".", List.of(names).subList(0, i + 1))));
+        }
+        return new FieldPatchPlan(path, steps.toArray(new Step[0]), current);
+    }
+
+    /**
+     * Returns a copy of the encoded record in which the field holds the given value.
+     */
+    public byte[] patch(byte[] data, int offset, int length, Object value) throws Exception {
+        BinaryCursor input = new BinaryCursor(data, offset, length);
+        for (Step step : steps) {
+            for (Schema preceding : step.preceding) {
+                skipValue(preceding, input);
+            }
+            if (step.recordBranch >= 0) {
+                int index = input.readInt();
+                if (index != step.recordBranch) {
+                    throw new AvroTypeException("Field '" + step.path + "' does not hold a record, so '" + path
+                                                        + "' cannot be patched");
+                }
+            }
+        }
+        int fieldStart = input.getPosition();
+        skipValue(fieldSchema, input);
+        int fieldEnd = input.getPosition();
+        GrowableOutputStream encoded = new GrowableOutputStream(VALUE_BUFFER_SIZE);
+        BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(encoded, null);
+        valueSchema.write(value, encoder);
+        int suffixLength = offset + length - fieldEnd;
+        byte[] patched = new byte[fieldStart - offset + encoded.size() + suffixLength];
+        System.arraycopy(data, offset, patched, 0, fieldStart - offset);
+        System.arraycopy(encoded.getBuffer(), 0, patched, fieldStart - offset, encoded.size());
+        System.arraycopy(data, fieldEnd, patched, fieldStart - offset + encoded.size(), suffixLength);
+        return patched;
+    }
+
+    private static int findRecordBranch(Schema union, String path) {
+        int recordBranch = -1;
+        for (int i = 0; i < union.getTypes().size(); i++) {
+            Schema.Type type = union.getTypes().get(i).getType();
+            if (type == Schema.Type.RECORD && recordBranch < 0) {
+                recordBranch = i;
+            } else if (type != Schema.Type.NULL) {
+                recordBranch = -1;
+                break;
+            }
+        }
+        if (recordBranch < 0) {
+            throw new IllegalArgumentException("Field path '" + path + "' passes through a union which is not a "
+                                                       + "union of null and a record");
+        }
+        return recordBranch;
+    }
+
+    private record Step(Schema[] preceding, int recordBranch, String path) {
+    }
+}
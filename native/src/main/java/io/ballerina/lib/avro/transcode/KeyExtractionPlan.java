@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.transcode;
+
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.Schema;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.ballerina.lib.avro.transcode.TranscodePlanCompiler.skipValue;
+
+/**
+ * Extracts the encoded values of key fields from an encoded record. The fields before each key field are skipped,
+ * and the fields after the last key field of the record are not read. The key is the concatenation of the encoded
+ * values in the order of the field paths, which is unambiguous as Avro encodings are self-delimiting.
+ */
+public final class KeyExtractionPlan {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final RecordNode root;
+    private final int keyCount;
+
+    private KeyExtractionPlan(RecordNode root, int keyCount) {
+        this.root = root;
+        this.keyCount = keyCount;
+    }
+
+    /**
+     * Compiles the plan for the fields at the given paths.
+     *
+     * @param schema schema of the encoded records
+     * @param paths  dot separated names of the key fields and of the record fields which lead to them
+     * @throws IllegalArgumentException if there are no paths, or a path is not defined in the schema or passes
+     *                                  through a field which is not a record, or a union of `null` and a record
+     */
+    public static KeyExtractionPlan compile(Schema schema, List<String> paths) {
+        if (paths.isEmpty()) {
+            throw new IllegalArgumentException("At least one key field is required");
+        }
+        if (schema.getType() != Schema.Type.RECORD) {
+            throw new IllegalArgumentException("Keys can only be extracted from records");
+        }
+        RecordBuilder root = new RecordBuilder(schema, "");
+        for (int i = 0; i < paths.size(); i++) {
+            String path = paths.get(i);
+            RecordBuilder current = root;
+            String[] names = path.split("\\.", -1);
+            for (int j = 0; j < names.length; j++) {
+                Schema.Field field = current.schema.getField(names[j]);
+                if (field == null) {
+                    throw new IllegalArgumentException("Field path '" + path + "' is not defined in the schema");
+                }
+                if (j == names.length - 1) {
+                    current.keys.computeIfAbsent(field.pos(), pos -> new ArrayList<>()).add(i);
+                } else {
+                    String fieldPath = String.join(".", Arrays.asList(names).subList(0, j + 1));
+                    current = current.children.computeIfAbsent(field.pos(),
+                                                               pos -> RecordBuilder.of(field.schema(), fieldPath,
+                                                                                       path));
+                }
+            }
+        }
+        return new KeyExtractionPlan(root.build(false), paths.size());
+    }
+
+    /**
+     * Returns the key of the encoded record.
+     */
+    public byte[] extract(byte[] data, int offset, int length) throws Exception {
+        int[] spans = locate(data, offset, length);
+        int size = 0;
+        for (int i = 0; i < keyCount; i++) {
+            size += spans[2 * i + 1] - spans[2 * i];
+        }
+        byte[] key = new byte[size];
+        int position = 0;
+        for (int i = 0; i < keyCount; i++) {
+            int spanLength = spans[2 * i + 1] - spans[2 * i];
+            System.arraycopy(data, spans[2 * i], key, position, spanLength);
+            position += spanLength;
+        }
+        return key;
+    }
+
+    /**
+     * Returns a 64-bit hash of the key of the encoded record, which is the `hash` of the bytes returned by
+     * `extract`. The key is not copied.
+     */
+    public long hashKey(byte[] data, int offset, int length) throws Exception {
+        int[] spans = locate(data, offset, length);
+        long hash = FNV_OFFSET_BASIS;
+        int size = 0;
+        for (int i = 0; i < keyCount; i++) {
+            hash = update(hash, data, spans[2 * i], spans[2 * i + 1]);
+            size += spans[2 * i + 1] - spans[2 * i];
+        }
+        return finish(hash, size);
+    }
+
+    /**
+     * Returns a 64-bit hash of the given bytes. The hash is stable across processes and releases, so that it can
+     * be used to partition data.
+     */
+    public static long hash(byte[] bytes, int offset, int length) {
+        return finish(update(FNV_OFFSET_BASIS, bytes, offset, offset + length), length);
+    }
+
+    private int[] locate(byte[] data, int offset, int length) throws Exception {
+        int[] spans = new int[2 * keyCount];
+        root.walk(new BinaryCursor(data, offset, length), spans);
+        return spans;
+    }
+
+    private static long update(long hash, byte[] bytes, int start, int end) {
+        long result = hash;
+        for (int i = start; i < end; i++) {
+            result = (result ^ (bytes[i] & 0xff)) * FNV_PRIME;
+        }
+        return result;
+    }
+
+    private static long finish(long hash, int length) {
+        long result = hash ^ length;
+        result ^= result >>> 33;
+        result *= 0xff51afd7ed558ccdL;
+        result ^= result >>> 33;
+        result *= 0xc4ceb9fe1a85ec53L;
+        result ^= result >>> 33;
+        return result;
+    }
+
+    private static final class RecordBuilder {
+
+        private final Schema schema;
+        private final int recordBranch;
+        private final String path;
+        private final Map<Integer, List<Integer>> keys = new HashMap<>();
+        private final Map<Integer, RecordBuilder> children = new HashMap<>();
+
+        private RecordBuilder(Schema schema, int recordBranch, String path) {
+            this.schema = schema;
+            this.recordBranch = recordBranch;
+            this.path = path;
+        }
+
+        RecordBuilder(Schema schema, String path) {
+            this(schema, -1, path);
+        }
+
+        static RecordBuilder of(Schema schema, String fieldPath, String keyPath) {
+            if (schema.getType() == Schema.Type.RECORD) {
+                return new RecordBuilder(schema, fieldPath);
+            }
+            if (schema.getType() == Schema.Type.UNION) {
+                int recordBranch = -1;
+                for (int i = 0; i < schema.getTypes().size(); i++) {
+                    Schema.Type type = schema.getTypes().get(i).getType();
+                    if (type == Schema.Type.RECORD && recordBranch < 0) {
+                        recordBranch = i;
+                    } else if (type != Schema.Type.NULL) {
+                        recordBranch = -1;
+                        break;
+                    }
+                }
+                if (recordBranch >= 0) {
+                    return new RecordBuilder(schema.getTypes().get(recordBranch), recordBranch, fieldPath);
+                }
+                throw new IllegalArgumentException("Field path '" + keyPath + "' passes through a union which is "
+                                                           + "not a union of null and a record");
+            }
+            throw new IllegalArgumentException("Field path '" + keyPath + "' continues past a field which is not "
+                                                       + "a record");
+        }
+
+        RecordNode build(boolean toEnd) {
+            List<Schema.Field> fields = schema.getFields();
+            int last = fields.size() - 1;
+            if (!toEnd) {
+                last = -1;
+                for (int pos : keys.keySet()) {
+                    last = Math.max(last, pos);
+                }
+                for (int pos : children.keySet()) {
+                    last = Math.max(last, pos);
+                }
+            }
+            Schema[] fieldSchemas = new Schema[last + 1];
+            int[][] fieldKeys = new int[last + 1][];
+            RecordNode[] fieldChildren = new RecordNode[last + 1];
+            for (int i = 0; i <= last; i++) {
+                fieldSchemas[i] = fields.get(i).schema();
+                List<Integer> indexes = keys.get(i);
+                if (indexes != null) {
+                    fieldKeys[i] = indexes.stream().mapToInt(Integer::intValue).toArray();
+                }
+                RecordBuilder child = children.get(i);
+                if (child != null) {
+                    fieldChildren[i] = child.build(true);
+                }
+            }
+            return new RecordNode(fieldSchemas, fieldKeys, fieldChildren, recordBranch, path);
+        }
+    }
+
+    private record RecordNode(Schema[] fieldSchemas, int[][] keys, RecordNode[] children, int recordBranch,
+                              String path) {
+
+        void walk(BinaryCursor input, int[] spans) throws Exception {
+            for (int i = 0; i < fieldSchemas.length; i++) {
+                int start = input.getPosition();
+                if (children[i] == null) {
+                    skipValue(fieldSchemas[i], input);
+                } else {
+                    children[i].enter(input, spans);
+                }
+                if (keys[i] != null) {
+                    for (int key : keys[i]) {
+                        spans[2 * key] = start;
+                        spans[2 * key + 1] = input.getPosition();
+                    }
+                }
+            }
+        }
+
+        private void enter(BinaryCursor input, int[] spans) throws Exception {
+            if (recordBranch >= 0) {
+                int index = input.readInt();
+                if (index != recordBranch) {
+                    throw new AvroTypeException("Field '" + path + "' does not hold a record, so its fields cannot "
+                                                        + "be extracted");
+                }
+            }
+            walk(input, spans);
+        }
+    }
+}
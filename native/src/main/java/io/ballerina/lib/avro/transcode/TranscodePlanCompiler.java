@@ -0,0 +1,635 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.transcode;
+
+import io.ballerina.lib.avro.plan.RecursionGuard;
+import io.ballerina.lib.avro.serialize.GrowableOutputStream;
+import org.apache.avro.AvroTypeException;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles a {@link TranscodePlan} which resolves data written with a writer schema to a reader schema following
+ * the Avro schema resolution rules. Values whose writer and reader schemas have the same parsing canonical form
+ * are copied as byte ranges, values of removed fields are skipped and default values of added fields are encoded
+ * once at compile time. Every pair of record schemas is compiled once, and records which refer to themselves share a
+ * single plan. A record plan transcodes the records nested in its fields and union branches from a work stack instead
+ * of calling their plans, so that their nesting is only bounded by the data.
+ */
+public final class TranscodePlanCompiler {
+
+    private static final int FIELD_BUFFER_SIZE = 32;
+
+    private final Map<Schema, String> parsingForms = new IdentityHashMap<>();
+    private final Map<Schema, Map<Schema, TranscodePlan>> recordPlans = new IdentityHashMap<>();
+    private final List<Schema[]> compiledRecords = new ArrayList<>();
+
+    public TranscodePlan compile(Schema writer, Schema reader) {
+        if (getParsingForm(writer).equals(getParsingForm(reader))) {
+            return copy(writer);
+        }
+        if (writer.getType() == Schema.Type.UNION) {
+            return compileWriterUnion(writer, reader);
+        }
+        if (reader.getType() == Schema.Type.UNION) {
+            int branch = resolveBranch(writer, reader);
+            if (branch < 0) {
+                throw incompatible(writer, reader);
+            }
+            return new ReaderBranchPlan(branch, compile(writer, reader.getTypes().get(branch)));
+        }
+        return switch (reader.getType()) {
+            case LONG -> switch (writer.getType()) {
+                case INT -> copy(writer);
+                default -> throw incompatible(writer, reader);
+            };
+            case FLOAT -> switch (writer.getType()) {
+                case INT, LONG -> (input, output) -> output.writeFloat(input.readLong());
+                default -> throw incompatible(writer, reader);
+            };
+            case DOUBLE -> switch (writer.getType()) {
+                case INT, LONG -> (input, output) -> output.writeDouble(input.readLong());
+                case FLOAT -> (input, output) -> output.writeDouble(input.readFloat());
+                default -> throw incompatible(writer, reader);
+            };
+            case STRING, BYTES -> switch (writer.getType()) {
+                case STRING, BYTES -> copy(writer);
+                default -> throw incompatible(writer, reader);
+            };
+            case FIXED -> {
+                if (writer.getType() != Schema.Type.FIXED || writer.getFixedSize() != reader.getFixedSize()) {
+                    throw incompatible(writer, reader);
+                }
+                yield copy(writer);
+            }
+            case ENUM -> {
+                if (writer.getType() != Schema.Type.ENUM) {
+                    throw incompatible(writer, reader);
+                }
+                yield compileEnum(writer, reader);
+            }
+            case ARRAY -> {
+                if (writer.getType() != Schema.Type.ARRAY) {
+                    throw incompatible(writer, reader);
+                }
+                yield compileArray(writer, reader);
+            }
+            case MAP -> {
+                if (writer.getType() != Schema.Type.MAP) {
+                    throw incompatible(writer, reader);
+                }
+                yield compileMap(writer, reader);
+            }
+            case RECORD -> {
+                if (writer.getType() != Schema.Type.RECORD) {
+                    throw incompatible(writer, reader);
+                }
+                yield compileRecord(writer, reader);
+            }
+            default -> throw incompatible(writer, reader);
+        };
+    }
+
+    private TranscodePlan compileWriterUnion(Schema writer, Schema reader) {
+        List<Schema> branches = writer.getTypes();
+        TranscodePlan[] branchPlans = new TranscodePlan[branches.size()];
+        for (int i = 0; i < branchPlans.length; i++) {
+            Schema branch = branches.get(i);
+            try {
+                branchPlans[i] = compile(branch, reader);
+            } catch (AvroTypeException e) {
+                String message = e.getMessage();
+                branchPlans[i] = (input, output) -> {
+                    throw new AvroTypeException(message);
+                };
+            }
+        }
+        return new WriterUnionPlan(branchPlans);
+    }
+
+    private TranscodePlan compileEnum(Schema writer, Schema reader) {
+        List<String> symbols = writer.getEnumSymbols();
+        int[] ordinals = new int[symbols.size()];
+        for (int i = 0; i < ordinals.length; i++) {
+            String symbol = symbols.get(i);
+            if (reader.hasEnumSymbol(symbol)) {
+                ordinals[i] = reader.getEnumOrdinal(symbol);
+            } else if (reader.getEnumDefault() != null) {
+                ordinals[i] = reader.getEnumOrdinal(reader.getEnumDefault());
+            } else {
+                ordinals[i] = -1;
+            }
+        }
+        return (input, output) -> {
+            int index = input.readInt();
+            if (index < 0 || index >= ordinals.length || ordinals[index] < 0) {
+                throw new AvroTypeException("No match for the enum symbol at index " + index + " in "
+                                                    + reader.getFullName());
+            }
+            output.writeEnum(ordinals[index]);
+        };
+    }
+
+    private TranscodePlan compileArray(Schema writer, Schema reader) {
+        TranscodePlan elementPlan = compile(writer.getElementType(), reader.getElementType());
+        return (input, output) -> {
+            output.writeArrayStart();
+            for (long count = input.readBlockCount(); count != 0; count = input.readBlockCount()) {
+                output.setItemCount(count);
+                for (long i = 0; i < count; i++) {
+                    output.startItem();
+                    elementPlan.transcode(input, output);
+                }
+            }
+            output.writeArrayEnd();
+        };
+    }
+
+    private TranscodePlan compileMap(Schema writer, Schema reader) {
+        TranscodePlan valuePlan = compile(writer.getValueType(), reader.getValueType());
+        return (input, output) -> {
+            output.writeMapStart();
+            for (long count = input.readBlockCount(); count != 0; count = input.readBlockCount()) {
+                output.setItemCount(count);
+                for (long i = 0; i < count; i++) {
+                    output.startItem();
+                    int start = input.getPosition();
+                    input.skip(input.readLong());
+                    output.writeFixed(input.getBuffer(), start, input.getPosition() - start);
+                    valuePlan.transcode(input, output);
+                }
+            }
+            output.writeMapEnd();
+        };
+    }
+
+    private TranscodePlan compileRecord(Schema writer, Schema reader) {
+        Map<Schema, TranscodePlan> readerPlans = recordPlans.computeIfAbsent(writer, schema -> new IdentityHashMap<>());
+        TranscodePlan compiled = readerPlans.get(reader);
+        if (compiled instanceof RecursiveRecordPlan recursivePlan) {
+            recursivePlan.referenced = true;
+        }
+        if (compiled != null) {
+            return compiled;
+        }
+        RecursiveRecordPlan recursivePlan = new RecursiveRecordPlan();
+        int mark = compiledRecords.size();
+        readerPlans.put(reader, recursivePlan);
+        compiledRecords.add(new Schema[]{writer, reader});
+        RecordPlan plan;
+        try {
+            plan = compileFields(writer, reader);
+        } catch (RuntimeException e) {
+            // Records compiled since may refer to the plan of this record, which will never be completed.
+            List<Schema[]> incomplete = compiledRecords.subList(mark, compiledRecords.size());
+            incomplete.forEach(pair -> recordPlans.get(pair[0]).remove(pair[1]));
+            incomplete.clear();
+            throw e;
+        }
+        if (!recursivePlan.referenced) {
+            readerPlans.put(reader, plan);
+            return plan;
+        }
+        recursivePlan.target = plan;
+        return recursivePlan;
+    }
+
+    private RecordPlan compileFields(Schema writer, Schema reader) {
+        List<Schema.Field> writerFields = writer.getFields();
+        List<Schema.Field> readerFields = reader.getFields();
+        int[] readerPositions = new int[writerFields.size()];
+        TranscodePlan[] fieldPlans = new TranscodePlan[writerFields.size()];
+        boolean[] written = new boolean[readerFields.size()];
+        boolean ordered = true;
+        int lastPosition = -1;
+        for (int i = 0; i < writerFields.size(); i++) {
+            Schema.Field writerField = writerFields.get(i);
+            Schema.Field readerField = findReaderField(reader, writerField);
+            if (readerField == null) {
+                readerPositions[i] = -1;
+                fieldPlans[i] = skip(writerField.schema());
+                continue;
+            }
+            readerPositions[i] = readerField.pos();
+            fieldPlans[i] = compile(writerField.schema(), readerField.schema());
+            written[readerField.pos()] = true;
+            ordered &= readerField.pos() > lastPosition;
+            lastPosition = readerField.pos();
+        }
+        byte[][] defaultValues = new byte[readerFields.size()][];
+        for (Schema.Field readerField : readerFields) {
+            if (!written[readerField.pos()]) {
+                if (!readerField.hasDefaultValue()) {
+                    throw new AvroTypeException("Found " + writer.getFullName() + ", expecting "
+                                                        + reader.getFullName() + ", missing required field "
+                                                        + readerField.name());
+                }
+                defaultValues[readerField.pos()] = encodeDefaultValue(readerField);
+            }
+        }
+        if (ordered) {
+            return new RecordPlan(compileOrderedSteps(readerPositions, fieldPlans, defaultValues), null, null);
+        }
+        // The fields are transcoded into buffers which are written in the order of the reader fields.
+        return new RecordPlan(fieldPlans, readerPositions, defaultValues);
+    }
+
+    private static TranscodePlan[] compileOrderedSteps(int[] readerPositions, TranscodePlan[] fieldPlans,
+                                                      byte[][] defaultValues) {
+        List<TranscodePlan> steps = new ArrayList<>();
+        int nextPosition = 0;
+        for (int i = 0; i < fieldPlans.length; i++) {
+            while (readerPositions[i] >= 0 && nextPosition < readerPositions[i]) {
+                steps.add(writeBytes(defaultValues[nextPosition++]));
+            }
+            steps.add(fieldPlans[i]);
+            if (readerPositions[i] >= 0) {
+                nextPosition++;
+            }
+        }
+        while (nextPosition < defaultValues.length) {
+            steps.add(writeBytes(defaultValues[nextPosition++]));
+        }
+        return steps.toArray(new TranscodePlan[0]);
+    }
+
+    private static Schema.Field findReaderField(Schema reader, Schema.Field writerField) {
+        Schema.Field readerField = reader.getField(writerField.name());
+        if (readerField != null) {
+            return readerField;
+        }
+        for (Schema.Field field : reader.getFields()) {
+            if (field.aliases().contains(writerField.name())) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    private static byte[] encodeDefaultValue(Schema.Field field) {
+        GrowableOutputStream outputStream = new GrowableOutputStream(FIELD_BUFFER_SIZE);
+        BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(outputStream, null);
+        try {
+            new GenericDatumWriter<>(field.schema()).write(GenericData.get().getDefaultValue(field), encoder);
+            encoder.flush();
+        } catch (Exception e) {
+            throw new AvroTypeException("Invalid default value for the field " + field.name() + ": "
+                                                + e.getMessage());
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static int resolveBranch(Schema writer, Schema readerUnion) {
+        List<Schema> branches = readerUnion.getTypes();
+        for (int i = 0; i < branches.size(); i++) {
+            Schema branch = branches.get(i);
+            if (branch.getType() == writer.getType() && (!isNamed(writer) || hasSameName(writer, branch))) {
+                return i;
+            }
+        }
+        for (int i = 0; i < branches.size(); i++) {
+            if (isPromotable(writer.getType(), branches.get(i).getType())) {
+                return i;
+            }
+        }
+        for (int i = 0; i < branches.size(); i++) {
+            if (branches.get(i).getType() == writer.getType()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isNamed(Schema schema) {
+        return switch (schema.getType()) {
+            case RECORD, ENUM, FIXED -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean hasSameName(Schema writer, Schema reader) {
+        return writer.getName().equals(reader.getName()) || reader.getAliases().contains(writer.getFullName());
+    }
+
+    private static boolean isPromotable(Schema.Type writer, Schema.Type reader) {
+        return switch (writer) {
+            case INT -> reader == Schema.Type.LONG || reader == Schema.Type.FLOAT || reader == Schema.Type.DOUBLE;
+            case LONG -> reader == Schema.Type.FLOAT || reader == Schema.Type.DOUBLE;
+            case FLOAT -> reader == Schema.Type.DOUBLE;
+            case STRING -> reader == Schema.Type.BYTES;
+            case BYTES -> reader == Schema.Type.STRING;
+            default -> false;
+        };
+    }
+
+    private static AvroTypeException incompatible(Schema writer, Schema reader) {
+        return new AvroTypeException("Found " + writer.getFullName() + ", expecting " + reader.getFullName());
+    }
+
+    private static TranscodePlan writeBytes(byte[] bytes) {
+        return (input, output) -> output.writeFixed(bytes);
+    }
+
+    private static TranscodePlan copy(Schema schema) {
+        return (input, output) -> {
+            int start = input.getPosition();
+            skipValue(schema, input);
+            output.writeFixed(input.getBuffer(), start, input.getPosition() - start);
+        };
+    }
+
+    private static TranscodePlan skip(Schema schema) {
+        return (input, output) -> skipValue(schema, input);
+    }
+
+    /**
+     * Moves the cursor to the end of the value of the given schema.
+     *
+     * @param schema schema of the value
+     * @param input  cursor positioned at the start of the value
+     */
+    public static void skipValue(Schema schema, BinaryCursor input) throws Exception {
+        // The values which remain to be skipped are kept on a work stack, so that nested values do not use the stack
+        // of the calling thread. Only records nested in record fields are skipped without reading any data, and a
+        // schema which nests such records without end has no finite values.
+        Deque<Object> pending = null;
+        Object next = schema;
+        int emptyDepth = 0;
+        while (next != null) {
+            if (next instanceof Blocks blocks) {
+                if (blocks.nextItem(input)) {
+                    if (pending == null) {
+                        pending = new ArrayDeque<>();
+                    }
+                    pending.push(blocks);
+                    next = blocks.itemSchema;
+                    emptyDepth = 0;
+                } else {
+                    next = pending == null ? null : pending.poll();
+                }
+                continue;
+            }
+            Schema valueSchema = (Schema) next;
+            next = null;
+            switch (valueSchema.getType()) {
+                case NULL -> {
+                }
+                case BOOLEAN -> input.skip(1);
+                case INT, LONG, ENUM -> input.readLong();
+                case FLOAT -> input.skip(4);
+                case DOUBLE -> input.skip(8);
+                case STRING, BYTES -> input.skip(input.readLong());
+                case FIXED -> input.skip(valueSchema.getFixedSize());
+                case ARRAY -> next = new Blocks(valueSchema.getElementType(), false);
+                case MAP -> next = new Blocks(valueSchema.getValueType(), true);
+                case RECORD -> {
+                    RecursionGuard.checkDepth(++emptyDepth);
+                    List<Schema.Field> fields = valueSchema.getFields();
+                    if (fields.size() > 1 && pending == null) {
+                        pending = new ArrayDeque<>();
+                    }
+                    for (int i = fields.size() - 1; i > 0; i--) {
+                        pending.push(fields.get(i).schema());
+                    }
+                    next = fields.isEmpty() ? null : fields.get(0).schema();
+                }
+                case UNION -> {
+                    int index = input.readInt();
+                    if (index < 0 || index >= valueSchema.getTypes().size()) {
+                        throw new AvroTypeException("Union index " + index + " is out of bounds");
+                    }
+                    next = valueSchema.getTypes().get(index);
+                    emptyDepth = 0;
+                }
+            }
+            if (next == null && pending != null) {
+                next = pending.poll();
+            }
+        }
+    }
+
+    private String getParsingForm(Schema schema) {
+        return parsingForms.computeIfAbsent(schema, SchemaNormalization::toParsingForm);
+    }
+
+    private static RecordPlan asRecordPlan(TranscodePlan plan) {
+        if (plan instanceof RecordPlan recordPlan) {
+            return recordPlan;
+        }
+        return plan instanceof RecursiveRecordPlan recursivePlan ? recursivePlan.target : null;
+    }
+
+    private static final class RecordPlan implements TranscodePlan {
+
+        private final TranscodePlan[] steps;
+        private final int[] readerPositions;
+        private final byte[][] defaultValues;
+
+        private RecordPlan(TranscodePlan[] steps, int[] readerPositions, byte[][] defaultValues) {
+            this.steps = steps;
+            this.readerPositions = readerPositions;
+            this.defaultValues = defaultValues;
+        }
+
+        @Override
+        public void transcode(BinaryCursor input, BinaryEncoder output) throws Exception {
+            RecordPlan plan = this;
+            int position = 0;
+            BinaryEncoder recordOutput = output;
+            GrowableOutputStream[] fieldValues = createFieldValues();
+            int emptyDepth = 0;
+            Deque<Frame> parents = null;
+            while (true) {
+                if (position == plan.steps.length) {
+                    plan.writeFieldValues(fieldValues, recordOutput);
+                    if (parents == null || parents.isEmpty()) {
+                        return;
+                    }
+                    Frame parent = parents.pop();
+                    plan = parent.plan;
+                    position = parent.position;
+                    recordOutput = parent.output;
+                    fieldValues = parent.fieldValues;
+                    emptyDepth = parent.emptyDepth;
+                    continue;
+                }
+                BinaryEncoder stepOutput = recordOutput;
+                if (plan.readerPositions != null && plan.readerPositions[position] >= 0) {
+                    GrowableOutputStream fieldValue = new GrowableOutputStream(FIELD_BUFFER_SIZE);
+                    fieldValues[plan.readerPositions[position]] = fieldValue;
+                    stepOutput = EncoderFactory.get().directBinaryEncoder(fieldValue, null);
+                }
+                TranscodePlan step = plan.steps[position++];
+                int nestedEmptyDepth = emptyDepth + 1;
+                if (step instanceof WriterUnionPlan unionPlan) {
+                    step = unionPlan.selectBranch(input);
+                    nestedEmptyDepth = 0;
+                }
+                if (step instanceof ReaderBranchPlan branchPlan) {
+                    stepOutput.writeIndex(branchPlan.branch);
+                    step = branchPlan.plan;
+                }
+                RecordPlan nestedPlan = asRecordPlan(step);
+                if (nestedPlan == null) {
+                    step.transcode(input, stepOutput);
+                    continue;
+                }
+                RecursionGuard.checkDepth(nestedEmptyDepth);
+                if (parents == null) {
+                    parents = new ArrayDeque<>();
+                }
+                parents.push(new Frame(plan, position, recordOutput, fieldValues, emptyDepth));
+                plan = nestedPlan;
+                position = 0;
+                recordOutput = stepOutput;
+                fieldValues = nestedPlan.createFieldValues();
+                emptyDepth = nestedEmptyDepth;
+            }
+        }
+
+        private GrowableOutputStream[] createFieldValues() {
+            return readerPositions == null ? null : new GrowableOutputStream[defaultValues.length];
+        }
+
+        private void writeFieldValues(GrowableOutputStream[] fieldValues, BinaryEncoder output) throws Exception {
+            if (fieldValues == null) {
+                return;
+            }
+            for (int i = 0; i < defaultValues.length; i++) {
+                if (fieldValues[i] != null) {
+                    output.writeFixed(fieldValues[i].getBuffer(), 0, fieldValues[i].size());
+                } else {
+                    output.writeFixed(defaultValues[i]);
+                }
+            }
+        }
+    }
+
+    private static final class WriterUnionPlan implements TranscodePlan {
+
+        private final TranscodePlan[] branchPlans;
+
+        private WriterUnionPlan(TranscodePlan[] branchPlans) {
+            this.branchPlans = branchPlans;
+        }
+
+        @Override
+        public void transcode(BinaryCursor input, BinaryEncoder output) throws Exception {
+            selectBranch(input).transcode(input, output);
+        }
+
+        private TranscodePlan selectBranch(BinaryCursor input) throws Exception {
+            int index = input.readInt();
+            if (index < 0 || index >= branchPlans.length) {
+                throw new AvroTypeException("Union index " + index + " is out of bounds");
+            }
+            return branchPlans[index];
+        }
+    }
+
+    private static final class ReaderBranchPlan implements TranscodePlan {
+
+        private final int branch;
+        private final TranscodePlan plan;
+
+        private ReaderBranchPlan(int branch, TranscodePlan plan) {
+            this.branch = branch;
+            this.plan = plan;
+        }
+
+        @Override
+        public void transcode(BinaryCursor input, BinaryEncoder output) throws Exception {
+            output.writeIndex(branch);
+            plan.transcode(input, output);
+        }
+    }
+
+    private static final class RecursiveRecordPlan implements TranscodePlan {
+
+        private RecordPlan target;
+        private boolean referenced;
+
+        @Override
+        public void transcode(BinaryCursor input, BinaryEncoder output) throws Exception {
+            RecursionGuard.Depth depth = RecursionGuard.enter();
+            try {
+                target.transcode(input, output);
+            } finally {
+                depth.exit();
+            }
+        }
+    }
+
+    /**
+     * The items of an array or a map which remain to be skipped in the current block.
+     */
+    private static final class Blocks {
+
+        private final Schema itemSchema;
+        private final boolean hasKeys;
+        private long remaining;
+
+        private Blocks(Schema itemSchema, boolean hasKeys) {
+            this.itemSchema = itemSchema;
+            this.hasKeys = hasKeys;
+        }
+
+        /**
+         * Moves the cursor to the next item, skipping its key.
+         *
+         * @return false if there are no more items
+         */
+        private boolean nextItem(BinaryCursor input) throws Exception {
+            while (remaining == 0) {
+                long count = input.readLong();
+                if (count == 0) {
+                    return false;
+                }
+                if (count < 0) {
+                    input.skip(input.readLong());
+                    continue;
+                }
+                remaining = count;
+            }
+            remaining--;
+            if (hasKeys) {
+                input.skip(input.readLong());
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A record which is transcoded up to the position, while a record nested in its previous field is transcoded.
+     */
+    private record Frame(RecordPlan plan, int position, BinaryEncoder output, GrowableOutputStream[] fieldValues,
+                         int emptyDepth) {
+    }
+}
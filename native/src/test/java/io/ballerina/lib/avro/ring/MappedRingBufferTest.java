@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.ring;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Tests a ring shared by separate JVMs, which take the consumer lock of the file, reserve frames with CAS on the
+ * mapped tail and see the published frames of each other only through the release and acquire accesses of the ring.
+ */
+public class MappedRingBufferTest {
+
+    private static final int CAPACITY = 4096;
+    private static final int PRODUCERS = 2;
+    private static final int VALUES_PER_PRODUCER = 20_000;
+    private static final long TIMEOUT = TimeUnit.SECONDS.toNanos(30);
+
+    private Path directory;
+    private Path path;
+
+    @BeforeMethod
+    public void createRing() throws IOException {
+        directory = Files.createTempDirectory("avro-ring");
+        path = directory.resolve("values.ring");
+    }
+
+    @AfterMethod
+    public void deleteRing() throws IOException {
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(directory);
+    }
+
+    @Test
+    public void testProducersInOtherProcesses() throws Exception {
+        try (MappedRingBuffer ring = MappedRingBuffer.open(path, CAPACITY)) {
+            List<Process> producers = new ArrayList<>();
+            for (int producer = 0; producer < PRODUCERS; producer++) {
+                producers.add(start(RingProcess.PRODUCE, String.valueOf(producer),
+                                    String.valueOf(VALUES_PER_PRODUCER)));
+            }
+            int[] next = new int[PRODUCERS];
+            for (int i = 0; i < PRODUCERS * VALUES_PER_PRODUCER; i++) {
+                byte[] value = ring.poll(MappedRingBufferTest::copy, TIMEOUT);
+                ByteBuffer buffer = ByteBuffer.wrap(value);
+                int producer = buffer.getInt();
+                int sequence = buffer.getInt();
+                Assert.assertEquals(sequence, next[producer], "Values of producer " + producer + " are out of order");
+                Assert.assertEquals(value, RingProcess.value(producer, sequence));
+                next[producer]++;
+            }
+            for (Process producer : producers) {
+                Assert.assertTrue(producer.waitFor(1, TimeUnit.MINUTES));
+                Assert.assertEquals(producer.exitValue(), 0, read(producer));
+            }
+            for (int count : next) {
+                Assert.assertEquals(count, VALUES_PER_PRODUCER);
+            }
+            Assert.assertThrows(TimeoutException.class, () -> ring.poll(value -> null, 0));
+        }
+    }
+
+    @Test
+    public void testConsumerInOtherProcess() throws Exception {
+        try (MappedRingBuffer ring = MappedRingBuffer.open(path, CAPACITY)) {
+            Assert.assertThrows(TimeoutException.class, () -> ring.poll(value -> null, 0));
+            Process consumer = start(RingProcess.CONSUME);
+            Assert.assertTrue(consumer.waitFor(1, TimeUnit.MINUTES));
+            Assert.assertEquals(consumer.exitValue(), RingProcess.REJECTED, read(consumer));
+        }
+        Process consumer = start(RingProcess.CONSUME);
+        Assert.assertTrue(consumer.waitFor(1, TimeUnit.MINUTES));
+        Assert.assertEquals(consumer.exitValue(), 0, read(consumer));
+    }
+
+    private Process start(String... args) throws IOException, URISyntaxException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(locate(RingProcess.class) + File.pathSeparator + locate(MappedRingBuffer.class));
+        command.add(RingProcess.class.getName());
+        command.add(args[0]);
+        command.add(path.toString());
+        command.add(String.valueOf(CAPACITY));
+        for (int i = 1; i < args.length; i++) {
+            command.add(args[i]);
+        }
+        return new ProcessBuilder(command).redirectErrorStream(true).start();
+    }
+
+    private static String locate(Class<?> type) throws URISyntaxException {
+        return Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+    }
+
+    private static String read(Process process) throws IOException {
+        return new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] copy(ByteBuffer value) {
+        byte[] bytes = new byte[value.remaining()];
+        value.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2024, WSO2 LLC. (http://www.wso2.com)
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.lib.avro.ring;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The other process of the ring tests, which either produces numbered values to a ring or tries to consume from it.
+ */
+public final class RingProcess {
+
+    static final String PRODUCE = "produce";
+    static final String CONSUME = "consume";
+    static final int REJECTED = 3;
+    static final int HEADER_SIZE = 2 * Integer.BYTES;
+    static final int MAX_FILLER = 37;
+
+    private static final long TIMEOUT = TimeUnit.SECONDS.toNanos(30);
+
+    private RingProcess() {}
+
+    /**
+     * Runs `produce <path> <capacity> <producer> <count>` or `consume <path> <capacity>`. A consumer exits with
+     * {@link #REJECTED} when the ring already has a consumer.
+     */
+    public static void main(String[] args) throws Exception {
+        try (MappedRingBuffer ring = MappedRingBuffer.open(Path.of(args[1]), Integer.parseInt(args[2]))) {
+            if (PRODUCE.equals(args[0])) {
+                produce(ring, Integer.parseInt(args[3]), Integer.parseInt(args[4]));
+            } else {
+                consume(ring);
+            }
+        }
+    }
+
+    /**
+     * Returns the value with the given number of the given producer, which holds both numbers followed by a filler
+     * of a varying length, so that frames wrap around the end of the ring at varying offsets.
+     */
+    static byte[] value(int producer, int sequence) {
+        int filler = sequence % MAX_FILLER;
+        ByteBuffer value = ByteBuffer.allocate(HEADER_SIZE + filler);
+        value.putInt(producer).putInt(sequence);
+        for (int i = 0; i < filler; i++) {
+            value.put((byte) (producer + sequence));
+        }
+        return value.array();
+    }
+
+    private static void produce(MappedRingBuffer ring, int producer, int count) {
+        for (int sequence = 0; sequence < count; sequence++) {
+            byte[] value = value(producer, sequence);
+            if (!ring.offer(value, 0, value.length, TIMEOUT)) {
+                throw new IllegalStateException("The ring stayed full for " + TIMEOUT + " ns");
+            }
+        }
+    }
+
+    private static void consume(MappedRingBuffer ring) throws Exception {
+        try {
+            ring.poll(value -> null, 0);
+        } catch (IllegalStateException e) {
+            if (!e.getMessage().contains("already has a consumer")) {
+                throw e;
+            }
+            System.exit(REJECTED);
+        } catch (TimeoutException e) {
+            // The ring is empty, and this process is its consumer.
+        }
+    }
+}